@@ -0,0 +1,102 @@
+package com.dt042g.photochronicle.model;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Builds the folders the benchmarks sort, either generated by an {@link ExifCorpusGenerator} or by
+ * copying the files of a corpus folder round-robin into a temporary folder until it holds the requested
+ * number of files.
+ *
+ * <p>The corpus is given by the {@code corpus} parameter of the benchmarks, so the same benchmark can be
+ * run over a synthetic corpus, the sample images of the tests or any folder of real photos.</p>
+ *
+ * @author Joel Lansgren, Daniel Berg
+ */
+final class BenchmarkCorpus {
+    /** The corpus used when none is given, a corpus generated by an {@link ExifCorpusGenerator}. */
+    static final String DEFAULT_CORPUS = "synthetic";
+
+    /** The number of warmup iterations of every benchmark, kept short so a whole run takes minutes. */
+    static final int WARMUP_ITERATIONS = 3;
+
+    /** The number of measured iterations of every benchmark. */
+    static final int MEASUREMENT_ITERATIONS = 5;
+
+    /** The length of every warmup and measured iteration, in seconds. */
+    static final int ITERATION_SECONDS = 2;
+
+    private BenchmarkCorpus() { // Private constructor to prevent instantiation.
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Creates a temporary folder holding the given number of files of the corpus.
+     * @param corpus {@link #DEFAULT_CORPUS} for a generated corpus, otherwise the folder whose files are copied.
+     * @param files the number of files to create.
+     * @return the temporary folder.
+     * @throws IOException if the corpus can't be read or the files can't be written.
+     */
+    static Path create(final String corpus, final int files) throws IOException {
+        if (DEFAULT_CORPUS.equals(corpus)) {
+            final Path folder = Files.createTempDirectory("photochronicle-benchmark");
+            new ExifCorpusGenerator(files).generate(folder, files);
+
+            return folder;
+        }
+
+        final List<Path> samples;
+
+        try (Stream<Path> contents = Files.list(Paths.get(corpus))) {
+            samples = contents.filter(Files::isRegularFile).sorted().toList();
+        }
+
+        if (samples.isEmpty()) {
+            throw new IOException("The corpus holds no files: " + corpus);
+        }
+
+        final Path folder = Files.createTempDirectory("photochronicle-benchmark");
+
+        for (int i = 0; i < files; i++) {
+            final Path sample = samples.get(i % samples.size());
+            Files.copy(sample, folder.resolve(i + "-" + sample.getFileName()));
+        }
+
+        return folder;
+    }
+
+    /**
+     * Lists the files directly in a folder.
+     * @param folder the folder to list.
+     * @return the files of the folder, in name order.
+     * @throws IOException if the folder can't be listed.
+     */
+    static List<Path> list(final Path folder) throws IOException {
+        try (Stream<Path> contents = Files.list(folder)) {
+            return contents.filter(Files::isRegularFile).sorted().toList();
+        }
+    }
+
+    /**
+     * Deletes a folder and everything in it.
+     * @param folder the folder to delete.
+     * @throws IOException if the folder can't be walked.
+     */
+    static void delete(final Path folder) throws IOException {
+        try (Stream<Path> contents = Files.walk(folder)) {
+            contents.sorted(Comparator.reverseOrder()).forEach(path -> {
+                try {
+                    Files.delete(path);
+                } catch (final IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.dt042g.photochronicle.model;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures how long it takes to group the eligible files of a folder into the buckets of a
+ * {@link BucketIndex} and visit them, the work done between the extraction and the moves of a sort.
+ * No files are touched, the names and dates are made up in memory.
+ *
+ * @author Joel Lansgren, Daniel Berg
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = BenchmarkCorpus.WARMUP_ITERATIONS, time = BenchmarkCorpus.ITERATION_SECONDS)
+@Measurement(iterations = BenchmarkCorpus.MEASUREMENT_ITERATIONS, time = BenchmarkCorpus.ITERATION_SECONDS)
+public class BucketBenchmark {
+    private static final int FIRST_YEAR = 2000;
+    private static final int MONTHS = 12;
+    private static final long SEED = 42;
+
+    /** The number of eligible files. */
+    @Param({"10000", "100000"})
+    private int files;
+
+    /** The number of years the original dates are spread over. */
+    @Param("20")
+    private int years;
+
+    private final BucketIndex index = new BucketIndex();
+    private int[] dateKeys;
+    private String[] names;
+
+    /**
+     * Makes up the names and original dates of the files.
+     */
+    @Setup(Level.Trial)
+    public void createFiles() {
+        final SplittableRandom random = new SplittableRandom(SEED);
+        dateKeys = new int[files];
+        names = new String[files];
+
+        for (int i = 0; i < files; i++) {
+            dateKeys[i] = DateKey.of(FIRST_YEAR + random.nextInt(years), 1 + random.nextInt(MONTHS));
+            names[i] = String.format("IMG_%06d.jpg", i);
+        }
+    }
+
+    /**
+     * Adds every file to the index and visits the buckets.
+     * @param blackhole consumes the buckets so they aren't optimized away.
+     */
+    @Benchmark
+    public void buildBuckets(final Blackhole blackhole) {
+        index.clear();
+
+        for (int i = 0; i < files; i++) {
+            index.add(dateKeys[i], names[i]);
+        }
+
+        index.forEachBucket((bucket, dateKey) -> blackhole.consume(bucket.size()));
+    }
+}
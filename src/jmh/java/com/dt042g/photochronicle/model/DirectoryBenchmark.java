@@ -0,0 +1,107 @@
+package com.dt042g.photochronicle.model;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures how long it takes the {@link DirectoryPlanner} of a {@link ChronicleModel} to create the year
+ * and month directories of a folder. Every invocation plans the directories of all months of the given
+ * number of years in a new, empty folder, or in a folder where they already exist.
+ *
+ * @author Joel Lansgren, Daniel Berg
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = BenchmarkCorpus.WARMUP_ITERATIONS, time = BenchmarkCorpus.ITERATION_SECONDS)
+@Measurement(iterations = BenchmarkCorpus.MEASUREMENT_ITERATIONS, time = BenchmarkCorpus.ITERATION_SECONDS)
+public class DirectoryBenchmark {
+    private static final int FIRST_YEAR = 2000;
+    private static final int MONTHS = 12;
+
+    /** The number of years whose directories are created. */
+    @Param("20")
+    private int years;
+
+    /** Whether the directories already exist, so only their existence is checked. */
+    @Param({"false", "true"})
+    private boolean existing;
+
+    /** The number of threads creating the directories. */
+    @Param({"1", "4"})
+    private int parallelism;
+
+    private final ChronicleModel model = new ChronicleModel();
+    private int[] dateKeys;
+    private Path root;
+    private int folders;
+
+    /**
+     * Creates the folder the sorted folders are created in, and the keys of every month of every year.
+     * @throws IOException if the folder can't be created.
+     */
+    @Setup(Level.Trial)
+    public void createRoot() throws IOException {
+        root = Files.createTempDirectory("photochronicle-benchmark");
+        dateKeys = new int[years * MONTHS];
+
+        for (int i = 0; i < dateKeys.length; i++) {
+            dateKeys[i] = DateKey.of(FIRST_YEAR + i / MONTHS, i % MONTHS + 1);
+        }
+    }
+
+    /**
+     * Points the model at the folder of the next invocation, which is new unless the directories
+     * should already exist.
+     * @throws IOException if the folder can't be created.
+     */
+    @Setup(Level.Invocation)
+    public void nextFolder() throws IOException {
+        if (!existing) {
+            folders++;
+        }
+
+        model.setPath(Files.createDirectories(root.resolve(Integer.toString(folders))).toString());
+    }
+
+    /**
+     * Deletes all folders.
+     * @throws IOException if the folders can't be deleted.
+     */
+    @TearDown(Level.Trial)
+    public void deleteRoot() throws IOException {
+        BenchmarkCorpus.delete(root);
+    }
+
+    /**
+     * Plans the directory of every month of every year, and looks them up as the move phase does.
+     * @param blackhole consumes the directories so they aren't optimized away.
+     */
+    @Benchmark
+    public void createMonthDirectories(final Blackhole blackhole) {
+        final DirectoryPlanner planner = model.newDirectoryPlanner();
+        planner.plan(dateKeys, parallelism);
+
+        for (final int dateKey : dateKeys) {
+            blackhole.consume(planner.directory(dateKey));
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.dt042g.photochronicle.model;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.drew.imaging.ImageProcessingException;
+
+/**
+ * Measures how many files per second {@link ChronicleModel} finds the original date of, the work done
+ * for every file by {@code detectEXIFMetadataFiles}. Every invocation extracts the date of the next
+ * file of the folder, so the score is the number of files per second of a single thread.
+ *
+ * <p>The extraction mode and header read limit are parameters, so new extraction strategies can be
+ * compared with the existing ones on the same corpus. The benchmark runs in three forks, since the
+ * throughput of a single JVM varies too much between runs for the modes to be told apart.</p>
+ *
+ * @author Joel Lansgren, Daniel Berg
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(ExtractionBenchmark.FORKS)
+@Warmup(iterations = BenchmarkCorpus.WARMUP_ITERATIONS, time = BenchmarkCorpus.ITERATION_SECONDS)
+@Measurement(iterations = BenchmarkCorpus.MEASUREMENT_ITERATIONS, time = BenchmarkCorpus.ITERATION_SECONDS)
+public class ExtractionBenchmark {
+    /** The number of JVMs the benchmark is run in. */
+    static final int FORKS = 3;
+
+    /** The folder whose files the sorted folder is made of. */
+    @Param(BenchmarkCorpus.DEFAULT_CORPUS)
+    private String corpus;
+
+    /** The number of files in the sorted folder. */
+    @Param("1000")
+    private int files;
+
+    /** The strategy used to find the original date. */
+    @Param({"FAST", "METADATA_EXTRACTOR", "EXIF_ONLY"})
+    private ExtractionMode mode;
+
+    /** The number of leading bytes read before the full file is read, 0 to always read the full file. */
+    @Param("131072")
+    private int headerReadLimit;
+
+    private final ChronicleModel model = new ChronicleModel();
+    private Path folder;
+    private File[] folderFiles;
+    private int next;
+
+    /**
+     * Creates the folder and sets up the model.
+     * @throws IOException if the folder can't be created.
+     */
+    @Setup(Level.Trial)
+    public void createFolder() throws IOException {
+        folder = BenchmarkCorpus.create(corpus, files);
+        final List<Path> contents = BenchmarkCorpus.list(folder);
+        folderFiles = contents.stream().map(Path::toFile).toArray(File[]::new);
+
+        model.setPath(folder.toString());
+        model.getOptions().setExtractionMode(mode);
+        model.getOptions().setHeaderReadLimit(headerReadLimit);
+    }
+
+    /**
+     * Deletes the folder.
+     * @throws IOException if the folder can't be deleted.
+     */
+    @TearDown(Level.Trial)
+    public void deleteFolder() throws IOException {
+        BenchmarkCorpus.delete(folder);
+    }
+
+    /**
+     * Extracts the original date of the next file.
+     * @return the {@link DateKey} of the file, or {@link DateKey#NONE} if it has none or can't be read,
+     * such as the corrupt files of a synthetic corpus.
+     */
+    @Benchmark
+    public int extractDateKey() {
+        final File file = folderFiles[next];
+        next = (next + 1) % folderFiles.length;
+
+        try {
+            return model.extractDateKey(file);
+        } catch (final ImageProcessingException | IOException e) {
+            return DateKey.NONE;
+        }
+    }
+}
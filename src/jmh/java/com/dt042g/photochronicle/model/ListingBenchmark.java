@@ -0,0 +1,93 @@
+package com.dt042g.photochronicle.model;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures how long it takes to list the files of a folder, the way {@link ChronicleModel} lists the
+ * folder itself and the way a {@link DirectoryWalker} walks it in recursive mode.
+ *
+ * @author Joel Lansgren, Daniel Berg
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = BenchmarkCorpus.WARMUP_ITERATIONS, time = BenchmarkCorpus.ITERATION_SECONDS)
+@Measurement(iterations = BenchmarkCorpus.MEASUREMENT_ITERATIONS, time = BenchmarkCorpus.ITERATION_SECONDS)
+public class ListingBenchmark {
+    /** The folder whose files the sorted folder is made of. */
+    @Param(BenchmarkCorpus.DEFAULT_CORPUS)
+    private String corpus;
+
+    /** The number of files in the sorted folder. */
+    @Param("10000")
+    private int files;
+
+    /** The number of threads walking the folder. */
+    @Param("4")
+    private int workers;
+
+    private Path folder;
+
+    /**
+     * Creates the folder to list.
+     * @throws IOException if the folder can't be created.
+     */
+    @Setup(Level.Trial)
+    public void createFolder() throws IOException {
+        folder = BenchmarkCorpus.create(corpus, files);
+    }
+
+    /**
+     * Deletes the folder.
+     * @throws IOException if the folder can't be deleted.
+     */
+    @TearDown(Level.Trial)
+    public void deleteFolder() throws IOException {
+        BenchmarkCorpus.delete(folder);
+    }
+
+    /**
+     * Lists the files directly in the folder, skipping directories like a non-recursive sort.
+     * @return the number of files found.
+     * @throws IOException if the folder can't be listed.
+     */
+    @Benchmark
+    public long listFolder() throws IOException {
+        try (Stream<Path> contents = Files.list(folder)) {
+            return contents.filter(file -> !Files.isDirectory(file)).count();
+        }
+    }
+
+    /**
+     * Walks the folder with a {@link DirectoryWalker} like a recursive sort.
+     * @return the number of files found.
+     * @throws IOException if the folder can't be walked.
+     */
+    @Benchmark
+    public long walkFolder() throws IOException {
+        final LongAdder found = new LongAdder();
+        new DirectoryWalker(folder, workers).walk(file -> found.increment(), e -> { });
+
+        return found.sum();
+    }
+}
@@ -0,0 +1,97 @@
+package com.dt042g.photochronicle.model;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures how many files per second {@link ChronicleModel} moves into the directory of their month.
+ * Every invocation moves the next file of the folder, and once all files have been moved they are
+ * moved back again, so the folder never runs out of files.
+ *
+ * @author Joel Lansgren, Daniel Berg
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = BenchmarkCorpus.WARMUP_ITERATIONS, time = BenchmarkCorpus.ITERATION_SECONDS)
+@Measurement(iterations = BenchmarkCorpus.MEASUREMENT_ITERATIONS, time = BenchmarkCorpus.ITERATION_SECONDS)
+public class MoveBenchmark {
+    /** The folder whose files the sorted folder is made of. */
+    @Param(BenchmarkCorpus.DEFAULT_CORPUS)
+    private String corpus;
+
+    /** The number of files in the sorted folder. */
+    @Param("10000")
+    private int files;
+
+    private final ChronicleModel model = new ChronicleModel();
+    private Path folder;
+    private Path directoryMonth;
+    private TransferEngine transfers;
+    private Path[] names;
+    private boolean movingBack;
+    private int next;
+
+    /**
+     * Creates the folder and the directory the files are moved into.
+     * @throws IOException if the folder can't be created.
+     */
+    @Setup(Level.Trial)
+    public void createFolder() throws IOException {
+        folder = BenchmarkCorpus.create(corpus, files);
+        final List<Path> contents = BenchmarkCorpus.list(folder);
+        names = contents.stream().map(Path::getFileName).toArray(Path[]::new);
+
+        model.setPath(folder.toString());
+        transfers = model.newTransferEngine();
+        directoryMonth = Files.createDirectories(folder.resolve("2024").resolve("01-January"));
+    }
+
+    /**
+     * Deletes the folder.
+     * @throws IOException if the folder can't be deleted.
+     */
+    @TearDown(Level.Trial)
+    public void deleteFolder() throws IOException {
+        BenchmarkCorpus.delete(folder);
+    }
+
+    /**
+     * Moves the next file into the directory of its month, or back out of it.
+     */
+    @Benchmark
+    public void moveFile() {
+        final Path name = names[next];
+
+        if (movingBack) {
+            model.moveFile(directoryMonth.resolve(name), folder.resolve(name), transfers);
+        } else {
+            model.moveFile(folder.resolve(name), directoryMonth.resolve(name), transfers);
+        }
+
+        next++;
+
+        if (next == names.length) {
+            next = 0;
+            movingBack = !movingBack;
+        }
+    }
+}
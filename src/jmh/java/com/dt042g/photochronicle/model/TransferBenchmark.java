@@ -0,0 +1,123 @@
+package com.dt042g.photochronicle.model;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures how long it takes to move a file to another file system, with the copy and delete
+ * {@link Files#move} falls back to and with the transfer of a {@link TransferEngine}, with and without
+ * verifying the checksum of the copy.
+ *
+ * <p>The file is written to the source folder before every invocation and moved into the target folder,
+ * which defaults to the build directory of the project. The source folder defaults to the folder of the
+ * temporary files, so the move only crosses file systems when they differ, for example with
+ * {@code -p source=/dev/shm} on Linux.</p>
+ *
+ * @author Joel Lansgren, Daniel Berg
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = BenchmarkCorpus.WARMUP_ITERATIONS, time = BenchmarkCorpus.ITERATION_SECONDS)
+@Measurement(iterations = BenchmarkCorpus.MEASUREMENT_ITERATIONS, time = BenchmarkCorpus.ITERATION_SECONDS)
+public class TransferBenchmark {
+    private static final long SEED = 42;
+    private static final int BYTES_PER_MEGABYTE = 1024 * 1024;
+
+    /** The folder the source folder is created in, the folder of the temporary files when empty. */
+    @Param("")
+    private String source;
+
+    /** The folder the target folder is created in, the build directory of the project when empty. */
+    @Param("")
+    private String target;
+
+    /** The size of the moved file in megabytes. */
+    @Param({"1", "32"})
+    private int megabytes;
+
+    /** How the file is moved, by {@link Files#move} or by a transfer engine that may verify the copy. */
+    @Param({"files-move", "transfer", "verified-transfer"})
+    private String method;
+
+    private TransferEngine engine;
+    private byte[] bytes;
+    private Path sourceFolder;
+    private Path targetFolder;
+    private Path file;
+    private Path destination;
+
+    /**
+     * Creates the source and target folders and the bytes of the file.
+     * @throws IOException if a folder can't be created.
+     */
+    @Setup(Level.Trial)
+    public void createFolders() throws IOException {
+        bytes = new byte[megabytes * BYTES_PER_MEGABYTE];
+        new Random(SEED).nextBytes(bytes);
+        sourceFolder = source.isEmpty()
+            ? Files.createTempDirectory("photochronicle-benchmark")
+            : Files.createTempDirectory(Paths.get(source), "photochronicle-benchmark");
+        targetFolder = Files.createTempDirectory(
+            target.isEmpty() ? Paths.get(System.getProperty("user.dir"), "target") : Paths.get(target),
+            "photochronicle-benchmark"
+        );
+        engine = "files-move".equals(method) ? null : new TransferEngine(
+            TransferMode.MOVE, true, "verified-transfer".equals(method)
+        );
+        file = sourceFolder.resolve("image.jpg");
+        destination = targetFolder.resolve("image.jpg");
+    }
+
+    /**
+     * Writes the file to move and removes the one moved by the previous invocation.
+     * @throws IOException if the file can't be written.
+     */
+    @Setup(Level.Invocation)
+    public void writeFile() throws IOException {
+        Files.deleteIfExists(destination);
+        Files.write(file, bytes);
+    }
+
+    /**
+     * Deletes both folders.
+     * @throws IOException if a folder can't be deleted.
+     */
+    @TearDown(Level.Trial)
+    public void deleteFolders() throws IOException {
+        BenchmarkCorpus.delete(sourceFolder);
+        BenchmarkCorpus.delete(targetFolder);
+    }
+
+    /**
+     * Moves the file into the target folder.
+     * @throws IOException if the file can't be moved.
+     */
+    @Benchmark
+    public void moveFile() throws IOException {
+        if (engine == null) {
+            Files.move(file, destination);
+        } else {
+            engine.move(file, destination);
+        }
+    }
+}
@@ -3,6 +3,7 @@ package com.dt042g.photochronicle;
 import javax.swing.SwingUtilities;
 
 import com.dt042g.photochronicle.controller.ChronicleController;
+import com.dt042g.photochronicle.controller.CommandLineController;
 
 /**
  * The entry point for the PhotoChronicle application.
@@ -14,10 +15,16 @@ public final class Main {
     }
 
     /**
-     * Instantiates the {@link ChronicleController}.
-     * @param args command arguments (not used for this application).
+     * Instantiates the {@link ChronicleController}, or sorts the folder given on the command line through
+     * the {@link CommandLineController} without loading the graphical interface.
+     * @param args command arguments, none to start the graphical interface, otherwise the folder to sort
+     * and its options.
      */
     public static void main(final String... args) {
+        if (args.length > 0) {
+            System.exit(new CommandLineController(System.out, System.err).run(args));
+        }
+
         SwingUtilities.invokeLater(() -> new ChronicleController().initialize());
     }
 }
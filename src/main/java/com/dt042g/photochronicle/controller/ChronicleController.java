@@ -1,10 +1,21 @@
 package com.dt042g.photochronicle.controller;
 
+import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+
+import javax.swing.SwingUtilities;
+import javax.swing.SwingWorker;
+import javax.swing.Timer;
+
 import com.dt042g.photochronicle.model.ChronicleModel;
+import com.dt042g.photochronicle.model.SortProgress;
+import com.dt042g.photochronicle.support.AppConfig;
+import com.dt042g.photochronicle.support.ModelConfig;
 import com.dt042g.photochronicle.view.BottomPanel;
 import com.dt042g.photochronicle.view.InfoDialog;
 import com.dt042g.photochronicle.view.MainFrame;
 import com.dt042g.photochronicle.view.MiddlePanel;
+import com.dt042g.photochronicle.view.ProgressDialog;
 import com.dt042g.photochronicle.view.TopPanel;
 
 /**
@@ -12,6 +23,10 @@ import com.dt042g.photochronicle.view.TopPanel;
  * application. Upon instantiation the class will create the necessary model, as well as all the view classes needed to
  * make up the graphical interface of the application.
  *
+ * <p>Folders are sorted by a {@link SwingWorker} so that the Event Dispatch Thread is never blocked by a sort.
+ * While the sort runs its progress is polled at a fixed rate and shown in a {@link ProgressDialog}, which keeps the
+ * number of updates on the EDT the same no matter how quickly the files are sorted.</p>
+ *
  * @author Joel Lansgren, Daniel Berg
  */
 public final class ChronicleController {
@@ -20,7 +35,9 @@ public final class ChronicleController {
     private final BottomPanel bottomPanel;
     private final MainFrame mainFrame;
     private final InfoDialog infoDialog;
+    private final ProgressDialog progressDialog;
     private final ChronicleModel chronicleModel;
+    private final Timer progressTimer;
 
     /**
      * Constructs the controller and instantiates all views and models that's part of the MVC pattern.
@@ -31,7 +48,10 @@ public final class ChronicleController {
         bottomPanel = new BottomPanel();
         mainFrame = new MainFrame(topPanel, middlePanel, bottomPanel);
         infoDialog = new InfoDialog(mainFrame);
+        progressDialog = new ProgressDialog(mainFrame);
         chronicleModel = new ChronicleModel();
+        chronicleModel.registerStatistics();
+        progressTimer = new Timer(AppConfig.PROGRESS_INTERVAL_MILLIS, event -> updateProgress());
     }
 
     /**
@@ -53,9 +73,17 @@ public final class ChronicleController {
     void initializeListeners() {
         bottomPanel.addInfoButtonListener(e -> infoDialog.showDialog());
         infoDialog.addInfoCloseBtnListener(e -> infoDialog.hideDialog());
+        progressDialog.addCancelBtnListener(e -> {
+            chronicleModel.getProgress().cancel();
+            progressDialog.setCancelling();
+        });
 
         middlePanel.addListenerToFolderButton(event -> middlePanel.showFolderSelectionDialog(this::sortFolder));
-        middlePanel.addListenerToClearButton(event -> middlePanel.clearSelection());
+        middlePanel.addListenerToClearButton(event -> {
+            stopWatching();
+            middlePanel.clearSelection();
+        });
+        middlePanel.addListenerToWatchBox(event -> toggleWatching());
     }
 
     /**
@@ -66,12 +94,113 @@ public final class ChronicleController {
     }
 
     /**
-     * Sets the path in the model and start its sortFolder method.
+     * Sets the path in the model and starts its sortFolder method on a background thread. The modal
+     * {@link ProgressDialog} is shown until the sort has finished, so this method returns once the result
+     * of the sort has been displayed.
      * @param path The path to the user selected folder as a string.
      */
     void sortFolder(final String path) {
+        stopWatching();
         chronicleModel.setPath(path);
-        chronicleModel.sortFolder(this::displayError, this::displayInformation);
+        chronicleModel.getOptions().setStreaming(middlePanel.isStreamSelected());
+        chronicleModel.getOptions().setCacheEnabled(middlePanel.isCacheSelected());
+
+        final SwingWorker<Void, Void> sortWorker = new SwingWorker<>() {
+            @Override
+            protected Void doInBackground() {
+                chronicleModel.sortFolder(
+                    errorMessage -> SwingUtilities.invokeLater(() -> {
+                        finishProgress();
+                        displayError(errorMessage);
+                    }),
+                    information -> SwingUtilities.invokeLater(() -> {
+                        finishProgress();
+                        displayInformation(information);
+                    })
+                );
+                return null;
+            }
+
+            @Override
+            protected void done() {
+                finishProgress();
+
+                try {
+                    get();
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (final ExecutionException e) {
+                    chronicleModel.recordFailure(e.getCause() instanceof Exception cause ? cause : e);
+                    displayError(ModelConfig.GENERAL_ERROR);
+                }
+
+                if (middlePanel.isWatchSelected()) {
+                    startWatching();
+                }
+            }
+        };
+
+        sortWorker.execute();
+        progressTimer.start();
+        progressDialog.showDialog();
+    }
+
+    /**
+     * Shows the current progress of the running sort, called by the progress timer.
+     */
+    void updateProgress() {
+        final SortProgress progress = chronicleModel.getProgress();
+
+        if (progress.isCancelled()) {
+            return;
+        }
+
+        final long completed = progress.getCompletedFiles();
+        final long total = progress.getTotalFiles();
+        final long remainingSeconds = progress.getRemainingSeconds();
+        final Duration remaining = Duration.ofSeconds(Math.max(0, remainingSeconds));
+        final String timeLeft = remainingSeconds == SortProgress.UNKNOWN
+                ? AppConfig.PROGRESS_UNKNOWN_TIME
+                : String.format("%d:%02d", remaining.toMinutes(), remaining.toSecondsPart());
+
+        progressDialog.setProgress(
+            completed, total,
+            String.format(AppConfig.PROGRESS_STATUS, completed, total, progress.getFilesPerSecond(), timeLeft)
+        );
+    }
+
+    private void finishProgress() {
+        progressTimer.stop();
+        progressDialog.hideDialog();
+    }
+
+    /**
+     * Starts or stops watching the chosen folder when the watch folder check box is toggled.
+     */
+    void toggleWatching() {
+        if (!middlePanel.isWatchSelected()) {
+            stopWatching();
+        } else if (middlePanel.hasSelectedFolder()) {
+            startWatching();
+        }
+    }
+
+    /**
+     * Starts watching the folder of the model, the callbacks of the watcher are handed over to the EDT.
+     */
+    private void startWatching() {
+        chronicleModel.watchFolder(
+            errorMessage -> SwingUtilities.invokeLater(() -> {
+                middlePanel.resetWatchStatus(false);
+                displayError(errorMessage);
+            }),
+            status -> SwingUtilities.invokeLater(() -> middlePanel.setWatchStatus(status))
+        );
+    }
+
+    private void stopWatching() {
+        chronicleModel.stopWatching();
+        middlePanel.resetWatchStatus(middlePanel.isWatchSelected());
     }
 
     private void displayInformation(final String information) {
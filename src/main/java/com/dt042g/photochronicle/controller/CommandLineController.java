@@ -0,0 +1,340 @@
+package com.dt042g.photochronicle.controller;
+
+import java.io.PrintStream;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Locale;
+import java.util.Map;
+import java.util.StringJoiner;
+
+import com.dt042g.photochronicle.model.ChronicleModel;
+import com.dt042g.photochronicle.model.ErrorSummary;
+import com.dt042g.photochronicle.model.FilenameTrust;
+import com.dt042g.photochronicle.model.SortOptions;
+import com.dt042g.photochronicle.model.SortSummary;
+import com.dt042g.photochronicle.model.TransferMode;
+import com.dt042g.photochronicle.support.ModelConfig;
+
+/**
+ * The {@code CommandLineController} class sorts a folder given on the command line, acting as the
+ * intermediary between the model and a console instead of the graphical interface.
+ *
+ * <p>No AWT or Swing class is referenced, directly or through {@link com.dt042g.photochronicle.support.AppConfig},
+ * so the application starts without loading the graphical toolkit and runs with {@code java.awt.headless=true}.
+ * The statistics of the sort are printed as plain text or JSON, and the outcome is told by the exit codes of
+ * {@link ModelConfig}.</p>
+ *
+ * @author Joel Lansgren, Daniel Berg
+ */
+public final class CommandLineController {
+    private final ChronicleModel chronicleModel;
+    private final PrintStream out;
+    private final PrintStream err;
+    private boolean json;
+    private String errorMessage;
+
+    /**
+     * Constructs the controller and instantiates the model.
+     * @param out the stream the statistics and help are printed to.
+     * @param err the stream errors are printed to.
+     */
+    public CommandLineController(final PrintStream out, final PrintStream err) {
+        this.out = out;
+        this.err = err;
+        chronicleModel = new ChronicleModel();
+    }
+
+    /**
+     * Parses the arguments, sorts the folder they name and prints its statistics.
+     * @param args the command line arguments.
+     * @return the exit code of the application.
+     */
+    public int run(final String... args) {
+        final Path folder;
+
+        try {
+            folder = parseArguments(args);
+        } catch (final IllegalArgumentException e) {
+            err.println(e.getMessage());
+            err.println(ModelConfig.CLI_USAGE);
+            return ModelConfig.EXIT_USAGE;
+        }
+
+        if (folder == null) { // Help was asked for.
+            out.println(ModelConfig.CLI_USAGE);
+            return ModelConfig.EXIT_SUCCESS;
+        }
+
+        chronicleModel.setPath(folder.toString());
+        chronicleModel.registerStatistics();
+        chronicleModel.sortFolder(message -> errorMessage = message, message -> { });
+
+        if (ModelConfig.LINK_ACROSS_FILE_SYSTEMS.equals(errorMessage)) {
+            err.println(errorMessage);
+            return ModelConfig.EXIT_USAGE;
+        } else if (errorMessage != null && !ModelConfig.NO_FILES_SORTED.equals(errorMessage)) {
+            err.println(toPlainText(errorMessage));
+            return ModelConfig.EXIT_FOLDER_ERROR;
+        }
+
+        final SortSummary summary = chronicleModel.getSummary();
+        printStatistics(folder, summary);
+
+        return summary.hasFailures() ? ModelConfig.EXIT_PARTIAL_FAILURE : ModelConfig.EXIT_SUCCESS;
+    }
+
+    /*=====================
+    * Helper Methods
+    =====================*/
+
+    /**
+     * Applies the options of the arguments to the model and returns the folder to sort.
+     * @param args the command line arguments.
+     * @return the absolute path of the folder, or {@code null} if help was asked for.
+     * @throws IllegalArgumentException if the arguments are invalid.
+     */
+    Path parseArguments(final String... args) {
+        final SortOptions options = chronicleModel.getOptions();
+        String folder = null;
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "-h", "--help" -> {
+                    return null;
+                }
+                case "-r", "--recursive" -> options.setRecursive(true);
+                case "-n", "--dry-run" -> options.setDryRun(true);
+                case "-s", "--stream" -> options.setStreaming(true);
+                case "-c", "--cache" -> options.setCacheEnabled(true);
+                case "--debug" -> options.setDebug(true);
+                case "--verify" -> options.setVerifyChecksums(true);
+                case "--json" -> {
+                    json = true;
+                }
+                case "-t", "--threads" -> {
+                    if (i + 1 == args.length) {
+                        throw new IllegalArgumentException("Missing the number of threads after " + args[i]);
+                    }
+
+                    i++;
+                    options.setWorkerCount(parseThreads(args[i]));
+                }
+                case "--move-threads" -> {
+                    if (i + 1 == args.length) {
+                        throw new IllegalArgumentException("Missing the number of threads after " + args[i]);
+                    }
+
+                    i++;
+                    options.setMoveWorkerCount(parseThreads(args[i]));
+                }
+                case "--filename-dates" -> {
+                    if (i + 1 == args.length) {
+                        throw new IllegalArgumentException("Missing the filename trust after " + args[i]);
+                    }
+
+                    i++;
+                    options.setFilenameTrust(parseFilenameTrust(args[i]));
+                }
+                case "--mode" -> {
+                    if (i + 1 == args.length) {
+                        throw new IllegalArgumentException("Missing the transfer mode after " + args[i]);
+                    }
+
+                    i++;
+                    options.setTransferMode(parseTransferMode(args[i]));
+                }
+                case "--target" -> {
+                    if (i + 1 == args.length) {
+                        throw new IllegalArgumentException("Missing the target folder after " + args[i]);
+                    }
+
+                    i++;
+                    options.setTargetFolder(parsePath(args[i], "Invalid target folder: "));
+                }
+                case "--report" -> {
+                    if (i + 1 == args.length) {
+                        throw new IllegalArgumentException("Missing the report file after " + args[i]);
+                    }
+
+                    i++;
+                    options.setErrorReport(parsePath(args[i], "Invalid report file: "));
+                }
+                default -> {
+                    if (args[i].startsWith("-")) {
+                        throw new IllegalArgumentException("Unknown option: " + args[i]);
+                    } else if (folder != null) {
+                        throw new IllegalArgumentException("Only one folder can be sorted at a time");
+                    }
+
+                    folder = args[i];
+                }
+            }
+        }
+
+        if (folder == null) {
+            throw new IllegalArgumentException("Missing the folder to sort");
+        }
+
+        return parsePath(folder, "Invalid folder: ");
+    }
+
+    /**
+     * Parses a path given on the command line.
+     * @param value the path as given.
+     * @param error the start of the message when the path is invalid.
+     * @return the absolute and normalized path.
+     * @throws IllegalArgumentException if the path is invalid.
+     */
+    private static Path parsePath(final String value, final String error) {
+        try {
+            return Paths.get(value).toAbsolutePath().normalize();
+        } catch (final InvalidPathException e) {
+            throw new IllegalArgumentException(error + value, e);
+        }
+    }
+
+    /**
+     * Parses the number of threads of the threads option.
+     * @param threads the value of the option.
+     * @return the number of threads, at least 1.
+     * @throws IllegalArgumentException if the value isn't a positive number.
+     */
+    private int parseThreads(final String threads) {
+        try {
+            final int workerCount = Integer.parseInt(threads);
+
+            if (workerCount >= 1) {
+                return workerCount;
+            }
+        } catch (final NumberFormatException e) {
+            // Reported below, together with numbers that are too small.
+        }
+
+        throw new IllegalArgumentException("The number of threads must be a positive number, was: " + threads);
+    }
+
+    /**
+     * Parses the trust of the filename dates option.
+     * @param trust the value of the option, such as {@code fallback}.
+     * @return the trust in the dates encoded in the names of the files.
+     * @throws IllegalArgumentException if the value names no trust.
+     */
+    private static FilenameTrust parseFilenameTrust(final String trust) {
+        try {
+            return FilenameTrust.valueOf(trust.toUpperCase(Locale.ROOT));
+        } catch (final IllegalArgumentException e) {
+            throw new IllegalArgumentException(
+                "The filename trust must be prefer, fallback or ignore, was: " + trust, e
+            );
+        }
+    }
+
+    /**
+     * Parses the transfer mode of the mode option.
+     * @param mode the value of the option, such as {@code copy}.
+     * @return the mode the files are put into their directories by.
+     * @throws IllegalArgumentException if the value names no mode.
+     */
+    private static TransferMode parseTransferMode(final String mode) {
+        try {
+            return TransferMode.valueOf(mode.toUpperCase(Locale.ROOT));
+        } catch (final IllegalArgumentException e) {
+            throw new IllegalArgumentException("The transfer mode must be move, copy or link, was: " + mode, e);
+        }
+    }
+
+    /**
+     * Prints the statistics of the sort as plain text or JSON.
+     * @param folder the folder that was sorted.
+     * @param summary the statistics of the sort.
+     */
+    private void printStatistics(final Path folder, final SortSummary summary) {
+        final boolean dryRun = chronicleModel.getOptions().isDryRun();
+        final ErrorSummary errors = chronicleModel.getErrors();
+        final Map<String, Long> resolvedTiers = chronicleModel.getStatistics().getResolvedTiers();
+
+        if (json) {
+            out.println(String.format(
+                ModelConfig.CLI_JSON_STATISTICS, escapeJson(folder.toString()), dryRun, summary.sortedFiles(),
+                summary.unsortedFiles(), summary.verifiedFiles(), summary.checksumMismatches(),
+                summary.directoryFailures(), summary.invalidFiles(),
+                formatCounts(summary.rejectedTypes(), "\"%s\":%d"), formatCounts(resolvedTiers, "\"%s\":%d"),
+                formatCounts(errors.counts(), "\"%s\":%d")
+            ));
+            return;
+        }
+
+        out.println(String.format(
+            ModelConfig.CLI_TEXT_STATISTICS, folder, summary.sortedFiles(), summary.unsortedFiles(),
+            summary.directoryFailures(), summary.invalidFiles()
+        ));
+
+        if (!summary.rejectedTypes().isEmpty()) {
+            out.println(String.format(
+                ModelConfig.CLI_REJECTED_TYPES, formatCounts(summary.rejectedTypes(), "%s: %d")
+            ));
+        }
+
+        if (chronicleModel.getOptions().isVerifyChecksums()) {
+            out.println(String.format(
+                ModelConfig.CLI_VERIFIED, summary.verifiedFiles(), summary.checksumMismatches()
+            ));
+        }
+
+        if (!resolvedTiers.isEmpty()) {
+            out.println(String.format(ModelConfig.CLI_RESOLVED_TIERS, formatCounts(resolvedTiers, "%s: %d")));
+        }
+
+        if (!errors.counts().isEmpty()) {
+            out.println(String.format(ModelConfig.CLI_ERRORS, formatCounts(errors.counts(), "%s: %d")));
+        }
+
+        if (dryRun) {
+            out.println(ModelConfig.CLI_DRY_RUN);
+        }
+    }
+
+    /**
+     * Formats counts of the statistics as a comma separated list, such as {@code "VIDEO: 2, UNKNOWN: 1"}.
+     * @param counts the counts to format, such as the rejected types, resolved tiers or errors of a sort.
+     * @param member the format of every key and its count.
+     * @return the formatted counts, empty if there are none.
+     */
+    static String formatCounts(final Map<?, ? extends Number> counts, final String member) {
+        final StringJoiner members = new StringJoiner(", ");
+        counts.forEach((key, count) -> members.add(String.format(member, key, count)));
+
+        return members.toString();
+    }
+
+    /**
+     * Escapes a string so it can be placed within the quotes of a JSON string.
+     * @param value the string to escape.
+     * @return the escaped string.
+     */
+    static String escapeJson(final String value) {
+        final StringBuilder escaped = new StringBuilder(value.length());
+
+        for (final char c : value.toCharArray()) {
+            if (c == '"' || c == '\\') {
+                escaped.append('\\').append(c);
+            } else if (c < ' ') {
+                escaped.append(String.format("\\u%04x", (int) c));
+            } else {
+                escaped.append(c);
+            }
+        }
+
+        return escaped.toString();
+    }
+
+    /**
+     * Turns an error message of the model, written for a dialog, into plain text.
+     * @param message the html message.
+     * @return the message without html tags.
+     */
+    static String toPlainText(final String message) {
+        return message.replace("<br>", " ").replaceAll("<[^>]*>", "").trim();
+    }
+}
@@ -0,0 +1,367 @@
+package com.dt042g.photochronicle.model;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A parser for the original date of ISO base media files, walking their boxes with positional reads
+ * instead of streaming the file.
+ *
+ * <p>Every box starts with its size, so the boxes are hopped between by reading only their headers. For
+ * MP4 and QuickTime videos the {@code moov} box is found this way, even when it follows gigabytes of
+ * media data at the end of the file, and the creation time is read from the movie header within it.
+ * For HEIF images the {@code meta} box is read, the {@code Exif} item is looked up in its item
+ * information and located through its item locations, and the DateTimeOriginal is then parsed from the
+ * item by {@link ExifDateParser}.</p>
+ *
+ * <p>The creation time of a video counts the seconds since 1904 in UTC and is converted to the system
+ * time zone, just like the dates metadata-extractor reads. A creation time of zero is treated as missing,
+ * since it is what cameras write when they don't know the time.</p>
+ *
+ * <p>An instance is not thread-safe since the buffer is shared between calls, each thread should
+ * use its own parser.</p>
+ *
+ * @author Joel Lansgren, Daniel Berg
+ */
+final class BoxDateParser {
+    private static final long QUICKTIME_EPOCH_OFFSET = 2_082_844_800L; // Seconds from 1904 to 1970.
+
+    /** The creation time, in epoch milliseconds, that metadata-extractor gives a video without one. */
+    static final long UNSET_CREATION_TIME = TimeUnit.SECONDS.toMillis(-QUICKTIME_EPOCH_OFFSET);
+
+    private static final int NOT_PRESENT = -1;
+    private static final int HEADER_SIZE = 8;
+    private static final int TYPE_OFFSET = 4;
+    private static final int LARGE_SIZE = 1;
+    private static final int TO_END_SIZE = 0;
+    private static final int FULL_BOX_HEADER_SIZE = 4;
+    private static final int MAX_BOXES = 4096;
+    private static final int MAX_META_LENGTH = 1024 * 1024;
+    private static final int MAX_EXIF_LENGTH = 64 * 1024;
+    private static final int INITIAL_BUFFER_SIZE = 256;
+    private static final int NIBBLE_BITS = 4;
+    private static final int NIBBLE_MASK = 0x0F;
+    private static final int BYTE_MASK = 0xFF;
+    private static final int SHORT_MASK = 0xFFFF;
+    private static final long UNSIGNED_INT_MASK = 0xFFFFFFFFL;
+    private static final int ITEM_TYPE_VERSION = 2;
+    private static final int LONG_ITEM_ID_VERSION = 3;
+    private static final int MOOV = fourCc("moov");
+    private static final int MVHD = fourCc("mvhd");
+    private static final int META = fourCc("meta");
+    private static final int IINF = fourCc("iinf");
+    private static final int INFE = fourCc("infe");
+    private static final int ILOC = fourCc("iloc");
+    private static final int EXIF = fourCc("Exif");
+
+    private ByteBuffer buffer = ByteBuffer.allocate(INITIAL_BUFFER_SIZE);
+    private long boxEnd;
+    private long itemOffset;
+    private long itemLength;
+    private int bytesRead;
+
+    /**
+     * Parses the original date of an ISO base media file.
+     * @param channel the channel of the file.
+     * @param type the type of the file, {@link FileType#HEIF}, {@link FileType#MP4} or
+     * {@link FileType#QUICKTIME}.
+     * @return the {@link DateKey} of the original date, {@link DateKey#NONE} if the file has no
+     * original date, or {@link ExifDateParser#UNRESOLVED} if the boxes can't be walked.
+     * @throws IOException if the file can't be read.
+     */
+    int parse(final FileChannel channel, final FileType type) throws IOException {
+        bytesRead = 0;
+
+        return type == FileType.HEIF ? parseHeif(channel) : parseMovie(channel);
+    }
+
+    /**
+     * Returns the number of bytes read by the last call to {@link #parse}.
+     * @return the number of bytes read from the file.
+     */
+    int bytesRead() {
+        return bytesRead;
+    }
+
+    private int parseMovie(final FileChannel channel) throws IOException {
+        final long moov = findBox(channel, 0, channel.size(), MOOV);
+
+        if (moov < 0) {
+            return toDateKey(moov);
+        }
+
+        final long mvhd = findBox(channel, moov, boxEnd, MVHD);
+
+        if (mvhd < 0) {
+            return toDateKey(mvhd);
+        } else if (!readAt(channel, mvhd, FULL_BOX_HEADER_SIZE + Long.BYTES)) {
+            return ExifDateParser.UNRESOLVED;
+        }
+
+        final long creationTime = buffer.get(0) == 1
+                ? buffer.getLong(FULL_BOX_HEADER_SIZE)
+                : buffer.getInt(FULL_BOX_HEADER_SIZE) & UNSIGNED_INT_MASK;
+
+        if (creationTime <= 0) {
+            return DateKey.NONE;
+        }
+
+        final LocalDate date = Instant.ofEpochSecond(creationTime - QUICKTIME_EPOCH_OFFSET)
+                .atZone(ZoneId.systemDefault()).toLocalDate();
+
+        return DateKey.of(date.getYear(), date.getMonthValue());
+    }
+
+    private int parseHeif(final FileChannel channel) throws IOException {
+        final long meta = findBox(channel, 0, channel.size(), META);
+
+        if (meta < 0) {
+            return toDateKey(meta);
+        } else if (boxEnd - meta > MAX_META_LENGTH || !readAt(channel, meta, (int) (boxEnd - meta))) {
+            return ExifDateParser.UNRESOLVED;
+        }
+
+        try {
+            final long located = locateExifItem(buffer.limit());
+
+            if (located < 0) {
+                return toDateKey(located);
+            }
+        } catch (final IndexOutOfBoundsException e) { // The item boxes are cut off or malformed.
+            return ExifDateParser.UNRESOLVED;
+        }
+
+        final int length = (int) Math.min(
+            itemLength == 0 ? channel.size() - itemOffset : itemLength, MAX_EXIF_LENGTH
+        );
+
+        if (!readAt(channel, itemOffset, length) || length < Integer.BYTES) {
+            return ExifDateParser.UNRESOLVED;
+        }
+
+        final long tiffOffset = Integer.BYTES + (buffer.getInt(0) & UNSIGNED_INT_MASK);
+
+        return tiffOffset < length
+                ? ExifDateParser.parseTiff(buffer.array(), length, (int) tiffOffset)
+                : ExifDateParser.UNRESOLVED;
+    }
+
+    /**
+     * Finds the {@code Exif} item of the {@code meta} box held by the buffer, and sets the offset and
+     * length of its first extent.
+     * @param metaLength the length of the content of the {@code meta} box.
+     * @return 0 if the item was located, {@link #NOT_PRESENT} if there is no such item, or
+     * {@link ExifDateParser#UNRESOLVED} if it can't be located.
+     */
+    private long locateExifItem(final int metaLength) {
+        final int iinf = findChild(FULL_BOX_HEADER_SIZE, metaLength, IINF);
+
+        if (iinf < 0) {
+            return iinf;
+        }
+
+        final long itemId = findExifItemId(iinf, (int) boxEnd);
+
+        if (itemId < 0) {
+            return itemId;
+        }
+
+        final int iloc = findChild(FULL_BOX_HEADER_SIZE, metaLength, ILOC);
+
+        return iloc < 0 ? iloc : locateItem(iloc, itemId);
+    }
+
+    private long findExifItemId(final int iinf, final int iinfEnd) {
+        int position = iinf + FULL_BOX_HEADER_SIZE + (buffer.get(iinf) == 0 ? Short.BYTES : Integer.BYTES);
+
+        while (true) {
+            final int infe = findChild(position, iinfEnd, INFE);
+
+            if (infe < 0) {
+                return infe;
+            }
+
+            final int version = buffer.get(infe);
+            final int idOffset = infe + FULL_BOX_HEADER_SIZE;
+
+            if (version >= ITEM_TYPE_VERSION) { // Older entries have no item type.
+                final boolean longId = version >= LONG_ITEM_ID_VERSION;
+                final int typeOffset = idOffset + (longId ? Integer.BYTES : Short.BYTES) + Short.BYTES;
+
+                if (buffer.getInt(typeOffset) == EXIF) {
+                    return readUnsigned(idOffset, longId ? Integer.BYTES : Short.BYTES);
+                }
+            }
+
+            position = (int) boxEnd;
+        }
+    }
+
+    private long locateItem(final int iloc, final long itemId) {
+        final int version = buffer.get(iloc);
+        int position = iloc + FULL_BOX_HEADER_SIZE;
+        final int offsetSize = (buffer.get(position) & BYTE_MASK) >>> NIBBLE_BITS;
+        final int lengthSize = buffer.get(position) & NIBBLE_MASK;
+        final int baseOffsetSize = (buffer.get(position + 1) & BYTE_MASK) >>> NIBBLE_BITS;
+        final int indexSize = version == 0 ? 0 : buffer.get(position + 1) & NIBBLE_MASK;
+        final int idSize = version < 2 ? Short.BYTES : Integer.BYTES;
+        position += Short.BYTES;
+        final long itemCount = readUnsigned(position, idSize);
+        position += idSize;
+
+        for (long i = 0; i < itemCount; i++) {
+            final long id = readUnsigned(position, idSize);
+            position += idSize;
+            final int constructionMethod = version == 0 ? 0 : buffer.getShort(position) & NIBBLE_MASK;
+            position += (version == 0 ? 0 : Short.BYTES) + Short.BYTES; // The data reference index is skipped.
+            final long baseOffset = readUnsigned(position, baseOffsetSize);
+            position += baseOffsetSize;
+            final int extentCount = buffer.getShort(position) & SHORT_MASK;
+            position += Short.BYTES;
+
+            if (id == itemId) {
+                if (constructionMethod != 0 || extentCount == 0) { // Only items stored in the file are read.
+                    return ExifDateParser.UNRESOLVED;
+                }
+
+                itemOffset = baseOffset + readUnsigned(position + indexSize, offsetSize);
+                itemLength = readUnsigned(position + indexSize + offsetSize, lengthSize);
+                return 0;
+            }
+
+            position += extentCount * (indexSize + offsetSize + lengthSize);
+        }
+
+        return NOT_PRESENT;
+    }
+
+    /**
+     * Finds a box with the given type among the boxes between two positions of the file, reading only
+     * their headers.
+     * @param channel the channel of the file.
+     * @param start the position of the first box.
+     * @param end the position the boxes end at.
+     * @param type the type of the box to find.
+     * @return the position of the content of the box, with {@link #boxEnd} set to its end,
+     * {@link #NOT_PRESENT} if there is no such box, or {@link ExifDateParser#UNRESOLVED} if a box is
+     * malformed.
+     * @throws IOException if the file can't be read.
+     */
+    private long findBox(final FileChannel channel, final long start, final long end, final int type)
+    throws IOException {
+        long position = start;
+
+        for (int i = 0; i < MAX_BOXES && position + HEADER_SIZE <= end; i++) {
+            if (!readAt(channel, position, HEADER_SIZE)) {
+                return ExifDateParser.UNRESOLVED;
+            }
+
+            final int boxType = buffer.getInt(TYPE_OFFSET);
+            long size = buffer.getInt(0) & UNSIGNED_INT_MASK;
+            int headerSize = HEADER_SIZE;
+
+            if (size == LARGE_SIZE) {
+                if (!readAt(channel, position + HEADER_SIZE, Long.BYTES)) {
+                    return ExifDateParser.UNRESOLVED;
+                }
+
+                size = buffer.getLong(0);
+                headerSize += Long.BYTES;
+            } else if (size == TO_END_SIZE) {
+                size = end - position;
+            }
+
+            if (size < headerSize || size > end - position) {
+                return ExifDateParser.UNRESOLVED;
+            } else if (boxType == type) {
+                boxEnd = position + size;
+                return position + headerSize;
+            }
+
+            position += size;
+        }
+
+        return position + HEADER_SIZE > end ? NOT_PRESENT : ExifDateParser.UNRESOLVED;
+    }
+
+    /**
+     * Finds a box with the given type among the boxes between two offsets of the buffer.
+     * @param start the offset of the first box.
+     * @param end the offset the boxes end at.
+     * @param type the type of the box to find.
+     * @return the offset of the content of the box, with {@link #boxEnd} set to its end,
+     * {@link #NOT_PRESENT} if there is no such box, or {@link ExifDateParser#UNRESOLVED} if a box is
+     * malformed.
+     */
+    private int findChild(final int start, final int end, final int type) {
+        int position = start;
+
+        while (position + HEADER_SIZE <= end) {
+            final long size = buffer.getInt(position) & UNSIGNED_INT_MASK;
+
+            if (size < HEADER_SIZE || position + size > end) {
+                return ExifDateParser.UNRESOLVED;
+            } else if (buffer.getInt(position + TYPE_OFFSET) == type) {
+                boxEnd = position + size;
+                return position + HEADER_SIZE;
+            }
+
+            position += (int) size;
+        }
+
+        return NOT_PRESENT;
+    }
+
+    private long readUnsigned(final int offset, final int size) {
+        return switch (size) {
+            case 0 -> 0;
+            case Short.BYTES -> buffer.getShort(offset) & SHORT_MASK;
+            case Integer.BYTES -> buffer.getInt(offset) & UNSIGNED_INT_MASK;
+            case Long.BYTES -> buffer.getLong(offset);
+            default -> throw new IndexOutOfBoundsException("Unsupported field size: " + size);
+        };
+    }
+
+    /**
+     * Reads bytes from the given position of the channel into the start of the buffer, limiting the
+     * buffer to them.
+     * @param channel the channel to read from.
+     * @param position the position of the first byte.
+     * @param length the number of bytes to read.
+     * @return true if all bytes were read, false if the file ended before them.
+     * @throws IOException if the file can't be read.
+     */
+    private boolean readAt(final FileChannel channel, final long position, final int length) throws IOException {
+        if (buffer.capacity() < length) {
+            buffer = ByteBuffer.allocate(length);
+        }
+
+        buffer.clear().limit(length);
+
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                break;
+            }
+        }
+
+        bytesRead += buffer.position();
+        final boolean complete = !buffer.hasRemaining();
+        buffer.flip();
+
+        return complete;
+    }
+
+    private static int toDateKey(final long status) {
+        return status == NOT_PRESENT ? DateKey.NONE : ExifDateParser.UNRESOLVED;
+    }
+
+    private static int fourCc(final String type) {
+        return ByteBuffer.wrap(type.getBytes(StandardCharsets.ISO_8859_1)).getInt();
+    }
+}
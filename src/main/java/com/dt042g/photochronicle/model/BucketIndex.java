@@ -0,0 +1,221 @@
+package com.dt042g.photochronicle.model;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * A compact index of file names grouped into buckets by their {@link DateKey}.
+ *
+ * <p>Instead of a map of boxed years to maps of boxed months to lists of strings, the names are stored
+ * as UTF-8 bytes in one shared arena and every entry only costs two {@code int}s: the offset of its
+ * name in the arena and the index of the next entry in the same bucket. The buckets themselves are
+ * kept in an open addressing table keyed by the packed date, so no objects are created per file.</p>
+ *
+ * <p>The index is not thread-safe, callers that add from several threads must synchronize.</p>
+ *
+ * @author Joel Lansgren, Daniel Berg
+ */
+final class BucketIndex {
+    private static final int INITIAL_ENTRIES = 64;
+    private static final int INITIAL_ARENA = 1024;
+    private static final int INITIAL_SLOTS = 32;
+    private static final int END_OF_BUCKET = -1;
+    private static final int NO_BUCKET = -1;
+    private static final int EMPTY_SLOT = 0;
+    private static final int HASH_MULTIPLIER = 0x9E3779B9;
+
+    private byte[] arena;
+    private int arenaSize;
+    private int[] offsets;
+    private int[] nextEntries;
+    private int entryCount;
+
+    private int[] bucketKeys;
+    private int[] bucketHeads;
+    private int[] bucketTails;
+    private int[] bucketSizes;
+    private int bucketCount;
+    private int[] slots;
+
+    /**
+     * Creates an empty index.
+     */
+    BucketIndex() {
+        clear();
+    }
+
+    /**
+     * Adds a file name to the bucket of the given key.
+     * @param dateKey the {@link DateKey} of the bucket.
+     * @param name the file name to add.
+     */
+    void add(final int dateKey, final String name) {
+        final byte[] encoded = name.getBytes(StandardCharsets.UTF_8);
+
+        if (entryCount + 1 >= offsets.length) {
+            offsets = Arrays.copyOf(offsets, offsets.length * 2);
+            nextEntries = Arrays.copyOf(nextEntries, nextEntries.length * 2);
+        }
+
+        if (arenaSize + encoded.length > arena.length) {
+            arena = Arrays.copyOf(arena, Math.max(arena.length * 2, arenaSize + encoded.length));
+        }
+
+        System.arraycopy(encoded, 0, arena, arenaSize, encoded.length);
+        arenaSize += encoded.length;
+
+        final int entry = entryCount++;
+        offsets[entryCount] = arenaSize;
+        nextEntries[entry] = END_OF_BUCKET;
+
+        final int bucket = findOrCreateBucket(dateKey);
+
+        if (bucketHeads[bucket] == END_OF_BUCKET) {
+            bucketHeads[bucket] = entry;
+        } else {
+            nextEntries[bucketTails[bucket]] = entry;
+        }
+
+        bucketTails[bucket] = entry;
+        bucketSizes[bucket]++;
+    }
+
+    /**
+     * Visits every bucket in chronological order, decoding the names of one bucket at a time.
+     * @param visitor receives the names of a bucket, in the order they were added, and its {@link DateKey}.
+     */
+    void forEachBucket(final ObjIntConsumer<List<String>> visitor) {
+        for (final int dateKey : keys()) {
+            final int bucket = findBucket(dateKey);
+            final List<String> names = new ArrayList<>(bucketSizes[bucket]);
+
+            for (int entry = bucketHeads[bucket]; entry != END_OF_BUCKET; entry = nextEntries[entry]) {
+                final int length = offsets[entry + 1] - offsets[entry];
+                names.add(new String(arena, offsets[entry], length, StandardCharsets.UTF_8));
+            }
+
+            visitor.accept(names, dateKey);
+        }
+    }
+
+    /**
+     * Returns the keys of all buckets, without decoding any names.
+     * @return the {@link DateKey}s of the buckets in chronological order.
+     */
+    int[] keys() {
+        final int[] sortedKeys = Arrays.copyOf(bucketKeys, bucketCount);
+        Arrays.sort(sortedKeys);
+
+        return sortedKeys;
+    }
+
+    /**
+     * Returns the number of file names in the index.
+     * @return the number of entries.
+     */
+    int size() {
+        return entryCount;
+    }
+
+    /**
+     * Returns the number of buckets in the index.
+     * @return the number of distinct keys.
+     */
+    int bucketCount() {
+        return bucketCount;
+    }
+
+    /**
+     * Returns the number of bytes the arrays of the index hold, without their object headers.
+     * @return the capacity of the arena plus the capacity of the entry and bucket tables, in bytes.
+     */
+    long footprint() {
+        return arena.length + (long) Integer.BYTES * (offsets.length + nextEntries.length + bucketKeys.length
+            + bucketHeads.length + bucketTails.length + bucketSizes.length + slots.length);
+    }
+
+    /**
+     * Removes all entries and releases the memory held by a large index.
+     */
+    void clear() {
+        arena = new byte[INITIAL_ARENA];
+        arenaSize = 0;
+        offsets = new int[INITIAL_ENTRIES];
+        nextEntries = new int[INITIAL_ENTRIES];
+        entryCount = 0;
+
+        bucketKeys = new int[INITIAL_SLOTS];
+        bucketHeads = new int[INITIAL_SLOTS];
+        bucketTails = new int[INITIAL_SLOTS];
+        bucketSizes = new int[INITIAL_SLOTS];
+        bucketCount = 0;
+        slots = new int[INITIAL_SLOTS];
+    }
+
+    private int findBucket(final int dateKey) {
+        final int mask = slots.length - 1;
+
+        for (int slot = hash(dateKey) & mask; slots[slot] != EMPTY_SLOT; slot = (slot + 1) & mask) {
+            if (bucketKeys[slots[slot] - 1] == dateKey) {
+                return slots[slot] - 1;
+            }
+        }
+
+        return NO_BUCKET;
+    }
+
+    private int findOrCreateBucket(final int dateKey) {
+        final int existing = findBucket(dateKey);
+
+        if (existing != NO_BUCKET) {
+            return existing;
+        }
+
+        if (bucketCount == bucketKeys.length) {
+            bucketKeys = Arrays.copyOf(bucketKeys, bucketCount * 2);
+            bucketHeads = Arrays.copyOf(bucketHeads, bucketCount * 2);
+            bucketTails = Arrays.copyOf(bucketTails, bucketCount * 2);
+            bucketSizes = Arrays.copyOf(bucketSizes, bucketCount * 2);
+        }
+
+        final int bucket = bucketCount++;
+        bucketKeys[bucket] = dateKey;
+        bucketHeads[bucket] = END_OF_BUCKET;
+        bucketTails[bucket] = END_OF_BUCKET;
+        bucketSizes[bucket] = 0;
+
+        if (bucketCount * 2 > slots.length) {
+            rehash(slots.length * 2);
+        } else {
+            insertSlot(bucket);
+        }
+
+        return bucket;
+    }
+
+    private void rehash(final int slotCount) {
+        slots = new int[slotCount];
+
+        for (int bucket = 0; bucket < bucketCount; bucket++) {
+            insertSlot(bucket);
+        }
+    }
+
+    private void insertSlot(final int bucket) {
+        final int mask = slots.length - 1;
+        int slot = hash(bucketKeys[bucket]) & mask;
+
+        while (slots[slot] != EMPTY_SLOT) {
+            slot = (slot + 1) & mask;
+        }
+
+        slots[slot] = bucket + 1;
+    }
+
+    private static int hash(final int dateKey) {
+        return dateKey * HASH_MULTIPLIER;
+    }
+}
@@ -0,0 +1,25 @@
+package com.dt042g.photochronicle.model;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Thrown by a {@link TransferEngine} when the CRC32C checksum of a copy, read back once it's synced,
+ * doesn't match the checksum of the bytes read from its source, in which case the copy has been deleted
+ * and the source left in place.
+ *
+ * @author Joel Lansgren, Daniel Berg
+ */
+final class ChecksumMismatchException extends IOException {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Creates the exception of a copy whose bytes didn't arrive intact.
+     * @param source the file that was copied.
+     * @param expected the checksum of the bytes read from the source.
+     * @param actual the checksum of the bytes read back from the copy.
+     */
+    ChecksumMismatchException(final Path source, final long expected, final long actual) {
+        super(String.format("The checksum of the copy, %08x, doesn't match %08x of %s", actual, expected, source));
+    }
+}
@@ -1,29 +1,55 @@
 package com.dt042g.photochronicle.model;
 
+import java.io.BufferedInputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
 import java.nio.file.AccessDeniedException;
+import java.nio.file.FileSystemException;
 import java.nio.file.Files;
 import java.nio.file.NoSuchFileException;
 import java.nio.file.NotDirectoryException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.time.LocalDate;
 import java.time.ZoneId;
-import java.util.ArrayList;
-import java.util.Arrays;
+import java.time.ZoneOffset;
 import java.util.Date;
-import java.util.HashMap;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
+import java.util.TimeZone;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
+import java.util.function.ObjIntConsumer;
 import java.util.stream.Stream;
 
-import com.drew.imaging.ImageMetadataReader;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
 import com.drew.imaging.ImageProcessingException;
+import com.drew.imaging.heif.HeifMetadataReader;
+import com.drew.imaging.jpeg.JpegMetadataReader;
+import com.drew.imaging.mp4.Mp4MetadataReader;
+import com.drew.imaging.png.PngMetadataReader;
+import com.drew.imaging.psd.PsdMetadataReader;
+import com.drew.imaging.quicktime.QuickTimeMetadataReader;
+import com.drew.imaging.raf.RafMetadataReader;
+import com.drew.imaging.tiff.TiffMetadataReader;
+import com.drew.imaging.webp.WebpMetadataReader;
 import com.drew.metadata.Metadata;
 import com.drew.metadata.exif.ExifSubIFDDirectory;
-import com.dt042g.photochronicle.support.AppConfig;
+import com.drew.metadata.mov.QuickTimeDirectory;
+import com.drew.metadata.mp4.Mp4Directory;
+import com.dt042g.photochronicle.support.ModelConfig;
 
 /**
  * The {@code ChronicleModel} class is responsible for organizing images in a specified folder
@@ -33,29 +59,39 @@ import com.dt042g.photochronicle.support.AppConfig;
  * <p>The class performs the following operations:
  * <ul>
  *     <li>Verifies access permissions for the selected folder.</li>
- *     <li>Scans the folder for image files.</li>
- *     <li>Extracts EXIF metadata to determine the original date.</li>
- *     <li>Organizes images into year/month subdirectories.</li>
+ *     <li>Scans the folder for image files, walking its subdirectories in recursive mode.</li>
+ *     <li>Finds the original date of every file by the tiers of {@link DateTier}, from its name, its
+ *     {@link FileType} specific header or its full metadata, on a pool of worker threads.</li>
+ *     <li>Organizes images into year/month subdirectories, which a {@link DirectoryPlanner} creates and
+ *     a {@link MoveExecutor} moves, copies or links the files into by their {@link TransferMode}.</li>
  *     <li>Handles errors such as access denial, missing metadata, and directory creation failures.</li>
  * </ul>
  *
- * <p>Statistics are collected on sorted, unsorted, and invalid files.
- * The sorting process results in a summary message for display in a UI.</p>
+ * <p>How a sort runs, whether it streams, caches dates, or is only a dry run, is set by the
+ * {@link SortOptions}. A running sort reports through {@link SortProgress} and {@link SortStatistics},
+ * its failures are collected by an {@link ErrorCollector}, and a folder can be kept sorted by a
+ * {@link FolderWatcher}.</p>
  *
  * @author Joel Lansgren, Daniel Berg
  */
 public final class ChronicleModel {
-    private enum StatsIndex {
-        sortedFiles,
-        unsortedFiles,
-        directoryFailures,
-        invalidFiles
-    }
     private Path path;
 
-    private final Map<Integer, Map<Integer, List<String>>> eligibleFiles = new HashMap<>();
+    private final BucketIndex eligibleFiles = new BucketIndex();
+
+    private final SortStatistics statistics = new SortStatistics();
+
+    private final SortOptions options = new SortOptions();
+
+    private final ThreadLocal<ExifDateParser> dateParsers = ThreadLocal.withInitial(ExifDateParser::new);
+
+    private final SortProgress progress = new SortProgress();
 
-    private final int[] statistics = new int[StatsIndex.values().length];
+    private MetadataCache cache;
+
+    private FolderWatcher watcher;
+
+    private final ErrorCollector errors = new ErrorCollector(ModelConfig.ERROR_SAMPLE_LIMIT);
 
     /**
      * Sets the path variable and creates various error messages depending on the path via {@link #setErrorMessages}.
@@ -65,6 +101,87 @@ public final class ChronicleModel {
         this.path = Paths.get(path);
     }
 
+    /**
+     * Returns the options used by this model, changes to them take effect on the next sort.
+     * @return the sort options of this model.
+     */
+    public SortOptions getOptions() {
+        return options;
+    }
+
+    /**
+     * Returns the progress of the running sort, which may be read and cancelled from any thread.
+     * @return the progress of the sort.
+     */
+    public SortProgress getProgress() {
+        return progress;
+    }
+
+    /**
+     * Returns the statistics of the last sort, for callers that present them in their own way.
+     * @return a snapshot of the statistics of the last sort.
+     */
+    public SortSummary getSummary() {
+        return new SortSummary(
+            (int) statistics.getSortedFiles(), (int) statistics.getUnsortedFiles(),
+            (int) statistics.getVerifiedFiles(), (int) statistics.getChecksumMismatches(),
+            (int) statistics.getDirectoryFailures(), (int) statistics.getInvalidFiles(),
+            getRejectedTypes(), progress.isCancelled()
+        );
+    }
+
+    /**
+     * Returns the live statistics of the running sort, which may be read from any thread.
+     * @return the statistics of the sort.
+     */
+    public SortStatistics getStatistics() {
+        return statistics;
+    }
+
+    /**
+     * Registers the statistics of this model with the platform MBean server, so a running sort can be
+     * monitored through JMX. The statistics of a model registered earlier are replaced.
+     */
+    public void registerStatistics() {
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+
+        try {
+            final ObjectName name = new ObjectName(ModelConfig.STATISTICS_OBJECT_NAME);
+
+            if (server.isRegistered(name)) {
+                server.unregisterMBean(name);
+            }
+
+            server.registerMBean(statistics, name);
+        } catch (final JMException e) {
+            handleError(ErrorKind.MONITORING, path, e, () -> { });
+        }
+    }
+
+    /**
+     * Returns the failures of the last sort, or of the last batch of a watched folder.
+     * @return the counts and first samples of the failures.
+     */
+    public ErrorSummary getErrors() {
+        return errors.summary();
+    }
+
+    /**
+     * Returns the number of files of every unsupported type that were rejected by the last sort.
+     * @return the rejected types that occurred, with the number of files of each.
+     */
+    private Map<FileType, Integer> getRejectedTypes() {
+        final Map<FileType, Integer> types = new EnumMap<>(FileType.class);
+
+        for (final FileType type : FileType.values()) {
+            if (statistics.getRejected(type) > 0) {
+                types.put(type, (int) statistics.getRejected(type));
+            }
+        }
+
+        return types;
+    }
+
     /**
      * Used to sort images of the selected folder by looking up EXIF metadata. The images will be sorted into
      * subdirectories based on the year and month of the original date.
@@ -72,51 +189,190 @@ public final class ChronicleModel {
      * @param displayInformation callback method to display information.
      */
     public void sortFolder(final Consumer<String> displayError, final Consumer<String> displayInformation) {
+        final SortEvent event = new SortEvent();
+        event.begin();
+        startErrors(false);
+
         try {
             verifyAccess();
+            verifyTarget();
         } catch (AccessDeniedException | NoSuchFileException | NotDirectoryException e) {
-            handleError(e, () -> displayError.accept(e.getMessage()));
+            handleError(ErrorKind.ACCESS, path, e, () -> displayError.accept(e.getMessage()));
+            errors.finish();
+            return;
+        } catch (final FileSystemException e) {
+            handleError(ErrorKind.FOLDER, target(), e, () -> displayError.accept(e.getReason()));
+            errors.finish();
             return;
         }
 
         reset();
 
-        try (Stream<Path> directoryContents = Files.list(path)) {
-            directoryContents
-                    .filter(file -> !Files.isDirectory(file))
-                    .forEach(file -> detectEXIFMetadataFiles(file.toFile()));
+        try {
+            createTarget();
+
+            if (options.isStreaming()) {
+                sortStreaming();
+            } else {
+                scanFolder(this::addEligibleFile);
+                sortEligibleFiles();
+            }
+
+            saveCache();
         } catch (final IOException e) {
             handleError(e, () ->
                 displayError.accept("Failed to process the directory. Please check the path and try again."));
             return;
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            handleError(ErrorKind.INTERRUPTED, path, e, () -> displayError.accept(ModelConfig.GENERAL_ERROR));
+            return;
+        } catch (final RuntimeException e) {
+            handleError(ErrorKind.FOLDER, path, e, () -> displayError.accept(ModelConfig.GENERAL_ERROR));
+            return;
+        } finally {
+            errors.finish();
+            commit(event);
         }
 
-        sortEligibleFiles();
-
-        if (statistics[StatsIndex.sortedFiles.ordinal()] == 0) {
-            displayError.accept(AppConfig.NO_FILES_SORTED);
+        if (statistics.getSortedFiles() == 0 && !progress.isCancelled()) {
+            displayError.accept(ModelConfig.NO_FILES_SORTED);
         } else {
             displayInformation.accept(getMessageStatistics());
         }
     }
 
+    /**
+     * Starts watching the selected folder, sorting the files that arrive in it in small batches. A folder
+     * that is already being watched is stopped first.
+     * @param displayError callback method to display error message, called from the thread of the watcher
+     * if the folder can no longer be watched.
+     * @param displayProgress callback method to display the number of files sorted since the watch started,
+     * called from the thread of the watcher after every batch.
+     */
+    public void watchFolder(final Consumer<String> displayError, final Consumer<String> displayProgress) {
+        stopWatching();
+
+        try {
+            verifyAccess();
+        } catch (AccessDeniedException | NoSuchFileException | NotDirectoryException e) {
+            handleError(ErrorKind.ACCESS, path, e, () -> displayError.accept(e.getMessage()));
+            return;
+        }
+
+        final AtomicInteger sortedFiles = new AtomicInteger();
+        final FolderWatcher folderWatcher = new FolderWatcher(path, target(), files -> {
+            sortFiles(files);
+            displayProgress.accept(String.format(
+                ModelConfig.WATCH_STATUS, sortedFiles.addAndGet((int) statistics.getSortedFiles())
+            ));
+        }, e -> handleError(ErrorKind.WATCH, path, e, () -> displayError.accept(ModelConfig.WATCH_STOPPED)));
+
+        try {
+            folderWatcher.start();
+            watcher = folderWatcher;
+        } catch (final IOException e) {
+            handleError(ErrorKind.WATCH, path, e, () -> displayError.accept(ModelConfig.WATCH_STOPPED));
+        }
+    }
+
+    /**
+     * Stops watching the folder, waiting for a batch that is being sorted to finish.
+     */
+    public void stopWatching() {
+        if (watcher == null) {
+            return;
+        }
+
+        try {
+            watcher.stop();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        watcher = null;
+    }
+
+    /**
+     * Sorts the given files of the folder, used for the batches of a watched folder. The statistics
+     * are those of the batch, and the metadata cache isn't used since the files are new.
+     * @param files the files to sort.
+     */
+    void sortFiles(final List<Path> files) {
+        eligibleFiles.clear();
+        statistics.reset();
+        cache = null;
+        progress.start();
+        progress.addTotal(files.size());
+        startErrors(true);
+
+        final SortEvent event = new SortEvent();
+        event.begin();
+
+        try {
+            verifyTarget();
+            createTarget();
+        } catch (final IOException e) {
+            handleError(ErrorKind.FOLDER, options.getTargetFolder(), e, () -> { });
+        }
+
+        files.forEach(file -> detectEXIFMetadataFiles(file.toFile(), this::addEligibleFile));
+        sortEligibleFiles();
+        errors.finish();
+        commit(event);
+    }
+
+    /**
+     * Commits the event of a finished sort with the statistics of the sort, if a recording enables it.
+     * @param event the event started with the sort.
+     */
+    private void commit(final SortEvent event) {
+        if (event.shouldCommit()) {
+            event.setSort(path, options);
+            event.setSummary(getSummary());
+            event.commit();
+        }
+    }
+
     /**
      * Used to create and return a message with the current statistics.
      * @return A message with the current statistics.
      */
     String getMessageStatistics() {
-        return "<html>Sorting of directory:<br>" + path + "<br>Has finished. Statistics:<br>"
+        return "<html>Sorting of directory:<br>" + path
+                + (progress.isCancelled() ? "<br>Was cancelled. Statistics:<br>" : "<br>Has finished. Statistics:<br>")
                 + "Number of files sorted: "
-                + statistics[StatsIndex.sortedFiles.ordinal()] + "<br>"
+                + statistics.getSortedFiles() + "<br>"
                 + "Number of files which couldn't be sorted: "
-                + statistics[StatsIndex.unsortedFiles.ordinal()] + "<br>"
+                + statistics.getUnsortedFiles() + "<br>"
+                + (options.isVerifyChecksums() ? "Number of files verified by checksum: "
+                    + statistics.getVerifiedFiles() + "<br>Number of checksum mismatches: "
+                    + statistics.getChecksumMismatches() + "<br>" : "")
                 + "Number of directory creation failures: "
-                + statistics[StatsIndex.directoryFailures.ordinal()] + "<br>"
+                + statistics.getDirectoryFailures() + "<br>"
                 + "Number of invalid files: "
-                + statistics[StatsIndex.invalidFiles.ordinal()] + "<br>"
+                + statistics.getInvalidFiles() + "<br>"
+                + formatRejectedTypes(getRejectedTypes())
                 + "</html>";
     }
 
+    /**
+     * Formats the rejected types of the statistics message, as {@code "VIDEO: 2, SIDECAR: 1"}.
+     * @param types the rejected types with the number of files of each.
+     * @return a line of the message, or an empty string if no files were rejected.
+     */
+    private static String formatRejectedTypes(final Map<FileType, Integer> types) {
+        if (types.isEmpty()) {
+            return "";
+        }
+
+        final StringBuilder line = new StringBuilder("Of which unsupported file types: ");
+        types.forEach((type, count) -> line.append(type).append(": ").append(count).append(", "));
+        line.setLength(line.length() - 2);
+
+        return line.append("<br>").toString();
+    }
+
     /**
      * Verifies whether access to the folder is allowed.
      *
@@ -129,11 +385,11 @@ public final class ChronicleModel {
      */
     void verifyAccess() throws AccessDeniedException, NoSuchFileException, NotDirectoryException {
         if (path == null) {
-            throw new NoSuchFileException(AppConfig.GENERAL_ERROR);
+            throw new NoSuchFileException(ModelConfig.GENERAL_ERROR);
         } else if (!Files.exists(path)) {
-            throw new NoSuchFileException(AppConfig.GENERAL_ERROR);
+            throw new NoSuchFileException(ModelConfig.GENERAL_ERROR);
         } else if (!Files.isDirectory(path)) {
-            throw new NotDirectoryException(AppConfig.GENERAL_ERROR);
+            throw new NotDirectoryException(ModelConfig.GENERAL_ERROR);
         } else if (!Files.isWritable(path)) {
             throw new AccessDeniedException(setErrorMessage("Write"));
         } else if (!Files.isReadable(path)) {
@@ -161,90 +417,768 @@ public final class ChronicleModel {
     }
 
     /**
-     * Handles an exception by printing its stack trace and executing a fallback action.
-     * @param e The exception that was thrown and needs to be handled. The exception's stack trace
-     * will be printed to the standard error stream.
+     * Records a failure that escaped a sort, such as an error of the thread that ran it, as an
+     * {@link ErrorKind#FOLDER} failure so it is counted and reported like the failures of the sort.
+     * @param e the exception behind the failure.
+     */
+    public void recordFailure(final Exception e) {
+        handleError(e, () -> { });
+    }
+
+    /**
+     * Handles an exception of the folder by recording it as an {@link ErrorKind#FOLDER} failure and
+     * executing a fallback action.
+     * @param e The exception that was thrown and needs to be handled. The exception is recorded by the
+     * {@link ErrorCollector} instead of being printed.
      * @param action A {@link Runnable} that contains the fallback action to be executed when the exception
      * occurs. This can be any task that should be performed after handling the exception.
      */
     void handleError(Exception e, Runnable action) {
-        e.printStackTrace();
+        handleError(ErrorKind.FOLDER, path, e, action);
+    }
+
+    /**
+     * Handles an exception by recording it in the {@link ErrorCollector} and executing a fallback action.
+     * @param kind the kind of the failure.
+     * @param file the file or folder that failed.
+     * @param e the exception that was thrown.
+     * @param action the fallback action to execute after the exception has been recorded.
+     */
+    void handleError(final ErrorKind kind, final Path file, final Exception e, final Runnable action) {
+        errors.record(kind, file, e);
         action.run();
     }
 
-    private void detectEXIFMetadataFiles(final File file) {
+    /**
+     * Starts collecting the failures of a sort, streaming them to the error report of the {@link SortOptions}.
+     * A report that can't be opened is recorded as a failure, the failures are still counted.
+     * @param append whether the failures are appended to the report, as for the batches of a watched folder.
+     */
+    private void startErrors(final boolean append) {
         try {
-            final Metadata metadata = ImageMetadataReader.readMetadata(file);
-            final ExifSubIFDDirectory exifSubIFDDirectory = metadata
-                    .getFirstDirectoryOfType(ExifSubIFDDirectory.class);
+            errors.start(options.getErrorReport(), options.isDebug(), append);
+        } catch (final IOException e) {
+            errors.record(ErrorKind.REPORT, options.getErrorReport(), e);
+        }
+    }
 
-            if (exifSubIFDDirectory == null) {
-                statistics[StatsIndex.invalidFiles.ordinal()]++;
-                return;
+    /**
+     * Scans the folder for files and extracts their metadata. Only the files directly in the folder are
+     * scanned, unless the {@link SortOptions} are set to recursive in which case the folder is walked by
+     * a {@link DirectoryWalker}. The folder is listed once, with the total of the {@link SortProgress}
+     * counted as the files are listed, so the total is an estimate until the listing has ended.
+     * @param eligibleFile receives every file that has an original date together with its {@link DateKey}.
+     * @throws IOException if the folder couldn't be listed.
+     * @throws InterruptedException if the thread is interrupted while waiting for a worker.
+     */
+    private void scanFolder(final ObjIntConsumer<File> eligibleFile) throws IOException, InterruptedException {
+        if (options.isRecursive()) {
+            new DirectoryWalker(path, target(), options.getWorkerCount()).walk(file -> {
+                if (!isCacheFile(file)) {
+                    progress.addTotal(1);
+                    detectEXIFMetadataFiles(file.toFile(), eligibleFile);
+                }
+            }, e -> handleError(ErrorKind.FOLDER, failedPath(e), e, () -> { }));
+            return;
+        }
+
+        try (Stream<Path> directoryContents = Files.list(path)) {
+            extractMetadata(directoryContents
+                .filter(file -> !Files.isDirectory(file) && !isCacheFile(file))
+                .peek(file -> progress.addTotal(1)), eligibleFile);
+        }
+    }
+
+    /**
+     * Returns the path an exception of the file system failed on.
+     * @param e the exception.
+     * @return the file of the exception, or the folder when the exception doesn't tell.
+     */
+    private Path failedPath(final IOException e) {
+        return e instanceof FileSystemException fileSystemException && fileSystemException.getFile() != null
+            ? Paths.get(fileSystemException.getFile())
+            : path;
+    }
+
+    /**
+     * Checks whether a file is the {@link MetadataCache} of the folder, which is never sorted.
+     * @param file the file to check.
+     * @return true if the file is the cache file of the folder.
+     */
+    private boolean isCacheFile(final Path file) {
+        return path.equals(file.getParent()) && ModelConfig.CACHE_FILE_NAME.equals(file.getFileName().toString());
+    }
+
+    /**
+     * Extracts the metadata of the given files, either sequentially or spread out over a pool of worker
+     * threads depending on the worker count of the {@link SortOptions}.
+     *
+     * <p>The number of files waiting for a worker is bounded, so the folder listing is never read
+     * further ahead than the workers can keep up with. No more files are handed out once the sort has
+     * been cancelled.</p>
+     * @param files the files to extract the metadata from.
+     * @param eligibleFile receives every file that has an original date together with its {@link DateKey}.
+     * @throws InterruptedException if the thread is interrupted while waiting for a worker.
+     */
+    private void extractMetadata(final Stream<Path> files, final ObjIntConsumer<File> eligibleFile)
+    throws InterruptedException {
+        final int workerCount = options.getWorkerCount();
+
+        if (workerCount == 1) {
+            files.takeWhile(file -> !progress.isCancelled())
+                    .forEach(file -> detectEXIFMetadataFiles(file.toFile(), eligibleFile));
+            return;
+        }
+
+        final Semaphore pendingTasks = new Semaphore(workerCount * ModelConfig.TASKS_PER_WORKER);
+
+        try (ExecutorService workers = Executors.newFixedThreadPool(workerCount)) {
+            for (final Path file : (Iterable<Path>) files::iterator) {
+                if (progress.isCancelled()) {
+                    break;
+                }
+
+                pendingTasks.acquire();
+                workers.execute(() -> {
+                    try {
+                        detectEXIFMetadataFiles(file.toFile(), eligibleFile);
+                    } finally {
+                        pendingTasks.release();
+                    }
+                });
+            }
+        }
+    }
+
+    /**
+     * Sorts the files in a pipeline where the files are moved by a separate thread as soon as their
+     * original date has been found, instead of after the whole folder has been scanned.
+     *
+     * <p>The extraction and move stages are joined by a bounded queue, so together with the bounded
+     * extraction the memory used stays the same no matter how many files the folder holds.</p>
+     * @throws IOException if the folder couldn't be listed.
+     * @throws InterruptedException if the thread is interrupted while waiting for a worker, in which case the
+     * move stage is still ended and waited for.
+     */
+    private void sortStreaming() throws IOException, InterruptedException {
+        final BlockingQueue<ClassifiedFile> classifiedFiles = new ArrayBlockingQueue<>(options.getQueueCapacity());
+        statistics.setQueue(classifiedFiles);
+        final Thread mover = new Thread(() -> moveClassifiedFiles(classifiedFiles), "photochronicle-mover");
+        mover.start();
+
+        try {
+            scanFolder((file, dateKey) -> {
+                try {
+                    classifiedFiles.put(new ClassifiedFile(file.toPath(), dateKey));
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    handleError(ErrorKind.INTERRUPTED, file.toPath(), e, () -> count(SortStatistics.Counter.UNSORTED));
+                }
+            });
+        } finally {
+            endStream(classifiedFiles, mover);
+            statistics.setQueue(null);
+        }
+    }
+
+    /**
+     * Hands the end of the stream to the move stage of {@link #sortStreaming} and waits for it to finish.
+     * The end is delivered even when the thread has been interrupted, since the move stage would otherwise
+     * wait for it forever, and the interrupt is restored once the move stage has finished.
+     * @param classifiedFiles the queue the move stage takes the classified files from.
+     * @param mover the thread of the move stage.
+     */
+    private static void endStream(final BlockingQueue<ClassifiedFile> classifiedFiles, final Thread mover) {
+        boolean interrupted = Thread.interrupted();
+        boolean delivered = false;
+
+        while (!delivered || mover.isAlive()) {
+            try {
+                if (!delivered) {
+                    classifiedFiles.put(ClassifiedFile.END);
+                    delivered = true;
+                }
+
+                mover.join();
+            } catch (final InterruptedException e) {
+                interrupted = true;
+            }
+        }
+
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * The move stage of {@link #sortStreaming}, moves classified files until the end of the stream is reached.
+     * The moves are spread over the lanes of a {@link MoveExecutor}, grouped by the directory of their month
+     * unless their bytes are copied.
+     * @param classifiedFiles the queue the classified files are taken from.
+     */
+    private void moveClassifiedFiles(final BlockingQueue<ClassifiedFile> classifiedFiles) {
+        boolean ended = false;
+
+        try {
+            moveUntilEnd(classifiedFiles);
+            ended = true;
+        } catch (final InterruptedException e) {
+            handleError(ErrorKind.INTERRUPTED, path, e, () -> { });
+        } catch (final RuntimeException e) {
+            handleError(ErrorKind.MOVE, path, e, () -> { });
+        } finally {
+            if (!ended) {
+                drainClassifiedFiles(classifiedFiles);
+            }
+        }
+    }
+
+    /**
+     * Moves classified files until the end of the stream is reached.
+     * @param classifiedFiles the queue the classified files are taken from.
+     * @throws InterruptedException if the thread is interrupted while waiting for a file or a lane.
+     */
+    private void moveUntilEnd(final BlockingQueue<ClassifiedFile> classifiedFiles) throws InterruptedException {
+        final DirectoryPlanner planner = newDirectoryPlanner();
+        final TransferEngine transfers = newTransferEngine();
+        int transferredFiles = 0;
+
+        try (MoveExecutor moves = new MoveExecutor(options.getMoveWorkerCount())) {
+            for (ClassifiedFile file = classifiedFiles.take(); file != ClassifiedFile.END;
+                    file = classifiedFiles.take()) {
+                if (progress.isCancelled()) {
+                    continue; // Keeps draining the queue so the extraction stage isn't blocked.
+                }
+
+                final ClassifiedFile classifiedFile = file;
+                final Path name = file.source().getFileName();
+                moves.execute(transfers.copiesBytes() ? transferredFiles++ : file.dateKey(), () -> {
+                    final Path directory = planner.directory(classifiedFile.dateKey());
+
+                    if (directory != null) {
+                        moveFile(classifiedFile.source(), directory.resolve(name), transfers);
+                    } else {
+                        progress.complete(1);
+                    }
+                });
             }
+        }
+    }
 
-            final Date originalDate = exifSubIFDDirectory.getDateOriginal();
+    /**
+     * Takes the remaining classified files of a move stage that stopped early until the end of the stream,
+     * counting them as unsorted, so the extraction stage is never blocked on a full queue.
+     * @param classifiedFiles the queue the classified files are taken from.
+     */
+    private void drainClassifiedFiles(final BlockingQueue<ClassifiedFile> classifiedFiles) {
+        boolean interrupted = Thread.interrupted();
+        ClassifiedFile file = null;
+
+        while (file != ClassifiedFile.END) {
+            try {
+                file = classifiedFiles.take();
+
+                if (file != ClassifiedFile.END) {
+                    count(SortStatistics.Counter.UNSORTED);
+                }
+            } catch (final InterruptedException e) {
+                interrupted = true;
+            }
+        }
+
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Resolves the original date of a file and hands it to the consumer, counting the file as invalid when
+     * it has none. Every failure is recorded against the file, including the runtime exceptions a parser
+     * may throw on a malformed file, so that one file can't abort the sort or get lost in a worker thread.
+     * @param file the file to resolve.
+     * @param eligibleFile receives the file together with its {@link DateKey} when it has an original date.
+     */
+    private void detectEXIFMetadataFiles(final File file, final ObjIntConsumer<File> eligibleFile) {
+        if (progress.isCancelled()) {
+            return;
+        }
+
+        try {
+            final int dateKey = resolveDateKey(file);
 
-            if (originalDate == null) {
-                statistics[StatsIndex.invalidFiles.ordinal()]++;
+            if (dateKey == DateKey.NONE) {
+                count(SortStatistics.Counter.INVALID);
                 return;
             }
 
-            final LocalDate date = originalDate.toInstant().atZone(ZoneId.systemDefault()).toLocalDate();
+            eligibleFile.accept(file, dateKey);
+        } catch (final ImageProcessingException e) {
+            handleError(ErrorKind.METADATA, file.toPath(), e, () -> count(SortStatistics.Counter.INVALID));
+        } catch (final IOException e) {
+            handleError(ErrorKind.READ, file.toPath(), e, () -> count(SortStatistics.Counter.INVALID));
+        } catch (final RuntimeException e) {
+            handleError(ErrorKind.METADATA, file.toPath(), e, () -> count(SortStatistics.Counter.INVALID));
+        }
+    }
+
+    /**
+     * Resolves the original date of a file through the tiers of the date resolution chain. The name of the
+     * file is matched first or last, as decided by the {@link FilenameTrust} of the {@link SortOptions},
+     * while the metadata is looked up in the {@link MetadataCache} when it is enabled and extracted otherwise.
+     * @param file the file to resolve.
+     * @return the {@link DateKey} of the original date, or {@link DateKey#NONE} if no tier found one.
+     * @throws ImageProcessingException if metadata-extractor can't process the file.
+     * @throws IOException if the file can't be read.
+     */
+    private int resolveDateKey(final File file) throws ImageProcessingException, IOException {
+        final FilenameTrust trust = options.getFilenameTrust();
+
+        if (trust == FilenameTrust.PREFER) {
+            final int dateKey = matchFileName(file);
+
+            if (dateKey != DateKey.NONE) {
+                return dateKey;
+            }
+        }
+
+        final int dateKey = cache == null ? extractDateKey(file) : lookupDateKey(file);
+
+        return dateKey == DateKey.NONE && trust == FilenameTrust.FALLBACK ? matchFileName(file) : dateKey;
+    }
+
+    /**
+     * Finds the original date encoded in the name of a file, counting the file when one is found. Only the
+     * names of images and videos are matched, told by the {@link FileType} of their extension, so documents
+     * with a date in their name are left in place.
+     * @param file the file whose name is matched.
+     * @return the {@link DateKey} of the date in the name, or {@link DateKey#NONE} if it holds none.
+     */
+    private int matchFileName(final File file) {
+        if (!FileType.ofExtension(file.getName()).isSupported()) {
+            return DateKey.NONE;
+        }
+
+        final int dateKey = FilenameDateMatcher.match(file.getName());
+
+        if (dateKey != DateKey.NONE) {
+            statistics.resolve(DateTier.FILENAME);
+        }
+
+        return dateKey;
+    }
+
+    /**
+     * Finds the original date of a file in the {@link MetadataCache}, extracting and caching it when the
+     * file isn't cached or has changed since it was. Files that can't be processed are cached as having
+     * no date, while read errors aren't cached since they may be temporary.
+     * @param file the file to look up.
+     * @return the {@link DateKey} of the original date, or {@link DateKey#NONE} if the file has none.
+     * @throws ImageProcessingException if metadata-extractor can't process the file.
+     * @throws IOException if the file can't be read.
+     */
+    private int lookupDateKey(final File file) throws ImageProcessingException, IOException {
+        final String relativePath = path.relativize(file.toPath()).toString();
+        final BasicFileAttributes attributes = Files.readAttributes(file.toPath(), BasicFileAttributes.class);
+        final long lastModified = attributes.lastModifiedTime().toMillis();
+        int dateKey = cache.lookup(relativePath, attributes.size(), lastModified);
+
+        if (dateKey == MetadataCache.MISS) {
+            try {
+                dateKey = extractDateKey(file);
+            } catch (final ImageProcessingException e) {
+                cache.record(relativePath, attributes.size(), lastModified, DateKey.NONE);
+                throw e;
+            }
+
+            cache.record(relativePath, attributes.size(), lastModified, dateKey);
+        } else if (dateKey != DateKey.NONE) {
+            statistics.resolve(DateTier.CACHE);
+        }
+
+        return dateKey;
+    }
+
+    /**
+     * Extracts the original date of a file, using the strategy of the {@link ExtractionMode} and falling
+     * back to metadata-extractor when the fast parser can't handle the file. Files of an unsupported
+     * {@link FileType} are rejected without being parsed.
+     * @param file the file to read.
+     * @return the {@link DateKey} of the original date, or {@link DateKey#NONE} if the file has none.
+     * @throws ImageProcessingException if metadata-extractor can't process the file.
+     * @throws IOException if the file can't be read.
+     */
+    int extractDateKey(final File file) throws ImageProcessingException, IOException {
+        final ExtractionEvent event = new ExtractionEvent();
+        event.begin();
+        final int headerReadLimit = options.getHeaderReadLimit();
+        final boolean fast = options.getExtractionMode() == ExtractionMode.FAST && headerReadLimit > 0;
+        final ExifDateParser parser = dateParsers.get();
+        FileType type = FileType.UNKNOWN;
+        int dateKey = ExifDateParser.UNRESOLVED;
+
+        try {
+            type = parser.load(
+                file.toPath(), fast ? Math.max(headerReadLimit, FileType.SIGNATURE_LENGTH) : FileType.SIGNATURE_LENGTH
+            );
+
+            if (!type.isSupported()) {
+                statistics.reject(type);
+
+                dateKey = DateKey.NONE;
+                return dateKey;
+            }
+
+            if (fast && (type.hasLeadingExif() || type.isBoxBased())) {
+                dateKey = parser.parseLoaded();
+            }
+
+            if (dateKey == ExifDateParser.UNRESOLVED) { // The fast parser already searched the header.
+                dateKey = readDateKey(file, type, fast ? 0 : headerReadLimit, event);
+            }
+
+            return dateKey;
+        } finally {
+            event.addBytesRead(parser.loadedLength());
+            statistics.addBytesRead(event.getBytesRead());
+
+            if (dateKey >= 0) {
+                statistics.resolve(DateTier.METADATA);
+            }
+
+            if (event.shouldCommit()) {
+                event.setOutcome(file.toPath(), type, dateKey >= 0);
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * Uses metadata-extractor to find the original date, first within the header of the file when the
+     * format keeps its EXIF data there and then in the full file.
+     * @param file the file to read.
+     * @param type the type of the file, which decides the reader used.
+     * @param headerReadLimit the maximum number of leading bytes to read before the full file is read, or 0
+     * to read the full file straight away.
+     * @param event the event of the extraction, told what was read.
+     * @return the {@link DateKey} of the original date, or {@link DateKey#NONE} if the file has none.
+     * @throws ImageProcessingException if metadata-extractor can't process the file.
+     * @throws IOException if the file can't be read.
+     */
+    private int readDateKey(
+        final File file, final FileType type, final int headerReadLimit, final ExtractionEvent event
+    ) throws ImageProcessingException, IOException {
+        final boolean exifOnly = options.getExtractionMode() == ExtractionMode.EXIF_ONLY;
+        LocalDate originalDate = null;
+
+        if (headerReadLimit > 0 && type.hasLeadingExif()) {
+            final byte[] header = HeaderMetadataReader.readHeader(file.toPath(), headerReadLimit);
+            event.addBytesRead(header.length);
+            originalDate = findOriginalDate(HeaderMetadataReader.read(header, exifOnly));
+        }
 
-            addEligibleFile(file.getName(), date.getYear(), date.getMonthValue());
-        } catch (ImageProcessingException | IOException e) {
-            handleError(e, () -> statistics[StatsIndex.invalidFiles.ordinal()]++);
+        if (originalDate == null) {
+            event.setFullRead();
+            originalDate = findOriginalDate(readMetadata(file, type, exifOnly));
         }
+
+        return originalDate == null ? DateKey.NONE : DateKey.of(originalDate.getYear(), originalDate.getMonthValue());
     }
 
-    private void addEligibleFile(final String file, final int year, final int month) {
-        if (eligibleFiles.get(year) == null) {
-            final Map<Integer, List<String>> yearData = new HashMap<>();
-            eligibleFiles.put(year, yearData);
+    /**
+     * Reads the full metadata of a file with the metadata-extractor reader of its format, instead of
+     * letting metadata-extractor detect the format again.
+     * @param file the file to read.
+     * @param type the supported type of the file.
+     * @param exifOnly whether JPEG and TIFF images are read by {@link ExifDateReader}.
+     * @return the metadata of the file.
+     * @throws ImageProcessingException if metadata-extractor can't process the file.
+     * @throws IOException if the file can't be read.
+     */
+    private static Metadata readMetadata(final File file, final FileType type, final boolean exifOnly)
+    throws ImageProcessingException, IOException {
+        return switch (type) {
+            case JPEG -> exifOnly ? ExifDateReader.readJpeg(file) : JpegMetadataReader.readMetadata(file);
+            case TIFF -> exifOnly ? ExifDateReader.readTiff(file) : TiffMetadataReader.readMetadata(file);
+            case PNG -> PngMetadataReader.readMetadata(file);
+            case WEBP -> WebpMetadataReader.readMetadata(file);
+            case PSD -> PsdMetadataReader.readMetadata(file);
+            case RAF -> RafMetadataReader.readMetadata(file);
+            case MP4 -> Mp4MetadataReader.readMetadata(file);
+            case QUICKTIME -> QuickTimeMetadataReader.readMetadata(file);
+            case HEIF -> {
+                try (InputStream input = new BufferedInputStream(Files.newInputStream(file.toPath()))) {
+                    yield HeifMetadataReader.readMetadata(input);
+                }
+            }
+            default -> throw new ImageProcessingException("Unsupported file type: " + type);
+        };
+    }
+
+    /**
+     * Looks up the original date in the EXIF SubIFD directory of the given metadata, or for videos the
+     * creation time in the movie header. The DateTimeOriginal is the local time of the camera, so it's read
+     * as written, like {@link ExifDateParser} reads it, while the creation time of a video is in UTC and
+     * converted to the system time zone, like {@link BoxDateParser} converts it.
+     * @param metadata the metadata to look in, may be {@code null}.
+     * @return the original date, or {@code null} if the metadata doesn't contain one.
+     */
+    private LocalDate findOriginalDate(final Metadata metadata) {
+        if (metadata == null) {
+            return null;
+        }
+
+        final ExifSubIFDDirectory exifSubIFDDirectory = metadata.getFirstDirectoryOfType(ExifSubIFDDirectory.class);
+
+        if (exifSubIFDDirectory != null) {
+            final Date dateOriginal = exifSubIFDDirectory.getDate(
+                ExifSubIFDDirectory.TAG_DATETIME_ORIGINAL, TimeZone.getTimeZone(ZoneOffset.UTC)
+            );
+
+            return dateOriginal == null ? null : dateOriginal.toInstant().atZone(ZoneOffset.UTC).toLocalDate();
+        }
+
+        final Mp4Directory mp4Directory = metadata.getFirstDirectoryOfType(Mp4Directory.class);
+        final QuickTimeDirectory quickTimeDirectory = metadata.getFirstDirectoryOfType(QuickTimeDirectory.class);
+        Date creationTime = null;
+
+        if (mp4Directory != null) {
+            creationTime = mp4Directory.getDate(Mp4Directory.TAG_CREATION_TIME);
+        } else if (quickTimeDirectory != null) {
+            creationTime = quickTimeDirectory.getDate(QuickTimeDirectory.TAG_CREATION_TIME);
         }
 
-        if (eligibleFiles.get(year).get(month) == null) {
-            final List<String> monthData = new ArrayList<>();
-            eligibleFiles.get(year).put(month, monthData);
+        if (creationTime == null || creationTime.getTime() == BoxDateParser.UNSET_CREATION_TIME) {
+            return null;
         }
 
-        eligibleFiles.get(year).get(month).add(file);
+        return creationTime.toInstant().atZone(ZoneId.systemDefault()).toLocalDate();
+    }
+
+    private synchronized void addEligibleFile(final File file, final int dateKey) {
+        eligibleFiles.add(dateKey, path.relativize(file.toPath()).toString());
     }
 
+    /**
+     * Moves the eligible files into the directories of their months, once the directories of all months
+     * have been created up front by a {@link DirectoryPlanner}. Every bucket is moved by one lane of a
+     * {@link MoveExecutor}, so the buckets are moved in parallel while the files of a bucket keep their order.
+     */
     private void sortEligibleFiles() {
-        Path basePath = Paths.get(path.toString());
-
-        eligibleFiles.forEach((year, months) -> {
-            Path directoryYear = basePath.resolve(year.toString());
-
-            months.forEach((month, files) -> {
-                final String strMonth = String.format("%02d-%s", month, AppConfig.MONTHS[month - 1]);
-                Path directoryMonth = directoryYear.resolve(strMonth);
-                final File fileMonth = directoryMonth.toFile();
-
-                if (!fileMonth.exists() && !fileMonth.mkdirs()) {
-                    statistics[StatsIndex.directoryFailures.ordinal()]++;
-                } else {
-                    files.forEach((file) -> moveFile(
-                        Paths.get(path.toString(), file),
-                        Paths.get(fileMonth.toString(), file)));
+        if (progress.isCancelled()) {
+            return;
+        }
+
+        final DirectoryPlanner planner = newDirectoryPlanner();
+        final TransferEngine transfers = newTransferEngine();
+        planner.plan(eligibleFiles.keys(), options.getWorkerCount());
+
+        try (MoveExecutor moves = new MoveExecutor(options.getMoveWorkerCount())) {
+            eligibleFiles.forEachBucket((files, dateKey) -> {
+                if (progress.isCancelled()) {
+                    return;
+                }
+
+                final Path directoryMonth = planner.directory(dateKey);
+
+                if (directoryMonth == null) {
+                    progress.complete(files.size());
+                    return;
+                }
+
+                try {
+                    submitMoves(moves, transfers, files, dateKey, directoryMonth);
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    handleError(ErrorKind.INTERRUPTED, directoryMonth, e, () -> files.forEach(file ->
+                        count(SortStatistics.Counter.UNSORTED)));
                 }
             });
-        });
+        }
+    }
+
+    /**
+     * Hands the files of a bucket to the lanes of a {@link MoveExecutor}. Renames and links are bound by the
+     * directory they update, so the whole bucket goes to the lane of its month, while copies and transfers to
+     * another file system are bound by the bytes copied and are spread over all lanes one file at a time.
+     * @param moves the executor of the moves.
+     * @param transfers the engine moving the files.
+     * @param files the paths of the files relative to the folder.
+     * @param dateKey the {@link DateKey} of the bucket.
+     * @param directoryMonth the directory of the month of the files.
+     * @throws InterruptedException if the thread is interrupted while waiting for a lane.
+     */
+    private void submitMoves(
+        final MoveExecutor moves, final TransferEngine transfers, final List<String> files, final int dateKey,
+        final Path directoryMonth
+    ) throws InterruptedException {
+        if (!transfers.copiesBytes()) {
+            moves.execute(dateKey, () -> moveFiles(files, directoryMonth, transfers));
+            return;
+        }
+
+        for (int i = 0; i < files.size(); i++) {
+            final List<String> file = List.of(files.get(i));
+            moves.execute(dateKey + i, () -> moveFiles(file, directoryMonth, transfers));
+        }
+    }
+
+    /**
+     * Moves the files of a bucket into the directory of their month, in order, until the sort is cancelled.
+     * @param files the paths of the files relative to the folder.
+     * @param directoryMonth the directory of the month of the files.
+     * @param transfers the engine moving the files.
+     */
+    private void moveFiles(final List<String> files, final Path directoryMonth, final TransferEngine transfers) {
+        for (final String file : files) {
+            if (progress.isCancelled()) {
+                return;
+            }
+
+            final Path source = path.resolve(file);
+            moveFile(source, directoryMonth.resolve(source.getFileName()), transfers);
+        }
+    }
+
+    /**
+     * Creates a planner of the year and month directories of the folder, which records and counts the
+     * directories that couldn't be created.
+     * @return the planner of the directories of a sort.
+     */
+    DirectoryPlanner newDirectoryPlanner() {
+        return new DirectoryPlanner(target(), options.isDryRun(), (directory, e) ->
+            handleError(ErrorKind.DIRECTORY, directory, e, () -> count(SortStatistics.Counter.DIRECTORY_FAILURES))
+        );
+    }
+
+    /**
+     * Creates the engine putting the files of a sort into the target folder by the {@link TransferMode} of
+     * the {@link SortOptions}. When the file systems of the folders can't be told moved files are renamed,
+     * which {@link Files#move} falls back from by itself.
+     * @return the engine of the transfers of a sort.
+     */
+    TransferEngine newTransferEngine() {
+        try {
+            return TransferEngine.between(options.getTransferMode(), options.isVerifyChecksums(), path, target());
+        } catch (final IOException e) {
+            return new TransferEngine(options.getTransferMode(), false, options.isVerifyChecksums());
+        }
+    }
+
+    /**
+     * Returns the folder the year and month directories are created in.
+     * @return the target folder of the {@link SortOptions}, or the sorted folder when none is set.
+     */
+    private Path target() {
+        return options.getTargetFolder() == null ? path : options.getTargetFolder();
+    }
+
+    /**
+     * Verifies that the files can be put into the target folder by the {@link TransferMode} of the
+     * {@link SortOptions}, before anything is created. A target folder that doesn't exist yet is judged by
+     * the file system of its nearest existing parent.
+     * @throws FileSystemException if the files are linked and the target folder is on another file system,
+     * with {@link ModelConfig#LINK_ACROSS_FILE_SYSTEMS} as its reason.
+     */
+    private void verifyTarget() throws FileSystemException {
+        if (options.getTransferMode() == TransferMode.LINK && newTransferEngine().isCrossDevice()) {
+            throw new FileSystemException(path.toString(), target().toString(), ModelConfig.LINK_ACROSS_FILE_SYSTEMS);
+        }
+    }
+
+    /**
+     * Creates the target folder of the {@link SortOptions} when one is set and it doesn't exist.
+     * @throws IOException if the target folder can't be created.
+     */
+    private void createTarget() throws IOException {
+        if (options.getTargetFolder() != null && !options.isDryRun()) {
+            Files.createDirectories(options.getTargetFolder());
+        }
     }
 
-    private void moveFile(final Path source, final Path destination) {
+    /**
+     * Moves, copies or links a file into the directory of its month and counts the outcome.
+     * @param source the file to move.
+     * @param destination the path of the file in the directory of its month.
+     * @param transfers the engine putting the file into the directory by the {@link TransferMode} of the
+     * sort, which transfers it when the target folder is on another file system.
+     */
+    void moveFile(final Path source, final Path destination, final TransferEngine transfers) {
+        final MoveEvent event = new MoveEvent();
+        event.begin();
+
         try {
-            Files.move(source, destination);
-            statistics[StatsIndex.sortedFiles.ordinal()]++;
+            if (options.isDryRun()) {
+                count(SortStatistics.Counter.SORTED);
+                return;
+            }
+
+            if (transfers.transfer(source, destination)) {
+                statistics.verify(true);
+            }
+
+            event.setMoved();
+            count(SortStatistics.Counter.SORTED);
+
+            if (cache != null && options.getTransferMode() == TransferMode.MOVE) {
+                cache.forget(path.relativize(source).toString());
+            }
+        } catch (final ChecksumMismatchException e) {
+            statistics.verify(false);
+            handleError(ErrorKind.CHECKSUM, source, e, () -> count(SortStatistics.Counter.UNSORTED));
         } catch (final IOException e) {
-            handleError(e, () -> statistics[StatsIndex.unsortedFiles.ordinal()]++);
+            handleError(ErrorKind.MOVE, source, e, () -> count(SortStatistics.Counter.UNSORTED));
+        } finally {
+            if (event.shouldCommit()) {
+                event.setFiles(source, destination);
+                event.commit();
+            }
+        }
+    }
+
+    private void count(final SortStatistics.Counter counter) {
+        statistics.increment(counter);
+
+        if (counter != SortStatistics.Counter.DIRECTORY_FAILURES) { // Every other statistic completes a file.
+            progress.complete(1);
         }
     }
 
     private void reset() {
         eligibleFiles.clear();
-        Arrays.fill(statistics, 0);
+        statistics.reset();
+        progress.start();
+        cache = options.isCacheEnabled() ? loadCache() : null;
+    }
+
+    /**
+     * Loads the {@link MetadataCache} of the folder, a cache that can't be read is started over.
+     * @return the cache of the folder.
+     */
+    private MetadataCache loadCache() {
+        final MetadataCache metadataCache = new MetadataCache(path.resolve(ModelConfig.CACHE_FILE_NAME));
+
+        try {
+            metadataCache.load();
+        } catch (final IOException e) {
+            handleError(ErrorKind.CACHE, path.resolve(ModelConfig.CACHE_FILE_NAME), e, () -> { });
+        }
+
+        return metadataCache;
+    }
+
+    /**
+     * Stores the {@link MetadataCache} of the folder, if it is enabled and the sort wasn't a dry run. A cache
+     * that can't be stored doesn't affect the sort, the files are simply parsed again next time.
+     */
+    private void saveCache() {
+        if (cache == null || options.isDryRun()) {
+            return;
+        }
+
+        try {
+            cache.save();
+        } catch (final IOException e) {
+            handleError(ErrorKind.CACHE, path.resolve(ModelConfig.CACHE_FILE_NAME), e, () -> { });
+        }
     }
 }
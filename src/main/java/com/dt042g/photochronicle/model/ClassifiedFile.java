@@ -0,0 +1,16 @@
+package com.dt042g.photochronicle.model;
+
+import java.nio.file.Path;
+
+/**
+ * A file whose original date has been found, handed from the extraction stage to the move stage
+ * when {@link ChronicleModel} sorts a folder in streaming mode.
+ *
+ * @param source the file to move.
+ * @param dateKey the {@link DateKey} of the original date of the file.
+ * @author Joel Lansgren, Daniel Berg
+ */
+record ClassifiedFile(Path source, int dateKey) {
+    /** Marks the end of the stream, no files follow it. */
+    static final ClassifiedFile END = new ClassifiedFile(null, DateKey.NONE);
+}
@@ -0,0 +1,49 @@
+package com.dt042g.photochronicle.model;
+
+/**
+ * Packs a year and a month into a single {@code int}, so that the date of a file can be passed around
+ * and used as a key without creating any objects.
+ *
+ * <p>The key is calculated as {@code year * 12 + (month - 1)}, which keeps keys of the same year
+ * next to each other and orders them chronologically.</p>
+ *
+ * @author Joel Lansgren, Daniel Berg
+ */
+final class DateKey {
+    /** Marks that a file has no original date. */
+    static final int NONE = -1;
+
+    private static final int MONTHS_PER_YEAR = 12;
+
+    private DateKey() { // Private constructor to prevent instantiation.
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Packs a year and a month into a key.
+     * @param year the year, must not be negative.
+     * @param month the month, 1 to 12.
+     * @return the packed key.
+     */
+    static int of(final int year, final int month) {
+        return year * MONTHS_PER_YEAR + (month - 1);
+    }
+
+    /**
+     * Unpacks the year of a key.
+     * @param key the packed key.
+     * @return the year of the key.
+     */
+    static int year(final int key) {
+        return key / MONTHS_PER_YEAR;
+    }
+
+    /**
+     * Unpacks the month of a key.
+     * @param key the packed key.
+     * @return the month of the key, 1 to 12.
+     */
+    static int month(final int key) {
+        return key % MONTHS_PER_YEAR + 1;
+    }
+}
@@ -0,0 +1,18 @@
+package com.dt042g.photochronicle.model;
+
+/**
+ * The tiers of the chain {@link ChronicleModel} resolves the original date of a file through, counted by
+ * the {@link SortStatistics} for every file whose date was found.
+ *
+ * @author Joel Lansgren, Daniel Berg
+ */
+public enum DateTier {
+    /** The date was taken from the name of the file, see {@link FilenameDateMatcher}. */
+    FILENAME,
+
+    /** The date was found in the {@link MetadataCache} of an earlier sort. */
+    CACHE,
+
+    /** The date was parsed from the metadata of the file, as decided by the {@link ExtractionMode}. */
+    METADATA
+}
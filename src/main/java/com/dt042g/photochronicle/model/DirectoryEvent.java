@@ -0,0 +1,48 @@
+package com.dt042g.photochronicle.model;
+
+import java.nio.file.Path;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A JDK Flight Recorder event spanning the creation of the year and month directory of a bucket of files.
+ *
+ * @author Joel Lansgren, Daniel Berg
+ */
+@Name(SortEvent.NAME_PREFIX + "Directory")
+@Label("Directory Creation")
+@Category(SortEvent.CATEGORY)
+@Description("The lookup and creation of the directory of a month")
+final class DirectoryEvent extends Event {
+    @Label("Directory")
+    private String directory;
+
+    @Label("Existed")
+    private boolean existed;
+
+    @Label("Created")
+    private boolean created;
+
+    /**
+     * Sets the directory of the month.
+     * @param monthDirectory the directory.
+     */
+    void setDirectory(final Path monthDirectory) {
+        directory = monthDirectory.toString();
+    }
+
+    /**
+     * Sets the outcome of the creation.
+     * @param alreadyExisted true if the directory existed before.
+     * @param wasCreated true if the directory was created, false if it existed, the sort is a dry run or
+     * the creation failed.
+     */
+    void setOutcome(final boolean alreadyExisted, final boolean wasCreated) {
+        existed = alreadyExisted;
+        created = wasCreated;
+    }
+}
@@ -0,0 +1,199 @@
+package com.dt042g.photochronicle.model;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NotDirectoryException;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.BiConsumer;
+
+import com.dt042g.photochronicle.support.ModelConfig;
+
+/**
+ * Plans the year and month directories of a sort, creating every directory the files of the sort need
+ * before any file is moved.
+ *
+ * <p>The directories of all months are created in parallel by a pool of threads, since on a network
+ * mount every creation is a round trip to the server. A year is only looked up once, by the first of its
+ * months, while its other months wait for it. A year that already exists is listed once to learn which of
+ * its months exist, so no month is checked on its own, and a missing month is created straight away.</p>
+ *
+ * <p>The outcome of every directory is cached, so the move phase looks its directories up without
+ * touching the file system again, and a directory that couldn't be created is only reported once. A file
+ * in the way of a year or month directory fails that directory, like any other failure to create it.</p>
+ *
+ * @author Joel Lansgren, Daniel Berg
+ */
+final class DirectoryPlanner {
+    /** The outcome of creating a directory. */
+    private enum Outcome {
+        /** The directory was created. */
+        CREATED,
+
+        /** The directory already existed. */
+        EXISTED,
+
+        /** The directory couldn't be created. */
+        FAILED
+    }
+
+    private final Path root;
+    private final boolean dryRun;
+    private final BiConsumer<Path, IOException> failure;
+    private final Map<Integer, Optional<IOException>> years = new ConcurrentHashMap<>();
+    private final Map<Integer, Boolean> months = new ConcurrentHashMap<>();
+    private final Set<Path> existingMonths = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Creates a planner of the directories in a folder.
+     * @param root the folder the year directories are created in.
+     * @param dryRun whether the directories are only planned, without being created.
+     * @param failure told once of every month directory that couldn't be created, together with the cause.
+     */
+    DirectoryPlanner(final Path root, final boolean dryRun, final BiConsumer<Path, IOException> failure) {
+        this.root = root;
+        this.dryRun = dryRun;
+        this.failure = failure;
+    }
+
+    /**
+     * Creates the directories of the given months, spread out over a pool of threads.
+     * @param dateKeys the {@link DateKey}s of the months.
+     * @param parallelism the number of threads creating directories, where 1 means they are created by the
+     * calling thread.
+     */
+    void plan(final int[] dateKeys, final int parallelism) {
+        if (parallelism == 1 || dateKeys.length < 2) {
+            for (final int dateKey : dateKeys) {
+                directory(dateKey);
+            }
+
+            return;
+        }
+
+        try (ExecutorService workers = Executors.newFixedThreadPool(Math.min(parallelism, dateKeys.length))) {
+            for (final int dateKey : dateKeys) {
+                workers.execute(() -> directory(dateKey));
+            }
+        }
+    }
+
+    /**
+     * Returns the directory of a month, creating it unless it has been planned already.
+     * @param dateKey the {@link DateKey} of the month.
+     * @return the directory of the month, or {@code null} if it couldn't be created.
+     */
+    Path directory(final int dateKey) {
+        return months.computeIfAbsent(dateKey, this::createMonth) ? monthPath(dateKey) : null;
+    }
+
+    /**
+     * Returns the path of the directory of a month, such as {@code 2023/07-July}.
+     * @param dateKey the {@link DateKey} of the month.
+     * @return the path of the directory within the folder.
+     */
+    private Path monthPath(final int dateKey) {
+        final int month = DateKey.month(dateKey);
+
+        return yearPath(DateKey.year(dateKey))
+            .resolve(String.format("%02d-%s", month, ModelConfig.MONTHS[month - 1]));
+    }
+
+    private Path yearPath(final int year) {
+        return root.resolve(Integer.toString(year));
+    }
+
+    /**
+     * Creates the directory of a month, after the directory of its year.
+     * @param dateKey the {@link DateKey} of the month.
+     * @return true if the directory exists or the sort is a dry run, false if it couldn't be created.
+     */
+    private boolean createMonth(final int dateKey) {
+        final DirectoryEvent event = new DirectoryEvent();
+        event.begin();
+        final Path directory = monthPath(dateKey);
+        Outcome outcome = Outcome.FAILED;
+
+        if (!dryRun) {
+            try {
+                final Optional<IOException> yearFailure = years.computeIfAbsent(
+                    DateKey.year(dateKey), year -> openYear(yearPath(year))
+                );
+
+                if (yearFailure.isPresent()) {
+                    throw yearFailure.get();
+                }
+
+                outcome = existingMonths.contains(directory) ? existing(directory) : create(directory);
+            } catch (final IOException e) {
+                failure.accept(directory, e);
+            }
+        }
+
+        if (event.shouldCommit()) {
+            event.setDirectory(directory);
+            event.setOutcome(outcome == Outcome.EXISTED, outcome == Outcome.CREATED);
+            event.commit();
+        }
+
+        return dryRun || outcome != Outcome.FAILED;
+    }
+
+    /**
+     * Creates the directory of a year, or lists the entries of its months when it already exists.
+     * @param year the directory of the year.
+     * @return the failure to create or list the directory of the year, empty if it exists.
+     */
+    private Optional<IOException> openYear(final Path year) {
+        try {
+            if (!Files.isDirectory(year)) {
+                create(year);
+                return Optional.empty();
+            }
+
+            try (DirectoryStream<Path> children = Files.newDirectoryStream(year)) {
+                children.forEach(existingMonths::add);
+                return Optional.empty();
+            }
+        } catch (final IOException e) {
+            return Optional.of(e);
+        }
+    }
+
+    /**
+     * Checks that an entry listed in the directory of its year is a directory, since a file may have the
+     * name of the month.
+     * @param directory the listed entry of the month.
+     * @return {@link Outcome#EXISTED}.
+     * @throws NotDirectoryException if the entry isn't a directory.
+     */
+    private static Outcome existing(final Path directory) throws NotDirectoryException {
+        if (!Files.isDirectory(directory)) {
+            throw new NotDirectoryException(directory.toString());
+        }
+
+        return Outcome.EXISTED;
+    }
+
+    /**
+     * Creates a directory with a single call to the file system.
+     * @param directory the directory to create.
+     * @return the outcome of the creation.
+     * @throws IOException if the directory couldn't be created, or a file is in its way.
+     */
+    private static Outcome create(final Path directory) throws IOException {
+        try {
+            Files.createDirectory(directory);
+            return Outcome.CREATED;
+        } catch (final FileAlreadyExistsException e) {
+            return existing(directory);
+        }
+    }
+}
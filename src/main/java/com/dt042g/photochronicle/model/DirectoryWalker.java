@@ -0,0 +1,145 @@
+package com.dt042g.photochronicle.model;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Consumer;
+
+/**
+ * Walks a folder and all of its subdirectories in parallel on a {@link ForkJoinPool}.
+ *
+ * <p>Every directory is listed by its own task and each subdirectory is forked as a new task, so idle
+ * threads steal whole subtrees from busy ones and deep trees such as {@code DCIM/100CANON} are spread
+ * over all threads. Files are handed to the file handler on the thread that listed them.</p>
+ *
+ * <p>The year directories that {@link ChronicleModel} sorts files into are skipped at the top level,
+ * as is the target folder of the sort when it lies within the walked folder, so a folder that has been
+ * sorted before isn't walked again. Symbolic links to directories aren't followed.</p>
+ *
+ * @author Joel Lansgren, Daniel Berg
+ */
+final class DirectoryWalker {
+    private static final int YEAR_DIGITS = 4;
+
+    private final Path root;
+    private final Path target;
+    private final int parallelism;
+
+    /**
+     * Creates a walker for a folder whose files are sorted within the folder itself.
+     * @param root the folder to walk.
+     * @param parallelism the number of threads that walk the folder.
+     */
+    DirectoryWalker(final Path root, final int parallelism) {
+        this(root, root, parallelism);
+    }
+
+    /**
+     * Creates a walker for a folder whose files are sorted into the given target folder.
+     * @param root the folder to walk.
+     * @param target the folder the year directories are created in, which isn't walked.
+     * @param parallelism the number of threads that walk the folder.
+     */
+    DirectoryWalker(final Path root, final Path target, final int parallelism) {
+        this.root = root;
+        this.target = target.toAbsolutePath().normalize();
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Walks the folder and hands every file found to the file handler.
+     * @param fileHandler receives every file, called from several threads at once.
+     * @param errorHandler receives the errors of subdirectories that couldn't be listed, the walk
+     * continues with the remaining directories.
+     * @throws IOException if the folder itself couldn't be listed.
+     */
+    void walk(final Consumer<Path> fileHandler, final Consumer<IOException> errorHandler) throws IOException {
+        try (ForkJoinPool pool = new ForkJoinPool(parallelism)) {
+            pool.invoke(new WalkTask(root, fileHandler, errorHandler));
+        } catch (final UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Checks whether a directory is the target folder or one of the year directories the sorted files are
+     * moved into.
+     * @param directory the directory to check.
+     * @return true if the directory is the target folder, or lies directly in the root and is named after a
+     * year.
+     */
+    boolean isOutputDirectory(final Path directory) {
+        if (target.equals(directory.toAbsolutePath().normalize())) {
+            return true;
+        }
+
+        if (!root.equals(directory.getParent())) {
+            return false;
+        }
+
+        final String name = directory.getFileName().toString();
+
+        if (name.length() != YEAR_DIGITS) {
+            return false;
+        }
+
+        for (int i = 0; i < name.length(); i++) {
+            if (!Character.isDigit(name.charAt(i))) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Lists a single directory, forking a new task for each of its subdirectories.
+     */
+    private final class WalkTask extends RecursiveAction {
+        private final Path directory;
+        private final Consumer<Path> fileHandler;
+        private final Consumer<IOException> errorHandler;
+
+        WalkTask(final Path directory, final Consumer<Path> fileHandler, final Consumer<IOException> errorHandler) {
+            this.directory = directory;
+            this.fileHandler = fileHandler;
+            this.errorHandler = errorHandler;
+        }
+
+        @Override
+        protected void compute() {
+            final Deque<WalkTask> subtasks = new ArrayDeque<>();
+
+            try (DirectoryStream<Path> entries = Files.newDirectoryStream(directory)) {
+                for (final Path entry : entries) {
+                    if (Files.isDirectory(entry, LinkOption.NOFOLLOW_LINKS)) {
+                        if (!isOutputDirectory(entry)) {
+                            final WalkTask subtask = new WalkTask(entry, fileHandler, errorHandler);
+                            subtask.fork();
+                            subtasks.push(subtask);
+                        }
+                    } else if (!Files.isDirectory(entry)) { // Symbolic links to directories are skipped.
+                        fileHandler.accept(entry);
+                    }
+                }
+            } catch (final IOException e) {
+                if (directory.equals(root)) {
+                    throw new UncheckedIOException(e);
+                }
+
+                errorHandler.accept(e);
+            }
+
+            while (!subtasks.isEmpty()) {
+                subtasks.pop().join();
+            }
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.dt042g.photochronicle.model;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Collects the failures of a sort without printing them, replacing a stack trace on the standard error
+ * stream for every file that couldn't be processed.
+ *
+ * <p>Every failure is counted by its {@link ErrorKind}, and only the first ones are kept as samples so
+ * the memory used doesn't grow with the number of failures. The full list is streamed to a report file
+ * through a buffered writer when one is given, one tab separated line of kind, path and message per
+ * failure. Stack traces are only captured in debug mode, in which case they follow the line of their
+ * failure in the report.</p>
+ *
+ * <p>The collector is thread-safe, failures may be recorded by any worker.</p>
+ *
+ * @author Joel Lansgren, Daniel Berg
+ */
+final class ErrorCollector {
+    private final int sampleLimit;
+    private final int[] counts = new int[ErrorKind.values().length];
+    private final List<ErrorSummary.Sample> samples = new ArrayList<>();
+    private boolean debug;
+    private BufferedWriter report;
+
+    /**
+     * Creates a collector without a report, call {@link #start} to begin collecting the failures of a sort.
+     * @param sampleLimit the maximum number of failures kept as samples.
+     */
+    ErrorCollector(final int sampleLimit) {
+        this.sampleLimit = sampleLimit;
+    }
+
+    /**
+     * Clears the failures collected so far and opens the report of the next sort, finishing the report
+     * of the previous one.
+     * @param reportFile the file the failures are streamed to, or {@code null} for no report.
+     * @param debugMode whether the stack traces of the failures are captured.
+     * @param append whether the failures are appended to an existing report instead of replacing it.
+     * @throws IOException if the report file can't be opened, the failures are still collected in that case.
+     */
+    synchronized void start(final Path reportFile, final boolean debugMode, final boolean append)
+    throws IOException {
+        finish();
+        Arrays.fill(counts, 0);
+        samples.clear();
+        debug = debugMode;
+
+        if (reportFile != null) {
+            report = Files.newBufferedWriter(
+                reportFile, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                append ? StandardOpenOption.APPEND : StandardOpenOption.TRUNCATE_EXISTING
+            );
+        }
+    }
+
+    /**
+     * Records a failure, counting it, keeping it as a sample while there is room and writing it to the report.
+     * @param kind the kind of the failure.
+     * @param file the file or folder that failed.
+     * @param e the exception behind the failure.
+     */
+    synchronized void record(final ErrorKind kind, final Path file, final Exception e) {
+        counts[kind.ordinal()]++;
+
+        if (report == null && samples.size() >= sampleLimit) {
+            return; // Only counted, nothing else would see the failure.
+        }
+
+        final ErrorSummary.Sample sample = new ErrorSummary.Sample(
+            kind, file, describe(e), debug ? stackTraceOf(e) : null
+        );
+
+        if (samples.size() < sampleLimit) {
+            samples.add(sample);
+        }
+
+        if (report != null) {
+            write(sample);
+        }
+    }
+
+    /**
+     * Flushes and closes the report, if one is open, counting a report that couldn't be flushed as a failure
+     * of its own.
+     */
+    synchronized void finish() {
+        if (report != null && !closeReport()) {
+            counts[ErrorKind.REPORT.ordinal()]++;
+        }
+    }
+
+    /**
+     * Returns the failures collected since the last start.
+     * @return the counts and samples of the failures.
+     */
+    synchronized ErrorSummary summary() {
+        final Map<ErrorKind, Integer> kinds = new EnumMap<>(ErrorKind.class);
+
+        for (final ErrorKind kind : ErrorKind.values()) {
+            if (counts[kind.ordinal()] > 0) {
+                kinds.put(kind, counts[kind.ordinal()]);
+            }
+        }
+
+        return new ErrorSummary(kinds, samples);
+    }
+
+    /**
+     * Writes a failure to the report, a report that can no longer be written is closed and counted as a
+     * failure of its own.
+     * @param sample the failure to write.
+     */
+    private void write(final ErrorSummary.Sample sample) {
+        try {
+            report.write(sample.kind() + "\t" + sample.file() + "\t" + sample.message());
+            report.newLine();
+
+            if (sample.stackTrace() != null) {
+                report.write(sample.stackTrace());
+            }
+        } catch (final IOException e) {
+            closeReport(); // Likely fails as well, the report is only counted once.
+            counts[ErrorKind.REPORT.ordinal()]++;
+        }
+    }
+
+    /**
+     * Closes the report, which is dropped even if it can't be closed.
+     * @return true if the report was closed, false if it couldn't be flushed.
+     */
+    private boolean closeReport() {
+        try {
+            report.close();
+            return true;
+        } catch (final IOException e) {
+            return false;
+        } finally {
+            report = null;
+        }
+    }
+
+    private static String describe(final Exception e) {
+        return e.getMessage() == null ? e.getClass().getName() : e.getClass().getName() + ": " + e.getMessage();
+    }
+
+    private static String stackTraceOf(final Exception e) {
+        final StringWriter stackTrace = new StringWriter();
+        e.printStackTrace(new PrintWriter(stackTrace));
+
+        return stackTrace.toString();
+    }
+}
@@ -0,0 +1,44 @@
+package com.dt042g.photochronicle.model;
+
+/**
+ * The kinds of failures {@link ChronicleModel} counts while sorting a folder.
+ *
+ * @author Joel Lansgren, Daniel Berg
+ */
+public enum ErrorKind {
+    /** The folder couldn't be accessed. */
+    ACCESS,
+
+    /** The folder, or one of its subdirectories, couldn't be listed. */
+    FOLDER,
+
+    /** A file couldn't be read. */
+    READ,
+
+    /** The metadata of a file couldn't be processed, usually since the file is corrupt. */
+    METADATA,
+
+    /** The directory of a year or month couldn't be created, or a file was in its way. */
+    DIRECTORY,
+
+    /** A file couldn't be moved into the directory of its month. */
+    MOVE,
+
+    /** The checksum of a copied file didn't match its source. */
+    CHECKSUM,
+
+    /** The metadata cache couldn't be loaded or stored. */
+    CACHE,
+
+    /** A watched folder could no longer be watched. */
+    WATCH,
+
+    /** The sort was interrupted. */
+    INTERRUPTED,
+
+    /** The error report couldn't be written. */
+    REPORT,
+
+    /** The statistics couldn't be registered with JMX. */
+    MONITORING
+}
@@ -0,0 +1,45 @@
+package com.dt042g.photochronicle.model;
+
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The failures of the last sort of a {@link ChronicleModel}, counted per kind together with the first
+ * of them as samples. The full list of failures is only kept in the error report of the {@link SortOptions}.
+ *
+ * @param counts the number of failures of every kind that occurred.
+ * @param samples the first failures of the sort, in the order they occurred.
+ * @author Joel Lansgren, Daniel Berg
+ */
+public record ErrorSummary(Map<ErrorKind, Integer> counts, List<Sample> samples) {
+    /**
+     * A single failure of a sort.
+     *
+     * @param kind the kind of the failure.
+     * @param file the file or folder that failed.
+     * @param message the type and message of the exception behind the failure.
+     * @param stackTrace the stack trace of the exception, only captured when the {@link SortOptions} are
+     * set to debug, otherwise {@code null}.
+     */
+    public record Sample(ErrorKind kind, Path file, String message, String stackTrace) { }
+
+    /**
+     * Copies the counts into an unmodifiable map that keeps the order of {@link ErrorKind}, and the
+     * samples into an unmodifiable list.
+     */
+    public ErrorSummary {
+        counts = counts.isEmpty() ? Map.of() : Collections.unmodifiableMap(new EnumMap<>(counts));
+        samples = List.copyOf(samples);
+    }
+
+    /**
+     * Returns the number of failures of all kinds.
+     * @return the total number of failures.
+     */
+    public int total() {
+        return counts.values().stream().mapToInt(Integer::intValue).sum();
+    }
+}
@@ -0,0 +1,417 @@
+package com.dt042g.photochronicle.model;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A fast parser for the original date of JPEG and TIFF images that doesn't create any objects per file.
+ *
+ * <p>The leading bytes of a JPEG image are read into a buffer that is reused between files, after which
+ * the IFD0 &rarr; ExifSubIFD pointer chain is walked straight in the buffer until the DateTimeOriginal
+ * tag is found. The ASCII {@code "YYYY:MM:DD"} value is then parsed into a {@link DateKey} without
+ * going through {@code Date} or {@code LocalDate}, so the year and month are the ones the camera
+ * recorded.</p>
+ *
+ * <p>TIFF images, which include the raw formats of most cameras such as CR2, NEF, ARW, DNG, ORF and
+ * RW2, may keep their ExifSubIFD anywhere in a file of tens of megabytes. Their pointer chain is
+ * therefore followed with positional reads of the IFDs and the date value alone, so only a few
+ * kilobytes are read no matter the size of the file or where the EXIF data lies. The boxes of HEIF
+ * images and MP4 and QuickTime videos are walked the same way by a {@link BoxDateParser}.</p>
+ *
+ * <p>When the file isn't a JPEG or TIFF image, or the EXIF data lies beyond the buffer,
+ * {@link #UNRESOLVED} is returned so that metadata-extractor can handle the file instead.</p>
+ *
+ * <p>An instance is not thread-safe since the buffer is shared between calls, each thread should
+ * use its own parser.</p>
+ *
+ * @author Joel Lansgren, Daniel Berg
+ */
+final class ExifDateParser {
+    /** Returned when the parser can't handle the format or layout of the file. */
+    static final int UNRESOLVED = -2;
+
+    private static final int TAG_EXIF_SUB_IFD = 0x8769;
+    private static final int TAG_DATETIME_ORIGINAL = 0x9003;
+    private static final int TIFF_MAGIC = 42;
+    private static final int IFD_POINTER_OFFSET = 4;
+    private static final int FORMAT_ASCII = 2;
+    private static final int IFD_ENTRY_SIZE = 12;
+    private static final int INLINE_VALUE_SIZE = 4;
+    private static final int MIN_DATE_LENGTH = 7;
+    private static final int NOT_PRESENT = -1;
+    private static final int BYTE_MASK = 0xFF;
+    private static final int BITS_PER_BYTE = 8;
+    private static final long UNSIGNED_INT_MASK = 0xFFFFFFFFL;
+    private static final int MONTHS_PER_YEAR = 12;
+    private static final int DECIMAL = 10;
+
+    private byte[] buffer = new byte[0];
+    private ByteBuffer byteBuffer = ByteBuffer.wrap(buffer);
+    private FileType loadedType = FileType.UNKNOWN;
+    private int loadedLength;
+    private int walkedDateKey = UNRESOLVED;
+    private final BoxDateParser boxParser = new BoxDateParser();
+
+    /**
+     * Reads the leading bytes of a file into the reused buffer and parses its original date.
+     * @param file the file to parse.
+     * @param readLimit the maximum number of bytes to read from the start of the file.
+     * @return the {@link DateKey} of the original date, {@link DateKey#NONE} if the file has no
+     * original date, or {@link #UNRESOLVED} if the parser can't handle the file.
+     * @throws IOException if the file can't be read.
+     */
+    int parse(final Path file, final int readLimit) throws IOException {
+        load(file, readLimit);
+
+        return parseLoaded();
+    }
+
+    /**
+     * Reads the leading bytes of a file into the reused buffer and sniffs its type, so the date can
+     * then be parsed by {@link #parseLoaded} without reading the file again. Only the signature is read
+     * of files that can't be parsed here, or when the read limit doesn't go beyond the signature. The
+     * IFDs of a TIFF image and the boxes of an ISO base media file are walked with positional reads
+     * instead, whatever the read limit.
+     * @param file the file to read.
+     * @param readLimit the maximum number of bytes to read from the start of a JPEG image.
+     * @return the {@link FileType} of the file.
+     * @throws IOException if the file can't be read.
+     */
+    FileType load(final Path file, final int readLimit) throws IOException {
+        ensureCapacity(readLimit);
+        byteBuffer.clear().limit(Math.min(readLimit, FileType.SIGNATURE_LENGTH));
+        walkedDateKey = UNRESOLVED;
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            final boolean ended = read(channel);
+            loadedType = FileType.sniff(buffer, byteBuffer.position());
+            loadedLength = byteBuffer.position();
+
+            if (ended || readLimit <= FileType.SIGNATURE_LENGTH) { // Only the formats parsed here are read on.
+                return loadedType;
+            }
+
+            if (loadedType == FileType.JPEG) {
+                byteBuffer.limit(readLimit);
+                read(channel);
+                loadedLength = byteBuffer.position();
+            } else if (loadedType == FileType.TIFF) {
+                walkedDateKey = parseTiff(channel);
+            } else if (loadedType.isBoxBased()) {
+                walkedDateKey = boxParser.parse(channel, loadedType);
+                loadedLength += boxParser.bytesRead();
+            }
+
+            return loadedType;
+        }
+    }
+
+    /**
+     * Returns the number of bytes last read by {@link #load}.
+     * @return the number of bytes read from the file.
+     */
+    int loadedLength() {
+        return loadedLength;
+    }
+
+    /**
+     * Parses the original date from the bytes last read by {@link #load}.
+     * @return the {@link DateKey} of the original date, {@link DateKey#NONE} if the file has no
+     * original date, or {@link #UNRESOLVED} if the parser can't handle the file.
+     */
+    int parseLoaded() {
+        return loadedType == FileType.JPEG ? parse(buffer, byteBuffer.position()) : walkedDateKey;
+    }
+
+    /**
+     * Walks the IFD0 &rarr; ExifSubIFD chain of a TIFF image whose header is in the buffer, reading
+     * only the IFDs and the date value from the channel.
+     * @param channel the channel of the image.
+     * @return the {@link DateKey} of the original date, {@link DateKey#NONE} if the image has no
+     * original date, or {@link #UNRESOLVED} if the chain points beyond the file.
+     * @throws IOException if the image can't be read.
+     */
+    private int parseTiff(final FileChannel channel) throws IOException {
+        final boolean littleEndian = buffer[0] == 'I'; // The magic was checked when the type was sniffed.
+        final int exifPointer = readEntry(
+            channel, readInt(buffer, IFD_POINTER_OFFSET, littleEndian), TAG_EXIF_SUB_IFD, littleEndian
+        );
+
+        if (exifPointer < 0) {
+            return exifPointer == NOT_PRESENT ? DateKey.NONE : UNRESOLVED;
+        }
+
+        final int dateEntry = readEntry(
+            channel, readInt(buffer, exifPointer + 2 * INLINE_VALUE_SIZE, littleEndian), TAG_DATETIME_ORIGINAL,
+            littleEndian
+        );
+
+        if (dateEntry < 0) {
+            return dateEntry == NOT_PRESENT ? DateKey.NONE : UNRESOLVED;
+        } else if (readShort(buffer, dateEntry + 2, littleEndian) != FORMAT_ASCII) {
+            return DateKey.NONE;
+        }
+
+        final long count = readInt(buffer, dateEntry + INLINE_VALUE_SIZE, littleEndian);
+
+        if (count <= INLINE_VALUE_SIZE) {
+            return parseDate(buffer, dateEntry + 2 * INLINE_VALUE_SIZE, (int) count);
+        }
+
+        final int valueLength = (int) Math.min(count, MIN_DATE_LENGTH);
+
+        if (readAt(channel, readInt(buffer, dateEntry + 2 * INLINE_VALUE_SIZE, littleEndian), valueLength)) {
+            return parseDate(buffer, 0, valueLength);
+        }
+
+        return UNRESOLVED;
+    }
+
+    /**
+     * Reads an IFD of a TIFF image into the buffer and finds the entry with the given tag.
+     * @param channel the channel of the image.
+     * @param ifdOffset the offset of the IFD in the image.
+     * @param tag the tag to find.
+     * @param littleEndian whether the image is little endian.
+     * @return the offset of the entry in the buffer, {@link #NOT_PRESENT} if the IFD doesn't hold the
+     * tag, or {@link #UNRESOLVED} if the IFD lies beyond the file.
+     * @throws IOException if the image can't be read.
+     */
+    private int readEntry(final FileChannel channel, final long ifdOffset, final int tag, final boolean littleEndian)
+    throws IOException {
+        if (!readAt(channel, ifdOffset, 2)) {
+            return UNRESOLVED;
+        }
+
+        final int ifdLength = 2 + readShort(buffer, 0, littleEndian) * IFD_ENTRY_SIZE;
+
+        if (!readAt(channel, ifdOffset, ifdLength)) {
+            return UNRESOLVED;
+        }
+
+        return findEntry(buffer, ifdLength, 0, 0, tag, littleEndian);
+    }
+
+    /**
+     * Reads bytes from the given position of the channel into the start of the buffer.
+     * @param channel the channel to read from.
+     * @param position the position of the first byte.
+     * @param length the number of bytes to read.
+     * @return true if all bytes were read, false if the file ended before them.
+     * @throws IOException if the file can't be read.
+     */
+    private boolean readAt(final FileChannel channel, final long position, final int length) throws IOException {
+        ensureCapacity(length);
+        byteBuffer.clear().limit(length);
+
+        while (byteBuffer.hasRemaining()) {
+            final int read = channel.read(byteBuffer, position + byteBuffer.position());
+
+            if (read < 0) {
+                break;
+            }
+        }
+
+        loadedLength += byteBuffer.position();
+
+        return !byteBuffer.hasRemaining();
+    }
+
+    private void ensureCapacity(final int length) {
+        if (buffer.length < length) {
+            buffer = new byte[length];
+            byteBuffer = ByteBuffer.wrap(buffer);
+        }
+    }
+
+    /**
+     * Reads from the channel until the buffer is full or the file ends.
+     * @param channel the channel to read from.
+     * @return true if the file ended before the buffer was full.
+     * @throws IOException if the file can't be read.
+     */
+    private boolean read(final FileChannel channel) throws IOException {
+        while (byteBuffer.hasRemaining()) {
+            if (channel.read(byteBuffer) < 0) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Parses the original date from the leading bytes of a JPEG or TIFF image.
+     * @param data the leading bytes of the file.
+     * @param length the number of valid bytes in the data.
+     * @return the {@link DateKey} of the original date, {@link DateKey#NONE} if the file has no
+     * original date, or {@link #UNRESOLVED} if the parser can't handle the file.
+     */
+    static int parse(final byte[] data, final int length) {
+        final int tiffOffset = HeaderMetadataReader.findTiffOffset(data, length);
+
+        if (tiffOffset == HeaderMetadataReader.NO_EXIF) {
+            return DateKey.NONE;
+        } else if (tiffOffset < 0) {
+            return UNRESOLVED;
+        }
+
+        return parseTiff(data, length, tiffOffset);
+    }
+
+    /**
+     * Walks the IFD0 &rarr; ExifSubIFD chain of a TIFF structure and parses the DateTimeOriginal tag.
+     * @param data the bytes holding the TIFF structure.
+     * @param length the number of valid bytes in the data.
+     * @param base the offset of the TIFF header, all IFD offsets are relative to it.
+     * @return the {@link DateKey} of the original date, {@link DateKey#NONE} if the file has no
+     * original date, or {@link #UNRESOLVED} if the structure lies beyond the data.
+     */
+    static int parseTiff(final byte[] data, final int length, final int base) {
+        if (base + 2 * INLINE_VALUE_SIZE > length || data[base] != data[base + 1]) {
+            return UNRESOLVED;
+        }
+
+        final boolean littleEndian = data[base] == 'I';
+
+        if ((!littleEndian && data[base] != 'M') || readShort(data, base + 2, littleEndian) != TIFF_MAGIC) {
+            return UNRESOLVED;
+        }
+
+        final int exifPointer = findEntry(
+            data, length, base, readInt(data, base + INLINE_VALUE_SIZE, littleEndian), TAG_EXIF_SUB_IFD, littleEndian
+        );
+
+        if (exifPointer < 0) {
+            return exifPointer == NOT_PRESENT ? DateKey.NONE : UNRESOLVED;
+        }
+
+        final int dateEntry = findEntry(
+            data, length, base, readInt(data, exifPointer + 2 * INLINE_VALUE_SIZE, littleEndian),
+            TAG_DATETIME_ORIGINAL, littleEndian
+        );
+
+        if (dateEntry < 0) {
+            return dateEntry == NOT_PRESENT ? DateKey.NONE : UNRESOLVED;
+        }
+
+        return parseDateEntry(data, length, base, dateEntry, littleEndian);
+    }
+
+    /**
+     * Parses the year and month of an ASCII date value in the form {@code "YYYY:MM:DD"}.
+     * @param data the bytes holding the value.
+     * @param offset the offset of the value.
+     * @param length the number of bytes of the value.
+     * @return the {@link DateKey} of the date, or {@link DateKey#NONE} if the value isn't a valid date.
+     */
+    static int parseDate(final byte[] data, final int offset, final int length) {
+        final int monthOffset = 5;
+
+        if (length < MIN_DATE_LENGTH) {
+            return DateKey.NONE;
+        }
+
+        final int year = parseDigits(data, offset, INLINE_VALUE_SIZE);
+        final int month = parseDigits(data, offset + monthOffset, 2);
+
+        if (year <= 0 || month < 1 || month > MONTHS_PER_YEAR || isDigit(data[offset + INLINE_VALUE_SIZE])) {
+            return DateKey.NONE;
+        }
+
+        return DateKey.of(year, month);
+    }
+
+    private static int parseDateEntry(
+        final byte[] data, final int length, final int base, final int entry, final boolean littleEndian
+    ) {
+        final long count = readInt(data, entry + INLINE_VALUE_SIZE, littleEndian);
+
+        if (readShort(data, entry + 2, littleEndian) != FORMAT_ASCII) {
+            return DateKey.NONE;
+        }
+
+        final long valueOffset = count <= INLINE_VALUE_SIZE
+                ? entry + 2 * INLINE_VALUE_SIZE
+                : base + readInt(data, entry + 2 * INLINE_VALUE_SIZE, littleEndian);
+
+        if (valueOffset + Math.min(count, MIN_DATE_LENGTH) > length) {
+            return UNRESOLVED;
+        }
+
+        return parseDate(data, (int) valueOffset, (int) Math.min(count, length - valueOffset));
+    }
+
+    /**
+     * Finds an entry with the given tag in an IFD.
+     * @param data the bytes holding the TIFF structure.
+     * @param length the number of valid bytes in the data.
+     * @param base the offset of the TIFF header.
+     * @param ifdOffset the offset of the IFD relative to the TIFF header.
+     * @param tag the tag to find.
+     * @param littleEndian whether the TIFF structure is little endian.
+     * @return the offset of the entry, {@link #NOT_PRESENT} if the IFD doesn't hold the tag, or
+     * {@link #UNRESOLVED} if the IFD lies beyond the data.
+     */
+    private static int findEntry(
+        final byte[] data, final int length, final int base, final long ifdOffset, final int tag,
+        final boolean littleEndian
+    ) {
+        final long ifdStart = base + ifdOffset;
+
+        if (ifdStart + 2 > length) {
+            return UNRESOLVED;
+        }
+
+        final int entryCount = readShort(data, (int) ifdStart, littleEndian);
+
+        if (ifdStart + 2 + (long) entryCount * IFD_ENTRY_SIZE > length) {
+            return UNRESOLVED;
+        }
+
+        for (int i = 0; i < entryCount; i++) {
+            final int entry = (int) ifdStart + 2 + i * IFD_ENTRY_SIZE;
+
+            if (readShort(data, entry, littleEndian) == tag) {
+                return entry;
+            }
+        }
+
+        return NOT_PRESENT;
+    }
+
+    private static int readShort(final byte[] data, final int offset, final boolean littleEndian) {
+        final int first = data[offset] & BYTE_MASK;
+        final int second = data[offset + 1] & BYTE_MASK;
+
+        return littleEndian ? (second << BITS_PER_BYTE) | first : (first << BITS_PER_BYTE) | second;
+    }
+
+    private static long readInt(final byte[] data, final int offset, final boolean littleEndian) {
+        final long high = readShort(data, offset + (littleEndian ? 2 : 0), littleEndian);
+        final long low = readShort(data, offset + (littleEndian ? 0 : 2), littleEndian);
+
+        return ((high << (2 * BITS_PER_BYTE)) | low) & UNSIGNED_INT_MASK;
+    }
+
+    private static int parseDigits(final byte[] data, final int offset, final int count) {
+        int value = 0;
+
+        for (int i = offset; i < offset + count; i++) {
+            if (!isDigit(data[i])) {
+                return -1;
+            }
+
+            value = value * DECIMAL + (data[i] - '0');
+        }
+
+        return value;
+    }
+
+    private static boolean isDigit(final byte value) {
+        return value >= '0' && value <= '9';
+    }
+}
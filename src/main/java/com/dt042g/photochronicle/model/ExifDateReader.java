@@ -0,0 +1,132 @@
+package com.dt042g.photochronicle.model;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Set;
+
+import com.drew.imaging.ImageProcessingException;
+import com.drew.imaging.jpeg.JpegMetadataReader;
+import com.drew.imaging.jpeg.JpegSegmentMetadataReader;
+import com.drew.imaging.jpeg.JpegSegmentType;
+import com.drew.imaging.tiff.TiffReader;
+import com.drew.lang.ByteArrayReader;
+import com.drew.lang.RandomAccessFileReader;
+import com.drew.lang.RandomAccessReader;
+import com.drew.metadata.Metadata;
+import com.drew.metadata.exif.ExifDirectoryBase;
+import com.drew.metadata.exif.ExifIFD0Directory;
+import com.drew.metadata.exif.ExifReader;
+import com.drew.metadata.exif.ExifSubIFDDirectory;
+import com.drew.metadata.exif.ExifTiffHandler;
+
+/**
+ * Reads only the metadata needed for the original date of JPEG and TIFF images with metadata-extractor,
+ * used by the {@link ExtractionMode#EXIF_ONLY} mode.
+ *
+ * <p>Only the APP1 segments of a JPEG image are read, so the ICC, XMP, IPTC and other segments are
+ * skipped without being decoded. Within the EXIF data only IFD0 and the ExifSubIFD are walked: the GPS,
+ * interoperability and thumbnail directories aren't entered, and the maker note is skipped instead of
+ * being decoded by the reader of its camera maker.</p>
+ *
+ * @author Joel Lansgren, Daniel Berg
+ */
+final class ExifDateReader implements JpegSegmentMetadataReader {
+    private static final List<JpegSegmentMetadataReader> READERS = List.of(new ExifDateReader());
+
+    /**
+     * A TIFF handler that only enters the ExifSubIFD and skips the maker note.
+     */
+    private static final class DateTiffHandler extends ExifTiffHandler {
+        DateTiffHandler(final Metadata metadata, final int exifStartOffset) {
+            super(metadata, null, exifStartOffset);
+        }
+
+        @Override
+        public boolean tryEnterSubIfd(final int tagId) {
+            return tagId == ExifIFD0Directory.TAG_EXIF_SUB_IFD_OFFSET && super.tryEnterSubIfd(tagId);
+        }
+
+        @Override
+        public boolean hasFollowerIfd() {
+            return false; // The follower of IFD0 is the thumbnail.
+        }
+
+        @Override
+        public boolean customProcessTag(
+            final int tagOffset, final Set<Integer> processedIfdOffsets, final int tiffHeaderOffset,
+            final RandomAccessReader reader, final int tagId, final int byteCount
+        ) throws IOException {
+            if (tagId == ExifDirectoryBase.TAG_MAKERNOTE && _currentDirectory instanceof ExifSubIFDDirectory) {
+                return true; // Skipped, the tag is neither decoded nor stored.
+            }
+
+            return super.customProcessTag(tagOffset, processedIfdOffsets, tiffHeaderOffset, reader, tagId, byteCount);
+        }
+    }
+
+    /**
+     * Reads the date metadata of a JPEG image.
+     * @param file the image to read.
+     * @return the metadata of the image, holding at most IFD0 and the ExifSubIFD.
+     * @throws ImageProcessingException if the image can't be processed.
+     * @throws IOException if the image can't be read.
+     */
+    static Metadata readJpeg(final File file) throws ImageProcessingException, IOException {
+        try (InputStream input = new BufferedInputStream(Files.newInputStream(file.toPath()))) {
+            return JpegMetadataReader.readMetadata(input, READERS);
+        }
+    }
+
+    /**
+     * Reads the date metadata of a TIFF image.
+     * @param file the image to read.
+     * @return the metadata of the image, holding at most IFD0 and the ExifSubIFD.
+     * @throws ImageProcessingException if the image can't be processed.
+     * @throws IOException if the image can't be read.
+     */
+    static Metadata readTiff(final File file) throws ImageProcessingException, IOException {
+        final Metadata metadata = new Metadata();
+
+        try (RandomAccessFile input = new RandomAccessFile(file, "r")) {
+            new TiffReader().processTiff(new RandomAccessFileReader(input), new DateTiffHandler(metadata, 0), 0);
+        }
+
+        return metadata;
+    }
+
+    /**
+     * Extracts the date metadata of a TIFF structure, such as the one found by {@link HeaderMetadataReader}.
+     * @param reader the reader holding the TIFF structure.
+     * @param metadata the metadata to add the directories to.
+     * @param tiffOffset the offset of the TIFF header.
+     */
+    static void extract(final RandomAccessReader reader, final Metadata metadata, final int tiffOffset) {
+        final DateTiffHandler handler = new DateTiffHandler(metadata, tiffOffset);
+
+        try {
+            new TiffReader().processTiff(reader, handler, tiffOffset);
+        } catch (final ImageProcessingException | IOException e) {
+            handler.error("Exception processing TIFF data: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public Iterable<JpegSegmentType> getSegmentTypes() {
+        return List.of(JpegSegmentType.APP1);
+    }
+
+    @Override
+    public void readJpegSegments(final Iterable<byte[]> segments, final Metadata metadata,
+            final JpegSegmentType segmentType) {
+        for (final byte[] segment : segments) {
+            if (ExifReader.startsWithJpegExifPreamble(segment)) {
+                extract(new ByteArrayReader(segment), metadata, ExifReader.JPEG_SEGMENT_PREAMBLE.length());
+            }
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.dt042g.photochronicle.model;
+
+import java.nio.file.Path;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A JDK Flight Recorder event spanning the extraction of the original date of a single file, from the
+ * sniffing of its type until the date has been parsed or the file rejected.
+ *
+ * @author Joel Lansgren, Daniel Berg
+ */
+@Name(SortEvent.NAME_PREFIX + "Extraction")
+@Label("File Extraction")
+@Category(SortEvent.CATEGORY)
+@Description("The extraction of the original date of a file")
+final class ExtractionEvent extends Event {
+    @Label("File")
+    private String file;
+
+    @Label("Format")
+    private String format;
+
+    @Label("Bytes Read")
+    @Description("The bytes read to sniff the file and search its header, not counting a full read")
+    @DataAmount
+    private long bytesRead;
+
+    @Label("Full Read")
+    @Description("Whether metadata-extractor read the full file since the date wasn't found in its header")
+    private boolean fullRead;
+
+    @Label("File Size")
+    @Description("The size of a fully read file, of which metadata-extractor may only have read a part")
+    @DataAmount
+    private long fileSize;
+
+    @Label("Date Found")
+    private boolean dateFound;
+
+    /**
+     * Adds bytes read from the file while sniffing it or searching its header.
+     * @param bytes the number of bytes read.
+     */
+    void addBytesRead(final int bytes) {
+        bytesRead += bytes;
+    }
+
+    /**
+     * Returns the bytes read from the file while sniffing it or searching its header. The bytes read by a
+     * full read aren't known, since metadata-extractor stops reading once it has found what it's looking for.
+     * @return the number of bytes read.
+     */
+    long getBytesRead() {
+        return bytesRead;
+    }
+
+    /**
+     * Marks that the full file was read by metadata-extractor.
+     */
+    void setFullRead() {
+        fullRead = true;
+    }
+
+    /**
+     * Sets the outcome of the extraction once it has finished, looking up the size of the file when it was
+     * fully read. Only called for events that are committed, so the size isn't looked up otherwise.
+     * @param extractedFile the file.
+     * @param type the type sniffed from the signature of the file.
+     * @param found true if the file has an original date.
+     */
+    void setOutcome(final Path extractedFile, final FileType type, final boolean found) {
+        file = extractedFile.toString();
+        format = type.name();
+        fileSize = fullRead ? extractedFile.toFile().length() : 0;
+        dateFound = found;
+    }
+}
@@ -0,0 +1,23 @@
+package com.dt042g.photochronicle.model;
+
+/**
+ * The strategies {@link ChronicleModel} can use to find the original date of a file.
+ *
+ * @author Joel Lansgren, Daniel Berg
+ */
+public enum ExtractionMode {
+    /**
+     * Parses the date straight from the header of JPEG and TIFF images with {@link ExifDateParser},
+     * and only hands the files it can't handle to metadata-extractor.
+     */
+    FAST,
+
+    /** Always lets metadata-extractor read the metadata of the file. */
+    METADATA_EXTRACTOR,
+
+    /**
+     * Lets metadata-extractor read JPEG and TIFF images with only the readers needed for the date, see
+     * {@link ExifDateReader}, while the other formats are read in full as by {@link #METADATA_EXTRACTOR}.
+     */
+    EXIF_ONLY
+}
@@ -0,0 +1,236 @@
+package com.dt042g.photochronicle.model;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+/**
+ * The types of files {@link ChronicleModel} tells apart by the signature in their leading bytes, before
+ * any metadata is parsed.
+ *
+ * <p>Supported types are handed straight to the reader of their format, while files of the other types
+ * can't hold an original date and are rejected without being parsed at all. Where a file isn't opened,
+ * its type is told by the extension of its name instead.</p>
+ *
+ * @author Joel Lansgren, Daniel Berg
+ */
+public enum FileType {
+    /** JPEG images. */
+    JPEG(true, "jpg", "jpeg", "jpe", "jfif"),
+
+    /** TIFF images, including the TIFF based raw formats such as CR2, NEF, ARW, DNG, ORF and RW2. */
+    TIFF(true, "tif", "tiff", "dng", "cr2", "nef", "nrw", "arw", "srf", "sr2", "orf", "rw2", "pef"),
+
+    /** PNG images, whose EXIF data is held by an {@code eXIf} chunk. */
+    PNG(true, "png"),
+
+    /** WebP images, whose EXIF data is held by an {@code EXIF} chunk. */
+    WEBP(true, "webp"),
+
+    /** HEIF images, such as HEIC and AVIF, whose EXIF data is held by an {@code Exif} item. */
+    HEIF(true, "heic", "heif", "hif", "avif"),
+
+    /** MP4 videos, whose movie header holds the creation time. */
+    MP4(true, "mp4", "m4v"),
+
+    /** QuickTime videos, whose movie header holds the creation time. */
+    QUICKTIME(true, "mov", "qt"),
+
+    /** Photoshop documents. */
+    PSD(true, "psd"),
+
+    /** Fujifilm raw images, which embed a JPEG preview holding the EXIF data. */
+    RAF(true, "raf"),
+
+    /** GIF images, which have no EXIF data. */
+    GIF(false, "gif"),
+
+    /** BMP images, which have no EXIF data. */
+    BMP(false, "bmp"),
+
+    /** Other videos, such as AVI and Matroska. */
+    VIDEO(false, "avi", "mkv", "webm"),
+
+    /** XMP sidecars stored next to images. */
+    SIDECAR(false, "xmp"),
+
+    /** Every other file, including files too short to hold a signature. */
+    UNKNOWN(false);
+
+    /** The number of leading bytes needed to sniff the type of a file. */
+    static final int SIGNATURE_LENGTH = 16;
+
+    private static final int BRAND_OFFSET = 8;
+    private static final int BOX_TYPE_OFFSET = 4;
+    private static final byte[] JPEG_SIGNATURE = {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF};
+    private static final byte[] PNG_SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+    private static final byte[] MATROSKA_SIGNATURE = {0x1A, 0x45, (byte) 0xDF, (byte) 0xA3};
+    private static final byte[] RIFF_SIGNATURE = ascii("RIFF");
+    private static final byte[] WEBP_FORMAT = ascii("WEBP");
+    private static final byte[] AVI_FORMAT = ascii("AVI ");
+    private static final byte[] FTYP_BOX = ascii("ftyp");
+    private static final byte[] QUICKTIME_BRAND = ascii("qt  ");
+    private static final byte[] PSD_SIGNATURE = ascii("8BPS");
+    private static final byte[] RAF_SIGNATURE = ascii("FUJIFILM");
+    private static final byte[] GIF_SIGNATURE = ascii("GIF8");
+    private static final byte[] BMP_SIGNATURE = ascii("BM");
+    private static final byte[][] TIFF_SIGNATURES = asciiAll("II*\0", "MM\0*", "IIRO", "IIRS", "MMOR", "IIU\0");
+    private static final byte[][] HEIF_BRANDS = asciiAll(
+        "heic", "heix", "hevc", "hevx", "heim", "heis", "mif1", "msf1", "avif"
+    );
+    private static final byte[][] MP4_BRANDS = asciiAll(
+        "isom", "iso2", "iso4", "iso5", "iso6", "mp41", "mp42", "avc1", "M4V ", "M4VH", "M4VP", "MSNV", "XAVC"
+    );
+    private static final byte[][] QUICKTIME_BOXES = asciiAll("moov", "mdat", "wide", "free", "skip", "pnot");
+    private static final byte[][] SIDECAR_SIGNATURES = asciiAll("<?xpacket", "<x:xmpmeta");
+
+    private final boolean supported;
+    private final String[] extensions;
+
+    FileType(final boolean supported, final String... extensions) {
+        this.supported = supported;
+        this.extensions = extensions;
+    }
+
+    /**
+     * Returns whether files of this type may hold an original date, and so are handed to a reader.
+     * @return true if files of this type are read, false if they are rejected.
+     */
+    public boolean isSupported() {
+        return supported;
+    }
+
+    /**
+     * Returns whether files of this type hold their EXIF data where {@link ExifDateParser} and
+     * {@link HeaderMetadataReader} look for it.
+     * @return true for JPEG and TIFF files.
+     */
+    boolean hasLeadingExif() {
+        return this == JPEG || this == TIFF;
+    }
+
+    /**
+     * Returns whether files of this type are ISO base media files, whose boxes are walked by
+     * {@link BoxDateParser}.
+     * @return true for HEIF, MP4 and QuickTime files.
+     */
+    boolean isBoxBased() {
+        return this == HEIF || this == MP4 || this == QUICKTIME;
+    }
+
+    /**
+     * Tells the type of a file by the extension of its name, without opening it.
+     * @param name the name of the file.
+     * @return the type its extension is used for, {@link #UNKNOWN} if the extension isn't recognized.
+     */
+    static FileType ofExtension(final String name) {
+        final String extension = name.substring(name.lastIndexOf('.') + 1).toLowerCase(Locale.ROOT);
+
+        for (final FileType type : values()) {
+            for (final String typeExtension : type.extensions) {
+                if (typeExtension.equals(extension)) {
+                    return type;
+                }
+            }
+        }
+
+        return UNKNOWN;
+    }
+
+    /**
+     * Sniffs the type of a file from its leading bytes.
+     * @param header the leading bytes of the file.
+     * @param length the number of valid bytes in the header.
+     * @return the type of the file, {@link #UNKNOWN} if the signature isn't recognized.
+     */
+    static FileType sniff(final byte[] header, final int length) {
+        if (startsWith(header, length, 0, JPEG_SIGNATURE)) {
+            return JPEG;
+        } else if (startsWith(header, length, 0, PNG_SIGNATURE)) {
+            return PNG;
+        } else if (startsWithAny(header, length, 0, TIFF_SIGNATURES)) {
+            return TIFF;
+        } else if (startsWith(header, length, 0, RIFF_SIGNATURE)) {
+            return startsWith(header, length, BRAND_OFFSET, WEBP_FORMAT) ? WEBP : sniffRiff(header, length);
+        } else if (startsWith(header, length, BOX_TYPE_OFFSET, FTYP_BOX)) {
+            return sniffBrand(header, length);
+        } else if (startsWith(header, length, 0, PSD_SIGNATURE)) {
+            return PSD;
+        } else if (startsWith(header, length, 0, RAF_SIGNATURE)) {
+            return RAF;
+        } else if (startsWith(header, length, 0, GIF_SIGNATURE)) {
+            return GIF;
+        } else if (startsWith(header, length, 0, BMP_SIGNATURE)) {
+            return BMP;
+        } else if (startsWithAny(header, length, BOX_TYPE_OFFSET, QUICKTIME_BOXES)) {
+            return QUICKTIME; // Old QuickTime files start without a file type box.
+        } else if (startsWith(header, length, 0, MATROSKA_SIGNATURE)) {
+            return VIDEO;
+        } else if (startsWithAny(header, length, 0, SIDECAR_SIGNATURES)) {
+            return SIDECAR;
+        }
+
+        return UNKNOWN;
+    }
+
+    /**
+     * Tells the type of an ISO base media file by its major brand. Only the known image and video brands
+     * are recognized, so audio such as M4A, 3GP videos and CR3 raw images sharing the box layout aren't
+     * taken for videos.
+     * @param header the leading bytes of the file.
+     * @param length the number of valid bytes in the header.
+     * @return the type of the brand, {@link #UNKNOWN} if the brand isn't recognized.
+     */
+    private static FileType sniffBrand(final byte[] header, final int length) {
+        if (startsWithAny(header, length, BRAND_OFFSET, HEIF_BRANDS)) {
+            return HEIF;
+        } else if (startsWithAny(header, length, BRAND_OFFSET, MP4_BRANDS)) {
+            return MP4;
+        }
+
+        return startsWith(header, length, BRAND_OFFSET, QUICKTIME_BRAND) ? QUICKTIME : UNKNOWN;
+    }
+
+    private static FileType sniffRiff(final byte[] header, final int length) {
+        return startsWith(header, length, BRAND_OFFSET, AVI_FORMAT) ? VIDEO : UNKNOWN;
+    }
+
+    private static boolean startsWithAny(
+        final byte[] data, final int length, final int offset, final byte[][] prefixes
+    ) {
+        for (final byte[] prefix : prefixes) {
+            if (startsWith(data, length, offset, prefix)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private static boolean startsWith(final byte[] data, final int length, final int offset, final byte[] prefix) {
+        if (offset + prefix.length > length) {
+            return false;
+        }
+
+        for (int i = 0; i < prefix.length; i++) {
+            if (data[offset + i] != prefix[i]) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static byte[] ascii(final String signature) {
+        return signature.getBytes(StandardCharsets.ISO_8859_1);
+    }
+
+    private static byte[][] asciiAll(final String... signatures) {
+        final byte[][] bytes = new byte[signatures.length][];
+
+        for (int i = 0; i < signatures.length; i++) {
+            bytes[i] = ascii(signatures[i]);
+        }
+
+        return bytes;
+    }
+}
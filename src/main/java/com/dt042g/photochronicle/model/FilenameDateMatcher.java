@@ -0,0 +1,179 @@
+package com.dt042g.photochronicle.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Finds the original date encoded in the name of a file by the cameras and apps that name their files
+ * after it, such as {@code IMG_20230714_101522.jpg}, {@code PXL_20230714_101522123.jpg} or
+ * {@code Screenshot_2023-07-14-10-15-22.png}, without opening the file.
+ *
+ * <p>The patterns are compiled once into a table indexed by the first character of the name, so only the
+ * patterns that may match are tried. A pattern is a fixed prefix, a date of eight digits, optionally
+ * separated by dashes, and a fixed suffix, where a name that starts with its date also needs the six
+ * digits of a time, all of which are compared character by character. No regular
+ * expression is used, so a name is never backtracked over and the cost of a match is bounded by the
+ * length of the patterns rather than of the name.</p>
+ *
+ * @author Joel Lansgren, Daniel Berg
+ */
+final class FilenameDateMatcher {
+    private static final int YEAR_DIGITS = 4;
+    private static final int MONTH_DIGITS = 2;
+    private static final int DAY_DIGITS = 2;
+    private static final int TIME_DIGITS = 6;
+    private static final int RADIX = 10;
+    private static final int MIN_YEAR = 1900;
+    private static final int MAX_YEAR = 2099;
+    private static final int MONTHS_PER_YEAR = 12;
+    private static final int MAX_DAY = 31;
+    private static final int FIRST_CHARACTERS = 128;
+    private static final Pattern[] NO_PATTERNS = {};
+    private static final Pattern[][] PATTERNS = index(
+        new Pattern("IMG_", false, "_", false),
+        new Pattern("VID_", false, "_", false),
+        new Pattern("PXL_", false, "_", false),
+        new Pattern("MVIMG_", false, "_", false),
+        new Pattern("IMG-", false, "-WA", false),
+        new Pattern("VID-", false, "-WA", false),
+        new Pattern("Screenshot_", false, "-", false),
+        new Pattern("Screenshot_", true, "", false),
+        new Pattern("Screenshot ", true, "", false),
+        new Pattern("Screen Shot ", true, "", false),
+        new Pattern("WhatsApp Image ", true, "", false),
+        new Pattern("WhatsApp Video ", true, "", false),
+        new Pattern("PHOTO-", true, "-", false),
+        new Pattern("", false, "_", true)
+    );
+
+    /**
+     * A pattern of a file name, a prefix followed by a date and a suffix.
+     * @param prefix the characters before the date, compared ignoring case.
+     * @param dashed whether the date is written as {@code yyyy-MM-dd} instead of {@code yyyyMMdd}.
+     * @param suffix the characters right after the date, compared ignoring case.
+     * @param timed whether the suffix is followed by the six digits of a time, as in {@code 20230714_101522},
+     * which a pattern without a prefix needs to tell a camera name from any name starting with a date.
+     */
+    private record Pattern(String prefix, boolean dashed, String suffix, boolean timed) {
+        /**
+         * Matches the pattern against a file name.
+         * @param name the name of the file.
+         * @return the {@link DateKey} of the date in the name, or {@link DateKey#NONE} if it doesn't match.
+         */
+        int match(final String name) {
+            final int separator = dashed ? 1 : 0;
+            final int year = prefix.length();
+            final int month = year + YEAR_DIGITS + separator;
+            final int day = month + MONTH_DIGITS + separator;
+            final int end = day + DAY_DIGITS;
+
+            if (name.length() < end + suffix.length() + (timed ? TIME_DIGITS : 0)
+                    || !name.regionMatches(true, 0, prefix, 0, prefix.length())
+                    || !name.regionMatches(true, end, suffix, 0, suffix.length())
+                    || dashed && (name.charAt(month - 1) != '-' || name.charAt(day - 1) != '-')
+                    || timed && readNumber(name, end + suffix.length(), TIME_DIGITS) < 0) {
+                return DateKey.NONE;
+            }
+
+            return toDateKey(readNumber(name, year, YEAR_DIGITS), readNumber(name, month, MONTH_DIGITS),
+                readNumber(name, day, DAY_DIGITS));
+        }
+    }
+
+    private FilenameDateMatcher() { // Private constructor to prevent instantiation.
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Finds the original date encoded in the name of a file.
+     * @param name the name of the file, without its folder.
+     * @return the {@link DateKey} of the date, or {@link DateKey#NONE} if the name matches no pattern or
+     * holds an impossible date.
+     */
+    static int match(final String name) {
+        if (name.isEmpty() || name.charAt(0) >= FIRST_CHARACTERS) {
+            return DateKey.NONE;
+        }
+
+        for (final Pattern pattern : PATTERNS[Character.toLowerCase(name.charAt(0))]) {
+            final int dateKey = pattern.match(name);
+
+            if (dateKey != DateKey.NONE) {
+                return dateKey;
+            }
+        }
+
+        return DateKey.NONE;
+    }
+
+    /**
+     * Builds the table of the patterns by the first character of the names they match, where a pattern
+     * without a prefix is listed under every digit.
+     * @param patterns the patterns to index, tried in the given order.
+     * @return the patterns of every lower case ASCII character.
+     */
+    private static Pattern[][] index(final Pattern... patterns) {
+        final List<List<Pattern>> table = new ArrayList<>(FIRST_CHARACTERS);
+
+        for (int c = 0; c < FIRST_CHARACTERS; c++) {
+            table.add(new ArrayList<>());
+        }
+
+        for (final Pattern pattern : patterns) {
+            if (pattern.prefix().isEmpty()) {
+                for (char digit = '0'; digit <= '9'; digit++) {
+                    table.get(digit).add(pattern);
+                }
+            } else {
+                table.get(Character.toLowerCase(pattern.prefix().charAt(0))).add(pattern);
+            }
+        }
+
+        final Pattern[][] index = new Pattern[FIRST_CHARACTERS][];
+
+        for (int c = 0; c < FIRST_CHARACTERS; c++) {
+            index[c] = table.get(c).toArray(NO_PATTERNS);
+        }
+
+        return index;
+    }
+
+    /**
+     * Reads a number of ASCII digits.
+     * @param name the name holding the digits.
+     * @param offset the index of the first digit.
+     * @param digits the number of digits to read.
+     * @return the number, or -1 if one of the characters isn't a digit.
+     */
+    private static int readNumber(final String name, final int offset, final int digits) {
+        int number = 0;
+
+        for (int i = offset; i < offset + digits; i++) {
+            final char c = name.charAt(i);
+
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+
+            number = number * RADIX + (c - '0');
+        }
+
+        return number;
+    }
+
+    /**
+     * Packs a date found in a name, unless it is impossible, such as a camera counter that happens to be
+     * eight digits long.
+     * @param year the year, -1 if it wasn't a number.
+     * @param month the month, -1 if it wasn't a number.
+     * @param day the day, -1 if it wasn't a number.
+     * @return the {@link DateKey} of the date, or {@link DateKey#NONE} if it's impossible.
+     */
+    private static int toDateKey(final int year, final int month, final int day) {
+        if (year < MIN_YEAR || year > MAX_YEAR || month < 1 || month > MONTHS_PER_YEAR || day < 1 || day > MAX_DAY) {
+            return DateKey.NONE;
+        }
+
+        return DateKey.of(year, month);
+    }
+}
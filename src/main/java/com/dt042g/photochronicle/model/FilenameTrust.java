@@ -0,0 +1,21 @@
+package com.dt042g.photochronicle.model;
+
+/**
+ * How far {@link ChronicleModel} trusts a date encoded in the name of a file, such as
+ * {@code IMG_20230714_101522.jpg}, compared to the original date in its metadata.
+ *
+ * @author Joel Lansgren, Daniel Berg
+ */
+public enum FilenameTrust {
+    /**
+     * Takes the date from the name when it matches a known pattern, so the file is never opened. Only the
+     * files whose names don't match have their metadata read.
+     */
+    PREFER,
+
+    /** Reads the metadata first and only takes the date from the name when the metadata holds none. */
+    FALLBACK,
+
+    /** Never looks at the name, the date is only taken from the metadata. */
+    IGNORE
+}
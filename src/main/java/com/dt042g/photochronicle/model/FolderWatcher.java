@@ -0,0 +1,233 @@
+package com.dt042g.photochronicle.model;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import com.dt042g.photochronicle.support.ModelConfig;
+
+/**
+ * Watches a folder through a {@link WatchService} and hands the files that arrive in it to a batch
+ * handler once they are complete.
+ *
+ * <p>A file is only handed on when its size and last modified time haven't changed for
+ * {@link ModelConfig#WATCH_SETTLE_MILLIS}, so files that are still being copied or uploaded are left
+ * alone until they are done. Only the files named by the watch events are looked at, which keeps the
+ * cost of every new file the same no matter how many files the folder holds. The folder is only listed
+ * again when the watch service reports that events have been lost.</p>
+ *
+ * <p>Only the files directly in the folder are watched, directories such as the year directories
+ * created by the sort are ignored, and so is the target folder of the sort and any directory holding it.
+ * The watcher runs on its own daemon thread until it is stopped.</p>
+ *
+ * @author Joel Lansgren, Daniel Berg
+ */
+final class FolderWatcher {
+    private final Path folder;
+    private final Path target;
+    private final Consumer<List<Path>> batchHandler;
+    private final Consumer<IOException> errorHandler;
+    private final Map<Path, PendingFile> pendingFiles = new LinkedHashMap<>();
+    private WatchService watchService;
+    private Thread thread;
+
+    /**
+     * The size and last modified time of a file the last time it was seen to change.
+     * @param size the size of the file, or -1 before it has been checked.
+     * @param lastModified the last modified time of the file in milliseconds, or -1 before it has been checked.
+     * @param changedAt the time the file was last seen to change in milliseconds.
+     */
+    private record PendingFile(long size, long lastModified, long changedAt) { }
+
+    /**
+     * Creates a watcher for the given folder, call {@link #start} to start watching it.
+     * @param folder the folder to watch.
+     * @param target the folder the year directories are created in, which is never handed on.
+     * @param batchHandler receives the files that have settled, at most {@link ModelConfig#WATCH_BATCH_SIZE}
+     * at a time, called from the thread of the watcher.
+     * @param errorHandler receives the error that stopped the watcher, such as the folder being removed.
+     */
+    FolderWatcher(final Path folder, final Path target, final Consumer<List<Path>> batchHandler,
+            final Consumer<IOException> errorHandler) {
+        this.folder = folder;
+        this.target = target.toAbsolutePath().normalize();
+        this.batchHandler = batchHandler;
+        this.errorHandler = errorHandler;
+    }
+
+    /**
+     * Registers the folder with a new watch service and starts the thread of the watcher. The files
+     * already in the folder are handed on as well once they have settled.
+     * @throws IOException if the folder couldn't be registered.
+     */
+    void start() throws IOException {
+        watchService = folder.getFileSystem().newWatchService();
+
+        try {
+            folder.register(
+                watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY
+            );
+            offerFolderContents(System.currentTimeMillis());
+        } catch (final IOException e) {
+            watchService.close();
+            throw e;
+        }
+
+        thread = new Thread(this::watch, "photochronicle-watcher");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Stops the watcher and waits for a batch that is being handled to finish.
+     * @throws InterruptedException if the thread is interrupted while waiting for the watcher.
+     */
+    void stop() throws InterruptedException {
+        try {
+            watchService.close();
+        } catch (final IOException e) {
+            errorHandler.accept(e);
+        }
+
+        if (thread != Thread.currentThread()) {
+            thread.join();
+        }
+    }
+
+    /**
+     * Notes that a file has been created or changed.
+     * @param file the file that has changed.
+     * @param now the current time in milliseconds.
+     */
+    void offer(final Path file, final long now) {
+        pendingFiles.put(file, new PendingFile(-1, -1, now));
+    }
+
+    /**
+     * Removes and returns the pending files that haven't changed for the settle time, files that have
+     * changed since they were last checked are kept with a new change time.
+     * @param now the current time in milliseconds.
+     * @return at most {@link ModelConfig#WATCH_BATCH_SIZE} settled files, in the order they arrived.
+     */
+    List<Path> drainSettled(final long now) {
+        final List<Path> settled = new ArrayList<>();
+        final Iterator<Map.Entry<Path, PendingFile>> iterator = pendingFiles.entrySet().iterator();
+
+        while (iterator.hasNext() && settled.size() < ModelConfig.WATCH_BATCH_SIZE) {
+            final Map.Entry<Path, PendingFile> entry = iterator.next();
+            final BasicFileAttributes attributes;
+
+            try {
+                attributes = Files.readAttributes(
+                    entry.getKey(), BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS
+                );
+            } catch (final NoSuchFileException e) {
+                iterator.remove();
+                continue;
+            } catch (final IOException e) {
+                continue; // Tried again on the next check.
+            }
+
+            final PendingFile pending = entry.getValue();
+            final long lastModified = attributes.lastModifiedTime().toMillis();
+
+            if (!attributes.isRegularFile()) {
+                iterator.remove();
+            } else if (pending.size() != attributes.size() || pending.lastModified() != lastModified) {
+                entry.setValue(new PendingFile(attributes.size(), lastModified, now));
+            } else if (now - pending.changedAt() >= ModelConfig.WATCH_SETTLE_MILLIS) {
+                iterator.remove();
+                settled.add(entry.getKey());
+            }
+        }
+
+        return settled;
+    }
+
+    /**
+     * Returns the number of files waiting to settle.
+     * @return the number of pending files.
+     */
+    int pendingCount() {
+        return pendingFiles.size();
+    }
+
+    /**
+     * The loop of the watcher thread, runs until the watch service is closed.
+     */
+    private void watch() {
+        try {
+            while (true) {
+                final WatchKey key = watchService.poll(ModelConfig.WATCH_POLL_MILLIS, TimeUnit.MILLISECONDS);
+                final long now = System.currentTimeMillis();
+
+                if (key != null && !handleEvents(key, now)) {
+                    errorHandler.accept(new NoSuchFileException(folder.toString(), null, "No longer watchable"));
+                    watchService.close();
+                    return;
+                }
+
+                for (List<Path> batch = drainSettled(now); !batch.isEmpty(); batch = drainSettled(now)) {
+                    batchHandler.accept(batch);
+                }
+            }
+        } catch (final ClosedWatchServiceException e) {
+            return;
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (final IOException e) {
+            errorHandler.accept(e);
+        }
+    }
+
+    /**
+     * Offers the files named by the events of a watch key.
+     * @param key the watch key that has been signalled.
+     * @param now the current time in milliseconds.
+     * @return false if the folder can no longer be watched.
+     */
+    private boolean handleEvents(final WatchKey key, final long now) throws IOException {
+        for (final WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                offerFolderContents(now);
+            } else if (!isIgnored(folder.resolve((Path) event.context()))) {
+                offer(folder.resolve((Path) event.context()), now);
+            }
+        }
+
+        return key.reset();
+    }
+
+    private void offerFolderContents(final long now) throws IOException {
+        try (Stream<Path> contents = Files.list(folder)) {
+            contents.filter(file -> !isIgnored(file)).forEach(file -> offer(file, now));
+        }
+    }
+
+    /**
+     * Checks whether an entry of the folder is never handed on, the cache file or the target folder or one
+     * of the directories holding it.
+     * @param file the entry of the folder.
+     * @return true if the entry is ignored.
+     */
+    boolean isIgnored(final Path file) {
+        return file.getFileName().toString().startsWith(ModelConfig.CACHE_FILE_NAME)
+            || target.startsWith(file.toAbsolutePath().normalize());
+    }
+}
@@ -0,0 +1,171 @@
+package com.dt042g.photochronicle.model;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import com.drew.lang.ByteArrayReader;
+import com.drew.metadata.Metadata;
+import com.drew.metadata.exif.ExifReader;
+
+/**
+ * Reads the EXIF metadata of an image from a bounded number of leading bytes instead of the whole file.
+ *
+ * <p>For JPEG images the segments in the header are walked until the APP1 segment holding the EXIF
+ * data is found, and for TIFF based images the IFDs are read straight from the header. Only the
+ * EXIF reader of metadata-extractor is run over the bytes, since the original date is all the
+ * {@link ChronicleModel} needs.</p>
+ *
+ * <p>If the EXIF data doesn't fit within the read limit, or the file isn't a JPEG or TIFF image,
+ * {@code null} is returned so that the caller can fall back to reading the full file.</p>
+ *
+ * @author Joel Lansgren, Daniel Berg
+ */
+final class HeaderMetadataReader {
+    /** Returned by {@link #findTiffOffset} when the JPEG header ended without any EXIF data. */
+    static final int NO_EXIF = -1;
+
+    /** Returned by {@link #findTiffOffset} when the header isn't a JPEG or TIFF, or the EXIF data is cut off. */
+    static final int INCOMPLETE = -2;
+
+    private static final int JPEG_SOI = 0xD8;
+    private static final int JPEG_SOS = 0xDA;
+    private static final int JPEG_EOI = 0xD9;
+    private static final int JPEG_APP1 = 0xE1;
+    private static final int JPEG_TEM = 0x01;
+    private static final int JPEG_RST0 = 0xD0;
+    private static final int JPEG_RST7 = 0xD7;
+    private static final int MARKER_PREFIX = 0xFF;
+    private static final int BYTE_MASK = 0xFF;
+    private static final int BITS_PER_BYTE = 8;
+    private static final int SEGMENT_HEADER_SIZE = 4;
+    private static final byte[] EXIF_PREAMBLE = {'E', 'x', 'i', 'f', 0, 0};
+    private static final byte[] TIFF_LITTLE_ENDIAN = {'I', 'I', 0x2A, 0};
+    private static final byte[] TIFF_BIG_ENDIAN = {'M', 'M', 0, 0x2A};
+
+    private HeaderMetadataReader() { // Private constructor to prevent instantiation.
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Reads the EXIF metadata found within the leading bytes of a file.
+     * @param file the file to read the metadata from.
+     * @param readLimit the maximum number of bytes to read from the start of the file.
+     * @param exifOnly whether only the directories holding the date are read, as by {@link ExifDateReader}.
+     * @return the metadata found in the header, or {@code null} if the header has no complete EXIF data.
+     * @throws IOException if the file can't be read.
+     */
+    static Metadata read(final Path file, final int readLimit, final boolean exifOnly) throws IOException {
+        return read(readHeader(file, readLimit), exifOnly);
+    }
+
+    /**
+     * Reads the leading bytes of a file.
+     * @param file the file to read.
+     * @param readLimit the maximum number of bytes to read from the start of the file.
+     * @return the bytes read, fewer than the read limit if the file is shorter.
+     * @throws IOException if the file can't be read.
+     */
+    static byte[] readHeader(final Path file, final int readLimit) throws IOException {
+        try (InputStream input = Files.newInputStream(file)) {
+            return input.readNBytes(readLimit);
+        }
+    }
+
+    /**
+     * Reads the EXIF metadata found within the leading bytes of a file.
+     * @param header the leading bytes of the file, as read by {@link #readHeader}.
+     * @param exifOnly whether only the directories holding the date are read, as by {@link ExifDateReader}.
+     * @return the metadata found in the header, or {@code null} if the header has no complete EXIF data.
+     */
+    static Metadata read(final byte[] header, final boolean exifOnly) {
+        final int tiffOffset = findTiffOffset(header, header.length);
+
+        if (tiffOffset < 0) {
+            return null;
+        }
+
+        final Metadata metadata = new Metadata();
+
+        if (exifOnly) {
+            ExifDateReader.extract(new ByteArrayReader(header), metadata, tiffOffset);
+        } else {
+            new ExifReader().extract(new ByteArrayReader(header), metadata, tiffOffset);
+        }
+
+        return metadata;
+    }
+
+    /**
+     * Finds the offset of the TIFF structure that holds the EXIF data within the header.
+     * @param header the leading bytes of a file.
+     * @param length the number of valid bytes in the header.
+     * @return the offset of the TIFF header, {@link #NO_EXIF} if a JPEG header ended without EXIF
+     * data, or {@link #INCOMPLETE} if the header isn't a JPEG or TIFF header or the EXIF data is cut off.
+     */
+    static int findTiffOffset(final byte[] header, final int length) {
+        if (startsWith(header, length, 0, TIFF_LITTLE_ENDIAN) || startsWith(header, length, 0, TIFF_BIG_ENDIAN)) {
+            return 0;
+        }
+
+        if (length < 2 || (header[0] & BYTE_MASK) != MARKER_PREFIX || (header[1] & BYTE_MASK) != JPEG_SOI) {
+            return INCOMPLETE;
+        }
+
+        int position = 2;
+
+        while (position + 1 < length) {
+            if ((header[position] & BYTE_MASK) != MARKER_PREFIX) {
+                return INCOMPLETE;
+            }
+
+            final int marker = header[position + 1] & BYTE_MASK;
+
+            if (marker == MARKER_PREFIX) { // Fill byte, the marker follows.
+                position++;
+                continue;
+            }
+
+            if (marker == JPEG_SOS || marker == JPEG_EOI) {
+                return NO_EXIF;
+            }
+
+            if (marker == JPEG_TEM || (marker >= JPEG_RST0 && marker <= JPEG_RST7)) {
+                position += 2;
+                continue;
+            }
+
+            if (position + SEGMENT_HEADER_SIZE > length) {
+                return INCOMPLETE;
+            }
+
+            final int segmentLength = ((header[position + 2] & BYTE_MASK) << BITS_PER_BYTE)
+                    | (header[position + SEGMENT_HEADER_SIZE - 1] & BYTE_MASK);
+            final int segmentStart = position + SEGMENT_HEADER_SIZE;
+            final int segmentEnd = position + 2 + segmentLength;
+
+            if (marker == JPEG_APP1 && startsWith(header, length, segmentStart, EXIF_PREAMBLE)) {
+                return segmentEnd <= length ? segmentStart + EXIF_PREAMBLE.length : INCOMPLETE;
+            }
+
+            position = segmentEnd;
+        }
+
+        return INCOMPLETE;
+    }
+
+    private static boolean startsWith(final byte[] data, final int length, final int offset, final byte[] prefix) {
+        if (offset < 0 || offset + prefix.length > length) {
+            return false;
+        }
+
+        for (int i = 0; i < prefix.length; i++) {
+            if (data[offset + i] != prefix[i]) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+}
@@ -0,0 +1,150 @@
+package com.dt042g.photochronicle.model;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * An on-disk cache of the original dates found in earlier sorts, so that files left in place, such as
+ * files without a date, don't have to be parsed again on every run.
+ *
+ * <p>Entries are keyed by the path of the file relative to the sorted folder together with its size
+ * and last modified time, and hold either the {@link DateKey} of the file or {@link DateKey#NONE}.
+ * A file that has been changed since it was cached is simply parsed again.</p>
+ *
+ * <p>The cache is stored as a compact binary file: a magic number, a version and the number of entries,
+ * followed by the path, size, last modified time and date key of every entry. Only the entries of files
+ * seen during the current run, and not moved by it, are written back so the cache never outgrows the
+ * folder. A missing or unreadable cache file is treated as an empty cache.</p>
+ *
+ * @author Joel Lansgren, Daniel Berg
+ */
+final class MetadataCache {
+    /** Returned by {@link #lookup} when the cache holds no valid entry for a file. */
+    static final int MISS = -2;
+
+    private static final int MAGIC = 0x50434843; // "PCHC"
+    private static final int VERSION = 1;
+
+    private final Path cacheFile;
+    private final Map<String, Entry> previousEntries = new HashMap<>();
+    private final Map<String, Entry> currentEntries = new ConcurrentHashMap<>();
+
+    private record Entry(long size, long lastModified, int dateKey) { }
+
+    /**
+     * Creates a cache backed by the given file, call {@link #load} to read the entries of earlier runs.
+     * @param cacheFile the file the cache is stored in.
+     */
+    MetadataCache(final Path cacheFile) {
+        this.cacheFile = cacheFile;
+    }
+
+    /**
+     * Reads the entries stored by an earlier run.
+     * @throws IOException if the cache file exists but couldn't be read, the cache is empty in that case.
+     */
+    void load() throws IOException {
+        previousEntries.clear();
+
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(cacheFile)))) {
+            if (input.readInt() != MAGIC || input.readInt() != VERSION) {
+                throw new IOException("Unsupported cache file: " + cacheFile);
+            }
+
+            final int entryCount = input.readInt();
+
+            for (int i = 0; i < entryCount; i++) {
+                previousEntries.put(input.readUTF(), new Entry(input.readLong(), input.readLong(), input.readInt()));
+            }
+        } catch (final NoSuchFileException e) {
+            return;
+        } catch (final EOFException e) {
+            previousEntries.clear();
+            throw new IOException("Truncated cache file: " + cacheFile, e);
+        } catch (final IOException e) {
+            previousEntries.clear();
+            throw e;
+        }
+    }
+
+    /**
+     * Looks up the cached date of a file, the entry is kept for the next run on a hit.
+     * @param relativePath the path of the file relative to the sorted folder.
+     * @param size the current size of the file.
+     * @param lastModified the current last modified time of the file in milliseconds.
+     * @return the cached {@link DateKey} or {@link DateKey#NONE}, or {@link #MISS} if the file isn't
+     * cached or has changed.
+     */
+    int lookup(final String relativePath, final long size, final long lastModified) {
+        final Entry entry = previousEntries.get(relativePath);
+
+        if (entry == null || entry.size() != size || entry.lastModified() != lastModified) {
+            return MISS;
+        }
+
+        currentEntries.put(relativePath, entry);
+        return entry.dateKey();
+    }
+
+    /**
+     * Records the date found for a file.
+     * @param relativePath the path of the file relative to the sorted folder.
+     * @param size the size of the file.
+     * @param lastModified the last modified time of the file in milliseconds.
+     * @param dateKey the {@link DateKey} of the file, or {@link DateKey#NONE} if it has no date.
+     */
+    void record(final String relativePath, final long size, final long lastModified, final int dateKey) {
+        currentEntries.put(relativePath, new Entry(size, lastModified, dateKey));
+    }
+
+    /**
+     * Forgets a file that has been moved out of its cached location.
+     * @param relativePath the path of the file relative to the sorted folder.
+     */
+    void forget(final String relativePath) {
+        currentEntries.remove(relativePath);
+    }
+
+    /**
+     * Returns the number of entries that will be stored by {@link #save}.
+     * @return the number of entries recorded during this run.
+     */
+    int size() {
+        return currentEntries.size();
+    }
+
+    /**
+     * Stores the entries recorded during this run, replacing the cache file atomically.
+     * @throws IOException if the cache file couldn't be written.
+     */
+    void save() throws IOException {
+        final Path temporaryFile = cacheFile.resolveSibling(cacheFile.getFileName() + ".tmp");
+
+        try (DataOutputStream output = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(temporaryFile)))) {
+            output.writeInt(MAGIC);
+            output.writeInt(VERSION);
+            output.writeInt(currentEntries.size());
+
+            for (final Map.Entry<String, Entry> entry : currentEntries.entrySet()) {
+                output.writeUTF(entry.getKey());
+                output.writeLong(entry.getValue().size());
+                output.writeLong(entry.getValue().lastModified());
+                output.writeInt(entry.getValue().dateKey());
+            }
+        }
+
+        Files.move(temporaryFile, cacheFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
@@ -0,0 +1,47 @@
+package com.dt042g.photochronicle.model;
+
+import java.nio.file.Path;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A JDK Flight Recorder event spanning the move of a single file into the directory of its month.
+ *
+ * @author Joel Lansgren, Daniel Berg
+ */
+@Name(SortEvent.NAME_PREFIX + "Move")
+@Label("File Move")
+@Category(SortEvent.CATEGORY)
+@Description("The move of a file into the directory of its month")
+final class MoveEvent extends Event {
+    @Label("Source")
+    private String source;
+
+    @Label("Destination")
+    private String destination;
+
+    @Label("Moved")
+    @Description("Whether the file was moved, false if the move failed or the sort is a dry run")
+    private boolean moved;
+
+    /**
+     * Sets the file being moved and its destination.
+     * @param sourceFile the file.
+     * @param destinationFile the path of the file in the directory of its month.
+     */
+    void setFiles(final Path sourceFile, final Path destinationFile) {
+        source = sourceFile.toString();
+        destination = destinationFile.toString();
+    }
+
+    /**
+     * Marks that the file was moved.
+     */
+    void setMoved() {
+        moved = true;
+    }
+}
@@ -0,0 +1,73 @@
+package com.dt042g.photochronicle.model;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+import com.dt042g.photochronicle.support.ModelConfig;
+
+/**
+ * Runs the moves of a sort on a number of lanes, each a single thread, where all moves into the directory
+ * of a month are routed to the same lane by its {@link DateKey}.
+ *
+ * <p>Since a lane only ever works on its own directories the moves into a directory keep the order they
+ * were handed in, and a thread keeps working on the same directory, whose entries stay in the caches of
+ * the file system, instead of all threads contending on every directory. Renames within a file system
+ * are cheap metadata updates, so spreading the directories over the lanes lets the moves run on all
+ * cores.</p>
+ *
+ * <p>The number of moves waiting for a lane is bounded, so the caller is never further ahead than the
+ * lanes can keep up with. With a single lane the moves are run by the calling thread.</p>
+ *
+ * @author Joel Lansgren, Daniel Berg
+ */
+final class MoveExecutor implements AutoCloseable {
+    private final ExecutorService[] lanes;
+    private final Semaphore pendingTasks;
+
+    /**
+     * Creates an executor with the given number of lanes.
+     * @param parallelism the number of lanes, where 1 means the moves are run by the calling thread.
+     */
+    MoveExecutor(final int parallelism) {
+        lanes = new ExecutorService[parallelism == 1 ? 0 : parallelism];
+        pendingTasks = new Semaphore(parallelism * ModelConfig.TASKS_PER_WORKER);
+
+        for (int lane = 0; lane < lanes.length; lane++) {
+            lanes[lane] = Executors.newSingleThreadExecutor();
+        }
+    }
+
+    /**
+     * Runs moves into the directory of a month on the lane of the month, waiting while too many moves are
+     * pending.
+     * @param dateKey the {@link DateKey} of the month whose directory the files are moved into.
+     * @param moves the moves to run, in order.
+     * @throws InterruptedException if the thread is interrupted while waiting for a lane.
+     */
+    void execute(final int dateKey, final Runnable moves) throws InterruptedException {
+        if (lanes.length == 0) {
+            moves.run();
+            return;
+        }
+
+        pendingTasks.acquire();
+        lanes[Math.floorMod(dateKey, lanes.length)].execute(() -> {
+            try {
+                moves.run();
+            } finally {
+                pendingTasks.release();
+            }
+        });
+    }
+
+    /**
+     * Waits for all pending moves to finish and stops the lanes.
+     */
+    @Override
+    public void close() {
+        for (final ExecutorService lane : lanes) {
+            lane.close();
+        }
+    }
+}
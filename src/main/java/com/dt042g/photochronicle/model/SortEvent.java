@@ -0,0 +1,106 @@
+package com.dt042g.photochronicle.model;
+
+import java.nio.file.Path;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A JDK Flight Recorder event spanning a whole sort of a folder, carrying its options and statistics.
+ *
+ * <p>Together with the {@link ExtractionEvent}, {@link DirectoryEvent} and {@link MoveEvent} of the sort it
+ * tells which phase a slow sort spends its time in. The events are recorded by any running recording that
+ * enables them, for example one started with {@code jcmd <pid> JFR.start}, and cost next to nothing
+ * otherwise.</p>
+ *
+ * @author Joel Lansgren, Daniel Berg
+ */
+@Name(SortEvent.NAME_PREFIX + "Sort")
+@Label("Sort")
+@Category(SortEvent.CATEGORY)
+@Description("A sort of a folder, from the start of the scan until the last file has been moved")
+final class SortEvent extends Event {
+    /** The prefix of the names of the events of the application. */
+    static final String NAME_PREFIX = "com.dt042g.photochronicle.";
+
+    /** The category the events of the application are shown under. */
+    static final String CATEGORY = "PhotoChronicle";
+
+    @Label("Folder")
+    private String folder;
+
+    @Label("Worker Count")
+    private int workerCount;
+
+    @Label("Move Worker Count")
+    private int moveWorkerCount;
+
+    @Label("Transfer Mode")
+    private String transferMode;
+
+    @Label("Verify Checksums")
+    private boolean verifyChecksums;
+
+    @Label("Streaming")
+    private boolean streaming;
+
+    @Label("Recursive")
+    private boolean recursive;
+
+    @Label("Dry Run")
+    private boolean dryRun;
+
+    @Label("Sorted Files")
+    private int sortedFiles;
+
+    @Label("Unsorted Files")
+    private int unsortedFiles;
+
+    @Label("Verified Files")
+    private int verifiedFiles;
+
+    @Label("Checksum Mismatches")
+    private int checksumMismatches;
+
+    @Label("Directory Failures")
+    private int directoryFailures;
+
+    @Label("Invalid Files")
+    private int invalidFiles;
+
+    @Label("Cancelled")
+    private boolean cancelled;
+
+    /**
+     * Sets the folder and options of the sort.
+     * @param sortedFolder the folder being sorted.
+     * @param options the options of the sort.
+     */
+    void setSort(final Path sortedFolder, final SortOptions options) {
+        folder = String.valueOf(sortedFolder);
+        workerCount = options.getWorkerCount();
+        moveWorkerCount = options.getMoveWorkerCount();
+        transferMode = options.getTransferMode().name();
+        verifyChecksums = options.isVerifyChecksums();
+        streaming = options.isStreaming();
+        recursive = options.isRecursive();
+        dryRun = options.isDryRun();
+    }
+
+    /**
+     * Sets the statistics of the finished sort.
+     * @param summary the statistics of the sort.
+     */
+    void setSummary(final SortSummary summary) {
+        sortedFiles = summary.sortedFiles();
+        unsortedFiles = summary.unsortedFiles();
+        verifiedFiles = summary.verifiedFiles();
+        checksumMismatches = summary.checksumMismatches();
+        directoryFailures = summary.directoryFailures();
+        invalidFiles = summary.invalidFiles();
+        cancelled = summary.cancelled();
+    }
+}
@@ -0,0 +1,311 @@
+package com.dt042g.photochronicle.model;
+
+import java.nio.file.Path;
+import java.util.Objects;
+
+import com.dt042g.photochronicle.support.ModelConfig;
+
+/**
+ * Holds the settings that decide how {@link ChronicleModel} sorts a folder.
+ *
+ * <p>Every setting starts out with the default found in {@link ModelConfig}, so a fresh instance
+ * sorts a folder exactly like the application always has. The settings are read once at the
+ * start of every sort, which means changes made during a sort apply to the next one.</p>
+ *
+ * @author Joel Lansgren, Daniel Berg
+ */
+public final class SortOptions {
+    private int workerCount = ModelConfig.DEFAULT_WORKER_COUNT;
+    private int moveWorkerCount = ModelConfig.DEFAULT_WORKER_COUNT;
+    private int headerReadLimit = ModelConfig.DEFAULT_HEADER_READ_LIMIT;
+    private ExtractionMode extractionMode = ExtractionMode.FAST;
+    private FilenameTrust filenameTrust = FilenameTrust.PREFER;
+    private TransferMode transferMode = TransferMode.MOVE;
+    private boolean streaming;
+    private boolean recursive;
+    private boolean cacheEnabled;
+    private boolean dryRun;
+    private Path errorReport;
+    private Path targetFolder;
+    private boolean verifyChecksums;
+    private boolean debug;
+    private int queueCapacity = ModelConfig.DEFAULT_QUEUE_CAPACITY;
+
+    /**
+     * Returns the number of worker threads used to extract metadata.
+     * @return the number of worker threads, where 1 means the folder is processed sequentially.
+     */
+    public int getWorkerCount() {
+        return workerCount;
+    }
+
+    /**
+     * Sets the number of worker threads used to extract metadata.
+     * @param workerCount the number of worker threads, where 1 means the folder is processed sequentially.
+     * @throws IllegalArgumentException if the worker count is less than 1.
+     */
+    public void setWorkerCount(final int workerCount) {
+        if (workerCount < 1) {
+            throw new IllegalArgumentException("The worker count must be at least 1, was: " + workerCount);
+        }
+
+        this.workerCount = workerCount;
+    }
+
+    /**
+     * Returns the number of threads that move files.
+     * @return the number of move threads, where 1 means the files are moved sequentially.
+     */
+    public int getMoveWorkerCount() {
+        return moveWorkerCount;
+    }
+
+    /**
+     * Sets the number of threads that move files. The files of a year and month directory are always moved
+     * by the same thread, in order, so the directories are spread over the threads.
+     * @param moveWorkerCount the number of move threads, where 1 means the files are moved sequentially.
+     * @throws IllegalArgumentException if the move worker count is less than 1.
+     */
+    public void setMoveWorkerCount(final int moveWorkerCount) {
+        if (moveWorkerCount < 1) {
+            throw new IllegalArgumentException("The move worker count must be at least 1, was: " + moveWorkerCount);
+        }
+
+        this.moveWorkerCount = moveWorkerCount;
+    }
+
+    /**
+     * Returns the maximum number of leading bytes read from a file when looking for its EXIF data.
+     * @return the read limit in bytes, where 0 means the full file is always read.
+     */
+    public int getHeaderReadLimit() {
+        return headerReadLimit;
+    }
+
+    /**
+     * Sets the maximum number of leading bytes read from a file when looking for its EXIF data. The full
+     * file is only read when the original date isn't found within the limit.
+     * @param headerReadLimit the read limit in bytes, where 0 means the full file is always read.
+     * @throws IllegalArgumentException if the read limit is negative.
+     */
+    public void setHeaderReadLimit(final int headerReadLimit) {
+        if (headerReadLimit < 0) {
+            throw new IllegalArgumentException("The header read limit can't be negative, was: " + headerReadLimit);
+        }
+
+        this.headerReadLimit = headerReadLimit;
+    }
+
+    /**
+     * Returns the strategy used to find the original date of a file.
+     * @return the extraction mode.
+     */
+    public ExtractionMode getExtractionMode() {
+        return extractionMode;
+    }
+
+    /**
+     * Sets the strategy used to find the original date of a file.
+     * @param extractionMode the extraction mode.
+     * @throws NullPointerException if the extraction mode is null.
+     */
+    public void setExtractionMode(final ExtractionMode extractionMode) {
+        this.extractionMode = Objects.requireNonNull(extractionMode, "The extraction mode can't be null");
+    }
+
+    /**
+     * Returns how far a date encoded in the name of a file is trusted compared to its metadata.
+     * @return the trust in the names of the files.
+     */
+    public FilenameTrust getFilenameTrust() {
+        return filenameTrust;
+    }
+
+    /**
+     * Sets how far a date encoded in the name of a file, such as {@code IMG_20230714_101522.jpg}, is
+     * trusted compared to its metadata. Files whose dates are taken from their names are never opened.
+     * @param filenameTrust the trust in the names of the files.
+     * @throws NullPointerException if the trust is null.
+     */
+    public void setFilenameTrust(final FilenameTrust filenameTrust) {
+        this.filenameTrust = Objects.requireNonNull(filenameTrust, "The filename trust can't be null");
+    }
+
+    /**
+     * Returns how the files are put into the directories of their months.
+     * @return the transfer mode.
+     */
+    public TransferMode getTransferMode() {
+        return transferMode;
+    }
+
+    /**
+     * Sets how the files are put into the directories of their months. Copied and linked files leave the
+     * originals untouched, and linked files need the target folder to be on the file system of the sorted
+     * folder.
+     * @param transferMode the transfer mode.
+     * @throws NullPointerException if the transfer mode is null.
+     */
+    public void setTransferMode(final TransferMode transferMode) {
+        this.transferMode = Objects.requireNonNull(transferMode, "The transfer mode can't be null");
+    }
+
+    /**
+     * Returns whether files are moved while the folder is still being scanned.
+     * @return true if the folder is sorted in streaming mode.
+     */
+    public boolean isStreaming() {
+        return streaming;
+    }
+
+    /**
+     * Sets whether files are moved while the folder is still being scanned. In streaming mode the
+     * memory used stays flat regardless of the number of files, since they are never collected.
+     * @param streaming true to sort the folder in streaming mode.
+     */
+    public void setStreaming(final boolean streaming) {
+        this.streaming = streaming;
+    }
+
+    /**
+     * Returns the number of classified files that may wait for the move stage in streaming mode.
+     * @return the capacity of the queue between the extraction and move stages.
+     */
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    /**
+     * Sets the number of classified files that may wait for the move stage in streaming mode.
+     * @param queueCapacity the capacity of the queue between the extraction and move stages.
+     * @throws IllegalArgumentException if the capacity is less than 1.
+     */
+    public void setQueueCapacity(final int queueCapacity) {
+        if (queueCapacity < 1) {
+            throw new IllegalArgumentException("The queue capacity must be at least 1, was: " + queueCapacity);
+        }
+
+        this.queueCapacity = queueCapacity;
+    }
+
+    /**
+     * Returns whether the subdirectories of the folder are sorted as well.
+     * @return true if the folder is walked recursively.
+     */
+    public boolean isRecursive() {
+        return recursive;
+    }
+
+    /**
+     * Sets whether the subdirectories of the folder are sorted as well. The files found are moved into
+     * the year and month directories of the selected folder.
+     * @param recursive true to walk the folder recursively.
+     */
+    public void setRecursive(final boolean recursive) {
+        this.recursive = recursive;
+    }
+
+    /**
+     * Returns whether the original dates found are cached in the sorted folder between runs.
+     * @return true if the metadata cache is used.
+     */
+    public boolean isCacheEnabled() {
+        return cacheEnabled;
+    }
+
+    /**
+     * Sets whether the original dates found are cached in the sorted folder between runs. Files that
+     * haven't changed since the previous sort, such as files without a date, are then not parsed again.
+     * @param cacheEnabled true to use the metadata cache.
+     */
+    public void setCacheEnabled(final boolean cacheEnabled) {
+        this.cacheEnabled = cacheEnabled;
+    }
+
+    /**
+     * Returns whether the folder is only classified, without moving any files or creating any directories.
+     * @return true if the sort is a dry run.
+     */
+    public boolean isDryRun() {
+        return dryRun;
+    }
+
+    /**
+     * Sets whether the folder is only classified, without moving any files or creating any directories.
+     * The statistics of a dry run count the files that would have been sorted, and the metadata cache
+     * isn't stored.
+     * @param dryRun true to make the sort a dry run.
+     */
+    public void setDryRun(final boolean dryRun) {
+        this.dryRun = dryRun;
+    }
+
+    /**
+     * Returns the folder the year and month directories are created in.
+     * @return the target folder, or {@code null} if the files are sorted within the sorted folder.
+     */
+    public Path getTargetFolder() {
+        return targetFolder;
+    }
+
+    /**
+     * Sets the folder the year and month directories are created in, which is created when it doesn't exist.
+     * When the target folder is on another file system the files are transferred instead of renamed.
+     * @param targetFolder the target folder, or {@code null} to sort the files within the sorted folder.
+     */
+    public void setTargetFolder(final Path targetFolder) {
+        this.targetFolder = targetFolder;
+    }
+
+    /**
+     * Returns whether the bytes of every copied file are verified by a checksum.
+     * @return true if the copies are verified.
+     */
+    public boolean isVerifyChecksums() {
+        return verifyChecksums;
+    }
+
+    /**
+     * Sets whether the bytes of every copied file, in the copy mode or moved to another file system, are
+     * verified by a CRC32C checksum. A copy whose checksum doesn't match its source is deleted and the
+     * source left in place.
+     * @param verifyChecksums true to verify the copies.
+     */
+    public void setVerifyChecksums(final boolean verifyChecksums) {
+        this.verifyChecksums = verifyChecksums;
+    }
+
+    /**
+     * Returns the file the failures of a sort are streamed to.
+     * @return the report file, or {@code null} if the failures are only counted.
+     */
+    public Path getErrorReport() {
+        return errorReport;
+    }
+
+    /**
+     * Sets the file the failures of a sort are streamed to, one line per failure. The report is replaced by
+     * every sort, while the batches of a watched folder are appended to it.
+     * @param errorReport the report file, or {@code null} to only count the failures.
+     */
+    public void setErrorReport(final Path errorReport) {
+        this.errorReport = errorReport;
+    }
+
+    /**
+     * Returns whether the stack traces of the failures are captured.
+     * @return true if the sort runs in debug mode.
+     */
+    public boolean isDebug() {
+        return debug;
+    }
+
+    /**
+     * Sets whether the stack traces of the failures are captured, for the samples of the
+     * {@link ErrorSummary} and the error report. Capturing them is costly when many files fail.
+     * @param debug true to capture the stack traces.
+     */
+    public void setDebug(final boolean debug) {
+        this.debug = debug;
+    }
+}
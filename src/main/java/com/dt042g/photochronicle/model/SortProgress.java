@@ -0,0 +1,109 @@
+package com.dt042g.photochronicle.model;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Tracks the progress of a running sort so that it can be shown while the sort is running on
+ * another thread, and lets the sort be cancelled.
+ *
+ * <p>The counters are only updated by the threads of the sort and may be read at any time from
+ * any thread. Readers are expected to poll them at a fixed rate, which keeps the cost of a progress
+ * update to an increment per file no matter how often the files complete.</p>
+ *
+ * <p>A file is completed when it has been sorted, failed to be moved or found to be invalid. The total
+ * number of files is known once the folder has been listed, a recursive sort adds to it as the
+ * subdirectories are walked.</p>
+ *
+ * @author Joel Lansgren, Daniel Berg
+ */
+public final class SortProgress {
+    /** Returned by {@link #getRemainingSeconds} when the remaining time can't be estimated yet. */
+    public static final long UNKNOWN = -1;
+
+    private final LongAdder totalFiles = new LongAdder();
+    private final LongAdder completedFiles = new LongAdder();
+    private volatile long startNanos = System.nanoTime();
+    private volatile boolean cancelled;
+
+    /**
+     * Returns the number of files found so far.
+     * @return the total number of files of the sort.
+     */
+    public long getTotalFiles() {
+        return totalFiles.sum();
+    }
+
+    /**
+     * Returns the number of files that have been completed.
+     * @return the number of completed files.
+     */
+    public long getCompletedFiles() {
+        return completedFiles.sum();
+    }
+
+    /**
+     * Returns the average number of files completed per second since the sort started.
+     * @return the number of files per second.
+     */
+    public double getFilesPerSecond() {
+        final long elapsedNanos = System.nanoTime() - startNanos;
+
+        return elapsedNanos <= 0 ? 0 : getCompletedFiles() * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+    }
+
+    /**
+     * Estimates the time left of the sort from the average rate so far.
+     * @return the estimated number of seconds left, or {@link #UNKNOWN} if no file has been completed yet.
+     */
+    public long getRemainingSeconds() {
+        final double filesPerSecond = getFilesPerSecond();
+
+        if (filesPerSecond <= 0) {
+            return UNKNOWN;
+        }
+
+        return Math.round(Math.max(0, getTotalFiles() - getCompletedFiles()) / filesPerSecond);
+    }
+
+    /**
+     * Asks the running sort to stop, the sort finishes the files it is working on and skips the rest.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * Returns whether the sort has been asked to stop.
+     * @return true if the sort has been cancelled.
+     */
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Resets the progress at the start of a sort.
+     */
+    void start() {
+        totalFiles.reset();
+        completedFiles.reset();
+        cancelled = false;
+        startNanos = System.nanoTime();
+    }
+
+    /**
+     * Adds to the number of files found.
+     * @param files the number of files found.
+     */
+    void addTotal(final long files) {
+        totalFiles.add(files);
+    }
+
+    /**
+     * Adds to the number of files completed.
+     * @param files the number of files completed.
+     */
+    void complete(final long files) {
+        completedFiles.add(files);
+    }
+}
@@ -0,0 +1,289 @@
+package com.dt042g.photochronicle.model;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.dt042g.photochronicle.support.ModelConfig;
+
+/**
+ * The statistics of a sort, updated by the threads of the sort and readable at any time from any thread,
+ * including through JMX as a {@link SortStatisticsMXBean}.
+ *
+ * <p>Every counter is a {@link LongAdder}, so workers extracting metadata in parallel never contend on a
+ * lock and no count is lost.</p>
+ *
+ * <p>The throughput is measured over a sliding window of {@link ModelConfig#THROUGHPUT_WINDOW_SECONDS},
+ * kept as a ring of per-second buckets of completed files. A bucket is reused once its second has left
+ * the window, so the memory used doesn't grow with the length of the sort. Files completed just as a
+ * bucket is reused may be missed by the throughput, which is an estimate, but never by the counters.</p>
+ *
+ * @author Joel Lansgren, Daniel Berg
+ */
+public final class SortStatistics implements SortStatisticsMXBean {
+    /** The counters of the statistics. */
+    enum Counter {
+        /** Files moved into a year and month directory. */
+        SORTED,
+
+        /** Files that had an original date but couldn't be moved. */
+        UNSORTED,
+
+        /** Year and month directories that couldn't be created. */
+        DIRECTORY_FAILURES,
+
+        /** Files without an original date or that couldn't be read. */
+        INVALID
+    }
+
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+    private static final int WINDOW = ModelConfig.THROUGHPUT_WINDOW_SECONDS;
+
+    private final LongAdder[] counters = newAdders(Counter.values().length);
+    private final LongAdder[] rejectedTypes = newAdders(FileType.values().length);
+    private final LongAdder[] resolvedTiers = newAdders(DateTier.values().length);
+    private final LongAdder bytesRead = new LongAdder();
+    private final LongAdder verifiedFiles = new LongAdder();
+    private final LongAdder checksumMismatches = new LongAdder();
+    private final AtomicLongArray bucketSeconds = new AtomicLongArray(WINDOW);
+    private final AtomicLongArray bucketFiles = new AtomicLongArray(WINDOW);
+    private volatile long startNanos = System.nanoTime();
+    private volatile Collection<?> queue;
+
+    /**
+     * Creates empty statistics whose throughput window starts now.
+     */
+    SortStatistics() {
+        reset();
+    }
+
+    @Override
+    public long getSortedFiles() {
+        return get(Counter.SORTED);
+    }
+
+    @Override
+    public long getUnsortedFiles() {
+        return get(Counter.UNSORTED);
+    }
+
+    @Override
+    public long getVerifiedFiles() {
+        return verifiedFiles.sum();
+    }
+
+    @Override
+    public long getChecksumMismatches() {
+        return checksumMismatches.sum();
+    }
+
+    @Override
+    public long getDirectoryFailures() {
+        return get(Counter.DIRECTORY_FAILURES);
+    }
+
+    @Override
+    public long getInvalidFiles() {
+        return get(Counter.INVALID);
+    }
+
+    @Override
+    public Map<String, Long> getRejectedTypes() {
+        final Map<String, Long> types = new TreeMap<>();
+
+        for (final FileType type : FileType.values()) {
+            final long files = getRejected(type);
+
+            if (files > 0) {
+                types.put(type.name(), files);
+            }
+        }
+
+        return types;
+    }
+
+    @Override
+    public Map<String, Long> getResolvedTiers() {
+        final Map<String, Long> tiers = new TreeMap<>();
+
+        for (final DateTier tier : DateTier.values()) {
+            final long files = getResolved(tier);
+
+            if (files > 0) {
+                tiers.put(tier.name(), files);
+            }
+        }
+
+        return tiers;
+    }
+
+    @Override
+    public long getBytesRead() {
+        return bytesRead.sum();
+    }
+
+    @Override
+    public double getFilesPerSecond() {
+        final long elapsedNanos = System.nanoTime() - startNanos;
+        final long currentSecond = elapsedNanos / NANOS_PER_SECOND;
+        final long firstSecond = Math.max(0, currentSecond - WINDOW + 1);
+        long files = 0;
+
+        for (int bucket = 0; bucket < WINDOW; bucket++) {
+            final long second = bucketSeconds.get(bucket);
+
+            if (second >= firstSecond && second <= currentSecond) {
+                files += bucketFiles.get(bucket);
+            }
+        }
+
+        final long windowNanos = elapsedNanos - firstSecond * NANOS_PER_SECOND;
+
+        return windowNanos <= 0 ? 0 : files * (double) NANOS_PER_SECOND / windowNanos;
+    }
+
+    @Override
+    public int getQueueDepth() {
+        final Collection<?> classifiedFiles = queue;
+
+        return classifiedFiles == null ? 0 : classifiedFiles.size();
+    }
+
+    /**
+     * Returns the value of a counter.
+     * @param counter the counter to read.
+     * @return the value of the counter.
+     */
+    long get(final Counter counter) {
+        return counters[counter.ordinal()].sum();
+    }
+
+    /**
+     * Returns the number of rejected files of a type.
+     * @param type the type of the files.
+     * @return the number of files of the type that were rejected.
+     */
+    long getRejected(final FileType type) {
+        return rejectedTypes[type.ordinal()].sum();
+    }
+
+    /**
+     * Returns the number of files whose original date was found by a tier.
+     * @param tier the tier of the date resolution chain.
+     * @return the number of files resolved by the tier.
+     */
+    long getResolved(final DateTier tier) {
+        return resolvedTiers[tier.ordinal()].sum();
+    }
+
+    /**
+     * Increments a counter, and for every counter but the directory failures adds a completed file to the
+     * throughput.
+     * @param counter the counter to increment.
+     */
+    void increment(final Counter counter) {
+        counters[counter.ordinal()].increment();
+
+        if (counter != Counter.DIRECTORY_FAILURES) {
+            completeFile();
+        }
+    }
+
+    /**
+     * Counts a file of an unsupported type that was rejected without being parsed.
+     * @param type the type of the file.
+     */
+    void reject(final FileType type) {
+        rejectedTypes[type.ordinal()].increment();
+    }
+
+    /**
+     * Counts a file whose original date was found by a tier.
+     * @param tier the tier of the date resolution chain that found the date.
+     */
+    void resolve(final DateTier tier) {
+        resolvedTiers[tier.ordinal()].increment();
+    }
+
+    /**
+     * Counts a copied file whose checksum was compared with that of its source.
+     * @param intact whether the checksums matched.
+     */
+    void verify(final boolean intact) {
+        (intact ? verifiedFiles : checksumMismatches).increment();
+    }
+
+    /**
+     * Adds to the number of bytes read from the files.
+     * @param bytes the number of bytes read.
+     */
+    void addBytesRead(final long bytes) {
+        bytesRead.add(bytes);
+    }
+
+    /**
+     * Sets the queue whose depth is reported, the queue between the stages of a streaming sort.
+     * @param classifiedFiles the queue, or {@code null} when the sort isn't streaming.
+     */
+    void setQueue(final Collection<?> classifiedFiles) {
+        queue = classifiedFiles;
+    }
+
+    /**
+     * Clears the statistics and restarts the throughput window, at the start of a sort.
+     */
+    void reset() {
+        for (final LongAdder counter : counters) {
+            counter.reset();
+        }
+
+        for (final LongAdder type : rejectedTypes) {
+            type.reset();
+        }
+
+        for (final LongAdder tier : resolvedTiers) {
+            tier.reset();
+        }
+
+        bytesRead.reset();
+        verifiedFiles.reset();
+        checksumMismatches.reset();
+        queue = null;
+
+        for (int bucket = 0; bucket < WINDOW; bucket++) {
+            bucketSeconds.set(bucket, -1);
+            bucketFiles.set(bucket, 0);
+        }
+
+        startNanos = System.nanoTime();
+    }
+
+    /**
+     * Adds a completed file to the bucket of the current second, taking the bucket over from the second
+     * that last used it.
+     */
+    private void completeFile() {
+        final long second = (System.nanoTime() - startNanos) / NANOS_PER_SECOND;
+        final int bucket = (int) (second % WINDOW);
+        final long bucketSecond = bucketSeconds.get(bucket);
+
+        if (bucketSecond != second && bucketSeconds.compareAndSet(bucket, bucketSecond, second)) {
+            bucketFiles.set(bucket, 0);
+        }
+
+        bucketFiles.incrementAndGet(bucket);
+    }
+
+    private static LongAdder[] newAdders(final int count) {
+        final LongAdder[] adders = new LongAdder[count];
+
+        for (int i = 0; i < count; i++) {
+            adders[i] = new LongAdder();
+        }
+
+        return adders;
+    }
+}
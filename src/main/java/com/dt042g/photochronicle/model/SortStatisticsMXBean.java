@@ -0,0 +1,81 @@
+package com.dt042g.photochronicle.model;
+
+import java.util.Map;
+
+/**
+ * The management interface of the {@link SortStatistics} of a {@link ChronicleModel}, giving live access
+ * to the statistics of a running sort through JMX, for example from JConsole or VisualVM.
+ *
+ * @author Joel Lansgren, Daniel Berg
+ */
+public interface SortStatisticsMXBean {
+    /**
+     * Returns the number of files moved into a year and month directory so far.
+     * @return the number of sorted files.
+     */
+    long getSortedFiles();
+
+    /**
+     * Returns the number of files that had an original date but couldn't be moved.
+     * @return the number of unsorted files.
+     */
+    long getUnsortedFiles();
+
+    /**
+     * Returns the number of copied files whose checksum matched their source.
+     * @return the number of verified files.
+     */
+    long getVerifiedFiles();
+
+    /**
+     * Returns the number of copied files whose checksum didn't match their source, which are also counted
+     * as unsorted.
+     * @return the number of checksum mismatches.
+     */
+    long getChecksumMismatches();
+
+    /**
+     * Returns the number of year and month directories that couldn't be created.
+     * @return the number of directory failures.
+     */
+    long getDirectoryFailures();
+
+    /**
+     * Returns the number of files without an original date or that couldn't be read.
+     * @return the number of invalid files.
+     */
+    long getInvalidFiles();
+
+    /**
+     * Returns the number of invalid files of every unsupported file type that was rejected.
+     * @return the names of the rejected types with the number of files of each.
+     */
+    Map<String, Long> getRejectedTypes();
+
+    /**
+     * Returns the number of files whose original date was found by every tier of the date resolution chain,
+     * the name of the file, the metadata cache or the metadata itself.
+     * @return the names of the tiers that found a date with the number of files of each.
+     */
+    Map<String, Long> getResolvedTiers();
+
+    /**
+     * Returns the number of bytes read from the files while sniffing them and searching their headers for
+     * their original dates. Full reads by metadata-extractor aren't counted, since it reads an unknown part
+     * of the files.
+     * @return the number of bytes read.
+     */
+    long getBytesRead();
+
+    /**
+     * Returns the number of files completed per second over the last seconds of the sort.
+     * @return the current throughput in files per second.
+     */
+    double getFilesPerSecond();
+
+    /**
+     * Returns the number of classified files waiting for the move stage of a streaming sort.
+     * @return the depth of the queue, 0 when the sort isn't streaming.
+     */
+    int getQueueDepth();
+}
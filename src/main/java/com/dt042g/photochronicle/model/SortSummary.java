@@ -0,0 +1,42 @@
+package com.dt042g.photochronicle.model;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * The statistics of the last sort of a {@link ChronicleModel}, taken once the sort has finished.
+ *
+ * @param sortedFiles the number of files moved into a year and month directory, or that would have been
+ * moved when the sort was a dry run.
+ * @param unsortedFiles the number of files that had an original date but couldn't be moved.
+ * @param verifiedFiles the number of copied files whose checksum matched their source.
+ * @param checksumMismatches the number of copied files whose checksum didn't match their source, which are
+ * also counted as unsorted.
+ * @param directoryFailures the number of year and month directories that couldn't be created.
+ * @param invalidFiles the number of files without an original date or that couldn't be read.
+ * @param rejectedTypes the number of invalid files of every unsupported {@link FileType} that occurred,
+ * which were rejected without being parsed.
+ * @param cancelled whether the sort was cancelled before all files were completed.
+ * @author Joel Lansgren, Daniel Berg
+ */
+public record SortSummary(int sortedFiles, int unsortedFiles, int verifiedFiles, int checksumMismatches,
+        int directoryFailures, int invalidFiles, Map<FileType, Integer> rejectedTypes, boolean cancelled) {
+
+    /**
+     * Copies the rejected types into an unmodifiable map that keeps the order of {@link FileType}.
+     */
+    public SortSummary {
+        rejectedTypes = rejectedTypes.isEmpty()
+            ? Map.of()
+            : Collections.unmodifiableMap(new EnumMap<>(rejectedTypes));
+    }
+
+    /**
+     * Returns whether some of the files that had an original date couldn't be sorted.
+     * @return true if a file couldn't be moved or a directory couldn't be created.
+     */
+    public boolean hasFailures() {
+        return unsortedFiles > 0 || directoryFailures > 0;
+    }
+}
@@ -0,0 +1,318 @@
+package com.dt042g.photochronicle.model;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributeView;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFileAttributes;
+import java.util.zip.CRC32C;
+
+/**
+ * Puts the files of a sort into the directories of their months by their {@link TransferMode}. Moved files
+ * are renamed when the target folder is on the same file system as the sorted folder and transferred when
+ * it's on another, copied files are always transferred and linked files are hard linked.
+ *
+ * <p>{@link Files#move} already falls back to a copy and a delete across file systems, but through small
+ * buffers and without a way back when the copy fails halfway. A transfer instead copies the file with
+ * {@link FileChannel#transferTo} in large chunks, which the JDK hands to the kernel as {@code sendfile} or
+ * {@code copy_file_range} on Linux so the bytes never pass through the heap. The copy is written to a
+ * hidden part file next to the destination, given the timestamps and permissions of the source, synced to
+ * the disk and only then renamed into place, after which the source is deleted.</p>
+ *
+ * <p>A transfer that fails leaves the source as it was: a partly written part file is deleted, and when
+ * the source can't be deleted after the copy the copy is deleted again.</p>
+ *
+ * <p>A verifying engine proves that the bytes of every copy arrived intact by a {@link CRC32C} checksum,
+ * which the JIT compiles to the CRC instructions of x86 and ARM processors. The checksum of the source is
+ * computed in the same pass as the copy, with the bytes read into a direct buffer of the thread instead of
+ * transferred by the kernel, so the source is still only read once. Once the part file is synced it's read
+ * back through a channel of its own, which is the price of the verification and why it's opt-in, and only
+ * renamed into place when its checksum matches, otherwise it's deleted like any other failed copy.</p>
+ *
+ * @author Joel Lansgren, Daniel Berg
+ */
+final class TransferEngine {
+    private static final long CHUNK_SIZE = 64L * 1024 * 1024;
+    private static final String PART_PREFIX = ".";
+    private static final String PART_SUFFIX = ".part";
+    private static final int BUFFER_SIZE = 1024 * 1024;
+    private static final ThreadLocal<ByteBuffer> BUFFERS = ThreadLocal.withInitial(
+        () -> ByteBuffer.allocateDirect(BUFFER_SIZE)
+    );
+
+    private final TransferMode mode;
+    private final boolean crossDevice;
+    private final boolean verify;
+
+    /**
+     * Creates an engine for moves within or across file systems, without verifying the copies.
+     * @param crossDevice whether the files are transferred to another file system instead of renamed.
+     */
+    TransferEngine(final boolean crossDevice) {
+        this(TransferMode.MOVE, crossDevice, false);
+    }
+
+    /**
+     * Creates an engine putting files into another folder by the given mode.
+     * @param mode how the files are put into the directories of their months.
+     * @param crossDevice whether the directories are on another file system than the files.
+     * @param verify whether the checksums of the copies are compared with those of their sources.
+     */
+    TransferEngine(final TransferMode mode, final boolean crossDevice, final boolean verify) {
+        this.mode = mode;
+        this.crossDevice = crossDevice;
+        this.verify = verify;
+    }
+
+    /**
+     * Creates an engine putting the files of a sorted folder into a target folder, which transfers moved
+     * files when the folders are on different file systems. A target folder that doesn't exist yet is on the
+     * file system of its nearest existing parent.
+     * @param mode how the files are put into the directories of their months.
+     * @param verify whether the checksums of the copies are compared with those of their sources.
+     * @param folder the sorted folder.
+     * @param target the folder the year directories are created in.
+     * @return the engine for the transfers of a sort.
+     * @throws IOException if the file system of a folder can't be found.
+     */
+    static TransferEngine between(final TransferMode mode, final boolean verify, final Path folder,
+            final Path target) throws IOException {
+        Path existing = target.toAbsolutePath();
+
+        while (!Files.exists(existing) && existing.getParent() != null) {
+            existing = existing.getParent();
+        }
+
+        return new TransferEngine(mode, !Files.getFileStore(folder).equals(Files.getFileStore(existing)), verify);
+    }
+
+    /**
+     * Returns whether the directories are on another file system than the files.
+     * @return true if the transfers cross file systems.
+     */
+    boolean isCrossDevice() {
+        return crossDevice;
+    }
+
+    /**
+     * Returns whether the bytes of the files are copied, which makes a transfer bound by the bytes copied
+     * rather than by the directory it updates.
+     * @return true if the files are copied, or moved to another file system.
+     */
+    boolean copiesBytes() {
+        return mode == TransferMode.COPY || mode == TransferMode.MOVE && crossDevice;
+    }
+
+    /**
+     * Puts a file into the directory of its month by the mode of the engine, failing if the destination
+     * already exists.
+     * @param source the file to put into the directory.
+     * @param destination the path of the file in the directory of its month.
+     * @return true if the bytes of the file were copied and their checksum verified.
+     * @throws ChecksumMismatchException if the checksum of the copy doesn't match its source.
+     * @throws IOException if the file can't be transferred, in which case the source is left in place.
+     */
+    boolean transfer(final Path source, final Path destination) throws IOException {
+        return switch (mode) {
+            case MOVE -> move(source, destination);
+            case COPY -> copy(source, destination, verify);
+            case LINK -> {
+                Files.createLink(destination, source);
+                yield false;
+            }
+        };
+    }
+
+    /**
+     * Moves a file, failing if the destination already exists.
+     * @param source the file to move.
+     * @param destination the path of the file in the directory of its month.
+     * @return true if the file was copied to another file system and its checksum verified.
+     * @throws ChecksumMismatchException if the checksum of the copy doesn't match its source.
+     * @throws IOException if the file can't be moved, in which case the source is left in place.
+     */
+    boolean move(final Path source, final Path destination) throws IOException {
+        if (!crossDevice) {
+            Files.move(source, destination);
+            return false;
+        }
+
+        final boolean verified = copy(source, destination, verify);
+
+        try {
+            Files.delete(source);
+        } catch (final IOException e) {
+            try {
+                Files.delete(destination);
+            } catch (final IOException rollbackFailure) {
+                e.addSuppressed(rollbackFailure);
+            }
+
+            throw e;
+        }
+
+        return verified;
+    }
+
+    /**
+     * Copies a file through a part file, with its timestamps and permissions, failing if the destination
+     * already exists.
+     * @param source the file to copy.
+     * @param destination the path of the copy.
+     * @param verify whether the checksum of the copy is compared with that of the source.
+     * @return true if the checksum of the copy was verified.
+     * @throws ChecksumMismatchException if the checksum of the copy doesn't match its source.
+     * @throws IOException if the file can't be copied, in which case no copy is left behind.
+     */
+    static boolean copy(final Path source, final Path destination, final boolean verify) throws IOException {
+        final Path part = destination.resolveSibling(PART_PREFIX + destination.getFileName() + PART_SUFFIX);
+
+        try {
+            long expected = 0;
+
+            try (FileChannel input = FileChannel.open(source, StandardOpenOption.READ);
+                 FileChannel output = FileChannel.open(part, StandardOpenOption.WRITE, StandardOpenOption.CREATE_NEW)) {
+                if (verify) {
+                    expected = transferChecked(input, output, input.size());
+                } else {
+                    transfer(input, output, input.size());
+                }
+
+                output.force(false);
+            }
+
+            if (verify) {
+                verifyCopy(source, part, expected);
+            }
+
+            copyAttributes(source, part);
+            Files.move(part, destination);
+
+            return verify;
+        } catch (final IOException | RuntimeException e) {
+            try {
+                Files.deleteIfExists(part);
+            } catch (final IOException rollbackFailure) {
+                e.addSuppressed(rollbackFailure);
+            }
+
+            throw e;
+        }
+    }
+
+    /**
+     * Transfers all bytes of a channel to another in chunks.
+     * @param input the channel to read.
+     * @param output the channel to write, at its start.
+     * @param size the size of the input when the transfer started.
+     * @throws IOException if the bytes can't be transferred, or the size of the input changed while they were,
+     * in which case the copy is incomplete.
+     */
+    static void transfer(final FileChannel input, final FileChannel output, final long size) throws IOException {
+        long position = 0;
+
+        while (position < size) {
+            final long transferred = input.transferTo(position, Math.min(CHUNK_SIZE, size - position), output);
+
+            if (transferred <= 0) {
+                break;
+            }
+
+            position += transferred;
+        }
+
+        if (position != size || input.size() != size) {
+            throw new IOException(String.format(
+                "The file changed while it was copied, %d of %d bytes were copied", position, size
+            ));
+        }
+    }
+
+    /**
+     * Copies all bytes of a channel to another through the buffer of the thread, computing their checksum
+     * on the way.
+     * @param input the channel to read.
+     * @param output the channel to write, at its start.
+     * @param size the size of the input when the copy started.
+     * @return the CRC32C checksum of the bytes read from the input.
+     * @throws IOException if the bytes can't be copied, or the size of the input changed while they were.
+     */
+    static long transferChecked(final FileChannel input, final FileChannel output, final long size)
+            throws IOException {
+        final ByteBuffer buffer = BUFFERS.get().clear();
+        final CRC32C checksum = new CRC32C();
+        long position = 0;
+
+        while (input.read(buffer) >= 0) {
+            buffer.flip().mark();
+            checksum.update(buffer);
+            buffer.reset();
+
+            while (buffer.hasRemaining()) {
+                position += output.write(buffer);
+            }
+
+            buffer.clear();
+        }
+
+        if (position != size || input.size() != size) {
+            throw new IOException(String.format(
+                "The file changed while it was copied, %d of %d bytes were copied", position, size
+            ));
+        }
+
+        return checksum.getValue();
+    }
+
+    /**
+     * Verifies a synced copy by reading it back through a channel of its own and comparing its checksum
+     * with the checksum of its source.
+     * @param source the file that was copied, for the message of a mismatch.
+     * @param copy the copy to read.
+     * @param expected the CRC32C checksum of the bytes read from the source.
+     * @throws ChecksumMismatchException if the checksum of the copy doesn't match.
+     * @throws IOException if the copy can't be read.
+     */
+    static void verifyCopy(final Path source, final Path copy, final long expected) throws IOException {
+        final ByteBuffer buffer = BUFFERS.get().clear();
+        final CRC32C checksum = new CRC32C();
+
+        try (FileChannel channel = FileChannel.open(copy, StandardOpenOption.READ)) {
+            while (channel.read(buffer) >= 0) {
+                checksum.update(buffer.flip());
+                buffer.clear();
+            }
+        }
+
+        if (checksum.getValue() != expected) {
+            throw new ChecksumMismatchException(source, expected, checksum.getValue());
+        }
+    }
+
+    /**
+     * Gives a copy the timestamps, and where both file systems support it the permissions, of its source.
+     * @param source the file that was copied.
+     * @param copy the copy.
+     * @throws IOException if the attributes can't be read or written.
+     */
+    private static void copyAttributes(final Path source, final Path copy) throws IOException {
+        final PosixFileAttributeView sourcePosix = Files.getFileAttributeView(source, PosixFileAttributeView.class);
+        final PosixFileAttributeView copyPosix = Files.getFileAttributeView(copy, PosixFileAttributeView.class);
+
+        if (sourcePosix != null && copyPosix != null) {
+            final PosixFileAttributes attributes = sourcePosix.readAttributes();
+            copyPosix.setPermissions(attributes.permissions());
+            copyPosix.setTimes(attributes.lastModifiedTime(), attributes.lastAccessTime(), attributes.creationTime());
+            return;
+        }
+
+        final BasicFileAttributes attributes = Files.readAttributes(source, BasicFileAttributes.class);
+        Files.getFileAttributeView(copy, BasicFileAttributeView.class)
+            .setTimes(attributes.lastModifiedTime(), attributes.lastAccessTime(), attributes.creationTime());
+    }
+}
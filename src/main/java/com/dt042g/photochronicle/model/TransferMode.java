@@ -0,0 +1,24 @@
+package com.dt042g.photochronicle.model;
+
+/**
+ * How {@link ChronicleModel} puts the files of a sort into the directories of their months.
+ *
+ * @author Joel Lansgren, Daniel Berg
+ */
+public enum TransferMode {
+    /** Moves the files, renaming them within a file system and transferring them to another. */
+    MOVE,
+
+    /**
+     * Copies the files through the fast transfer of a {@link TransferEngine}, leaving the originals where
+     * they are.
+     */
+    COPY,
+
+    /**
+     * Creates hard links to the files, leaving the originals where they are. A link costs no data to be
+     * copied and no extra disk space, but the target folder has to be on the file system of the sorted
+     * folder.
+     */
+    LINK
+}
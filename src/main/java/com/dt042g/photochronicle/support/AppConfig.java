@@ -41,6 +41,27 @@ public final class AppConfig {
     /** String to be displayed when no folder has been selected. */
     public static final String CHOOSE_FOLDER = "Choose an image folder";
 
+    /** The text of the check box that keeps sorting the chosen folder as new files arrive. */
+    public static final String WATCH_FOLDER = "Watch folder";
+
+    /** The text of the check box that moves the files while the chosen folder is still being scanned. */
+    public static final String STREAM_FILES = "Move while scanning";
+
+    /** The text of the check box that remembers the dates found in the chosen folder between sorts. */
+    public static final String CACHE_DATES = "Remember dates";
+
+    /** The html string shown above the progress bar while a folder is being sorted. */
+    public static final String HTML_PROGRESS_TITLE = "<html><h3>Sorting folder</h3></html>";
+
+    /** The progress of a running sort: files completed, total files, files per second and time left. */
+    public static final String PROGRESS_STATUS = "%d of %d files, %.1f files/s, %s left";
+
+    /** The time left of a running sort before it can be estimated. */
+    public static final String PROGRESS_UNKNOWN_TIME = "--:--";
+
+    /** Shown in the progress dialog once a sort has been asked to stop. */
+    public static final String PROGRESS_CANCELLING = "Cancelling, finishing the current files...";
+
     /* ===== Numbers ===== */
 
     /** An integer that defines hgap or vgap  between components in a panel that has FlowLayout. */
@@ -58,6 +79,12 @@ public final class AppConfig {
     /** The width of the panel that holds the pathLabel and clearBtn. */
     public static final int FOLDER_PATH_WIDTH = 300;
 
+    /** How often the progress of a running sort is shown, in milliseconds. */
+    public static final int PROGRESS_INTERVAL_MILLIS = 200;
+
+    /** The maximum of the progress bar, fine enough for the bar to move smoothly on large folders. */
+    public static final int PROGRESS_BAR_MAXIMUM = 1000;
+
     /* ===== Colors ===== */
 
     /** A light theme color for uniform appearance. */
@@ -77,20 +104,6 @@ public final class AppConfig {
     /** A dimension for JDialogs. */
     public static final Dimension DIALOG_DIMENSION = new Dimension(400, 270);
 
-    /*=========================
-    * Model
-    =========================*/
-
-    /** An array containing the names of all the month of a year. */
-    public static final String[] MONTHS = {
-            "January", "February", "March", "April", "May", "June",
-            "July", "August", "September", "October", "November", "December"
-    };
-
-    /** A general error message used if something that shouldn't happen happens. */
-    public static final String GENERAL_ERROR = "<html>Something went wrong when trying to access the folder. We are"
-    + " sorry for this and will look into the issue as soon as possible.<html>";
-
-    /** Error message when no files have been sorted. */
-    public static final String NO_FILES_SORTED = "No eligible files for sorting were found.";
+    /** A dimension for the progress dialog. */
+    public static final Dimension PROGRESS_DIALOG_DIMENSION = new Dimension(400, 170);
 }
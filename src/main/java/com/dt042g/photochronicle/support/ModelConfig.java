@@ -0,0 +1,162 @@
+package com.dt042g.photochronicle.support;
+
+/**
+ * A utility class that provides the configuration constants of the model and the command line of the
+ * photo chronicler application.
+ *
+ * <p>The constants are kept apart from {@link AppConfig}, whose colors and dimensions load the AWT toolkit,
+ * so that a folder can be sorted from the command line without any of the graphical classes being loaded.</p>
+ *
+ * <p>The {@link ModelConfig} class cannot be instantiated, as it is intended purely for static use.</p>
+ *
+ * @author Joel Lansgren, Daniel Berg
+ */
+public final class ModelConfig {
+
+    private ModelConfig() { // Private constructor to prevent instantiation.
+        throw new IllegalStateException("Utility class");
+    }
+
+    /*=========================
+    * Model
+    =========================*/
+
+    /** An array containing the names of all the month of a year. */
+    public static final String[] MONTHS = {
+            "January", "February", "March", "April", "May", "June",
+            "July", "August", "September", "October", "November", "December"
+    };
+
+    /** A general error message used if something that shouldn't happen happens. */
+    public static final String GENERAL_ERROR = "<html>Something went wrong when trying to access the folder. We are"
+    + " sorry for this and will look into the issue as soon as possible.<html>";
+
+    /** Error message when the files are to be hard linked into a target folder on another file system. */
+    public static final String LINK_ACROSS_FILE_SYSTEMS = "Hard links can't cross file systems, the target folder"
+    + " has to be on the drive of the sorted folder to link the files.";
+
+    /** Error message when no files have been sorted. */
+    public static final String NO_FILES_SORTED = "No eligible files for sorting were found.";
+
+    /** The default number of threads that extract metadata in parallel, one per available processor. */
+    public static final int DEFAULT_WORKER_COUNT = Runtime.getRuntime().availableProcessors();
+
+    /** How many files each worker thread may have queued up before the folder listing waits for it. */
+    public static final int TASKS_PER_WORKER = 64;
+
+    /**
+     * The default number of leading bytes read when looking for EXIF data, room for the largest
+     * possible APP1 segment (64 KiB) and the segments usually placed before it.
+     */
+    public static final int DEFAULT_HEADER_READ_LIMIT = 128 * 1024;
+
+    /** The default number of classified files that may wait to be moved when sorting in streaming mode. */
+    public static final int DEFAULT_QUEUE_CAPACITY = 1024;
+
+    /** The name of the file in a sorted folder that caches the original dates found by earlier sorts. */
+    public static final String CACHE_FILE_NAME = ".photochronicle.cache";
+
+    /** How long a new file in a watched folder must stay unchanged before it is sorted, in milliseconds. */
+    public static final int WATCH_SETTLE_MILLIS = 1000;
+
+    /** How often a watched folder is checked for new and settled files, in milliseconds. */
+    public static final int WATCH_POLL_MILLIS = 250;
+
+    /** The maximum number of new files sorted together when watching a folder. */
+    public static final int WATCH_BATCH_SIZE = 64;
+
+    /** The status shown while watching a folder, followed by the number of files sorted so far. */
+    public static final String WATCH_STATUS = "Watching, files sorted: %d";
+
+    /** Error message when a watched folder can no longer be watched. */
+    public static final String WATCH_STOPPED = "<html>The folder can no longer be watched, it may have been moved"
+    + " or removed. Choose the folder again to resume watching it.<html>";
+
+    /** The number of seconds the throughput of the sort statistics is measured over. */
+    public static final int THROUGHPUT_WINDOW_SECONDS = 10;
+
+    /** The JMX name the statistics of the sort are registered under. */
+    public static final String STATISTICS_OBJECT_NAME = "com.dt042g.photochronicle:type=SortStatistics";
+
+    /** The maximum number of failures of a sort kept in memory as samples. */
+    public static final int ERROR_SAMPLE_LIMIT = 100;
+
+    /*=========================
+    * Command line
+    =========================*/
+
+    /** The exit code when the folder has been sorted, or had nothing to sort. */
+    public static final int EXIT_SUCCESS = 0;
+
+    /** The exit code when some of the files that had an original date couldn't be sorted. */
+    public static final int EXIT_PARTIAL_FAILURE = 1;
+
+    /** The exit code when the command line arguments are invalid. */
+    public static final int EXIT_USAGE = 2;
+
+    /** The exit code when the folder couldn't be accessed or processed. */
+    public static final int EXIT_FOLDER_ERROR = 3;
+
+    /** The help shown for the command line, followed by the exit codes. */
+    public static final String CLI_USAGE = """
+        Usage: photochronicle [options] <folder>
+        Sorts the images of a folder into year and month directories by their original date.
+
+        Options:
+          -r, --recursive       sort the images of the subdirectories as well
+          -t, --threads <n>     the number of threads reading metadata, defaults to one per processor
+              --move-threads <n>
+                                the number of threads moving files, defaults to one per processor
+          -n, --dry-run         only report what would be sorted, without moving any files
+          -s, --stream          move the files while the folder is still being scanned, keeping memory flat
+          -c, --cache           remember the dates found in a cache file in the folder, so reruns skip unchanged files
+              --target <folder>
+                                create the year directories in this folder instead, which may be on another drive
+              --mode <mode>     move, copy or link the files, where copy and link leave the originals in place,
+                                defaults to move
+              --verify          verify every copied file by a checksum, when copying or moving to another drive
+              --filename-dates <trust>
+                                prefer, fallback or ignore the dates in names such as IMG_20230714_101522.jpg,
+                                defaults to prefer
+              --report <file>   write every file that failed to the file, one line per failure
+              --debug           include the stack traces of the failures in the report
+              --json            print the statistics as JSON instead of plain text
+          -h, --help            show this help and exit
+
+        Exit codes:
+          0  the folder was sorted, or had nothing to sort
+          1  some of the files couldn't be sorted
+          2  the arguments are invalid
+          3  the folder couldn't be accessed""";
+
+    /** The statistics of a sort as plain text: folder, sorted, unsorted, directory failures and invalid files. */
+    public static final String CLI_TEXT_STATISTICS = """
+        Folder: %s
+        Files sorted: %d
+        Files which couldn't be sorted: %d
+        Directory creation failures: %d
+        Invalid files: %d""";
+
+    /** Shown after the statistics of a dry run. */
+    public static final String CLI_DRY_RUN = "Dry run, no files were moved.";
+
+    /** Shown after the statistics when files of unsupported types were rejected, with the count of every type. */
+    public static final String CLI_REJECTED_TYPES = "Of which unsupported file types: %s";
+
+    /** Shown after the statistics when original dates were found, with the count of every tier that found them. */
+    public static final String CLI_RESOLVED_TIERS = "Dates found by: %s";
+
+    /** Shown after the statistics when the copies were verified, with the verified files and the mismatches. */
+    public static final String CLI_VERIFIED = "Files verified by checksum: %d, mismatches: %d";
+
+    /** Shown after the statistics when failures occurred, with the count of every kind of failure. */
+    public static final String CLI_ERRORS = "Errors: %s";
+
+    /**
+     * The statistics of a sort as JSON: folder, dry run, sorted, unsorted, verified files, checksum mismatches,
+     * directory failures, invalid files and the members of the rejected types, resolved tiers and errors objects.
+     */
+    public static final String CLI_JSON_STATISTICS = "{\"folder\":\"%s\",\"dryRun\":%b,\"sortedFiles\":%d,"
+    + "\"unsortedFiles\":%d,\"verifiedFiles\":%d,\"checksumMismatches\":%d,\"directoryFailures\":%d,"
+    + "\"invalidFiles\":%d,\"rejectedTypes\":{%s},\"resolvedTiers\":{%s},\"errors\":{%s}}";
+}
@@ -11,6 +11,7 @@ import java.awt.event.ActionListener;
 import java.util.function.Consumer;
 
 import javax.swing.JButton;
+import javax.swing.JCheckBox;
 import javax.swing.JFileChooser;
 import javax.swing.JLabel;
 import javax.swing.JPanel;
@@ -24,7 +25,10 @@ import com.dt042g.photochronicle.support.AppConfig;
  * <p>It consist of a wrapper panel for a JLabel that displays selected folders,
  * and JButton that has the ability to clear the content of the label, another
  * JButton for selecting and sorting images in a folder and a JFileChooser that
- * lets that happen.</p>
+ * lets that happen. A JCheckBox decides whether the folder keeps being watched
+ * for new images once it has been sorted, another whether the images are
+ * moved while the folder is still being scanned and a third whether the dates
+ * found are remembered in the folder between sorts.</p>
  * @author Joel Lansgren, Daniel Berg
  */
 public final class MiddlePanel extends JPanel {
@@ -34,6 +38,9 @@ public final class MiddlePanel extends JPanel {
     private final JButton clearBtn = new JButton("Clear");
     private final JButton chooseFolderBtn = new JButton("Choose Folder");
     private final JFileChooser fileChooser = new JFileChooser();
+    private final JCheckBox watchFolderBox = new JCheckBox(AppConfig.WATCH_FOLDER);
+    private final JCheckBox streamBox = new JCheckBox(AppConfig.STREAM_FILES);
+    private final JCheckBox cacheBox = new JCheckBox(AppConfig.CACHE_DATES);
 
     /**
      * Constructor of the class.
@@ -70,6 +77,9 @@ public final class MiddlePanel extends JPanel {
         add(labelAndClearBtnWrapper, gbc);
         gbc.insets = new Insets(0, AppConfig.FLOW_GAP, 0, 0);
         add(chooseFolderBtn, gbc);
+        add(watchFolderBox, gbc);
+        add(streamBox, gbc);
+        add(cacheBox, gbc);
     }
 
     /**
@@ -99,6 +109,14 @@ public final class MiddlePanel extends JPanel {
         chooseFolderBtn.addActionListener(listener);
     }
 
+    /**
+     * Adds a listener to the watch folder check box.
+     * @param listener the listener to be attached to the check box.
+     */
+    public void addListenerToWatchBox(final ActionListener listener) {
+        watchFolderBox.addActionListener(listener);
+    }
+
     /**
      * Adds a listener to the clear button.
      * @param listener the listener to be attached to the button.
@@ -107,10 +125,63 @@ public final class MiddlePanel extends JPanel {
         clearBtn.addActionListener(listener);
     }
 
+    /*=================
+    * Getters
+    =================*/
+
+    /**
+     * Returns whether the chosen folder should be watched for new images.
+     * @return true if the watch folder check box is selected.
+     */
+    public boolean isWatchSelected() {
+        return watchFolderBox.isSelected();
+    }
+
+    /**
+     * Returns whether the files should be moved while the chosen folder is still being scanned.
+     * @return true if the stream check box is selected.
+     */
+    public boolean isStreamSelected() {
+        return streamBox.isSelected();
+    }
+
+    /**
+     * Returns whether the dates found should be remembered in the chosen folder between sorts.
+     * @return true if the cache check box is selected.
+     */
+    public boolean isCacheSelected() {
+        return cacheBox.isSelected();
+    }
+
+    /**
+     * Returns whether a folder has been chosen.
+     * @return true if the path label shows a chosen folder.
+     */
+    public boolean hasSelectedFolder() {
+        return !AppConfig.CHOOSE_FOLDER.equals(pathLabel.getText());
+    }
+
     /*=================
     * Setters
     =================*/
 
+    /**
+     * Shows the status of the watched folder in the watch folder check box.
+     * @param status the status to show.
+     */
+    public void setWatchStatus(final String status) {
+        watchFolderBox.setText(status);
+    }
+
+    /**
+     * Resets the watch folder check box, unselecting it if the folder can no longer be watched.
+     * @param selected whether the check box should stay selected.
+     */
+    public void resetWatchStatus(final boolean selected) {
+        watchFolderBox.setText(AppConfig.WATCH_FOLDER);
+        watchFolderBox.setSelected(selected);
+    }
+
     /**
      * Used to clear the path label and reset the add/sort button.
      */
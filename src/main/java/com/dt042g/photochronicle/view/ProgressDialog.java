@@ -0,0 +1,126 @@
+package com.dt042g.photochronicle.view;
+
+import java.awt.Color;
+import java.awt.GridBagConstraints;
+import java.awt.GridBagLayout;
+import java.awt.Insets;
+import java.awt.event.ActionListener;
+
+import javax.swing.JButton;
+import javax.swing.JDialog;
+import javax.swing.JFrame;
+import javax.swing.JLabel;
+import javax.swing.JProgressBar;
+import javax.swing.WindowConstants;
+import javax.swing.border.LineBorder;
+
+import com.dt042g.photochronicle.support.AppConfig;
+
+/**
+ * A modal dialog displaying the progress of a running sort.
+ *
+ * <p>The dialog appears centered relative to the main application window and prevents
+ * interaction with the main frame while a folder is being sorted. It contains a title, a progress
+ * bar, a label with the rate and time left of the sort and a button that cancels it.</p>
+ * @author Joel Lansgren, Daniel Berg
+ */
+public final class ProgressDialog extends JDialog {
+    private final GridBagConstraints gbc = new GridBagConstraints();
+    private final JLabel progressTitle = new JLabel(AppConfig.HTML_PROGRESS_TITLE);
+    private final JProgressBar progressBar = new JProgressBar(0, AppConfig.PROGRESS_BAR_MAXIMUM);
+    private final JLabel progressStatus = new JLabel(" ");
+    private final JButton cancelBtn = new JButton("Cancel");
+
+    /**
+     * Constructs and configures a progress dialog. The dialog is modal, ensuring it blocks
+     * interaction with the main window while a folder is being sorted.
+     *
+     * <p>Note: This constructor should be called after the MainFrame is initialized so it
+     * can be set as its owner ensuring it will always open in the center of the app.</p>
+     *
+     * @param mainFrame the main application window, used as the dialog's owner
+     */
+    public ProgressDialog(final JFrame mainFrame) {
+        super(mainFrame, true);
+
+        setLayout(new GridBagLayout());
+
+        // Configure dialog appearance
+        setSize(AppConfig.PROGRESS_DIALOG_DIMENSION);
+        setUndecorated(true);
+        setDefaultCloseOperation(WindowConstants.DO_NOTHING_ON_CLOSE);
+        getRootPane().setBorder(new LineBorder(Color.DARK_GRAY));
+        progressBar.setStringPainted(true);
+
+        // Configure layout and add components
+        gbc.gridy = 0;
+        gbc.weightx = 1;
+        gbc.insets = new Insets(AppConfig.FLOW_GAP, AppConfig.FLOW_GAP, 0, AppConfig.FLOW_GAP);
+        gbc.fill = GridBagConstraints.HORIZONTAL;
+        add(progressTitle, gbc);
+
+        gbc.gridy++;
+        add(progressBar, gbc);
+
+        gbc.gridy++;
+        add(progressStatus, gbc);
+
+        gbc.gridy++;
+        gbc.weighty = 1;
+        gbc.insets = new Insets(0, 0, AppConfig.FLOW_GAP, AppConfig.FLOW_GAP);
+        gbc.anchor = GridBagConstraints.SOUTHEAST;
+        gbc.fill = GridBagConstraints.NONE;
+        add(cancelBtn, gbc);
+    }
+
+    /**
+     * Adds a listener that cancels the sort to the cancelBtn.
+     * @param listener the listener that will be attached to the button.
+     */
+    public void addCancelBtnListener(final ActionListener listener) {
+        cancelBtn.addActionListener(listener);
+    }
+
+    /**
+     * Shows the progress of the sort.
+     * @param completed the number of files completed.
+     * @param total the total number of files, or 0 while it isn't known.
+     * @param status the rate and time left of the sort.
+     */
+    public void setProgress(final long completed, final long total, final String status) {
+        progressBar.setIndeterminate(total <= 0);
+
+        if (total > 0) {
+            progressBar.setValue((int) (Math.min(completed, total) * AppConfig.PROGRESS_BAR_MAXIMUM / total));
+        }
+
+        progressStatus.setText(status);
+    }
+
+    /**
+     * Shows that the sort has been asked to stop and disables the cancelBtn.
+     */
+    public void setCancelling() {
+        cancelBtn.setEnabled(false);
+        progressStatus.setText(AppConfig.PROGRESS_CANCELLING);
+    }
+
+    /**
+     * Used to show the progress dialog, blocking until it is hidden since the dialog is modal.
+     */
+    public void showDialog() {
+        setLocationRelativeTo(getOwner());
+        setVisible(true);
+    }
+
+    /**
+     * Used to hide the progress dialog, and reset it for the next sort.
+     */
+    public void hideDialog() {
+        setVisible(false);
+        progressBar.setIndeterminate(false);
+        progressBar.setValue(0);
+        progressStatus.setText(" ");
+        cancelBtn.setEnabled(true);
+    }
+}
@@ -37,6 +37,7 @@ import org.junit.jupiter.params.provider.MethodSource;
 
 import com.dt042g.photochronicle.model.ChronicleModel;
 import com.dt042g.photochronicle.support.AppConfig;
+import com.dt042g.photochronicle.support.ModelConfig;
 import com.dt042g.photochronicle.view.BottomPanel;
 import com.dt042g.photochronicle.view.InfoDialog;
 import com.dt042g.photochronicle.view.MainFrame;
@@ -60,7 +61,8 @@ public class ChronicleControllerTest {
     private InfoDialog infoDialog;
     private ChronicleModel chronicleModel;
     private final List<String> expectedFields = new ArrayList<>(List.of(
-        "topPanel", "middlePanel", "bottomPanel", "mainFrame", "infoDialog", "chronicleModel"
+        "topPanel", "middlePanel", "bottomPanel", "mainFrame", "infoDialog", "progressDialog", "chronicleModel",
+        "progressTimer"
     ));
 
     /*======================
@@ -287,7 +289,7 @@ public class ChronicleControllerTest {
         runOnEDT(() -> {
             controller.sortFolder("not-a-folder");
             assertEquals(
-                AppConfig.GENERAL_ERROR,
+                ModelConfig.GENERAL_ERROR,
                 ((JLabel) getComponent(infoDialog, "infoMessage")).getText()
             );
             infoDialog.setVisible(false);
@@ -319,7 +321,7 @@ public class ChronicleControllerTest {
 
         runOnEDT(() -> {
             controller.sortFolder(pathToTestFolder);
-            assertEquals(AppConfig.NO_FILES_SORTED,
+            assertEquals(ModelConfig.NO_FILES_SORTED,
                     ((JLabel) getComponent(infoDialog, "infoMessage")).getText());
             infoDialog.setVisible(false);
         });
@@ -0,0 +1,259 @@
+package com.dt042g.photochronicle.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import com.dt042g.photochronicle.support.ModelConfig;
+
+/**
+ * Unit tests for the {@link CommandLineController} class, ensuring that the arguments are parsed, the
+ * statistics are printed and the exit codes tell the outcome of the sort.
+ * @author Joel Lansgren
+ */
+public class CommandLineControllerTest {
+    private final String pathToSort = Paths.get(
+        "src", "test", "resources", "testSort"
+    ).toAbsolutePath().toString();
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    private final ByteArrayOutputStream err = new ByteArrayOutputStream();
+    private final CommandLineController controller = new CommandLineController(
+        new PrintStream(out, true, StandardCharsets.UTF_8), new PrintStream(err, true, StandardCharsets.UTF_8)
+    );
+
+    /*============================
+    * Design Integrity Tests
+    ============================*/
+
+    /**
+     * Test to ensure that the class is final, preventing it to be subclassed.
+     */
+    @Test
+    void shouldPassIfClassIsFinal() {
+        assertTrue(Modifier.isFinal(CommandLineController.class.getModifiers()));
+    }
+
+    /**
+     * Test to ensure that no field of the controller is of a graphical type, since the command line
+     * must run without loading the AWT toolkit.
+     */
+    @Test
+    void shouldPassIfNoFieldIsGraphical() {
+        assertFalse(Arrays.stream(CommandLineController.class.getDeclaredFields())
+            .map(Field::getType)
+            .map(Class::getName)
+            .anyMatch(name -> name.startsWith("java.awt.") || name.startsWith("javax.swing.")));
+    }
+
+    /*======================
+    * Unit Tests
+    ======================*/
+
+    /**
+     * Ensures that the folder is sorted and its statistics printed as plain text.
+     * @param folder a temporary folder to sort.
+     * @throws IOException if the test files can't be copied.
+     */
+    @Test
+    void shouldPassIfFolderIsSortedAndStatisticsPrinted(@TempDir final Path folder) throws IOException {
+        copyTestFiles(folder);
+
+        assertEquals(ModelConfig.EXIT_SUCCESS, controller.run(folder.toString()));
+        assertTrue(Files.exists(folder.resolve("2025").resolve("03-March").resolve("001.jpg")));
+        assertTrue(output().contains("Files sorted: 2"));
+        assertTrue(output().contains("Invalid files: 1"));
+    }
+
+    /**
+     * Ensures that the folder is sorted the same way when the files are moved while it is still being scanned.
+     * @param folder a temporary folder to sort.
+     * @throws IOException if the test files can't be copied.
+     */
+    @Test
+    void shouldPassIfStreamingSortMovesTheFiles(@TempDir final Path folder) throws IOException {
+        copyTestFiles(folder);
+
+        assertEquals(ModelConfig.EXIT_SUCCESS, controller.run("--stream", folder.toString()));
+        assertTrue(Files.exists(folder.resolve("2025").resolve("03-March").resolve("001.jpg")));
+        assertTrue(output().contains("Files sorted: 2"));
+    }
+
+    /**
+     * Ensures that the dates found are only cached in the folder when the cache is turned on.
+     * @param folder a temporary folder to sort.
+     * @throws IOException if the test files can't be copied.
+     */
+    @Test
+    void shouldPassIfCacheOptionWritesCacheFile(@TempDir final Path folder) throws IOException {
+        copyTestFiles(folder);
+
+        assertEquals(ModelConfig.EXIT_SUCCESS, controller.run(folder.toString()));
+        assertFalse(Files.exists(folder.resolve(ModelConfig.CACHE_FILE_NAME)));
+        assertEquals(ModelConfig.EXIT_SUCCESS, controller.run("--cache", folder.toString()));
+        assertTrue(Files.exists(folder.resolve(ModelConfig.CACHE_FILE_NAME)));
+    }
+
+    /**
+     * Ensures that a dry run with the remaining options prints the statistics as JSON and moves no files.
+     * @param folder a temporary folder to sort.
+     * @throws IOException if the test files can't be copied.
+     */
+    @Test
+    void shouldPassIfDryRunPrintsJsonWithoutMoving(@TempDir final Path folder) throws IOException {
+        copyTestFiles(folder);
+
+        assertEquals(ModelConfig.EXIT_SUCCESS, controller.run(
+            "--dry-run", "--json", "-r", "--threads", "2", "--move-threads", "2", folder.toString()
+        ));
+        assertTrue(Files.exists(folder.resolve("001.jpg")));
+        assertFalse(Files.exists(folder.resolve("2025")));
+        assertEquals(String.format(
+            ModelConfig.CLI_JSON_STATISTICS, CommandLineController.escapeJson(folder.toString()), true, 2, 0, 0, 0,
+            0, 1, "\"UNKNOWN\":1", "\"METADATA\":2", ""
+        ), output().trim());
+    }
+
+    /**
+     * Ensures that invalid arguments are reported with the usage exit code and the help.
+     * @param argument the invalid argument.
+     */
+    @ParameterizedTest
+    @ValueSource(strings = {"--unknown", "--threads", "-t0", "--move-threads", "--target", "--report",
+        "--filename-dates", "--mode", ""})
+    void shouldPassIfInvalidArgumentsAreRejected(final String argument) {
+        final String[] args = argument.isEmpty() ? new String[] {"--json"} : new String[] {argument};
+
+        assertEquals(ModelConfig.EXIT_USAGE, controller.run(args));
+        assertTrue(errors().contains(ModelConfig.CLI_USAGE));
+    }
+
+    /**
+     * Ensures that a thread count that isn't a positive number is rejected.
+     */
+    @Test
+    void shouldPassIfInvalidThreadCountIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> controller.parseArguments("-t", "none", "folder"));
+        assertThrows(IllegalArgumentException.class, () -> controller.parseArguments("-t", "0", "folder"));
+        assertThrows(IllegalArgumentException.class, () -> controller.parseArguments("--move-threads", "0", "folder"));
+    }
+
+    /**
+     * Ensures that the dates in the names of the files are trusted as told, and that the tier that found
+     * every date is printed.
+     * @param folder a temporary folder to sort.
+     * @throws IOException if the test files can't be copied.
+     */
+    @Test
+    void shouldPassIfFilenameTrustIsApplied(@TempDir final Path folder) throws IOException {
+        copyTestFiles(folder);
+        Files.copy(folder.resolve("dummyText.txt"), folder.resolve("IMG_20230714_101522.png"));
+
+        assertEquals(ModelConfig.EXIT_SUCCESS, controller.run("--filename-dates", "Fallback", folder.toString()));
+        assertTrue(Files.exists(folder.resolve("2023").resolve("07-July").resolve("IMG_20230714_101522.png")));
+        assertTrue(output().contains(String.format(ModelConfig.CLI_RESOLVED_TIERS, "FILENAME: 1, METADATA: 2")));
+        assertThrows(IllegalArgumentException.class, () -> controller.parseArguments(
+            "--filename-dates", "always", "folder"
+        ));
+    }
+
+    /**
+     * Ensures that the files are put into their directories by the transfer mode, leaving the originals in
+     * place when they are copied, and that the verified copies are printed.
+     * @param folder a temporary folder to sort.
+     * @throws IOException if the test files can't be copied.
+     */
+    @Test
+    void shouldPassIfTransferModeIsApplied(@TempDir final Path folder) throws IOException {
+        copyTestFiles(folder);
+
+        assertEquals(ModelConfig.EXIT_SUCCESS, controller.run("--mode", "Copy", "--verify", folder.toString()));
+        assertTrue(output().contains(String.format(ModelConfig.CLI_VERIFIED, 2, 0)));
+        assertTrue(Files.exists(folder.resolve("2025").resolve("03-March").resolve("001.jpg")));
+        assertTrue(Files.exists(folder.resolve("001.jpg")));
+        assertThrows(IllegalArgumentException.class, () -> controller.parseArguments("--mode", "rename", "folder"));
+    }
+
+    /**
+     * Ensures that linking the files into a target folder on another file system is refused as invalid
+     * arguments, with its reason, when the machine has a memory file system.
+     * @param folder a temporary folder to sort.
+     * @throws IOException if the test files can't be copied.
+     */
+    @Test
+    void shouldPassIfLinkAcrossFileSystemsIsInvalid(@TempDir final Path folder) throws IOException {
+        final Path memory = Paths.get("/dev/shm");
+        assumeTrue(Files.isDirectory(memory) && !Files.getFileStore(memory).equals(Files.getFileStore(folder)));
+        copyTestFiles(folder);
+        final Path target = memory.resolve(folder.getFileName().toString());
+
+        assertEquals(ModelConfig.EXIT_USAGE,
+            controller.run("--mode", "link", "--target", target.toString(), folder.toString()));
+        assertTrue(errors().contains(ModelConfig.LINK_ACROSS_FILE_SYSTEMS));
+        assertFalse(Files.exists(target));
+    }
+
+    /**
+     * Ensures that help is printed with the success exit code, without sorting anything.
+     */
+    @Test
+    void shouldPassIfHelpIsPrinted() {
+        assertNull(controller.parseArguments("--help"));
+        assertEquals(ModelConfig.EXIT_SUCCESS, controller.run("-h"));
+        assertTrue(output().contains(ModelConfig.CLI_USAGE));
+    }
+
+    /**
+     * Ensures that a folder that doesn't exist is reported as plain text with the folder exit code.
+     * @param folder a temporary folder whose missing subdirectory is sorted.
+     */
+    @Test
+    void shouldPassIfMissingFolderFails(@TempDir final Path folder) {
+        assertEquals(ModelConfig.EXIT_FOLDER_ERROR, controller.run(folder.resolve("missing").toString()));
+        assertFalse(errors().contains("<html>"));
+    }
+
+    /**
+     * Ensures that quotes, backslashes and control characters are escaped for JSON.
+     */
+    @Test
+    void shouldPassIfJsonIsEscaped() {
+        assertEquals("C:\\\\a \\\"b\\\"\\u000a", CommandLineController.escapeJson("C:\\a \"b\"\n"));
+    }
+
+    /*======================
+    * Helper Methods
+    ======================*/
+
+    private void copyTestFiles(final Path folder) throws IOException {
+        Files.copy(Paths.get(pathToSort, "001.jpg"), folder.resolve("001.jpg"));
+        Files.copy(Paths.get(pathToSort, "003.jpg"), folder.resolve("003.jpg"));
+        Files.copy(Paths.get(pathToSort, "dummyText.txt"), folder.resolve("dummyText.txt"));
+    }
+
+    private String output() {
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private String errors() {
+        return err.toString(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,290 @@
+package com.dt042g.photochronicle.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Modifier;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.Date;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import com.drew.imaging.ImageProcessingException;
+import com.drew.imaging.mp4.Mp4MetadataReader;
+import com.drew.metadata.mp4.Mp4Directory;
+import com.dt042g.photochronicle.support.ModelConfig;
+
+/**
+ * Unit tests for {@link BoxDateParser}, walking hand made MP4 and HEIF files whose boxes are laid out
+ * like the ones of phones and cameras.
+ * @author Joel Lansgren
+ */
+public class BoxDateParserTest {
+    private static final Instant CREATED = Instant.parse("2021-06-15T12:00:00Z");
+    private static final long QUICKTIME_EPOCH_OFFSET = 2_082_844_800L;
+    private static final byte[] EXIF_DATE = "2019:12:24 18:30:00\0".getBytes(StandardCharsets.US_ASCII);
+    private static final int EXIF_DATE_KEY = DateKey.of(2019, 12);
+    private static final int MEDIA_DATA_SIZE = 4 * 1024 * 1024;
+    private static final int MAX_BYTES_READ = 1024;
+    private static final int MOVIE_HEADER_V0_SIZE = 100;
+    private static final int MOVIE_HEADER_V1_SIZE = 112;
+    private static final int LARGE_SIZE_HEADER = 16;
+    private static final int EXIF_ITEM_ID = 2;
+    private static final int IMAGE_ITEM_ID = 1;
+    private static final int OFFSET_AND_LENGTH_SIZES = 0x44;
+    private static final int ILOC_ITEM_SIZE = 14;
+    private static final int BOX_HEADER_SIZE = 8;
+    private final BoxDateParser parser = new BoxDateParser();
+
+    /*========================
+    * Design Integrity Tests
+    ========================*/
+
+    /**
+     * Test to ensure that the class is final, preventing it to be subclassed.
+     */
+    @Test
+    void shouldPassIfClassIsFinal() {
+        assertTrue(Modifier.isFinal(BoxDateParser.class.getModifiers()));
+    }
+
+    /*======================
+    * Unit Tests
+    ======================*/
+
+    /**
+     * Ensures that the creation time is found in a {@code moov} box following the media data, reading
+     * only a few box headers, and that it agrees with metadata-extractor.
+     * @param version the version of the movie header box.
+     * @param tempDir the folder to write the video to.
+     * @throws IOException if the video can't be read.
+     * @throws ImageProcessingException if metadata-extractor can't process the video.
+     */
+    @ParameterizedTest
+    @ValueSource(ints = {0, 1})
+    void shouldPassIfCreationTimeIsFoundWithMoovAtEnd(final int version, @TempDir final Path tempDir)
+    throws IOException, ImageProcessingException {
+        final Path file = tempDir.resolve("clip.mp4");
+        Files.write(file, concat(
+            fileType("isom"), mediaData(version == 1), box("moov", movieHeader(version, toQuickTime(CREATED)))
+        ));
+
+        assertEquals(toDateKey(Date.from(CREATED)), parse(file, FileType.MP4));
+        assertTrue(parser.bytesRead() < MAX_BYTES_READ);
+
+        final Date read = Mp4MetadataReader.readMetadata(file.toFile())
+                .getFirstDirectoryOfType(Mp4Directory.class).getDate(Mp4Directory.TAG_CREATION_TIME);
+        assertEquals(toDateKey(read), parse(file, FileType.MP4));
+    }
+
+    /**
+     * Ensures that a video whose creation time was never set has no date.
+     * @param tempDir the folder to write the video to.
+     * @throws IOException if the video can't be read.
+     */
+    @Test
+    void shouldPassIfUnsetCreationTimeHasNoDate(@TempDir final Path tempDir) throws IOException {
+        final Path file = tempDir.resolve("clip.mov");
+        Files.write(file, concat(fileType("qt  "), box("moov", movieHeader(0, 0)), mediaData(false)));
+
+        assertEquals(DateKey.NONE, parse(file, FileType.QUICKTIME));
+    }
+
+    /**
+     * Ensures that a video without a {@code moov} box has no date.
+     * @param tempDir the folder to write the video to.
+     * @throws IOException if the video can't be read.
+     */
+    @Test
+    void shouldPassIfVideoWithoutMoovHasNoDate(@TempDir final Path tempDir) throws IOException {
+        final Path file = tempDir.resolve("clip.mp4");
+        Files.write(file, concat(fileType("isom"), mediaData(false)));
+
+        assertEquals(DateKey.NONE, parse(file, FileType.MP4));
+    }
+
+    /**
+     * Ensures that a video cut off within its media data is handed on to metadata-extractor.
+     * @param tempDir the folder to write the video to.
+     * @throws IOException if the video can't be read.
+     */
+    @Test
+    void shouldPassIfTruncatedVideoIsUnresolved(@TempDir final Path tempDir) throws IOException {
+        final Path file = tempDir.resolve("clip.mp4");
+        final byte[] video = concat(fileType("isom"), mediaData(false), box("moov", movieHeader(0, 1)));
+        Files.write(file, Arrays.copyOf(video, MEDIA_DATA_SIZE / 2));
+
+        assertEquals(ExifDateParser.UNRESOLVED, parse(file, FileType.MP4));
+    }
+
+    /**
+     * Ensures that the date of a HEIF image is parsed from the EXIF item its item locations point to.
+     * @param tempDir the folder to write the image to.
+     * @throws IOException if the image can't be read.
+     */
+    @Test
+    void shouldPassIfDateIsFoundInExifItemOfHeif(@TempDir final Path tempDir) throws IOException {
+        final Path file = tempDir.resolve("image.heic");
+        Files.write(file, createHeif(true));
+
+        assertEquals(EXIF_DATE_KEY, parse(file, FileType.HEIF));
+        assertTrue(parser.bytesRead() < MAX_BYTES_READ);
+    }
+
+    /**
+     * Ensures that a HEIF image without an EXIF item has no date.
+     * @param tempDir the folder to write the image to.
+     * @throws IOException if the image can't be read.
+     */
+    @Test
+    void shouldPassIfHeifWithoutExifItemHasNoDate(@TempDir final Path tempDir) throws IOException {
+        final Path file = tempDir.resolve("image.heic");
+        Files.write(file, createHeif(false));
+
+        assertEquals(DateKey.NONE, parse(file, FileType.HEIF));
+    }
+
+    /**
+     * Ensures that the loaded type of a video is parsed by the box parser through {@link ExifDateParser}.
+     * @param tempDir the folder to write the video to.
+     * @throws IOException if the video can't be read.
+     */
+    @Test
+    void shouldPassIfExifDateParserUsesBoxParser(@TempDir final Path tempDir) throws IOException {
+        final Path file = tempDir.resolve("clip.mov");
+        Files.write(file, concat(
+            fileType("qt  "), mediaData(false), box("moov", movieHeader(0, toQuickTime(CREATED)))
+        ));
+        final ExifDateParser exifParser = new ExifDateParser();
+
+        assertEquals(toDateKey(Date.from(CREATED)), exifParser.parse(file, ModelConfig.DEFAULT_HEADER_READ_LIMIT));
+        assertTrue(exifParser.loadedLength() < MAX_BYTES_READ);
+    }
+
+    /*======================
+    * Helper Methods
+    ======================*/
+
+    private int parse(final Path file, final FileType type) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return parser.parse(channel, type);
+        }
+    }
+
+    private static int toDateKey(final Date date) {
+        final LocalDate local = date.toInstant().atZone(ZoneId.systemDefault()).toLocalDate();
+
+        return DateKey.of(local.getYear(), local.getMonthValue());
+    }
+
+    private static long toQuickTime(final Instant instant) {
+        return instant.getEpochSecond() + QUICKTIME_EPOCH_OFFSET;
+    }
+
+    /**
+     * Creates a HEIF image whose {@code meta} box lists an image item and optionally an EXIF item, both
+     * stored in the {@code mdat} box following it.
+     * @param withExif whether the image has an EXIF item.
+     * @return the bytes of the image.
+     */
+    private static byte[] createHeif(final boolean withExif) {
+        final byte[] exif = concat(
+            ByteBuffer.allocate(Integer.BYTES).putInt("Exif\0\0".length()).array(),
+            "Exif\0\0".getBytes(StandardCharsets.US_ASCII),
+            ExifCorpusGenerator.createExif(ByteOrder.BIG_ENDIAN, EXIF_DATE)
+        );
+        final byte[] image = new byte[MAX_BYTES_READ];
+        final byte[] ftyp = fileType("heic");
+        final int items = withExif ? 2 : 1;
+        final byte[] itemInfo = fullBox("iinf", 0, concat(
+            ByteBuffer.allocate(Short.BYTES).putShort((short) items).array(),
+            itemEntry(IMAGE_ITEM_ID, "hvc1"), withExif ? itemEntry(EXIF_ITEM_ID, "Exif") : new byte[0]
+        ));
+        final int ilocSize = BOX_HEADER_SIZE + Integer.BYTES + Short.BYTES * 2 + items * ILOC_ITEM_SIZE;
+        final int metaSize = BOX_HEADER_SIZE + Integer.BYTES + itemInfo.length + ilocSize;
+        final int imageOffset = ftyp.length + metaSize + BOX_HEADER_SIZE;
+        final ByteBuffer locations = ByteBuffer.allocate(ilocSize - BOX_HEADER_SIZE - Integer.BYTES)
+                .put((byte) OFFSET_AND_LENGTH_SIZES).put((byte) 0).putShort((short) items);
+
+        putLocation(locations, IMAGE_ITEM_ID, imageOffset, image.length);
+        if (withExif) {
+            putLocation(locations, EXIF_ITEM_ID, imageOffset + image.length, exif.length);
+        }
+
+        return concat(
+            ftyp, fullBox("meta", 0, concat(itemInfo, fullBox("iloc", 0, locations.array()))),
+            box("mdat", concat(image, exif))
+        );
+    }
+
+    private static void putLocation(final ByteBuffer locations, final int id, final int offset, final int length) {
+        locations.putShort((short) id).putShort((short) 0).putShort((short) 1).putInt(offset).putInt(length);
+    }
+
+    private static byte[] itemEntry(final int id, final String type) {
+        return fullBox("infe", 2, ByteBuffer.allocate(Short.BYTES * 2 + Integer.BYTES + 1)
+                .putShort((short) id).putShort((short) 0).put(type.getBytes(StandardCharsets.US_ASCII)).array());
+    }
+
+    private static byte[] fileType(final String brand) {
+        return box("ftyp", concat(brand.getBytes(StandardCharsets.US_ASCII), new byte[Integer.BYTES],
+            brand.getBytes(StandardCharsets.US_ASCII)));
+    }
+
+    private static byte[] mediaData(final boolean largeSize) {
+        if (!largeSize) {
+            return box("mdat", new byte[MEDIA_DATA_SIZE]);
+        }
+
+        return ByteBuffer.allocate(LARGE_SIZE_HEADER + MEDIA_DATA_SIZE).putInt(1)
+                .put("mdat".getBytes(StandardCharsets.US_ASCII)).putLong(LARGE_SIZE_HEADER + MEDIA_DATA_SIZE).array();
+    }
+
+    private static byte[] movieHeader(final int version, final long creationTime) {
+        final ByteBuffer content = ByteBuffer.allocate(version == 1 ? MOVIE_HEADER_V1_SIZE : MOVIE_HEADER_V0_SIZE);
+
+        if (version == 1) {
+            content.putLong(creationTime).putLong(creationTime);
+        } else {
+            content.putInt((int) creationTime).putInt((int) creationTime);
+        }
+
+        return fullBox("mvhd", version, content.array());
+    }
+
+    private static byte[] fullBox(final String type, final int version, final byte[] content) {
+        return box(type, concat(new byte[] {(byte) version, 0, 0, 0}, content));
+    }
+
+    private static byte[] box(final String type, final byte[] content) {
+        return concat(
+            ByteBuffer.allocate(Integer.BYTES).putInt(Integer.BYTES * 2 + content.length).array(),
+            type.getBytes(StandardCharsets.US_ASCII), content
+        );
+    }
+
+    private static byte[] concat(final byte[]... parts) {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        for (final byte[] part : parts) {
+            output.writeBytes(part);
+        }
+
+        return output.toByteArray();
+    }
+}
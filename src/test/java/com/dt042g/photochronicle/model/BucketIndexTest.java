@@ -0,0 +1,157 @@
+package com.dt042g.photochronicle.model;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link BucketIndex}, ensuring that it groups file names like the nested map it replaced
+ * while using a fraction of the memory.
+ * @author Joel Lansgren
+ */
+public class BucketIndexTest {
+    private static final int MEMORY_TEST_ENTRIES = 1_000_000;
+    private static final int MEMORY_TEST_YEARS = 20;
+    private static final int FIRST_YEAR = 2005;
+    private static final int MONTHS = 12;
+    /** The smallest size of a String on a 64-bit JVM with compressed references, without its bytes. */
+    private static final int STRING_BYTES = 24;
+    /** The smallest size of the header of the byte array behind a String. */
+    private static final int ARRAY_HEADER_BYTES = 16;
+    private static final int JANUARY_2024 = DateKey.of(2024, 1);
+    private static final int AUGUST_2024 = DateKey.of(2024, 8);
+    private static final int JUNE_2023 = DateKey.of(2023, 6);
+    private static final int MARCH_2025 = DateKey.of(2025, 3);
+
+    /*========================
+    * Design Integrity Tests
+    ========================*/
+
+    /**
+     * Test to ensure that the class is final, preventing it to be subclassed.
+     */
+    @Test
+    void shouldPassIfClassIsFinal() {
+        assertTrue(Modifier.isFinal(BucketIndex.class.getModifiers()));
+    }
+
+    /*======================
+    * Unit Tests
+    ======================*/
+
+    /**
+     * Ensures that names are grouped by key, in the order they were added, with the buckets visited
+     * in chronological order.
+     */
+    @Test
+    void shouldPassIfBucketsAreVisitedChronologicallyInInsertionOrder() {
+        final BucketIndex index = new BucketIndex();
+        index.add(MARCH_2025, "001.jpg");
+        index.add(JUNE_2023, "004.jpg");
+        index.add(MARCH_2025, "002.jpg");
+        index.add(AUGUST_2024, "DCIM/100CANON/003.jpg");
+
+        final List<Integer> keys = new ArrayList<>();
+        final List<List<String>> buckets = new ArrayList<>();
+        index.forEachBucket((names, dateKey) -> {
+            keys.add(dateKey);
+            buckets.add(names);
+        });
+
+        assertEquals(List.of(JUNE_2023, AUGUST_2024, MARCH_2025), keys);
+        assertEquals(List.of(List.of("004.jpg"), List.of("DCIM/100CANON/003.jpg"), List.of("001.jpg", "002.jpg")),
+                buckets);
+        assertEquals(keys.size() + 1, index.size());
+        assertEquals(keys.size(), index.bucketCount());
+        assertArrayEquals(new int[] {JUNE_2023, AUGUST_2024, MARCH_2025}, index.keys());
+    }
+
+    /**
+     * Ensures that names outside of ASCII survive the UTF-8 arena.
+     */
+    @Test
+    void shouldPassIfNonAsciiNamesAreKept() {
+        final BucketIndex index = new BucketIndex();
+        final String name = "Semester i Göteborg 東京.jpg";
+        index.add(JANUARY_2024, name);
+
+        index.forEachBucket((names, dateKey) -> assertEquals(List.of(name), names));
+    }
+
+    /**
+     * Ensures that the index keeps working while its arrays and bucket table grow.
+     */
+    @Test
+    void shouldPassIfIndexGrowsBeyondInitialCapacity() {
+        final BucketIndex index = new BucketIndex();
+        final int entries = 10_000;
+
+        for (int i = 0; i < entries; i++) {
+            index.add(i % (MEMORY_TEST_YEARS * MONTHS), "IMG_" + i + ".jpg");
+        }
+
+        final int[] visited = new int[1];
+        index.forEachBucket((names, dateKey) -> visited[0] += names.size());
+
+        assertEquals(entries, visited[0]);
+        assertEquals(MEMORY_TEST_YEARS * MONTHS, index.bucketCount());
+    }
+
+    /**
+     * Ensures that clearing the index removes every entry.
+     */
+    @Test
+    void shouldPassIfIndexIsEmptyAfterClear() {
+        final BucketIndex index = new BucketIndex();
+        index.add(JANUARY_2024, "001.jpg");
+        index.clear();
+
+        assertEquals(0, index.size());
+        assertEquals(0, index.bucketCount());
+    }
+
+    /**
+     * Compares the bytes held by an index of one million entries with the least the nested map of years
+     * and months with lists of strings that the model used before could hold: the bytes of every name, and
+     * for every name a String, the header of its byte array and a reference in its list. The maps and the
+     * padding of the objects only add to that, so the comparison doesn't depend on the garbage collector.
+     */
+    @Test
+    void shouldPassIfIndexUsesLessThanHalfTheMemoryOfNestedMaps() {
+        final BucketIndex index = new BucketIndex();
+        long nameBytes = 0;
+
+        for (int i = 0; i < MEMORY_TEST_ENTRIES; i++) {
+            index.add(DateKey.of(year(i), month(i)), name(i));
+            nameBytes += name(i).length();
+        }
+
+        final long nestedBytes = nameBytes + (long) MEMORY_TEST_ENTRIES * (STRING_BYTES + ARRAY_HEADER_BYTES
+            + Integer.BYTES);
+
+        assertTrue(index.footprint() * 2 < nestedBytes,
+                "Bucket index held " + index.footprint() + " bytes, nested maps at least " + nestedBytes + " bytes");
+    }
+
+    /*======================
+    * Helper Methods
+    ======================*/
+
+    private static int year(final int i) {
+        return FIRST_YEAR + i % MEMORY_TEST_YEARS;
+    }
+
+    private static int month(final int i) {
+        return i / MEMORY_TEST_YEARS % MONTHS + 1;
+    }
+
+    private static String name(final int i) {
+        return String.format("IMG_%07d.jpg", i);
+    }
+}
@@ -1,10 +1,13 @@
 package com.dt042g.photochronicle.model;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
 
 import java.io.IOException;
 import java.io.UncheckedIOException;
@@ -13,6 +16,8 @@ import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.lang.reflect.Parameter;
 import java.lang.reflect.Type;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.AccessDeniedException;
 import java.nio.file.FileSystems;
 import java.nio.file.Files;
@@ -27,6 +32,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.TimeZone;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -36,12 +42,16 @@ import org.junit.jupiter.api.DynamicTest;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestFactory;
 import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
 import org.junit.jupiter.api.condition.EnabledOnOs;
 import org.junit.jupiter.api.condition.OS;
+import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
 
-import com.dt042g.photochronicle.support.AppConfig;
+import com.dt042g.photochronicle.support.ModelConfig;
 
 /**
  * Unit tests for {@link ChronicleModel}, ensuring design integrity and correct functionality.
@@ -49,13 +59,17 @@ import com.dt042g.photochronicle.support.AppConfig;
  */
 @TestInstance(TestInstance.Lifecycle.PER_CLASS)
 public class ChronicleModelTest {
+    private static final long MOVER_TIMEOUT_MILLIS = 10_000;
+    private static final int PARALLEL_WORKER_COUNT = 4;
+    private static final int SHORT_HEADER_READ_LIMIT = 32;
     private final ChronicleModel model = new ChronicleModel();
     private final Class<?> modelClass = model.getClass();
     private final String pathToTestFolder = Paths.get(
         System.getProperty("user.dir"), "src", "test", "resources", "testImageFolder"
     ).toString();
     private final List<String> expectedFields = new ArrayList<>(List.of(
-        "path", "eligibleFiles", "statistics"
+        "path", "eligibleFiles", "statistics", "options", "dateParsers", "progress",
+        "cache", "watcher", "errors"
     ));
     private AclFileAttributeView aclView;
     private List<AclEntry> originalAcl;
@@ -189,6 +203,81 @@ public class ChronicleModelTest {
         assertEquals(1, cnt[0]);
     }
 
+    /**
+     * Ensures that the failures of a sort are recorded with their kind and file instead of being printed,
+     * and streamed to the error report.
+     * @param folder a temporary folder to sort.
+     * @param reportFolder a temporary folder holding the report.
+     * @throws IOException if the test files can't be written or the report read.
+     */
+    @Test
+    void shouldPassIfFailuresAreRecordedInsteadOfPrinted(@TempDir final Path folder, @TempDir final Path reportFolder)
+    throws IOException {
+        final int truncatedLength = 64;
+        final Path report = reportFolder.resolve("errors.txt");
+        final Path corrupt = folder.resolve("corrupt.jpg");
+        final byte[] image = Files.readAllBytes(Paths.get(pathToSort, "001.jpg"));
+        Files.write(corrupt, Arrays.copyOf(image, truncatedLength));
+        Files.copy(Paths.get(pathToSort, "001.jpg"), folder.resolve("001.jpg"));
+
+        model.getOptions().setErrorReport(report);
+        model.setPath(folder.toString());
+        getMessageFromSortMethod();
+        model.getOptions().setErrorReport(null);
+
+        final ErrorSummary.Sample sample = model.getErrors().samples().get(0);
+        assertEquals(1, model.getErrors().total());
+        assertEquals(corrupt, sample.file());
+        assertEquals(List.of(sample.kind() + "\t" + corrupt + "\t" + sample.message()), Files.readAllLines(report));
+    }
+
+    /**
+     * Ensure that a parser throwing a runtime exception is recorded against the file and counts the file as
+     * invalid, both when the files are extracted sequentially and by worker threads.
+     * @param workerCount the number of worker threads extracting the metadata.
+     * @param folder a temporary folder to sort.
+     * @throws IOException if the test images can't be copied.
+     * @throws IllegalAccessException if the parsers of the model can't be replaced.
+     */
+    @ParameterizedTest
+    @ValueSource(ints = {1, PARALLEL_WORKER_COUNT})
+    void shouldPassIfThrowingParserIsRecorded(final int workerCount, @TempDir final Path folder)
+    throws IOException, IllegalAccessException {
+        final Field dateParsers = getField("dateParsers");
+        final Object parsers = dateParsers.get(model);
+        final int defaultWorkerCount = model.getOptions().getWorkerCount();
+        Files.copy(Paths.get(pathToSort, "001.jpg"), folder.resolve("001.jpg"));
+        Files.copy(Paths.get(pathToSort, "003.jpg"), folder.resolve("003.jpg"));
+
+        try {
+            dateParsers.set(model, ThreadLocal.withInitial(() -> {
+                throw new IllegalStateException("malformed");
+            }));
+            model.getOptions().setWorkerCount(workerCount);
+            model.setPath(folder.toString());
+            getMessageFromSortMethod();
+        } finally {
+            dateParsers.set(model, parsers);
+            model.getOptions().setWorkerCount(defaultWorkerCount);
+        }
+
+        assertEquals(2, model.getSummary().invalidFiles());
+        assertEquals(0, model.getSummary().sortedFiles());
+        assertEquals(Map.of(ErrorKind.METADATA, 2), model.getErrors().counts());
+    }
+
+    /**
+     * Ensure that a failure that escaped a sort is recorded as a failure of the folder.
+     */
+    @Test
+    void shouldPassIfEscapedFailureIsRecorded() {
+        final int before = model.getErrors().counts().getOrDefault(ErrorKind.FOLDER, 0);
+
+        model.recordFailure(new IllegalStateException("escaped"));
+
+        assertEquals(before + 1, model.getErrors().counts().get(ErrorKind.FOLDER));
+    }
+
     /**
      * Tests that the sortFolder method have a Consumer<String> parameter and nothing else.
      * @throws NoSuchMethodException if the sortFolder method is not present.
@@ -273,7 +362,7 @@ public class ChronicleModelTest {
     @Test
     void shouldHaveCorrectInformationMessageForFolderWithInvalidFiles() {
         model.setPath(pathToTestFolder);
-        assertEquals(AppConfig.NO_FILES_SORTED, getMessageFromSortMethod());
+        assertEquals(ModelConfig.NO_FILES_SORTED, getMessageFromSortMethod());
     }
 
     /**
@@ -285,25 +374,11 @@ public class ChronicleModelTest {
         final int invalidFiles = 2;
 
         model.setPath(pathToSort);
-        int[] statistics = (int[]) getComponent("statistics");
-        Class<?> statsIndex = model.getClass().getDeclaredClasses()[0];
-
-        for (Object constant : statsIndex.getEnumConstants()) {
-            Enum<?> enumConstant = (Enum<?>) constant;
-
-            switch (enumConstant.name()) {
-                case "sortedFiles":
-                    statistics[enumConstant.ordinal()] = sortedFiles;
-                    break;
-                case "invalidFiles":
-                    statistics[enumConstant.ordinal()] = invalidFiles;
-                    break;
-                default:
-                    statistics[enumConstant.ordinal()] = 0;
-            }
-        }
+        final String message = getMessageFromSortMethod();
 
-        assertEquals(model.getMessageStatistics(), getMessageFromSortMethod());
+        assertEquals(model.getMessageStatistics(), message);
+        assertTrue(message.contains("Number of files sorted: " + sortedFiles + "<br>"));
+        assertTrue(message.contains("Number of invalid files: " + invalidFiles + "<br>"));
     }
 
     /**
@@ -312,7 +387,7 @@ public class ChronicleModelTest {
     @Test
     void shouldHandleEmptyPathInSortFolderMethod() {
         model.nullifyPath();
-        assertEquals(AppConfig.GENERAL_ERROR, getMessageFromSortMethod());
+        assertEquals(ModelConfig.GENERAL_ERROR, getMessageFromSortMethod());
     }
 
     /**
@@ -366,6 +441,539 @@ public class ChronicleModelTest {
         assertTrue(isEveryMovedFilesPresent());
     }
 
+    /**
+     * Ensure that sorting with several worker threads moves the files and gives the same statistics
+     * as the sequential sort.
+     */
+    @Test
+    public void shouldPassIfParallelAndSequentialSortGiveSameStatistics() {
+        final int workerCount = 4;
+
+        model.getOptions().setWorkerCount(1);
+        model.setPath(pathToSort);
+        final String sequentialMessage = getMessageFromSortMethod();
+        resetTestFolder();
+
+        model.getOptions().setWorkerCount(workerCount);
+        final String parallelMessage = getMessageFromSortMethod();
+
+        assertEquals(sequentialMessage, parallelMessage);
+        assertTrue(isEveryMovedFilesPresent());
+    }
+
+    /**
+     * Ensure that the fast date parser sorts the folder exactly like metadata-extractor does.
+     */
+    @Test
+    public void shouldPassIfFastAndMetadataExtractorModesGiveSameStatistics() {
+        model.getOptions().setExtractionMode(ExtractionMode.METADATA_EXTRACTOR);
+        model.setPath(pathToSort);
+        final String metadataExtractorMessage = getMessageFromSortMethod();
+        resetTestFolder();
+
+        model.getOptions().setExtractionMode(ExtractionMode.FAST);
+        final String fastMessage = getMessageFromSortMethod();
+
+        assertEquals(metadataExtractorMessage, fastMessage);
+        assertTrue(isEveryMovedFilesPresent());
+    }
+
+    /**
+     * Ensure that reading only the EXIF directories holding the date sorts the folder exactly like a full
+     * metadata-extractor read does.
+     */
+    @Test
+    public void shouldPassIfExifOnlyModeGivesSameStatistics() {
+        model.getOptions().setExtractionMode(ExtractionMode.METADATA_EXTRACTOR);
+        model.setPath(pathToSort);
+        final String metadataExtractorMessage = getMessageFromSortMethod();
+        resetTestFolder();
+
+        model.getOptions().setExtractionMode(ExtractionMode.EXIF_ONLY);
+        final String exifOnlyMessage = getMessageFromSortMethod();
+
+        assertEquals(metadataExtractorMessage, exifOnlyMessage);
+        assertTrue(isEveryMovedFilesPresent());
+    }
+
+    /**
+     * Ensure that sorting in streaming mode moves the files and gives the same statistics as collecting
+     * all files before moving them.
+     */
+    @Test
+    public void shouldPassIfStreamingAndCollectingSortGiveSameStatistics() {
+        model.setPath(pathToSort);
+        final String collectingMessage = getMessageFromSortMethod();
+        resetTestFolder();
+
+        model.getOptions().setStreaming(true);
+        final String streamingMessage = getMessageFromSortMethod();
+        model.getOptions().setStreaming(false);
+
+        assertEquals(collectingMessage, streamingMessage);
+        assertTrue(isEveryMovedFilesPresent());
+    }
+
+    /**
+     * Ensure that a streaming sort whose thread is interrupted still ends its move stage, instead of leaving
+     * the mover waiting for the end of the stream, and that the interrupt is kept.
+     * @throws InterruptedException if the test is interrupted while waiting for the mover.
+     */
+    @Test
+    public void shouldPassIfInterruptedStreamingSortEndsItsMover() throws InterruptedException {
+        model.getOptions().setStreaming(true);
+        model.setPath(pathToSort);
+        Thread.currentThread().interrupt();
+        getMessageFromSortMethod();
+        final boolean interrupted = Thread.interrupted();
+        model.getOptions().setStreaming(false);
+
+        assertTrue(interrupted);
+
+        for (final Thread thread : Thread.getAllStackTraces().keySet()) {
+            if ("photochronicle-mover".equals(thread.getName())) {
+                thread.join(MOVER_TIMEOUT_MILLIS);
+                assertFalse(thread.isAlive());
+            }
+        }
+    }
+
+    /**
+     * Ensure that every file of the folder is counted as completed by the progress, in both the
+     * collecting and streaming modes.
+     * @param streaming whether the folder is sorted in streaming mode.
+     */
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    public void shouldPassIfProgressCompletesEveryFile(final boolean streaming) {
+        final long filesInFolder = 7;
+
+        model.getOptions().setStreaming(streaming);
+        model.setPath(pathToSort);
+        getMessageFromSortMethod();
+        model.getOptions().setStreaming(false);
+
+        assertEquals(filesInFolder, model.getProgress().getTotalFiles());
+        assertEquals(filesInFolder, model.getProgress().getCompletedFiles());
+        assertEquals(0, model.getProgress().getRemainingSeconds());
+    }
+
+    /**
+     * Ensure that the statistics message tells that a cancelled sort was cancelled.
+     */
+    @Test
+    public void shouldPassIfCancelledSortIsTold() {
+        model.setPath(pathToSort);
+        model.getProgress().cancel();
+
+        assertTrue(model.getMessageStatistics().contains("Was cancelled"));
+    }
+
+    /**
+     * Ensure that a recursive sort moves the images of nested directories into the year and month
+     * directories of the selected folder, without walking the year directories of an earlier sort.
+     * @param folder a temporary folder to sort.
+     * @throws IOException if the test images can't be copied.
+     */
+    @Test
+    public void shouldPassIfNestedDirectoriesAreSortedWhenRecursive(@TempDir final Path folder) throws IOException {
+        final Path nested = Files.createDirectories(folder.resolve("DCIM").resolve("100CANON"));
+        final Path sortedBefore = Files.createDirectories(folder.resolve("2025").resolve("03-March"));
+        Files.copy(Paths.get(pathToSort, "001.jpg"), nested.resolve("001.jpg"));
+        Files.copy(Paths.get(pathToSort, "003.jpg"), folder.resolve("003.jpg"));
+        Files.copy(Paths.get(pathToSort, "002.jpg"), sortedBefore.resolve("002.jpg"));
+
+        model.getOptions().setRecursive(true);
+        model.setPath(folder.toString());
+        getMessageFromSortMethod();
+        model.getOptions().setRecursive(false);
+
+        assertTrue(Files.exists(sortedBefore.resolve("001.jpg")));
+        assertTrue(Files.exists(sortedBefore.resolve("002.jpg")));
+        assertTrue(Files.exists(folder.resolve("2024").resolve("08-August").resolve("003.jpg")));
+        assertEquals(2, model.getSummary().sortedFiles());
+    }
+
+    /**
+     * Ensure that a sort with the cache enabled trusts the cached date of an unchanged file instead of
+     * parsing it, never sorts the cache file itself and keeps only the files left in place in the cache.
+     * @param folder a temporary folder to sort.
+     * @throws IOException if the test files or the cache can't be read or written.
+     */
+    @Test
+    public void shouldPassIfCachedDatesAreUsedWhenCacheIsEnabled(@TempDir final Path folder) throws IOException {
+        final Path textFile = Files.copy(Paths.get(pathToSort, "dummyText.txt"), folder.resolve("dummyText.txt"));
+        Files.copy(Paths.get(pathToSort, "noDateImage.bmp"), folder.resolve("noDateImage.bmp"));
+        Files.copy(Paths.get(pathToSort, "001.jpg"), folder.resolve("001.jpg"));
+
+        final int cachedDate = DateKey.of(2020, 1);
+        final MetadataCache cache = new MetadataCache(folder.resolve(ModelConfig.CACHE_FILE_NAME));
+        cache.record(
+            "dummyText.txt", Files.size(textFile), Files.getLastModifiedTime(textFile).toMillis(), cachedDate
+        );
+        cache.save();
+
+        model.getOptions().setCacheEnabled(true);
+        model.setPath(folder.toString());
+        getMessageFromSortMethod();
+        model.getOptions().setCacheEnabled(false);
+
+        assertTrue(Files.exists(folder.resolve("2020").resolve("01-January").resolve("dummyText.txt")));
+        assertTrue(Files.exists(folder.resolve("2025").resolve("03-March").resolve("001.jpg")));
+        assertEquals(2, model.getSummary().sortedFiles());
+
+        final MetadataCache savedCache = new MetadataCache(folder.resolve(ModelConfig.CACHE_FILE_NAME));
+        savedCache.load();
+        final Path bmpFile = folder.resolve("noDateImage.bmp");
+        assertEquals(DateKey.NONE, savedCache.lookup(
+            "noDateImage.bmp", Files.size(bmpFile), Files.getLastModifiedTime(bmpFile).toMillis()
+        ));
+        assertEquals(1, savedCache.size());
+    }
+
+    /**
+     * Ensure that a batch of a watched folder sorts only the given files and counts only the batch.
+     * @param folder a temporary folder to sort.
+     * @throws IOException if the test files can't be copied.
+     */
+    @Test
+    public void shouldPassIfOnlyTheFilesOfABatchAreSorted(@TempDir final Path folder) throws IOException {
+        final Path image = Files.copy(Paths.get(pathToSort, "001.jpg"), folder.resolve("001.jpg"));
+        final Path textFile = Files.copy(Paths.get(pathToSort, "dummyText.txt"), folder.resolve("dummyText.txt"));
+        Files.copy(Paths.get(pathToSort, "003.jpg"), folder.resolve("003.jpg"));
+
+        model.setPath(folder.toString());
+        model.sortFiles(List.of(image, textFile));
+
+        assertTrue(Files.exists(folder.resolve("2025").resolve("03-March").resolve("001.jpg")));
+        assertTrue(Files.exists(folder.resolve("003.jpg")));
+        assertEquals(1, model.getSummary().sortedFiles());
+    }
+
+    /**
+     * Ensure that a dry run counts the files that would be sorted without moving them or creating any directory.
+     * @param folder a temporary folder to sort.
+     * @throws IOException if the test files can't be copied or listed.
+     */
+    @Test
+    public void shouldPassIfDryRunLeavesFolderUntouched(@TempDir final Path folder) throws IOException {
+        final int copiedFiles = 3;
+        Files.copy(Paths.get(pathToSort, "001.jpg"), folder.resolve("001.jpg"));
+        Files.copy(Paths.get(pathToSort, "003.jpg"), folder.resolve("003.jpg"));
+        Files.copy(Paths.get(pathToSort, "dummyText.txt"), folder.resolve("dummyText.txt"));
+
+        model.getOptions().setDryRun(true);
+        model.setPath(folder.toString());
+        getMessageFromSortMethod();
+        model.getOptions().setDryRun(false);
+
+        try (Stream<Path> contents = Files.list(folder)) {
+            assertEquals(copiedFiles, contents.filter(Files::isRegularFile).count());
+        }
+
+        assertEquals(new SortSummary(2, 0, 0, 0, 0, 1, Map.of(FileType.UNKNOWN, 1), false), model.getSummary());
+    }
+
+    /**
+     * Ensure that a generated corpus is sorted the way the generator tells, in both the collecting and
+     * the streaming mode.
+     * @param streaming whether the folder is sorted in streaming mode.
+     * @param folder a temporary folder to sort.
+     * @throws IOException if the corpus can't be generated.
+     */
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    public void shouldPassIfGeneratedCorpusIsSorted(final boolean streaming, @TempDir final Path folder)
+    throws IOException {
+        final int files = 300;
+        final ExifCorpusGenerator.Corpus corpus = new ExifCorpusGenerator(files).generate(folder, files);
+
+        model.getOptions().setStreaming(streaming);
+        model.setPath(folder.toString());
+        getMessageFromSortMethod();
+        model.getOptions().setStreaming(false);
+
+        assertEquals(new SortSummary(
+            corpus.sortableFiles(), 0, 0, 0, 0, corpus.invalidFiles(),
+            corpus.noiseFiles() == 0 ? Map.of() : Map.of(FileType.UNKNOWN, corpus.noiseFiles()), false
+        ), model.getSummary());
+    }
+
+    /**
+     * Sorts a large generated corpus, only run when the number of files is given through the
+     * {@code photochronicle.stressFiles} system property, for example {@code -Dphotochronicle.stressFiles=100000}.
+     * @param folder a temporary folder to sort.
+     * @throws IOException if the corpus can't be generated.
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "photochronicle.stressFiles", matches = "\\d+")
+    public void shouldPassIfLargeGeneratedCorpusIsSorted(@TempDir final Path folder) throws IOException {
+        final int files = Integer.getInteger("photochronicle.stressFiles");
+        final ExifCorpusGenerator.Corpus corpus = new ExifCorpusGenerator(files).generate(folder, files);
+
+        model.setPath(folder.toString());
+        getMessageFromSortMethod();
+
+        assertEquals(corpus.sortableFiles(), model.getSummary().sortedFiles());
+    }
+
+    /**
+     * Ensure that files of unsupported types are rejected without being parsed, counted per type both as
+     * invalid files and in the statistics message.
+     * @param folder a temporary folder to sort.
+     * @throws IOException if the test files can't be written.
+     */
+    @Test
+    public void shouldPassIfRejectedFileTypesAreCounted(@TempDir final Path folder) throws IOException {
+        final int rejectedFiles = 4;
+        Files.copy(Paths.get(pathToSort, "001.jpg"), folder.resolve("001.jpg"));
+        Files.copy(Paths.get(pathToSort, "noDateImage.bmp"), folder.resolve("noDateImage.bmp"));
+        Files.write(folder.resolve("001.xmp"),
+            "<x:xmpmeta xmlns:x=\"adobe:ns:meta/\">".getBytes(StandardCharsets.UTF_8));
+        Files.write(folder.resolve("clip.avi"), "RIFF\0\0\0\0AVI LIST".getBytes(StandardCharsets.ISO_8859_1));
+        Files.write(folder.resolve("clip.mkv"), "\u001AE\u00DF\u00A3".getBytes(StandardCharsets.ISO_8859_1));
+
+        model.setPath(folder.toString());
+        getMessageFromSortMethod();
+
+        assertEquals(new SortSummary(
+            1, 0, 0, 0, 0, rejectedFiles, Map.of(FileType.BMP, 1, FileType.VIDEO, 2, FileType.SIDECAR, 1), false
+        ), model.getSummary());
+        assertTrue(model.getMessageStatistics().contains("BMP: 1, VIDEO: 2, SIDECAR: 1"));
+    }
+
+    /**
+     * Ensure that the dates encoded in the names of the files are taken first, last or never as told by the
+     * filename trust, and that the tier that resolved every file is counted.
+     * @param trust the trust in the names of the files.
+     * @param folder a temporary folder to sort.
+     * @throws IOException if the test files can't be copied.
+     */
+    @ParameterizedTest
+    @EnumSource(FilenameTrust.class)
+    public void shouldPassIfTiersResolveDatesByFilenameTrust(final FilenameTrust trust, @TempDir final Path folder)
+    throws IOException {
+        Files.copy(Paths.get(pathToSort, "001.jpg"), folder.resolve("IMG_20230714_101522.jpg"));
+        Files.copy(Paths.get(pathToSort, "dummyText.txt"), folder.resolve("Screenshot_2022-01-05-10-00-00.png"));
+
+        model.getOptions().setFilenameTrust(trust);
+        model.setPath(folder.toString());
+        getMessageFromSortMethod();
+        model.getOptions().setFilenameTrust(FilenameTrust.PREFER);
+
+        final Map<FilenameTrust, Map<String, Long>> expectedTiers = Map.of(
+            FilenameTrust.PREFER, Map.of("FILENAME", 2L),
+            FilenameTrust.FALLBACK, Map.of("FILENAME", 1L, "METADATA", 1L),
+            FilenameTrust.IGNORE, Map.of("METADATA", 1L)
+        );
+
+        assertEquals(expectedTiers.get(trust), model.getStatistics().getResolvedTiers());
+        assertEquals(trust == FilenameTrust.IGNORE ? 1 : 2, model.getSummary().sortedFiles());
+        assertEquals(trust == FilenameTrust.PREFER, Files.exists(
+            folder.resolve("2023").resolve("07-July").resolve("IMG_20230714_101522.jpg")
+        ));
+    }
+
+    /**
+     * Ensure that documents with a date in their name are left in place, since only the names of images
+     * and videos are trusted.
+     * @param name the name of the document.
+     * @param folder a temporary folder to sort.
+     * @throws IOException if the test file can't be copied.
+     */
+    @ParameterizedTest
+    @ValueSource(strings = {"20230714_invoice.pdf", "IMG_20230714_notes.txt", "Screenshot_2023-07-14.txt"})
+    public void shouldPassIfDatedDocumentIsLeftInPlace(final String name, @TempDir final Path folder)
+    throws IOException {
+        final Path document = Files.copy(Paths.get(pathToSort, "dummyText.txt"), folder.resolve(name));
+
+        model.setPath(folder.toString());
+        getMessageFromSortMethod();
+
+        assertEquals(0, model.getSummary().sortedFiles());
+        assertTrue(Files.exists(document));
+        assertFalse(Files.exists(folder.resolve("2023")));
+    }
+
+    /**
+     * Ensure that an image taken late on the last day of a month is sorted into that month in every
+     * extraction mode, even when the system time zone is far ahead of UTC.
+     * @param mode the extraction mode of the sort.
+     * @param folder a temporary folder to sort.
+     * @throws IOException if the test image can't be written.
+     */
+    @ParameterizedTest
+    @EnumSource(ExtractionMode.class)
+    public void shouldPassIfMonthBoundaryIsKeptInEveryMode(final ExtractionMode mode, @TempDir final Path folder)
+    throws IOException {
+        final TimeZone systemZone = TimeZone.getDefault();
+        Files.write(folder.resolve("boundary.jpg"), ExifCorpusGenerator.createJpeg(ExifCorpusGenerator.createExif(
+            ByteOrder.BIG_ENDIAN, "2023:07:31 23:30:00\0".getBytes(StandardCharsets.US_ASCII)
+        ), 0));
+
+        try {
+            TimeZone.setDefault(TimeZone.getTimeZone("Pacific/Kiritimati"));
+            model.getOptions().setExtractionMode(mode);
+            model.setPath(folder.toString());
+            getMessageFromSortMethod();
+        } finally {
+            TimeZone.setDefault(systemZone);
+            model.getOptions().setExtractionMode(ExtractionMode.FAST);
+        }
+
+        assertTrue(Files.exists(folder.resolve("2023").resolve("07-July").resolve("boundary.jpg")));
+    }
+
+    /**
+     * Ensure that only the bytes read to sniff an image and search its header are counted, with the header
+     * searched once, when its EXIF data lies beyond the header read limit and the image is fully read.
+     * @param mode the extraction mode of the sort.
+     * @param folder a temporary folder to sort.
+     * @throws IOException if the test image can't be written.
+     */
+    @ParameterizedTest
+    @EnumSource(value = ExtractionMode.class, names = {"FAST", "METADATA_EXTRACTOR"})
+    public void shouldPassIfHeaderBytesAreCountedOnce(final ExtractionMode mode, @TempDir final Path folder)
+    throws IOException {
+        final int defaultHeaderReadLimit = model.getOptions().getHeaderReadLimit();
+        Files.write(folder.resolve("beyond.jpg"), ExifCorpusGenerator.createJpeg(ExifCorpusGenerator.createExif(
+            ByteOrder.BIG_ENDIAN, "2023:07:14 10:15:22\0".getBytes(StandardCharsets.US_ASCII)
+        ), 0));
+
+        model.getOptions().setExtractionMode(mode);
+        model.getOptions().setHeaderReadLimit(SHORT_HEADER_READ_LIMIT);
+        model.setPath(folder.toString());
+        getMessageFromSortMethod();
+        model.getOptions().setExtractionMode(ExtractionMode.FAST);
+        model.getOptions().setHeaderReadLimit(defaultHeaderReadLimit);
+
+        assertTrue(Files.exists(folder.resolve("2023").resolve("07-July").resolve("beyond.jpg")));
+        assertEquals(
+            mode == ExtractionMode.FAST ? SHORT_HEADER_READ_LIMIT : FileType.SIGNATURE_LENGTH + SHORT_HEADER_READ_LIMIT,
+            model.getStatistics().getBytesRead()
+        );
+    }
+
+    /**
+     * Ensure that the year and month directories are created in the target folder when one is set, which
+     * is created when it doesn't exist.
+     * @param folder a temporary folder to sort.
+     * @param target a temporary folder whose subfolder the files are sorted into.
+     * @throws IOException if the test files can't be copied.
+     */
+    @Test
+    public void shouldPassIfFilesAreSortedIntoTargetFolder(@TempDir final Path folder, @TempDir final Path target)
+    throws IOException {
+        final Path sorted = target.resolve("sorted");
+        Files.copy(Paths.get(pathToSort, "001.jpg"), folder.resolve("001.jpg"));
+        Files.copy(Paths.get(pathToSort, "003.jpg"), folder.resolve("003.jpg"));
+
+        model.getOptions().setTargetFolder(sorted);
+        model.setPath(folder.toString());
+        getMessageFromSortMethod();
+        model.getOptions().setTargetFolder(null);
+
+        assertTrue(Files.exists(sorted.resolve("2025").resolve("03-March").resolve("001.jpg")));
+        assertTrue(Files.exists(sorted.resolve("2024").resolve("08-August").resolve("003.jpg")));
+        assertFalse(Files.exists(folder.resolve("001.jpg")));
+        assertFalse(Files.exists(folder.resolve("2025")));
+    }
+
+    /**
+     * Ensure that a recursive sort into a target folder within the sorted folder doesn't walk the target
+     * folder again when the folder is sorted once more, whether the files were moved or copied. Only the
+     * originals left by a copy are found again, and their copies already exist.
+     * @param mode the transfer mode, move or copy.
+     * @param folder a temporary folder to sort.
+     * @throws IOException if the test files can't be copied.
+     */
+    @ParameterizedTest
+    @EnumSource(value = TransferMode.class, names = {"MOVE", "COPY"})
+    public void shouldPassIfRecursiveRerunSkipsTargetFolder(final TransferMode mode, @TempDir final Path folder)
+    throws IOException {
+        Files.copy(Paths.get(pathToSort, "001.jpg"), folder.resolve("001.jpg"));
+        Files.copy(Paths.get(pathToSort, "003.jpg"), folder.resolve("003.jpg"));
+
+        model.getOptions().setTransferMode(mode);
+        model.getOptions().setRecursive(true);
+        model.getOptions().setTargetFolder(folder.resolve("sorted"));
+        model.setPath(folder.toString());
+        getMessageFromSortMethod();
+        final SortSummary first = model.getSummary();
+        getMessageFromSortMethod();
+        final SortSummary second = model.getSummary();
+        model.getOptions().setTransferMode(TransferMode.MOVE);
+        model.getOptions().setRecursive(false);
+        model.getOptions().setTargetFolder(null);
+
+        assertEquals(2, first.sortedFiles());
+        assertEquals(0, second.sortedFiles());
+        assertEquals(mode == TransferMode.COPY ? 2 : 0, second.unsortedFiles());
+    }
+
+    /**
+     * Ensure that copied and linked files are put into the directories of their months while the originals
+     * are left untouched, and that they are counted like moved files, where only the copies are verified.
+     * @param mode the transfer mode, copy or link.
+     * @param folder a temporary folder to sort.
+     * @throws IOException if the test files can't be copied.
+     */
+    @ParameterizedTest
+    @EnumSource(value = TransferMode.class, names = {"COPY", "LINK"})
+    public void shouldPassIfCopyingOrLinkingLeavesOriginals(final TransferMode mode, @TempDir final Path folder)
+    throws IOException {
+        final Path original = Files.copy(Paths.get(pathToSort, "001.jpg"), folder.resolve("001.jpg"));
+        final byte[] bytes = Files.readAllBytes(original);
+
+        model.getOptions().setTransferMode(mode);
+        model.getOptions().setVerifyChecksums(true);
+        model.setPath(folder.toString());
+        getMessageFromSortMethod();
+        model.getOptions().setTransferMode(TransferMode.MOVE);
+        model.getOptions().setVerifyChecksums(false);
+
+        final Path sorted = folder.resolve("2025").resolve("03-March").resolve("001.jpg");
+        assertEquals(1, model.getSummary().sortedFiles());
+        assertEquals(mode == TransferMode.COPY ? 1 : 0, model.getSummary().verifiedFiles());
+        assertArrayEquals(bytes, Files.readAllBytes(original));
+        assertArrayEquals(bytes, Files.readAllBytes(sorted));
+        assertEquals(mode == TransferMode.LINK, Files.isSameFile(original, sorted));
+    }
+
+    /**
+     * Ensure that linking the files into a target folder on another file system is refused with its reason
+     * before the target folder is created, when the machine has a memory file system.
+     * @param folder a temporary folder to sort.
+     * @throws IOException if the test files can't be copied.
+     */
+    @Test
+    void shouldPassIfLinkAcrossFileSystemsIsRefused(@TempDir final Path folder) throws IOException {
+        final Path memory = Paths.get("/dev/shm");
+        assumeTrue(Files.isDirectory(memory) && !Files.getFileStore(memory).equals(Files.getFileStore(folder)));
+        final Path original = Files.copy(Paths.get(pathToSort, "001.jpg"), folder.resolve("001.jpg"));
+        final Path target = memory.resolve(folder.getFileName().toString()).resolve("sorted");
+
+        model.getOptions().setTransferMode(TransferMode.LINK);
+        model.getOptions().setTargetFolder(target);
+        model.setPath(folder.toString());
+        final String message = getMessageFromSortMethod();
+        model.getOptions().setTransferMode(TransferMode.MOVE);
+        model.getOptions().setTargetFolder(null);
+
+        assertEquals(ModelConfig.LINK_ACROSS_FILE_SYSTEMS, message);
+        assertFalse(Files.exists(target.getParent()));
+        assertTrue(Files.exists(original));
+    }
+
+    /**
+     * Ensure that a worker count below one is rejected.
+     */
+    @Test
+    void shouldPassIfWorkerCountBelowOneThrows() {
+        assertThrows(IllegalArgumentException.class, () -> model.getOptions().setWorkerCount(0));
+        assertThrows(IllegalArgumentException.class, () -> model.getOptions().setMoveWorkerCount(0));
+    }
+
     /*======================
     * Helper Methods
     ======================*/
@@ -433,7 +1041,7 @@ public class ChronicleModelTest {
         testFiles.forEach((year, months) -> {
             final String strYear = year.toString();
             months.forEach((month, files) -> {
-                final String strMonth = String.format("%02d-%s", month, AppConfig.MONTHS[month - 1]);
+                final String strMonth = String.format("%02d-%s", month, ModelConfig.MONTHS[month - 1]);
 
                 files.forEach(file -> {
                     final Path source = Paths.get(pathToSort, strYear, strMonth, file);
@@ -482,7 +1090,7 @@ public class ChronicleModelTest {
         testFiles.forEach((year, months) -> {
             final String strYear = year.toString();
             months.forEach((month, files) -> {
-                final String strMonth = String.format("%02d-%s", month, AppConfig.MONTHS[month - 1]);
+                final String strMonth = String.format("%02d-%s", month, ModelConfig.MONTHS[month - 1]);
                 filesExists.add(Files.exists(Paths.get(pathToSort, strYear, strMonth)));
             });
         });
@@ -496,7 +1104,7 @@ public class ChronicleModelTest {
         testFiles.forEach((year, months) -> {
             final String strYear = year.toString();
             months.forEach((month, files) -> {
-                final String strMonth = String.format("%02d-%s", month, AppConfig.MONTHS[month - 1]);
+                final String strMonth = String.format("%02d-%s", month, ModelConfig.MONTHS[month - 1]);
 
                 files.forEach(file -> {
                     filesExists.add(Files.exists(Paths.get(pathToSort, strYear, strMonth, file)));
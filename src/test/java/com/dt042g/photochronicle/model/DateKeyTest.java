@@ -0,0 +1,78 @@
+package com.dt042g.photochronicle.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Modifier;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+/**
+ * Unit tests for {@link DateKey}, ensuring that years and months survive being packed into a key.
+ * @author Joel Lansgren
+ */
+public class DateKeyTest {
+
+    /*========================
+    * Design Integrity Tests
+    ========================*/
+
+    /**
+     * Test to ensure that the class is final, preventing it to be subclassed.
+     */
+    @Test
+    void shouldPassIfClassIsFinal() {
+        assertTrue(Modifier.isFinal(DateKey.class.getModifiers()));
+    }
+
+    /**
+     * Test to ensure that the utility class can't be instantiated.
+     * @throws NoSuchMethodException if the constructor is not found.
+     */
+    @Test
+    void shouldPassIfInstantiationThrowsIllegalStateException() throws NoSuchMethodException {
+        final Constructor<DateKey> constructor = DateKey.class.getDeclaredConstructor();
+        constructor.setAccessible(true);
+
+        try {
+            constructor.newInstance();
+        } catch (final InvocationTargetException | InstantiationException | IllegalAccessException e) {
+            assertEquals(IllegalStateException.class, e.getCause().getClass());
+        }
+    }
+
+    /*======================
+    * Unit Tests
+    ======================*/
+
+    /**
+     * Ensures that the year and month can be unpacked from the key they were packed into.
+     * @param year the year to pack.
+     * @param month the month to pack.
+     */
+    @ParameterizedTest
+    @CsvSource({"2025, 1", "2024, 12", "1999, 6", "0, 1"})
+    void shouldPassIfPackedYearAndMonthAreUnpacked(final int year, final int month) {
+        final int key = DateKey.of(year, month);
+
+        assertEquals(year, DateKey.year(key));
+        assertEquals(month, DateKey.month(key));
+    }
+
+    /**
+     * Ensures that the keys are ordered chronologically.
+     */
+    @Test
+    void shouldPassIfKeysAreOrderedChronologically() {
+        final int december2024 = DateKey.of(2024, 12);
+        final int january2025 = DateKey.of(2025, 1);
+        final int february2025 = DateKey.of(2025, 2);
+
+        assertTrue(december2024 < january2025);
+        assertTrue(january2025 < february2025);
+    }
+}
@@ -0,0 +1,180 @@
+package com.dt042g.photochronicle.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.lang.reflect.Modifier;
+import java.nio.file.Files;
+import java.nio.file.NotDirectoryException;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Unit tests for {@link DirectoryPlanner}, ensuring that the year and month directories are created once,
+ * in parallel, and looked up from its cache afterwards.
+ * @author Joel Lansgren
+ */
+public class DirectoryPlannerTest {
+    private static final int FIRST_YEAR = 2020;
+    private static final int YEARS = 3;
+    private static final int MONTHS = 12;
+    private static final int THREADS = 8;
+    private static final int JULY = 7;
+
+    private final Queue<Map.Entry<Path, IOException>> failures = new ConcurrentLinkedQueue<>();
+
+    /*========================
+    * Design Integrity Tests
+    ========================*/
+
+    /**
+     * Test to ensure that the class is final, preventing it to be subclassed.
+     */
+    @Test
+    void shouldPassIfClassIsFinal() {
+        assertTrue(Modifier.isFinal(DirectoryPlanner.class.getModifiers()));
+    }
+
+    /*======================
+    * Unit Tests
+    ======================*/
+
+    /**
+     * Ensures that the directory of every month is created, with the years shared by their months, both
+     * sequentially and in parallel.
+     * @param parallelism the number of threads creating the directories.
+     * @param folder a temporary folder to create the directories in.
+     * @throws IOException if the folder can't be listed.
+     */
+    @ParameterizedTest
+    @ValueSource(ints = {1, THREADS})
+    void shouldPassIfEveryMonthIsCreatedOnce(final int parallelism, @TempDir final Path folder) throws IOException {
+        final DirectoryPlanner planner = new DirectoryPlanner(folder, false, this::recordFailure);
+
+        planner.plan(dateKeys(), parallelism);
+
+        try (Stream<Path> years = Files.list(folder)) {
+            assertEquals(YEARS, years.count());
+        }
+
+        for (final int dateKey : dateKeys()) {
+            assertTrue(Files.isDirectory(planner.directory(dateKey)));
+        }
+
+        assertEquals(folder.resolve("2021").resolve("07-July"), planner.directory(DateKey.of(FIRST_YEAR + 1, JULY)));
+        assertEquals(0, failures.size());
+    }
+
+    /**
+     * Ensures that directories left by an earlier sort are used as they are.
+     * @param folder a temporary folder to create the directories in.
+     * @throws IOException if the directory can't be created.
+     */
+    @Test
+    void shouldPassIfExistingDirectoriesAreUsed(@TempDir final Path folder) throws IOException {
+        final Path july = Files.createDirectories(folder.resolve("2020").resolve("07-July"));
+
+        assertEquals(july, new DirectoryPlanner(folder, false, this::recordFailure)
+            .directory(DateKey.of(FIRST_YEAR, JULY)));
+        assertEquals(0, failures.size());
+    }
+
+    /**
+     * Ensures that a directory is looked up from the cache once planned, without checking the file system.
+     * @param folder a temporary folder to create the directories in.
+     * @throws IOException if the directory can't be deleted.
+     */
+    @Test
+    void shouldPassIfPlannedDirectoriesAreNotCheckedAgain(@TempDir final Path folder) throws IOException {
+        final DirectoryPlanner planner = new DirectoryPlanner(folder, false, this::recordFailure);
+        final int dateKey = DateKey.of(FIRST_YEAR, JULY);
+        final Path july = planner.directory(dateKey);
+
+        Files.delete(july);
+
+        assertEquals(july, planner.directory(dateKey));
+        assertFalse(Files.exists(july));
+    }
+
+    /**
+     * Ensures that the months of a year that can't be created fail, each counted only once.
+     * @param folder a temporary folder to create the directories in.
+     * @throws IOException if the blocking file can't be written.
+     */
+    @Test
+    void shouldPassIfEveryFailedMonthIsCountedOnce(@TempDir final Path folder) throws IOException {
+        Files.writeString(folder.resolve("2020"), "Not a directory");
+        final DirectoryPlanner planner = new DirectoryPlanner(folder, false, this::recordFailure);
+
+        planner.plan(dateKeys(), THREADS);
+        planner.plan(dateKeys(), 1);
+
+        assertEquals(MONTHS, failures.size());
+        assertNull(planner.directory(DateKey.of(FIRST_YEAR, JULY)));
+        assertTrue(Files.isDirectory(planner.directory(DateKey.of(FIRST_YEAR + 1, JULY))));
+    }
+
+    /**
+     * Ensures that a file with the name of a month fails the month, reported with its path as not being a
+     * directory, instead of being taken for the directory of the month.
+     * @param folder a temporary folder to create the directories in.
+     * @throws IOException if the blocking file can't be written.
+     */
+    @Test
+    void shouldPassIfFileNamedAsMonthFails(@TempDir final Path folder) throws IOException {
+        final Path july = Files.createDirectories(folder.resolve("2020")).resolve("07-July");
+        Files.writeString(july, "Not a directory");
+        final DirectoryPlanner planner = new DirectoryPlanner(folder, false, this::recordFailure);
+
+        assertNull(planner.directory(DateKey.of(FIRST_YEAR, JULY)));
+        assertEquals(1, failures.size());
+        assertEquals(july, failures.peek().getKey());
+        assertInstanceOf(NotDirectoryException.class, failures.peek().getValue());
+    }
+
+    /**
+     * Ensures that a dry run plans the directories without creating any.
+     * @param folder a temporary folder that should stay empty.
+     * @throws IOException if the folder can't be listed.
+     */
+    @Test
+    void shouldPassIfDryRunCreatesNothing(@TempDir final Path folder) throws IOException {
+        final DirectoryPlanner planner = new DirectoryPlanner(folder, true, this::recordFailure);
+
+        planner.plan(dateKeys(), THREADS);
+
+        try (Stream<Path> contents = Files.list(folder)) {
+            assertEquals(0, contents.count());
+        }
+
+        assertEquals(folder.resolve("2020").resolve("07-July"), planner.directory(DateKey.of(FIRST_YEAR, JULY)));
+        assertEquals(0, failures.size());
+    }
+
+    /*======================
+    * Helper Methods
+    ======================*/
+
+    private void recordFailure(final Path directory, final IOException e) {
+        failures.add(Map.entry(directory, e));
+    }
+
+    private static int[] dateKeys() {
+        return IntStream.range(0, YEARS * MONTHS)
+            .map(i -> DateKey.of(FIRST_YEAR + i / MONTHS, i % MONTHS + 1))
+            .toArray();
+    }
+}
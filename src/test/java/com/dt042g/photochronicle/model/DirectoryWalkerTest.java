@@ -0,0 +1,118 @@
+package com.dt042g.photochronicle.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.lang.reflect.Modifier;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Unit tests for {@link DirectoryWalker}, ensuring that nested folders are walked completely while the
+ * year directories of earlier sorts are skipped.
+ * @author Joel Lansgren
+ */
+public class DirectoryWalkerTest {
+    private static final int PARALLELISM = 4;
+
+    @TempDir
+    private Path root;
+
+    /*========================
+    * Design Integrity Tests
+    ========================*/
+
+    /**
+     * Test to ensure that the class is final, preventing it to be subclassed.
+     */
+    @Test
+    void shouldPassIfClassIsFinal() {
+        assertTrue(Modifier.isFinal(DirectoryWalker.class.getModifiers()));
+    }
+
+    /*======================
+    * Unit Tests
+    ======================*/
+
+    /**
+     * Ensures that the files of every nested directory are found, but none of the year directories.
+     * @throws IOException if the test tree can't be created or walked.
+     */
+    @Test
+    void shouldPassIfNestedFilesAreFoundAndYearDirectoriesSkipped() throws IOException {
+        final Set<Path> expected = Set.of(
+            createFile(root.resolve("top.jpg")),
+            createFile(root.resolve("DCIM").resolve("100CANON").resolve("a.jpg")),
+            createFile(root.resolve("DCIM").resolve("101CANON").resolve("b.jpg")),
+            createFile(root.resolve("DCIM").resolve("2024").resolve("c.jpg"))
+        );
+        createFile(root.resolve("2024").resolve("05-May").resolve("sorted.jpg"));
+
+        final Set<Path> found = ConcurrentHashMap.newKeySet();
+        new DirectoryWalker(root, PARALLELISM).walk(found::add, e -> { });
+
+        assertEquals(expected, found);
+    }
+
+    /**
+     * Ensures that only year named directories directly in the root are output directories.
+     */
+    @Test
+    void shouldPassIfOnlyYearDirectoriesInRootAreOutput() {
+        final DirectoryWalker walker = new DirectoryWalker(root, PARALLELISM);
+
+        assertTrue(walker.isOutputDirectory(root.resolve("2024")));
+        assertFalse(walker.isOutputDirectory(root.resolve("DCIM").resolve("2024")));
+        assertFalse(walker.isOutputDirectory(root.resolve("100CANON")));
+        assertFalse(walker.isOutputDirectory(root.resolve("20245")));
+    }
+
+    /**
+     * Ensures that a target folder within the root isn't walked, together with the files sorted into it,
+     * while the rest of the directory holding it still is.
+     * @throws IOException if the test tree can't be created or walked.
+     */
+    @Test
+    void shouldPassIfTargetFolderIsSkipped() throws IOException {
+        final Path target = root.resolve("output").resolve("sorted");
+        final Set<Path> expected = Set.of(
+            createFile(root.resolve("top.jpg")),
+            createFile(root.resolve("output").resolve("kept.jpg"))
+        );
+        createFile(target.resolve("2024").resolve("05-May").resolve("sorted.jpg"));
+
+        final Set<Path> found = ConcurrentHashMap.newKeySet();
+        final DirectoryWalker walker = new DirectoryWalker(root, target, PARALLELISM);
+        walker.walk(found::add, e -> { });
+
+        assertEquals(expected, found);
+        assertTrue(walker.isOutputDirectory(target));
+    }
+
+    /**
+     * Ensures that a root that can't be listed is reported to the caller.
+     */
+    @Test
+    void shouldPassIfUnlistableRootThrows() {
+        final DirectoryWalker walker = new DirectoryWalker(root.resolve("missing"), PARALLELISM);
+        assertThrows(NoSuchFileException.class, () -> walker.walk(file -> { }, e -> { }));
+    }
+
+    /*======================
+    * Helper Methods
+    ======================*/
+
+    private Path createFile(final Path file) throws IOException {
+        Files.createDirectories(file.getParent());
+        return Files.createFile(file);
+    }
+}
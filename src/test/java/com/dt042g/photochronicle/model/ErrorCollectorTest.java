@@ -0,0 +1,137 @@
+package com.dt042g.photochronicle.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.lang.reflect.Modifier;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Unit tests for {@link ErrorCollector}, verifying that failures are counted, sampled and streamed to
+ * the report without being printed.
+ * @author Joel Lansgren
+ */
+public class ErrorCollectorTest {
+    private static final int SAMPLE_LIMIT = 2;
+    private static final Path FILE = Path.of("folder", "001.jpg");
+    private static final int LONGER_THAN_BUFFER = 100_000;
+    private final ErrorCollector collector = new ErrorCollector(SAMPLE_LIMIT);
+
+    /*========================
+    * Design Integrity Tests
+    ========================*/
+
+    /**
+     * Test to ensure that the class is final, preventing it to be subclassed.
+     */
+    @Test
+    void shouldPassIfClassIsFinal() {
+        assertTrue(Modifier.isFinal(ErrorCollector.class.getModifiers()));
+    }
+
+    /*======================
+    * Unit Tests
+    ======================*/
+
+    /**
+     * Ensures that every failure is counted by its kind while only the first are kept as samples.
+     */
+    @Test
+    void shouldPassIfEveryFailureIsCountedAndFirstSamplesKept() {
+        final int moveFailures = 3;
+
+        for (int i = 0; i < moveFailures; i++) {
+            collector.record(ErrorKind.MOVE, FILE, new IOException("Move " + i));
+        }
+
+        collector.record(ErrorKind.READ, FILE, new NoSuchFileException(FILE.toString()));
+        final ErrorSummary summary = collector.summary();
+
+        assertEquals(Map.of(ErrorKind.MOVE, moveFailures, ErrorKind.READ, 1), summary.counts());
+        assertEquals(moveFailures + 1, summary.total());
+        assertEquals(List.of(
+            new ErrorSummary.Sample(ErrorKind.MOVE, FILE, "java.io.IOException: Move 0", null),
+            new ErrorSummary.Sample(ErrorKind.MOVE, FILE, "java.io.IOException: Move 1", null)
+        ), summary.samples());
+    }
+
+    /**
+     * Ensures that stack traces are only captured in debug mode.
+     * @throws IOException never, no report is opened.
+     */
+    @Test
+    void shouldPassIfStackTracesAreOnlyCapturedInDebugMode() throws IOException {
+        collector.record(ErrorKind.METADATA, FILE, new IOException());
+        assertNull(collector.summary().samples().get(0).stackTrace());
+
+        collector.start(null, true, false);
+        collector.record(ErrorKind.METADATA, FILE, new IOException());
+        final ErrorSummary.Sample sample = collector.summary().samples().get(0);
+
+        assertEquals("java.io.IOException", sample.message());
+        assertNotNull(sample.stackTrace());
+        assertTrue(sample.stackTrace().contains("shouldPassIfStackTracesAreOnlyCapturedInDebugMode"));
+    }
+
+    /**
+     * Ensures that every failure is streamed to the report, beyond the samples kept in memory, and that a
+     * new start replaces the report unless it appends to it.
+     * @param folder a temporary folder holding the report.
+     * @throws IOException if the report can't be written or read.
+     */
+    @Test
+    void shouldPassIfEveryFailureIsStreamedToTheReport(@TempDir final Path folder) throws IOException {
+        final Path report = folder.resolve("errors.txt");
+        final int failures = SAMPLE_LIMIT + 2;
+
+        collector.start(report, false, false);
+
+        for (int i = 0; i < failures; i++) {
+            collector.record(ErrorKind.READ, FILE, new IOException("Read " + i));
+        }
+
+        collector.finish();
+        final List<String> lines = Files.readAllLines(report);
+
+        assertEquals(failures, lines.size());
+        assertEquals("READ\t" + FILE + "\tjava.io.IOException: Read 0", lines.get(0));
+
+        collector.start(report, false, true);
+        collector.record(ErrorKind.MOVE, FILE, new IOException());
+        collector.finish();
+        assertEquals(failures + 1, Files.readAllLines(report).size());
+
+        collector.start(report, false, false);
+        collector.finish();
+        assertEquals(0, Files.readAllLines(report).size());
+        assertEquals(Map.of(), collector.summary().counts());
+    }
+
+    /**
+     * Ensures that a report that can't be written is counted as a single failure, although both the write
+     * and the close of the report fail.
+     * @throws IOException if the report can't be opened.
+     */
+    @Test
+    @EnabledOnOs(OS.LINUX)
+    void shouldPassIfUnwritableReportIsCountedOnce() throws IOException {
+        collector.start(Path.of("/dev/full"), false, false); // Every write to it fails as the disk was full.
+        collector.record(ErrorKind.MOVE, FILE, new IOException("x".repeat(LONGER_THAN_BUFFER)));
+        collector.record(ErrorKind.MOVE, FILE, new IOException());
+        collector.finish();
+
+        assertEquals(Map.of(ErrorKind.MOVE, 2, ErrorKind.REPORT, 1), collector.summary().counts());
+    }
+}
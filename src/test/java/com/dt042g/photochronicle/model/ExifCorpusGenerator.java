@@ -0,0 +1,411 @@
+package com.dt042g.photochronicle.model;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import javax.imageio.ImageIO;
+
+/**
+ * Writes folders of small but valid JPEG and TIFF images with a DateTimeOriginal, for tests and
+ * benchmarks that need far more files than the sample images of the tests.
+ *
+ * <p>Every JPEG is a real image encoded once by {@link ImageIO}, with an EXIF APP1 segment placed
+ * right after its start of image marker. The TIFF images are a single strip of grey pixels whose IFD0
+ * points to an ExifSubIFD, the same layout as the raw files of many cameras. Both byte orders are
+ * used.</p>
+ *
+ * <p>The original dates follow the spread of a real photo collection: every year holds more photos
+ * than the one before and the summer months and December hold the most. A configurable share of the
+ * files has no EXIF data, is a JPEG cut off in the middle of its EXIF data, or isn't an image at all.
+ * The size of the images can be raised to a random size within a range, by making the TIFF strips
+ * larger or by appending bytes after the end of the JPEG images, which readers of the metadata never
+ * look at.</p>
+ *
+ * <p>The files are generated from a seed, so the same seed and settings always give the same folder.
+ * The returned {@link Corpus} tells how a sort of the folder is expected to turn out.</p>
+ *
+ * @author Joel Lansgren, Daniel Berg
+ */
+final class ExifCorpusGenerator {
+    private static final int DEFAULT_FIRST_YEAR = 2005;
+    private static final int DEFAULT_LAST_YEAR = 2025;
+    private static final double DEFAULT_YEAR_GROWTH = 1.25;
+    private static final double DEFAULT_TIFF_SHARE = 0.1;
+    private static final double DEFAULT_UNDATED_SHARE = 0.05;
+    private static final double DEFAULT_CORRUPT_SHARE = 0.01;
+    private static final double DEFAULT_NOISE_SHARE = 0.02;
+    private static final double[] MONTH_WEIGHTS = {6, 5, 6, 7, 9, 11, 13, 12, 8, 7, 6, 10};
+    private static final int IMAGE_SIZE = 16;
+    private static final int DAYS_PER_MONTH = 28;
+    private static final int HOURS_PER_DAY = 24;
+    private static final int MINUTES_PER_HOUR = 60;
+    private static final int SOI_LENGTH = 2;
+    private static final int APP1_MARKER = 0xFFE1;
+    private static final int SEGMENT_LENGTH_SIZE = 2;
+    private static final byte[] EXIF_HEADER = "Exif\0\0".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] MAKE = "PhotoChronicle\0".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] NOISE = "This file is not an image.\n".getBytes(StandardCharsets.US_ASCII);
+    private static final int TIFF_MAGIC = 42;
+    private static final int TIFF_HEADER_SIZE = 8;
+    private static final int IFD_ENTRY_SIZE = 12;
+    private static final int IFD_OVERHEAD = 6;
+    private static final int TYPE_ASCII = 2;
+    private static final int TYPE_SHORT = 3;
+    private static final int TYPE_LONG = 4;
+    private static final int TAG_IMAGE_WIDTH = 0x0100;
+    private static final int TAG_IMAGE_LENGTH = 0x0101;
+    private static final int TAG_BITS_PER_SAMPLE = 0x0102;
+    private static final int TAG_COMPRESSION = 0x0103;
+    private static final int TAG_PHOTOMETRIC = 0x0106;
+    private static final int TAG_MAKE = 0x010F;
+    private static final int TAG_STRIP_OFFSETS = 0x0111;
+    private static final int TAG_SAMPLES_PER_PIXEL = 0x0115;
+    private static final int TAG_ROWS_PER_STRIP = 0x0116;
+    private static final int TAG_STRIP_BYTE_COUNTS = 0x0117;
+    private static final int TAG_EXIF_SUB_IFD = 0x8769;
+    private static final int TAG_DATETIME_ORIGINAL = 0x9003;
+    private static final int BITS_PER_SAMPLE = 8;
+    private static final int BLACK_IS_ZERO = 1;
+    private static final int TIFF_IFD0_ENTRIES = 11;
+    private static final int EXIF_IFD0_ENTRIES = 2;
+    private static byte[] baseJpeg;
+
+    private final SplittableRandom random;
+    private int firstYear = DEFAULT_FIRST_YEAR;
+    private int lastYear = DEFAULT_LAST_YEAR;
+    private double yearGrowth = DEFAULT_YEAR_GROWTH;
+    private double tiffShare = DEFAULT_TIFF_SHARE;
+    private double undatedShare = DEFAULT_UNDATED_SHARE;
+    private double corruptShare = DEFAULT_CORRUPT_SHARE;
+    private double noiseShare = DEFAULT_NOISE_SHARE;
+    private int minFileSize;
+    private int maxFileSize;
+
+    /**
+     * How a sort of a generated folder is expected to turn out.
+     * @param datedFiles the number of images with an original date per {@link DateKey}.
+     * @param undatedFiles the number of images without EXIF data.
+     * @param corruptFiles the number of JPEG images cut off in their EXIF data.
+     * @param noiseFiles the number of files that aren't images.
+     */
+    record Corpus(Map<Integer, Integer> datedFiles, int undatedFiles, int corruptFiles, int noiseFiles) {
+        /**
+         * Returns the number of files a sort of the folder is expected to move.
+         * @return the number of images with an original date.
+         */
+        int sortableFiles() {
+            return datedFiles.values().stream().mapToInt(Integer::intValue).sum();
+        }
+
+        /**
+         * Returns the number of files a sort of the folder is expected to count as invalid.
+         * @return the number of files without an original date that can be found.
+         */
+        int invalidFiles() {
+            return undatedFiles + corruptFiles + noiseFiles;
+        }
+    }
+
+    /**
+     * Creates a generator with the default settings.
+     * @param seed the seed of the random choices, the same seed always gives the same files.
+     */
+    ExifCorpusGenerator(final long seed) {
+        random = new SplittableRandom(seed);
+    }
+
+    /**
+     * Sets the years the original dates are spread over, and how many more photos every year holds than
+     * the year before it.
+     * @param first the first year.
+     * @param last the last year.
+     * @param growth the factor between the number of photos of a year and of the year before it.
+     * @return this generator.
+     */
+    ExifCorpusGenerator setYears(final int first, final int last, final double growth) {
+        if (first > last || growth <= 0) {
+            throw new IllegalArgumentException("Invalid years: " + first + "-" + last + ", growth " + growth);
+        }
+
+        firstYear = first;
+        lastYear = last;
+        yearGrowth = growth;
+        return this;
+    }
+
+    /**
+     * Sets the shares of the files that are TIFF instead of JPEG images, images without EXIF data,
+     * JPEG images cut off in their EXIF data and files that aren't images.
+     * @param tiff the share of the images that are TIFF images.
+     * @param undated the share of the files that are images without EXIF data.
+     * @param corrupt the share of the files that are JPEG images cut off in their EXIF data.
+     * @param noise the share of the files that aren't images.
+     * @return this generator.
+     */
+    ExifCorpusGenerator setShares(final double tiff, final double undated, final double corrupt,
+            final double noise) {
+        if (tiff < 0 || tiff > 1 || undated < 0 || corrupt < 0 || noise < 0 || undated + corrupt + noise > 1) {
+            throw new IllegalArgumentException("The shares must lie between 0 and 1");
+        }
+
+        tiffShare = tiff;
+        undatedShare = undated;
+        corruptShare = corrupt;
+        noiseShare = noise;
+        return this;
+    }
+
+    /**
+     * Sets the range the size of every image is picked from, images are never made smaller than they
+     * naturally are.
+     * @param min the smallest size in bytes.
+     * @param max the largest size in bytes, 0 to keep the images at their natural size of a few hundred bytes.
+     * @return this generator.
+     */
+    ExifCorpusGenerator setFileSizes(final int min, final int max) {
+        if (min < 0 || max < min) {
+            throw new IllegalArgumentException("Invalid file sizes: " + min + "-" + max);
+        }
+
+        minFileSize = min;
+        maxFileSize = max;
+        return this;
+    }
+
+    /**
+     * Writes the given number of files to a folder.
+     * @param folder the folder to write to, which must exist.
+     * @param files the number of files to write.
+     * @return how a sort of the folder is expected to turn out.
+     * @throws IOException if a file can't be written.
+     */
+    Corpus generate(final Path folder, final int files) throws IOException {
+        final double[] yearWeights = new double[lastYear - firstYear + 1];
+        final Map<Integer, Integer> datedFiles = new HashMap<>();
+        int undatedFiles = 0;
+        int corruptFiles = 0;
+        int noiseFiles = 0;
+
+        for (int i = 0; i < yearWeights.length; i++) {
+            yearWeights[i] = Math.pow(yearGrowth, i);
+        }
+
+        for (int i = 0; i < files; i++) {
+            final double kind = random.nextDouble();
+            final ByteOrder order = random.nextBoolean() ? ByteOrder.LITTLE_ENDIAN : ByteOrder.BIG_ENDIAN;
+            final boolean tiff = random.nextDouble() < tiffShare;
+            final String name = String.format("IMG_%07d", i);
+
+            if (kind < noiseShare) {
+                Files.write(folder.resolve(name + ".txt"), NOISE);
+                noiseFiles++;
+            } else if (kind < noiseShare + corruptShare) {
+                final byte[] exif = createExif(order, createDate(pickDateKey(yearWeights)));
+                final int cutOff = SOI_LENGTH + SEGMENT_LENGTH_SIZE * 2 + EXIF_HEADER.length + exif.length / 2;
+                Files.write(folder.resolve(name + ".jpg"), Arrays.copyOf(createJpeg(exif, 0), cutOff));
+                corruptFiles++;
+            } else if (kind < noiseShare + corruptShare + undatedShare) {
+                Files.write(folder.resolve(name + (tiff ? ".tif" : ".jpg")), tiff
+                    ? createTiff(order, null, pickFileSize()) : createJpeg(null, pickFileSize()));
+                undatedFiles++;
+            } else {
+                final int dateKey = pickDateKey(yearWeights);
+                final byte[] date = createDate(dateKey);
+                Files.write(folder.resolve(name + (tiff ? ".tif" : ".jpg")), tiff
+                    ? createTiff(order, date, pickFileSize()) : createJpeg(createExif(order, date), pickFileSize()));
+                datedFiles.merge(dateKey, 1, Integer::sum);
+            }
+        }
+
+        return new Corpus(Collections.unmodifiableMap(datedFiles), undatedFiles, corruptFiles, noiseFiles);
+    }
+
+    /**
+     * Creates a JPEG image, optionally with an EXIF APP1 segment.
+     * @param exif the TIFF structure of the EXIF data, or {@code null} for an image without EXIF data.
+     * @param size the size to pad the image to, 0 for its natural size.
+     * @return the bytes of the image.
+     */
+    static byte[] createJpeg(final byte[] exif, final int size) {
+        final byte[] image = getBaseJpeg();
+        final int segmentLength = exif == null ? 0 : SEGMENT_LENGTH_SIZE * 2 + EXIF_HEADER.length + exif.length;
+        final ByteBuffer jpeg = ByteBuffer.allocate(Math.max(size, image.length + segmentLength));
+
+        jpeg.put(image, 0, SOI_LENGTH);
+
+        if (exif != null) {
+            jpeg.putShort((short) APP1_MARKER).putShort((short) (segmentLength - SEGMENT_LENGTH_SIZE));
+            jpeg.put(EXIF_HEADER).put(exif);
+        }
+
+        jpeg.put(image, SOI_LENGTH, image.length - SOI_LENGTH);
+
+        return jpeg.array(); // Any padding follows the end of image marker.
+    }
+
+    /**
+     * Creates the TIFF structure of the EXIF data of a JPEG image, an IFD0 pointing to an ExifSubIFD
+     * holding the DateTimeOriginal.
+     * @param order the byte order of the structure.
+     * @param date the ASCII DateTimeOriginal, {@code "YYYY:MM:DD HH:MM:SS"} followed by a zero byte.
+     * @return the bytes of the structure.
+     */
+    static byte[] createExif(final ByteOrder order, final byte[] date) {
+        final int subIfdOffset = TIFF_HEADER_SIZE + IFD_OVERHEAD + EXIF_IFD0_ENTRIES * IFD_ENTRY_SIZE;
+        final int makeOffset = subIfdOffset + IFD_OVERHEAD + IFD_ENTRY_SIZE;
+        final int dateOffset = makeOffset + MAKE.length;
+        final ByteBuffer tiff = createTiffHeader(order, dateOffset + date.length);
+
+        startIfd(tiff, EXIF_IFD0_ENTRIES);
+        putEntry(tiff, TAG_MAKE, TYPE_ASCII, MAKE.length, makeOffset);
+        putEntry(tiff, TAG_EXIF_SUB_IFD, TYPE_LONG, 1, subIfdOffset);
+        tiff.putInt(0);
+
+        startIfd(tiff, 1);
+        putEntry(tiff, TAG_DATETIME_ORIGINAL, TYPE_ASCII, date.length, dateOffset);
+        tiff.putInt(0);
+
+        return tiff.put(MAKE).put(date).array();
+    }
+
+    /**
+     * Creates a TIFF image of a single strip of grey pixels.
+     * @param order the byte order of the image.
+     * @param date the ASCII DateTimeOriginal, or {@code null} for an image without an ExifSubIFD.
+     * @param size the size to pad the image to by making the strip larger, 0 for its natural size.
+     * @return the bytes of the image.
+     */
+    static byte[] createTiff(final ByteOrder order, final byte[] date, final int size) {
+        final int entries = date == null ? TIFF_IFD0_ENTRIES - 1 : TIFF_IFD0_ENTRIES;
+        final int subIfdOffset = TIFF_HEADER_SIZE + IFD_OVERHEAD + entries * IFD_ENTRY_SIZE;
+        final int makeOffset = subIfdOffset + (date == null ? 0 : IFD_OVERHEAD + IFD_ENTRY_SIZE);
+        final int dateOffset = makeOffset + MAKE.length;
+        final int stripOffset = dateOffset + (date == null ? 0 : date.length);
+        final int stripLength = Math.max(IMAGE_SIZE, size - stripOffset);
+        final ByteBuffer tiff = createTiffHeader(order, stripOffset + stripLength);
+
+        startIfd(tiff, entries);
+        putEntry(tiff, TAG_IMAGE_WIDTH, TYPE_LONG, 1, stripLength);
+        putEntry(tiff, TAG_IMAGE_LENGTH, TYPE_LONG, 1, 1);
+        putShortEntry(tiff, TAG_BITS_PER_SAMPLE, BITS_PER_SAMPLE);
+        putShortEntry(tiff, TAG_COMPRESSION, 1);
+        putShortEntry(tiff, TAG_PHOTOMETRIC, BLACK_IS_ZERO);
+        putEntry(tiff, TAG_MAKE, TYPE_ASCII, MAKE.length, makeOffset);
+        putEntry(tiff, TAG_STRIP_OFFSETS, TYPE_LONG, 1, stripOffset);
+        putShortEntry(tiff, TAG_SAMPLES_PER_PIXEL, 1);
+        putEntry(tiff, TAG_ROWS_PER_STRIP, TYPE_LONG, 1, 1);
+        putEntry(tiff, TAG_STRIP_BYTE_COUNTS, TYPE_LONG, 1, stripLength);
+
+        if (date != null) {
+            putEntry(tiff, TAG_EXIF_SUB_IFD, TYPE_LONG, 1, subIfdOffset);
+            tiff.putInt(0);
+            startIfd(tiff, 1);
+            putEntry(tiff, TAG_DATETIME_ORIGINAL, TYPE_ASCII, date.length, dateOffset);
+        }
+
+        tiff.putInt(0).put(MAKE);
+
+        if (date != null) {
+            tiff.put(date);
+        }
+
+        return tiff.array(); // The strip is left grey, all zero.
+    }
+
+    /**
+     * Picks the year and month of an image by their weights.
+     * @param yearWeights the weight of every year from the first year on.
+     * @return the {@link DateKey} of the year and month.
+     */
+    private int pickDateKey(final double[] yearWeights) {
+        return DateKey.of(firstYear + pick(yearWeights), 1 + pick(MONTH_WEIGHTS));
+    }
+
+    /**
+     * Creates the ASCII DateTimeOriginal of an image in the given month, at a random day and time.
+     * @param dateKey the {@link DateKey} of the year and month.
+     * @return the date, {@code "YYYY:MM:DD HH:MM:SS"} followed by a zero byte.
+     */
+    private byte[] createDate(final int dateKey) {
+        final String date = String.format("%04d:%02d:%02d %02d:%02d:%02d\0", DateKey.year(dateKey),
+            DateKey.month(dateKey), 1 + random.nextInt(DAYS_PER_MONTH), random.nextInt(HOURS_PER_DAY),
+            random.nextInt(MINUTES_PER_HOUR), random.nextInt(MINUTES_PER_HOUR));
+
+        return date.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Picks an index with a chance proportional to its weight.
+     * @param weights the weights of the indexes.
+     * @return the picked index.
+     */
+    private int pick(final double[] weights) {
+        double remaining = random.nextDouble() * Arrays.stream(weights).sum();
+
+        for (int i = 0; i < weights.length - 1; i++) {
+            remaining -= weights[i];
+
+            if (remaining < 0) {
+                return i;
+            }
+        }
+
+        return weights.length - 1;
+    }
+
+    private int pickFileSize() {
+        return maxFileSize == 0 ? 0 : minFileSize + random.nextInt(maxFileSize - minFileSize + 1);
+    }
+
+    private static ByteBuffer createTiffHeader(final ByteOrder order, final int length) {
+        final ByteBuffer tiff = ByteBuffer.allocate(length).order(order);
+        final byte byteOrder = order == ByteOrder.LITTLE_ENDIAN ? (byte) 'I' : (byte) 'M';
+
+        return tiff.put(byteOrder).put(byteOrder).putShort((short) TIFF_MAGIC).putInt(TIFF_HEADER_SIZE);
+    }
+
+    private static void startIfd(final ByteBuffer tiff, final int entries) {
+        tiff.putShort((short) entries);
+    }
+
+    private static void putEntry(final ByteBuffer tiff, final int tag, final int type, final int count,
+            final int value) {
+        tiff.putShort((short) tag).putShort((short) type).putInt(count).putInt(value);
+    }
+
+    private static void putShortEntry(final ByteBuffer tiff, final int tag, final int value) {
+        tiff.putShort((short) tag).putShort((short) TYPE_SHORT).putInt(1).putShort((short) value).putShort((short) 0);
+    }
+
+    /**
+     * Returns the JPEG image every generated JPEG is made from, encoded once by {@link ImageIO}.
+     * @return the bytes of the image, starting with its start of image marker.
+     */
+    private static synchronized byte[] getBaseJpeg() {
+        if (baseJpeg == null) {
+            final ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+
+            try {
+                ImageIO.write(new BufferedImage(IMAGE_SIZE, IMAGE_SIZE, BufferedImage.TYPE_BYTE_GRAY), "jpg", encoded);
+            } catch (final IOException e) {
+                throw new UncheckedIOException(e);
+            }
+
+            baseJpeg = encoded.toByteArray();
+        }
+
+        return baseJpeg;
+    }
+}
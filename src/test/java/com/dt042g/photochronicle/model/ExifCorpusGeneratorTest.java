@@ -0,0 +1,184 @@
+package com.dt042g.photochronicle.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.stream.Stream;
+
+import javax.imageio.ImageIO;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import com.drew.imaging.ImageMetadataReader;
+import com.drew.imaging.ImageProcessingException;
+import com.drew.metadata.Metadata;
+import com.drew.metadata.exif.ExifSubIFDDirectory;
+
+/**
+ * Unit tests for {@link ExifCorpusGenerator}, ensuring that the generated images are valid and hold
+ * the dates the returned corpus tells.
+ * @author Joel Lansgren
+ */
+public class ExifCorpusGeneratorTest {
+    private static final long SEED = 7;
+    private static final int FILES = 400;
+    private static final int MIN_FILE_SIZE = 2000;
+    private static final int MAX_FILE_SIZE = 5000;
+    private static final int DATE_KEY = DateKey.of(2019, 12);
+    private static final byte[] DATE = "2019:12:24 18:30:00\0".getBytes(StandardCharsets.US_ASCII);
+    private static final int READ_LIMIT = 64 * 1024;
+
+    /*======================
+    * Unit Tests
+    ======================*/
+
+    /**
+     * Ensures that a generated JPEG image can be decoded and its date found by both extraction strategies.
+     * @param order the byte order of the EXIF data.
+     * @throws IOException if the image can't be read.
+     * @throws ImageProcessingException if metadata-extractor can't process the image.
+     */
+    @ParameterizedTest
+    @MethodSource("provideByteOrders")
+    void shouldPassIfGeneratedJpegIsValidWithDate(final ByteOrder order) throws IOException, ImageProcessingException {
+        final byte[] jpeg = ExifCorpusGenerator.createJpeg(ExifCorpusGenerator.createExif(order, DATE), 0);
+
+        assertNotNull(ImageIO.read(new ByteArrayInputStream(jpeg)));
+        assertEquals(DATE_KEY, ExifDateParser.parse(jpeg, jpeg.length));
+        assertEquals(expectedDate(), readDate(jpeg));
+    }
+
+    /**
+     * Ensures that the date of a generated TIFF image is found by both extraction strategies.
+     * @param order the byte order of the image.
+     * @throws IOException if the image can't be read.
+     * @throws ImageProcessingException if metadata-extractor can't process the image.
+     */
+    @ParameterizedTest
+    @MethodSource("provideByteOrders")
+    void shouldPassIfGeneratedTiffIsValidWithDate(final ByteOrder order) throws IOException, ImageProcessingException {
+        final byte[] tiff = ExifCorpusGenerator.createTiff(order, DATE, 0);
+
+        assertEquals(DATE_KEY, ExifDateParser.parse(tiff, tiff.length));
+        assertEquals(expectedDate(), readDate(tiff));
+    }
+
+    /**
+     * Ensures that the generated folder holds the requested number of files, split up the way the
+     * corpus tells, and that the images lie within the requested sizes.
+     * @param folder a temporary folder to generate into.
+     * @throws IOException if the folder can't be written or listed.
+     */
+    @Test
+    void shouldPassIfFilesOfTheCorpusAreGenerated(@TempDir final Path folder) throws IOException {
+        final ExifCorpusGenerator.Corpus corpus = new ExifCorpusGenerator(SEED)
+            .setFileSizes(MIN_FILE_SIZE, MAX_FILE_SIZE)
+            .generate(folder, FILES);
+
+        final List<Path> files = list(folder);
+        assertEquals(FILES, files.size());
+        assertEquals(FILES, corpus.sortableFiles() + corpus.invalidFiles());
+        assertEquals(corpus.noiseFiles(), files.stream().filter(file -> file.toString().endsWith(".txt")).count());
+        assertTrue(files.stream()
+            .filter(file -> !file.toString().endsWith(".txt"))
+            .allMatch(file -> sizeOf(file) <= MAX_FILE_SIZE && (sizeOf(file) >= MIN_FILE_SIZE || isCorrupt(file))));
+    }
+
+    /**
+     * Ensures that every generated image has the date the corpus tells, found by the fast parser, and
+     * that the corrupt and undated files have none.
+     * @param folder a temporary folder to generate into.
+     * @throws IOException if the folder can't be written or read.
+     */
+    @Test
+    void shouldPassIfDatesOfTheCorpusMatch(@TempDir final Path folder) throws IOException {
+        final ExifCorpusGenerator.Corpus corpus = new ExifCorpusGenerator(SEED).generate(folder, FILES);
+        final ExifDateParser parser = new ExifDateParser();
+        final BucketIndex dates = new BucketIndex();
+
+        for (final Path file : list(folder)) {
+            final int dateKey = parser.parse(file, READ_LIMIT);
+
+            if (dateKey >= 0) {
+                dates.add(dateKey, file.getFileName().toString());
+            }
+        }
+
+        dates.forEachBucket((names, dateKey) -> assertEquals(corpus.datedFiles().get(dateKey), names.size()));
+        assertEquals(corpus.datedFiles().size(), dates.bucketCount());
+    }
+
+    /**
+     * Ensures that the same seed and settings always give the same corpus.
+     * @param first a temporary folder to generate into.
+     * @param second another temporary folder to generate into.
+     * @throws IOException if the folders can't be written.
+     */
+    @Test
+    void shouldPassIfSameSeedGeneratesSameCorpus(@TempDir final Path first, @TempDir final Path second)
+    throws IOException {
+        assertEquals(
+            new ExifCorpusGenerator(SEED).generate(first, FILES), new ExifCorpusGenerator(SEED).generate(second, FILES)
+        );
+    }
+
+    /**
+     * Ensures that shares that add up to more than every file are rejected.
+     */
+    @Test
+    void shouldPassIfInvalidSharesAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new ExifCorpusGenerator(SEED).setShares(0, 1, 1, 0));
+    }
+
+    /*======================
+    * Helper Methods
+    ======================*/
+
+    private static Stream<ByteOrder> provideByteOrders() {
+        return Stream.of(ByteOrder.LITTLE_ENDIAN, ByteOrder.BIG_ENDIAN);
+    }
+
+    private static LocalDateTime expectedDate() {
+        return LocalDateTime.parse("2019-12-24T18:30:00");
+    }
+
+    private static LocalDateTime readDate(final byte[] image) throws IOException, ImageProcessingException {
+        final Metadata metadata = ImageMetadataReader.readMetadata(new ByteArrayInputStream(image));
+        final ExifSubIFDDirectory directory = metadata.getFirstDirectoryOfType(ExifSubIFDDirectory.class);
+
+        // metadata-extractor reads the date as UTC when no time zone is given.
+        return LocalDateTime.ofInstant(directory.getDateOriginal().toInstant(), ZoneOffset.UTC);
+    }
+
+    private static List<Path> list(final Path folder) throws IOException {
+        try (Stream<Path> contents = Files.list(folder)) {
+            return contents.toList();
+        }
+    }
+
+    private static long sizeOf(final Path file) {
+        return file.toFile().length();
+    }
+
+    private static boolean isCorrupt(final Path file) {
+        try {
+            return ImageIO.read(file.toFile()) == null;
+        } catch (final IOException e) {
+            return true;
+        }
+    }
+}
@@ -0,0 +1,298 @@
+package com.dt042g.photochronicle.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.lang.reflect.Modifier;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import com.drew.imaging.ImageMetadataReader;
+import com.drew.imaging.ImageProcessingException;
+import com.drew.metadata.exif.ExifSubIFDDirectory;
+import com.dt042g.photochronicle.support.ModelConfig;
+
+/**
+ * Unit tests for {@link ExifDateParser}, verifying the fast parser against metadata-extractor on the
+ * test images and against hand made TIFF structures.
+ * @author Joel Lansgren
+ */
+public class ExifDateParserTest {
+    private static final Path PATH_TO_SORT = Paths.get(
+        System.getProperty("user.dir"), "src", "test", "resources", "testSort"
+    );
+    private static final int SUB_IFD_OFFSET = 26;
+    private static final int DATE_OFFSET = 44;
+    private static final int TIFF_LENGTH = 64;
+    private static final int TIFF_DATE_KEY = DateKey.of(2023, 7);
+    private static final int TIFF_MAGIC = 42;
+    private static final int RAW_SUB_IFD_OFFSET = 8 * ModelConfig.DEFAULT_HEADER_READ_LIMIT;
+    private static final int MAX_RAW_BYTES_READ = 1024;
+    private final ExifDateParser parser = new ExifDateParser();
+
+    /*========================
+    * Design Integrity Tests
+    ========================*/
+
+    /**
+     * Test to ensure that the class is final, preventing it to be subclassed.
+     */
+    @Test
+    void shouldPassIfClassIsFinal() {
+        assertTrue(Modifier.isFinal(ExifDateParser.class.getModifiers()));
+    }
+
+    /*======================
+    * Unit Tests
+    ======================*/
+
+    /**
+     * Ensures that the parser finds the year and month of the test images.
+     * @param fileName the name of the test image.
+     * @param year the expected year.
+     * @param month the expected month.
+     * @throws IOException if the image can't be read.
+     */
+    @ParameterizedTest
+    @CsvSource({"001.jpg, 2025, 3", "002.jpg, 2025, 3", "003.jpg, 2024, 8", "004.jpg, 2023, 6", "005.jpg, 2023, 6"})
+    void shouldPassIfDateOfTestImagesIsParsed(final String fileName, final int year, final int month)
+    throws IOException {
+        assertEquals(
+            DateKey.of(year, month),
+            parser.parse(PATH_TO_SORT.resolve(fileName), ModelConfig.DEFAULT_HEADER_READ_LIMIT)
+        );
+    }
+
+    /**
+     * Ensures that the parser agrees with the DateTimeOriginal string read by metadata-extractor.
+     * @param fileName the name of the test image.
+     * @throws IOException if the image can't be read.
+     * @throws ImageProcessingException if metadata-extractor can't process the image.
+     */
+    @ParameterizedTest
+    @ValueSource(strings = {"001.jpg", "002.jpg", "003.jpg", "004.jpg", "005.jpg"})
+    void shouldPassIfParserAgreesWithMetadataExtractor(final String fileName)
+    throws IOException, ImageProcessingException {
+        final Path file = PATH_TO_SORT.resolve(fileName);
+        final byte[] expected = ImageMetadataReader.readMetadata(file.toFile())
+                .getFirstDirectoryOfType(ExifSubIFDDirectory.class)
+                .getString(ExifSubIFDDirectory.TAG_DATETIME_ORIGINAL)
+                .getBytes(StandardCharsets.US_ASCII);
+
+        assertEquals(
+            ExifDateParser.parseDate(expected, 0, expected.length),
+            parser.parse(file, ModelConfig.DEFAULT_HEADER_READ_LIMIT)
+        );
+    }
+
+    /**
+     * Ensures that files that aren't JPEG or TIFF images are handed on to metadata-extractor.
+     * @param fileName the name of the test file.
+     * @throws IOException if the file can't be read.
+     */
+    @ParameterizedTest
+    @ValueSource(strings = {"dummyText.txt", "noDateImage.bmp"})
+    void shouldPassIfOtherFormatsAreUnresolved(final String fileName) throws IOException {
+        assertEquals(
+            ExifDateParser.UNRESOLVED,
+            parser.parse(PATH_TO_SORT.resolve(fileName), ModelConfig.DEFAULT_HEADER_READ_LIMIT)
+        );
+    }
+
+    /**
+     * Ensures that loading a file sniffs its type, and that the loaded header parses to the same date.
+     * @param fileName the name of the test file.
+     * @param type the expected type of the file.
+     * @throws IOException if the file can't be read.
+     */
+    @ParameterizedTest
+    @CsvSource({"001.jpg, JPEG", "004.jpg, JPEG", "dummyText.txt, UNKNOWN", "noDateImage.bmp, BMP"})
+    void shouldPassIfTypeIsSniffedWhenLoading(final String fileName, final FileType type) throws IOException {
+        final Path file = PATH_TO_SORT.resolve(fileName);
+
+        assertEquals(type, parser.load(file, ModelConfig.DEFAULT_HEADER_READ_LIMIT));
+        assertEquals(parser.parseLoaded(), new ExifDateParser().parse(file, ModelConfig.DEFAULT_HEADER_READ_LIMIT));
+    }
+
+    /**
+     * Ensures that EXIF data cut off by the read limit is handed on to metadata-extractor.
+     * @throws IOException if the image can't be read.
+     */
+    @Test
+    void shouldPassIfExifBeyondReadLimitIsUnresolved() throws IOException {
+        final int readLimit = 64;
+        assertEquals(ExifDateParser.UNRESOLVED, parser.parse(PATH_TO_SORT.resolve("001.jpg"), readLimit));
+    }
+
+    /**
+     * Ensures that a JPEG whose image data starts without any EXIF segment has no date.
+     */
+    @Test
+    void shouldPassIfJpegWithoutExifHasNoDate() {
+        final byte[] jpeg = {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF, (byte) 0xDA, 0, 2};
+        assertEquals(DateKey.NONE, ExifDateParser.parse(jpeg, jpeg.length));
+    }
+
+    /**
+     * Ensures that the IFD chain is walked in both byte orders.
+     * @param byteOrder the name of the byte order of the TIFF structure.
+     */
+    @ParameterizedTest
+    @ValueSource(strings = {"LITTLE_ENDIAN", "BIG_ENDIAN"})
+    void shouldPassIfTiffIsParsedInBothByteOrders(final String byteOrder) {
+        final ByteOrder order = "BIG_ENDIAN".equals(byteOrder) ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN;
+        final byte[] tiff = createTiff(order, true);
+
+        assertEquals(TIFF_DATE_KEY, ExifDateParser.parse(tiff, tiff.length));
+    }
+
+    /**
+     * Ensures that a TIFF without an EXIF SubIFD has no date.
+     */
+    @Test
+    void shouldPassIfTiffWithoutExifSubIfdHasNoDate() {
+        final byte[] tiff = createTiff(ByteOrder.LITTLE_ENDIAN, false);
+        assertEquals(DateKey.NONE, ExifDateParser.parse(tiff, tiff.length));
+    }
+
+    /**
+     * Ensures that a SubIFD beyond the available data is handed on to metadata-extractor.
+     */
+    @Test
+    void shouldPassIfSubIfdBeyondDataIsUnresolved() {
+        final byte[] tiff = createTiff(ByteOrder.LITTLE_ENDIAN, true);
+        assertEquals(ExifDateParser.UNRESOLVED, ExifDateParser.parse(tiff, SUB_IFD_OFFSET));
+    }
+
+    /**
+     * Ensures that the date of a raw image is found with positional reads of a few bytes, even though
+     * its ExifSubIFD lies far beyond the header read limit.
+     * @param byteOrder the name of the byte order of the image.
+     * @param magic the magic number of the image, 42 for TIFF, CR2, NEF, ARW and DNG, or that of ORF or RW2.
+     * @param tempDir the folder to write the image to.
+     * @throws IOException if the image can't be read.
+     */
+    @ParameterizedTest
+    @CsvSource({"LITTLE_ENDIAN, 42", "BIG_ENDIAN, 42", "LITTLE_ENDIAN, 20306", "LITTLE_ENDIAN, 85"})
+    void shouldPassIfRawIsParsedByPositionalReads(final String byteOrder, final int magic, @TempDir final Path tempDir)
+    throws IOException {
+        final ByteOrder order = "BIG_ENDIAN".equals(byteOrder) ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN;
+        final Path file = tempDir.resolve("image.raw");
+        Files.write(file, createTiff(order, magic, RAW_SUB_IFD_OFFSET, true));
+
+        assertEquals(FileType.TIFF, parser.load(file, ModelConfig.DEFAULT_HEADER_READ_LIMIT));
+        assertEquals(TIFF_DATE_KEY, parser.parseLoaded());
+        assertTrue(parser.loadedLength() < MAX_RAW_BYTES_READ);
+    }
+
+    /**
+     * Ensures that a raw image cut off before its ExifSubIFD is handed on to metadata-extractor.
+     * @param tempDir the folder to write the image to.
+     * @throws IOException if the image can't be read.
+     */
+    @Test
+    void shouldPassIfTruncatedRawIsUnresolved(@TempDir final Path tempDir) throws IOException {
+        final Path file = tempDir.resolve("image.raw");
+        Files.write(file, Arrays.copyOf(
+            createTiff(ByteOrder.LITTLE_ENDIAN, TIFF_MAGIC, RAW_SUB_IFD_OFFSET, true), RAW_SUB_IFD_OFFSET
+        ));
+
+        assertEquals(ExifDateParser.UNRESOLVED, parser.parse(file, ModelConfig.DEFAULT_HEADER_READ_LIMIT));
+    }
+
+    /**
+     * Ensures that only the signature of a TIFF image is read when the read limit doesn't go beyond it.
+     * @param tempDir the folder to write the image to.
+     * @throws IOException if the image can't be read.
+     */
+    @Test
+    void shouldPassIfTiffIsOnlySniffedWithinSignatureLength(@TempDir final Path tempDir) throws IOException {
+        final Path file = tempDir.resolve("image.tif");
+        Files.write(file, createTiff(ByteOrder.LITTLE_ENDIAN, true));
+
+        assertEquals(FileType.TIFF, parser.load(file, FileType.SIGNATURE_LENGTH));
+        assertEquals(ExifDateParser.UNRESOLVED, parser.parseLoaded());
+        assertEquals(FileType.SIGNATURE_LENGTH, parser.loadedLength());
+    }
+
+    /**
+     * Ensures that blank or malformed date values are treated as missing dates.
+     * @param value the date value to parse.
+     */
+    @ParameterizedTest
+    @ValueSource(strings = {"    :  :     :  :  ", "2023:13:01 00:00:00", "20230714", "2023"})
+    void shouldPassIfMalformedValuesHaveNoDate(final String value) {
+        final byte[] bytes = value.getBytes(StandardCharsets.US_ASCII);
+        assertEquals(DateKey.NONE, ExifDateParser.parseDate(bytes, 0, bytes.length));
+    }
+
+    /*======================
+    * Helper Methods
+    ======================*/
+
+    /**
+     * Creates a minimal TIFF structure with an IFD0 that optionally points to a SubIFD holding a
+     * DateTimeOriginal of 2023:07:14.
+     * @param order the byte order of the TIFF structure.
+     * @param withSubIfd whether IFD0 points to a SubIFD.
+     * @return the bytes of the TIFF structure.
+     */
+    private byte[] createTiff(final ByteOrder order, final boolean withSubIfd) {
+        return createTiff(order, TIFF_MAGIC, SUB_IFD_OFFSET, withSubIfd);
+    }
+
+    /**
+     * Creates a minimal TIFF structure like {@link #createTiff(ByteOrder, boolean)}, but with the SubIFD
+     * at the given offset, as in raw images where it may follow megabytes of image data.
+     * @param order the byte order of the TIFF structure.
+     * @param magic the magic number following the byte order.
+     * @param subIfdOffset the offset of the SubIFD, at least {@link #SUB_IFD_OFFSET}.
+     * @param withSubIfd whether IFD0 points to a SubIFD.
+     * @return the bytes of the TIFF structure.
+     */
+    private byte[] createTiff(final ByteOrder order, final int magic, final int subIfdOffset,
+            final boolean withSubIfd) {
+        final int tagExifSubIfd = 0x8769;
+        final int tagDateTimeOriginal = 0x9003;
+        final int tagOrientation = 0x0112;
+        final int formatShort = 3;
+        final int formatLong = 4;
+        final int formatAscii = 2;
+        final int firstIfdOffset = 8;
+        final byte[] date = "2023:07:14 10:15:22\0".getBytes(StandardCharsets.US_ASCII);
+        final int shift = subIfdOffset - SUB_IFD_OFFSET;
+        final ByteBuffer buffer = ByteBuffer.allocate(TIFF_LENGTH + shift).order(order);
+
+        buffer.put(order == ByteOrder.LITTLE_ENDIAN ? (byte) 'I' : (byte) 'M');
+        buffer.put(order == ByteOrder.LITTLE_ENDIAN ? (byte) 'I' : (byte) 'M');
+        buffer.putShort((short) magic).putInt(firstIfdOffset);
+
+        buffer.putShort((short) 1);
+        if (withSubIfd) {
+            buffer.putShort((short) tagExifSubIfd).putShort((short) formatLong).putInt(1).putInt(subIfdOffset);
+        } else {
+            buffer.putShort((short) tagOrientation).putShort((short) formatShort).putInt(1).putInt(1);
+        }
+        buffer.putInt(0);
+
+        buffer.position(subIfdOffset).putShort((short) 1);
+        buffer.putShort((short) tagDateTimeOriginal).putShort((short) formatAscii).putInt(date.length)
+                .putInt(DATE_OFFSET + shift);
+        buffer.putInt(0);
+        buffer.put(date);
+
+        return buffer.array();
+    }
+}
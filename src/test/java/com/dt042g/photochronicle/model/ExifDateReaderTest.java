@@ -0,0 +1,217 @@
+package com.dt042g.photochronicle.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.lang.reflect.Modifier;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Date;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import com.drew.imaging.ImageMetadataReader;
+import com.drew.imaging.ImageProcessingException;
+import com.drew.imaging.jpeg.JpegMetadataReader;
+import com.drew.imaging.tiff.TiffMetadataReader;
+import com.drew.metadata.Metadata;
+import com.drew.metadata.exif.ExifSubIFDDirectory;
+import com.drew.metadata.exif.ExifThumbnailDirectory;
+import com.drew.metadata.exif.GpsDirectory;
+import com.dt042g.photochronicle.support.ModelConfig;
+
+/**
+ * Unit tests for {@link ExifDateReader}, ensuring that it finds the same original date as the full
+ * readers of metadata-extractor while leaving out the directories the date doesn't need.
+ * @author Joel Lansgren
+ */
+public class ExifDateReaderTest {
+    private static final Path PATH_TO_SORT = Paths.get(
+        System.getProperty("user.dir"), "src", "test", "resources", "testSort"
+    );
+    private static final byte[] DATE = "2019:12:24 18:30:00\0".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] MAKER_NOTE = "Unknown\0".getBytes(StandardCharsets.US_ASCII);
+    private static final int HEADER_SIZE = 8;
+    private static final int IFD_OVERHEAD = 6;
+    private static final int ENTRY_SIZE = 12;
+    private static final int TIFF_MAGIC = 0x2A;
+    private static final int TAG_COMPRESSION = 0x0103;
+    private static final int TAG_EXIF_SUB_IFD = 0x8769;
+    private static final int TAG_GPS_IFD = 0x8825;
+    private static final int TAG_GPS_VERSION = 0x0000;
+    private static final int TAG_DATETIME_ORIGINAL = 0x9003;
+    private static final int TAG_MAKERNOTE = 0x927C;
+    private static final int TYPE_BYTE = 1;
+    private static final int TYPE_ASCII = 2;
+    private static final int TYPE_SHORT = 3;
+    private static final int TYPE_LONG = 4;
+    private static final int TYPE_UNDEFINED = 7;
+    private static final int GPS_VERSION = 0x02020000;
+    private static final int JPEG_COMPRESSION = 6;
+
+    /*========================
+    * Design Integrity Tests
+    ========================*/
+
+    /**
+     * Test to ensure that the class is final, preventing it to be subclassed.
+     */
+    @Test
+    void shouldPassIfClassIsFinal() {
+        assertTrue(Modifier.isFinal(ExifDateReader.class.getModifiers()));
+    }
+
+    /*======================
+    * Unit Tests
+    ======================*/
+
+    /**
+     * Ensures that the original date of the sample images equals the one from a full read, both when the
+     * whole image and only its header is read.
+     * @param fileName the name of the test image.
+     * @throws IOException if the image can't be read.
+     * @throws ImageProcessingException if metadata-extractor can't process the image.
+     */
+    @ParameterizedTest
+    @MethodSource("provideTestImages")
+    void shouldPassIfSameDateIsFoundAsByFullRead(final String fileName) throws IOException, ImageProcessingException {
+        final Path file = PATH_TO_SORT.resolve(fileName);
+        final Metadata full = ImageMetadataReader.readMetadata(file.toFile());
+        final Metadata header = HeaderMetadataReader.read(file, ModelConfig.DEFAULT_HEADER_READ_LIMIT, true);
+
+        assertNotNull(header);
+        assertEquals(readDate(full), readDate(ExifDateReader.readJpeg(file.toFile())));
+        assertEquals(readDate(full), readDate(header));
+    }
+
+    /**
+     * Ensures that the GPS, thumbnail and maker note data of a JPEG image is skipped.
+     * @param tempDir the folder to write the image to.
+     * @throws IOException if the image can't be read.
+     * @throws ImageProcessingException if metadata-extractor can't process the image.
+     */
+    @Test
+    void shouldPassIfDirectoriesNotHoldingDateInJpegAreSkipped(@TempDir final Path tempDir)
+    throws IOException, ImageProcessingException {
+        final Path file = tempDir.resolve("image.jpg");
+        Files.write(file, ExifCorpusGenerator.createJpeg(createExif(), 0));
+
+        assertSkipped(JpegMetadataReader.readMetadata(file.toFile()), ExifDateReader.readJpeg(file.toFile()));
+    }
+
+    /**
+     * Ensures that the GPS, thumbnail and maker note data of a TIFF image is skipped.
+     * @param tempDir the folder to write the image to.
+     * @throws IOException if the image can't be read.
+     * @throws ImageProcessingException if metadata-extractor can't process the image.
+     */
+    @Test
+    void shouldPassIfDirectoriesNotHoldingDateInTiffAreSkipped(@TempDir final Path tempDir)
+    throws IOException, ImageProcessingException {
+        final Path file = tempDir.resolve("image.tif");
+        Files.write(file, createExif());
+
+        assertSkipped(TiffMetadataReader.readMetadata(file.toFile()), ExifDateReader.readTiff(file.toFile()));
+    }
+
+    /**
+     * Ensures that a JPEG image without EXIF data gives no date.
+     * @param tempDir the folder to write the image to.
+     * @throws IOException if the image can't be read.
+     * @throws ImageProcessingException if metadata-extractor can't process the image.
+     */
+    @Test
+    void shouldPassIfNoDateIsFoundWithoutExif(@TempDir final Path tempDir)
+    throws IOException, ImageProcessingException {
+        final Path file = tempDir.resolve("image.jpg");
+        Files.write(file, ExifCorpusGenerator.createJpeg(null, 0));
+
+        assertNull(readDate(ExifDateReader.readJpeg(file.toFile())));
+    }
+
+    /*======================
+    * Helper Methods
+    ======================*/
+
+    private static Stream<String> provideTestImages() {
+        return Stream.of("001.jpg", "002.jpg", "003.jpg", "004.jpg", "005.jpg");
+    }
+
+    private static void assertSkipped(final Metadata full, final Metadata exifOnly) {
+        final ExifSubIFDDirectory subIfd = exifOnly.getFirstDirectoryOfType(ExifSubIFDDirectory.class);
+
+        assertNotNull(full.getFirstDirectoryOfType(GpsDirectory.class));
+        assertNotNull(full.getFirstDirectoryOfType(ExifThumbnailDirectory.class));
+        assertTrue(full.getFirstDirectoryOfType(ExifSubIFDDirectory.class).containsTag(TAG_MAKERNOTE));
+
+        assertEquals(readDate(full), readDate(exifOnly));
+        assertNull(exifOnly.getFirstDirectoryOfType(GpsDirectory.class));
+        assertNull(exifOnly.getFirstDirectoryOfType(ExifThumbnailDirectory.class));
+        assertFalse(subIfd.containsTag(TAG_MAKERNOTE));
+        assertFalse(subIfd.hasErrors());
+    }
+
+    private static Date readDate(final Metadata metadata) {
+        final ExifSubIFDDirectory directory = metadata.getFirstDirectoryOfType(ExifSubIFDDirectory.class);
+
+        return directory == null ? null : directory.getDateOriginal();
+    }
+
+    /**
+     * Creates a TIFF structure whose IFD0 points to an ExifSubIFD holding the date and a maker note, to
+     * a GPS IFD and to an IFD1 describing a thumbnail.
+     * @return the bytes of the structure.
+     */
+    private static byte[] createExif() {
+        final int subIfdOffset = HEADER_SIZE + IFD_OVERHEAD + 2 * ENTRY_SIZE;
+        final int gpsOffset = subIfdOffset + IFD_OVERHEAD + 2 * ENTRY_SIZE;
+        final int ifd1Offset = gpsOffset + IFD_OVERHEAD + ENTRY_SIZE;
+        final int dateOffset = ifd1Offset + IFD_OVERHEAD + ENTRY_SIZE;
+        final int makerNoteOffset = dateOffset + DATE.length;
+        final ByteBuffer tiff = ByteBuffer.allocate(makerNoteOffset + MAKER_NOTE.length)
+                .order(ByteOrder.LITTLE_ENDIAN);
+
+        tiff.put((byte) 'I').put((byte) 'I').putShort((short) TIFF_MAGIC).putInt(HEADER_SIZE);
+
+        tiff.putShort((short) 2);
+        putEntry(tiff, TAG_EXIF_SUB_IFD, TYPE_LONG, 1, subIfdOffset);
+        putEntry(tiff, TAG_GPS_IFD, TYPE_LONG, 1, gpsOffset);
+        tiff.putInt(ifd1Offset);
+
+        tiff.putShort((short) 2);
+        putEntry(tiff, TAG_DATETIME_ORIGINAL, TYPE_ASCII, DATE.length, dateOffset);
+        putEntry(tiff, TAG_MAKERNOTE, TYPE_UNDEFINED, MAKER_NOTE.length, makerNoteOffset);
+        tiff.putInt(0);
+
+        tiff.putShort((short) 1);
+        tiff.order(ByteOrder.BIG_ENDIAN); // The four version bytes are stored in order.
+        putEntry(tiff, TAG_GPS_VERSION, TYPE_BYTE, Integer.BYTES, GPS_VERSION);
+        tiff.order(ByteOrder.LITTLE_ENDIAN).putInt(0);
+
+        tiff.putShort((short) 1);
+        putEntry(tiff, TAG_COMPRESSION, TYPE_SHORT, 1, JPEG_COMPRESSION);
+        tiff.putInt(0);
+
+        return tiff.put(DATE).put(MAKER_NOTE).array();
+    }
+
+    private static void putEntry(final ByteBuffer tiff, final int tag, final int type, final int count,
+            final int value) {
+        final ByteOrder order = tiff.order();
+
+        tiff.order(ByteOrder.LITTLE_ENDIAN).putShort((short) tag).putShort((short) type).putInt(count);
+        tiff.order(order).putInt(value);
+    }
+}
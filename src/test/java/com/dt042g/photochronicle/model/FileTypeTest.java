@@ -0,0 +1,131 @@
+package com.dt042g.photochronicle.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.EnumSet;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.EnumSource;
+
+/**
+ * Unit tests for {@link FileType}, verifying that the signatures of the supported and rejected formats
+ * are told apart.
+ * @author Joel Lansgren
+ */
+public class FileTypeTest {
+    private static final Set<FileType> SUPPORTED_TYPES = EnumSet.of(
+        FileType.JPEG, FileType.TIFF, FileType.PNG, FileType.WEBP, FileType.HEIF, FileType.MP4,
+        FileType.QUICKTIME, FileType.PSD, FileType.RAF
+    );
+
+    /*======================
+    * Unit Tests
+    ======================*/
+
+    /**
+     * Ensures that the signatures of the known formats are sniffed, given as ISO-8859-1 text where
+     * {@code ~} stands for a zero byte.
+     * @param signature the leading bytes of the file.
+     * @param expected the type the signature belongs to.
+     */
+    @ParameterizedTest
+    @CsvSource({
+        "'\u00FF\u00D8\u00FF\u00E1', JPEG",
+        "'II*~\u0008~~~', TIFF",
+        "'MM~*~~~\u0008', TIFF",
+        "'IIRO\u0008~~~', TIFF",
+        "'IIU~\u0018~~~', TIFF",
+        "'\u0089PNG\r\n\u001A\n', PNG",
+        "'RIFF~~~~WEBPVP8 ', WEBP",
+        "'~~~~ftypheic~~~~', HEIF",
+        "'~~~~ftypavif~~~~', HEIF",
+        "'8BPS~\u0001', PSD",
+        "'FUJIFILMCCD-RAW ', RAF",
+        "'GIF89a', GIF",
+        "'BM~~~~', BMP",
+        "'~~~~ftypisom~~~~', MP4",
+        "'~~~~ftypmp42~~~~', MP4",
+        "'~~~~ftypM4V ~~~~', MP4",
+        "'~~~~ftypqt  ~~~~', QUICKTIME",
+        "'~~~~moov', QUICKTIME",
+        "'~~~~mdat', QUICKTIME",
+        "'RIFF~~~~AVI LIST', VIDEO",
+        "'\u001AE\u00DF\u00A3', VIDEO",
+        "'<?xpacket begin=', SIDECAR",
+        "'<x:xmpmeta xmlns', SIDECAR",
+        "'Hello Universe!!', UNKNOWN",
+        "'RIFF~~~~WAVEfmt ', UNKNOWN",
+        "'~~~~ftypM4A ~~~~', UNKNOWN",
+        "'~~~~ftypM4B ~~~~', UNKNOWN",
+        "'~~~~ftyp3gp5~~~~', UNKNOWN",
+        "'~~~~ftypcrx ~~~~', UNKNOWN",
+        "'\u00FF\u00D8', UNKNOWN"
+    })
+    void shouldPassIfSignatureIsSniffed(final String signature, final FileType expected) {
+        final byte[] header = signature.replace('~', '\u0000').getBytes(StandardCharsets.ISO_8859_1);
+
+        assertEquals(expected, FileType.sniff(header, header.length));
+    }
+
+    /**
+     * Ensures that the type of a file is told by its extension, in any case.
+     * @param name the name of the file.
+     * @param expected the type of the extension.
+     */
+    @ParameterizedTest
+    @CsvSource({
+        "IMG_0001.JPG, JPEG", "DSC00042.arw, TIFF", "photo.heic, HEIF", "clip.mp4, MP4", "clip.MOV, QUICKTIME",
+        "notes.txt, UNKNOWN", "invoice.pdf, UNKNOWN", "README, UNKNOWN", "song.m4a, UNKNOWN", "image.gif, GIF"
+    })
+    void shouldPassIfTypeIsToldByExtension(final String name, final FileType expected) {
+        assertEquals(expected, FileType.ofExtension(name));
+    }
+
+    /**
+     * Ensures that only the valid bytes of the header are looked at.
+     */
+    @Test
+    void shouldPassIfBytesBeyondLengthAreIgnored() {
+        final byte[] header = "8BPS".getBytes(StandardCharsets.ISO_8859_1);
+
+        assertEquals(FileType.UNKNOWN, FileType.sniff(header, header.length - 1));
+        assertEquals(FileType.UNKNOWN, FileType.sniff(new byte[0], 0));
+    }
+
+    /**
+     * Ensures that only the formats that may hold an original date are supported.
+     * @param type the type to check.
+     */
+    @ParameterizedTest
+    @EnumSource(FileType.class)
+    void shouldPassIfOnlyFormatsWithExifAreSupported(final FileType type) {
+        assertEquals(SUPPORTED_TYPES.contains(type), type.isSupported());
+    }
+
+    /**
+     * Ensures that only ISO base media files have their boxes walked.
+     * @param type the type to check.
+     */
+    @ParameterizedTest
+    @EnumSource(FileType.class)
+    void shouldPassIfOnlyBoxesOfIsoBaseMediaFilesAreWalked(final FileType type) {
+        assertEquals(EnumSet.of(FileType.HEIF, FileType.MP4, FileType.QUICKTIME).contains(type), type.isBoxBased());
+    }
+
+    /**
+     * Ensures that only JPEG and TIFF files are handed to the parsers of leading EXIF data.
+     */
+    @Test
+    void shouldPassIfOnlyJpegAndTiffHaveLeadingExif() {
+        assertTrue(FileType.JPEG.hasLeadingExif());
+        assertTrue(FileType.TIFF.hasLeadingExif());
+        assertFalse(FileType.HEIF.hasLeadingExif());
+        assertFalse(FileType.PNG.hasLeadingExif());
+    }
+}
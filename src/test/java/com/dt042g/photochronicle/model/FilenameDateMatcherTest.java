@@ -0,0 +1,109 @@
+package com.dt042g.photochronicle.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Modifier;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Unit tests for {@link FilenameDateMatcher}, ensuring that the dates the cameras and apps put in the names
+ * of their files are found, while other names are left to the metadata.
+ * @author Joel Lansgren
+ */
+public class FilenameDateMatcherTest {
+    private static final int YEAR = 2023;
+    private static final int MONTH = 7;
+
+    /*========================
+    * Design Integrity Tests
+    ========================*/
+
+    /**
+     * Test to ensure that the class is final, preventing it to be subclassed.
+     */
+    @Test
+    void shouldPassIfClassIsFinal() {
+        assertTrue(Modifier.isFinal(FilenameDateMatcher.class.getModifiers()));
+    }
+
+    /**
+     * Test to ensure that the utility class can't be instantiated.
+     * @throws NoSuchMethodException if the constructor is not found.
+     */
+    @Test
+    void shouldPassIfInstantiationThrowsIllegalStateException() throws NoSuchMethodException {
+        final Constructor<FilenameDateMatcher> constructor = FilenameDateMatcher.class.getDeclaredConstructor();
+        constructor.setAccessible(true);
+
+        try {
+            constructor.newInstance();
+        } catch (final InvocationTargetException | InstantiationException | IllegalAccessException e) {
+            assertEquals(IllegalStateException.class, e.getCause().getClass());
+        }
+    }
+
+    /*======================
+    * Unit Tests
+    ======================*/
+
+    /**
+     * Ensures that the date is found in the names given by the known cameras and apps.
+     * @param name the name of the file.
+     * @param year the year encoded in the name.
+     * @param month the month encoded in the name.
+     */
+    @ParameterizedTest
+    @CsvSource({
+        "IMG_20230714_101522.jpg, 2023, 7",
+        "img_20230714_101522.JPG, 2023, 7",
+        "VID_20221231_235959.mp4, 2022, 12",
+        "PXL_20230101_081500123.jpg, 2023, 1",
+        "MVIMG_20190228_120000.jpg, 2019, 2",
+        "IMG-20200315-WA0007.jpg, 2020, 3",
+        "VID-20200315-WA0001.mp4, 2020, 3",
+        "Screenshot_20210930-101522.png, 2021, 9",
+        "Screenshot_2023-07-14-10-15-22.png, 2023, 7",
+        "Screenshot 2024-02-29 at 10.15.22.png, 2024, 2",
+        "Screen Shot 2018-11-05 at 09.00.00.png, 2018, 11",
+        "WhatsApp Image 2022-06-01 at 12.00.00.jpeg, 2022, 6",
+        "WhatsApp Video 2022-06-01 at 12.00.00.mp4, 2022, 6",
+        "PHOTO-2021-08-09-18-30-00.jpg, 2021, 8",
+        "20230714_101522.jpg, 2023, 7"
+    })
+    void shouldPassIfDateIsFoundInKnownNames(final String name, final int year, final int month) {
+        assertEquals(DateKey.of(year, month), FilenameDateMatcher.match(name));
+    }
+
+    /**
+     * Ensures that names matching no pattern, or holding an impossible date, give no date.
+     * @param name the name of the file.
+     */
+    @ParameterizedTest
+    @ValueSource(strings = {
+        "", "001.jpg", "IMG_0000123.jpg", "IMG_1234.JPG", "DSC00042.ARW", "IMG_20231314_101522.jpg",
+        "IMG_20230700_101522.jpg", "IMG_18991231_101522.jpg", "IMG_2023O714_101522.jpg", "IMG_20230714.jpg",
+        "Screenshot_2023_07_14.png", "holiday 20230714_1.jpg", "ÅIMG_20230714_101522.jpg", "20230714_invoice.pdf",
+        "20230714_1015.jpg"
+    })
+    void shouldPassIfNoDateIsFoundInOtherNames(final String name) {
+        assertEquals(DateKey.NONE, FilenameDateMatcher.match(name));
+    }
+
+    /**
+     * Ensures that a name far longer than any pattern is rejected by the first characters it differs in.
+     */
+    @Test
+    void shouldPassIfLongNamesAreMatchedByTheirStart() {
+        final String tail = "x".repeat(1024);
+
+        assertEquals(DateKey.of(YEAR, MONTH), FilenameDateMatcher.match("IMG_20230714_" + tail));
+        assertEquals(DateKey.NONE, FilenameDateMatcher.match("IMG_2023071" + tail));
+    }
+}
@@ -0,0 +1,163 @@
+package com.dt042g.photochronicle.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.lang.reflect.Modifier;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.dt042g.photochronicle.support.ModelConfig;
+
+/**
+ * Unit tests for {@link FolderWatcher}, ensuring that files are only handed on once they have settled.
+ * @author Joel Lansgren
+ */
+public class FolderWatcherTest {
+    private static final long START = 1_000_000L;
+    private static final int TIMEOUT_SECONDS = 30;
+
+    @TempDir
+    private Path folder;
+
+    /*========================
+    * Design Integrity Tests
+    ========================*/
+
+    /**
+     * Test to ensure that the class is final, preventing it to be subclassed.
+     */
+    @Test
+    void shouldPassIfClassIsFinal() {
+        assertTrue(Modifier.isFinal(FolderWatcher.class.getModifiers()));
+    }
+
+    /*======================
+    * Unit Tests
+    ======================*/
+
+    /**
+     * Ensures that a file is only handed on when it hasn't changed for the settle time.
+     * @throws IOException if the test file can't be written.
+     */
+    @Test
+    void shouldPassIfFileIsHandedOnOnceSettled() throws IOException {
+        final FolderWatcher watcher = createWatcher();
+        final Path file = Files.writeString(folder.resolve("001.jpg"), "data");
+
+        watcher.offer(file, START);
+
+        assertEquals(List.of(), watcher.drainSettled(START));
+        assertEquals(List.of(), watcher.drainSettled(START + ModelConfig.WATCH_SETTLE_MILLIS - 1));
+        assertEquals(List.of(file), watcher.drainSettled(START + ModelConfig.WATCH_SETTLE_MILLIS));
+        assertEquals(0, watcher.pendingCount());
+    }
+
+    /**
+     * Ensures that a file that is still growing is held back until it stops changing.
+     * @throws IOException if the test file can't be written.
+     */
+    @Test
+    void shouldPassIfGrowingFileIsHeldBack() throws IOException {
+        final FolderWatcher watcher = createWatcher();
+        final Path file = Files.writeString(folder.resolve("001.jpg"), "data");
+
+        watcher.offer(file, START);
+        watcher.drainSettled(START);
+        Files.writeString(file, "more data");
+
+        final long changedAt = START + ModelConfig.WATCH_SETTLE_MILLIS;
+        assertEquals(List.of(), watcher.drainSettled(changedAt));
+        assertEquals(List.of(file), watcher.drainSettled(changedAt + ModelConfig.WATCH_SETTLE_MILLIS));
+    }
+
+    /**
+     * Ensures that files that are removed before settling and directories are dropped.
+     * @throws IOException if the test files can't be created.
+     */
+    @Test
+    void shouldPassIfRemovedFilesAndDirectoriesAreDropped() throws IOException {
+        final FolderWatcher watcher = createWatcher();
+        final Path file = Files.writeString(folder.resolve("001.jpg"), "data");
+        final Path directory = Files.createDirectory(folder.resolve("2025"));
+
+        watcher.offer(file, START);
+        watcher.offer(directory, START);
+        Files.delete(file);
+
+        assertEquals(List.of(), watcher.drainSettled(START + ModelConfig.WATCH_SETTLE_MILLIS));
+        assertEquals(0, watcher.pendingCount());
+    }
+
+    /**
+     * Ensures that the cache file, and a target folder within the watched folder or the directory holding
+     * it, are never handed on, while the other entries are.
+     */
+    @Test
+    void shouldPassIfTargetFolderIsIgnored() {
+        final Path output = folder.resolve("output");
+        final FolderWatcher watcher = new FolderWatcher(folder, output.resolve("sorted"), files -> { }, e -> { });
+
+        assertTrue(watcher.isIgnored(output));
+        assertTrue(watcher.isIgnored(folder.resolve(ModelConfig.CACHE_FILE_NAME)));
+        assertFalse(watcher.isIgnored(folder.resolve("001.jpg")));
+        assertFalse(watcher.isIgnored(folder.resolve("2025")));
+    }
+
+    /**
+     * Ensures that no more than a batch of files is handed on at a time.
+     * @throws IOException if the test files can't be written.
+     */
+    @Test
+    void shouldPassIfBatchSizeIsLimited() throws IOException {
+        final FolderWatcher watcher = createWatcher();
+
+        for (int i = 0; i <= ModelConfig.WATCH_BATCH_SIZE; i++) {
+            watcher.offer(Files.writeString(folder.resolve(i + ".jpg"), "data"), START);
+        }
+
+        watcher.drainSettled(START);
+
+        assertEquals(
+            ModelConfig.WATCH_BATCH_SIZE, watcher.drainSettled(START + ModelConfig.WATCH_SETTLE_MILLIS).size()
+        );
+        assertEquals(1, watcher.drainSettled(START + ModelConfig.WATCH_SETTLE_MILLIS).size());
+    }
+
+    /**
+     * Ensures that a file arriving in a watched folder reaches the batch handler.
+     * @throws IOException if the folder can't be watched or the test file can't be written.
+     * @throws InterruptedException if the test is interrupted while waiting for the watcher.
+     */
+    @Test
+    void shouldPassIfArrivingFileIsHandedOn() throws IOException, InterruptedException {
+        final BlockingQueue<Path> handedOn = new LinkedBlockingQueue<>();
+        final FolderWatcher watcher = new FolderWatcher(folder, folder, handedOn::addAll, e -> { });
+
+        watcher.start();
+
+        try {
+            final Path file = Files.writeString(folder.resolve("001.jpg"), "data");
+            assertEquals(file, handedOn.poll(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        } finally {
+            watcher.stop();
+        }
+    }
+
+    /*======================
+    * Helper Methods
+    ======================*/
+
+    private FolderWatcher createWatcher() {
+        return new FolderWatcher(folder, folder, files -> { }, e -> { });
+    }
+}
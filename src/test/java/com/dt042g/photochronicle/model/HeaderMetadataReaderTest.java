@@ -0,0 +1,128 @@
+package com.dt042g.photochronicle.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Modifier;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import com.drew.imaging.ImageMetadataReader;
+import com.drew.imaging.ImageProcessingException;
+import com.drew.metadata.Metadata;
+import com.drew.metadata.exif.ExifSubIFDDirectory;
+import com.dt042g.photochronicle.support.ModelConfig;
+
+/**
+ * Unit tests for {@link HeaderMetadataReader}, ensuring that the bounded header read finds the same
+ * original date as a full read of the file.
+ * @author Joel Lansgren
+ */
+public class HeaderMetadataReaderTest {
+    private static final Path PATH_TO_SORT = Paths.get(
+        System.getProperty("user.dir"), "src", "test", "resources", "testSort"
+    );
+
+    /*========================
+    * Design Integrity Tests
+    ========================*/
+
+    /**
+     * Test to ensure that the class is final, preventing it to be subclassed.
+     */
+    @Test
+    void shouldPassIfClassIsFinal() {
+        assertTrue(Modifier.isFinal(HeaderMetadataReader.class.getModifiers()));
+    }
+
+    /**
+     * Test to ensure that the utility class can't be instantiated.
+     * @throws NoSuchMethodException if the constructor is not found.
+     */
+    @Test
+    void shouldPassIfInstantiationThrowsIllegalStateException() throws NoSuchMethodException {
+        final Constructor<HeaderMetadataReader> constructor = HeaderMetadataReader.class.getDeclaredConstructor();
+        constructor.setAccessible(true);
+
+        try {
+            constructor.newInstance();
+        } catch (final InvocationTargetException | InstantiationException | IllegalAccessException e) {
+            assertEquals(IllegalStateException.class, e.getCause().getClass());
+        }
+    }
+
+    /*======================
+    * Unit Tests
+    ======================*/
+
+    /**
+     * Ensures that the original date read from the header equals the one from a full read.
+     * @param fileName the name of the test image.
+     * @throws IOException if the image can't be read.
+     * @throws ImageProcessingException if metadata-extractor can't process the image.
+     */
+    @ParameterizedTest
+    @MethodSource("provideTestImages")
+    void shouldPassIfSameDateIsFoundAsByFullRead(final String fileName) throws IOException, ImageProcessingException {
+        final Path file = PATH_TO_SORT.resolve(fileName);
+        final Metadata header = HeaderMetadataReader.read(file, ModelConfig.DEFAULT_HEADER_READ_LIMIT, false);
+        final Metadata full = ImageMetadataReader.readMetadata(file.toFile());
+
+        assertNotNull(header);
+        assertEquals(
+            full.getFirstDirectoryOfType(ExifSubIFDDirectory.class).getDateOriginal(),
+            header.getFirstDirectoryOfType(ExifSubIFDDirectory.class).getDateOriginal()
+        );
+    }
+
+    /**
+     * Ensures that files without EXIF data in the header are left for a full read.
+     * @param fileName the name of the test file.
+     * @throws IOException if the file can't be read.
+     */
+    @ParameterizedTest
+    @ValueSource(strings = {"dummyText.txt", "noDateImage.bmp"})
+    void shouldPassIfFilesWithoutExifHeaderGiveNull(final String fileName) throws IOException {
+        assertNull(
+            HeaderMetadataReader.read(PATH_TO_SORT.resolve(fileName), ModelConfig.DEFAULT_HEADER_READ_LIMIT, false)
+        );
+    }
+
+    /**
+     * Ensures that an APP1 segment cut off by the read limit is left for a full read.
+     * @throws IOException if the image can't be read.
+     */
+    @Test
+    void shouldPassIfExifSegmentBeyondReadLimitGivesNull() throws IOException {
+        final int readLimit = 64;
+        assertNull(HeaderMetadataReader.read(PATH_TO_SORT.resolve("001.jpg"), readLimit, false));
+    }
+
+    /**
+     * Ensures that the TIFF header of a TIFF based image is found at the start of the file.
+     */
+    @Test
+    void shouldPassIfTiffHeaderIsFoundAtStartOfTiffFile() {
+        final byte[] header = {'I', 'I', 0x2A, 0, 0x08, 0, 0, 0};
+        assertEquals(0, HeaderMetadataReader.findTiffOffset(header, header.length));
+    }
+
+    /*======================
+    * Helper Methods
+    ======================*/
+
+    private static Stream<String> provideTestImages() {
+        return Stream.of("001.jpg", "002.jpg", "003.jpg", "004.jpg", "005.jpg");
+    }
+}
@@ -0,0 +1,139 @@
+package com.dt042g.photochronicle.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.lang.reflect.Modifier;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Unit tests for {@link MetadataCache}, ensuring that entries survive being stored and are only trusted
+ * for unchanged files.
+ * @author Joel Lansgren
+ */
+public class MetadataCacheTest {
+    private static final long SIZE = 2048;
+    private static final long LAST_MODIFIED = 1_700_000_000_000L;
+    private static final int DATE_KEY = DateKey.of(2024, 8);
+
+    @TempDir
+    private Path folder;
+
+    /*========================
+    * Design Integrity Tests
+    ========================*/
+
+    /**
+     * Test to ensure that the class is final, preventing it to be subclassed.
+     */
+    @Test
+    void shouldPassIfClassIsFinal() {
+        assertTrue(Modifier.isFinal(MetadataCache.class.getModifiers()));
+    }
+
+    /*======================
+    * Unit Tests
+    ======================*/
+
+    /**
+     * Ensures that a missing cache file gives an empty cache.
+     * @throws IOException if the cache can't be read.
+     */
+    @Test
+    void shouldPassIfCacheIsEmptyWhenCacheFileIsMissing() throws IOException {
+        final MetadataCache cache = createCache();
+        cache.load();
+
+        assertEquals(MetadataCache.MISS, cache.lookup("001.jpg", SIZE, LAST_MODIFIED));
+    }
+
+    /**
+     * Ensures that dates and missing dates are found again after being stored.
+     * @throws IOException if the cache can't be read or written.
+     */
+    @Test
+    void shouldPassIfStoredEntriesAreFound() throws IOException {
+        final MetadataCache cache = createCache();
+        cache.record("001.jpg", SIZE, LAST_MODIFIED, DATE_KEY);
+        cache.record("nested/dummyText.txt", SIZE, LAST_MODIFIED, DateKey.NONE);
+        cache.save();
+
+        final MetadataCache loaded = createCache();
+        loaded.load();
+
+        assertEquals(DATE_KEY, loaded.lookup("001.jpg", SIZE, LAST_MODIFIED));
+        assertEquals(DateKey.NONE, loaded.lookup("nested/dummyText.txt", SIZE, LAST_MODIFIED));
+    }
+
+    /**
+     * Ensures that a file whose size or last modified time has changed is parsed again.
+     * @throws IOException if the cache can't be read or written.
+     */
+    @Test
+    void shouldPassIfChangedFilesMiss() throws IOException {
+        final MetadataCache cache = createCache();
+        cache.record("001.jpg", SIZE, LAST_MODIFIED, DATE_KEY);
+        cache.save();
+
+        final MetadataCache loaded = createCache();
+        loaded.load();
+
+        assertEquals(MetadataCache.MISS, loaded.lookup("001.jpg", SIZE + 1, LAST_MODIFIED));
+        assertEquals(MetadataCache.MISS, loaded.lookup("001.jpg", SIZE, LAST_MODIFIED + 1));
+    }
+
+    /**
+     * Ensures that only the entries used during a run are stored again, so files that are gone or
+     * have been moved don't stay in the cache.
+     * @throws IOException if the cache can't be read or written.
+     */
+    @Test
+    void shouldPassIfOnlyEntriesOfCurrentRunAreStored() throws IOException {
+        final MetadataCache cache = createCache();
+        cache.record("001.jpg", SIZE, LAST_MODIFIED, DATE_KEY);
+        cache.record("002.jpg", SIZE, LAST_MODIFIED, DATE_KEY);
+        cache.record("003.jpg", SIZE, LAST_MODIFIED, DATE_KEY);
+        cache.save();
+
+        final MetadataCache secondRun = createCache();
+        secondRun.load();
+        secondRun.lookup("001.jpg", SIZE, LAST_MODIFIED);
+        secondRun.lookup("002.jpg", SIZE, LAST_MODIFIED);
+        secondRun.forget("002.jpg");
+        secondRun.save();
+
+        final MetadataCache thirdRun = createCache();
+        thirdRun.load();
+
+        assertEquals(DATE_KEY, thirdRun.lookup("001.jpg", SIZE, LAST_MODIFIED));
+        assertEquals(MetadataCache.MISS, thirdRun.lookup("002.jpg", SIZE, LAST_MODIFIED));
+        assertEquals(MetadataCache.MISS, thirdRun.lookup("003.jpg", SIZE, LAST_MODIFIED));
+    }
+
+    /**
+     * Ensures that a cache file that isn't a cache is rejected and leaves the cache empty.
+     * @throws IOException if the test file can't be written.
+     */
+    @Test
+    void shouldPassIfCorruptCacheFileIsRejected() throws IOException {
+        Files.writeString(folder.resolve("cache"), "not a cache");
+        final MetadataCache cache = createCache();
+
+        assertThrows(IOException.class, cache::load);
+        assertEquals(0, cache.size());
+    }
+
+    /*======================
+    * Helper Methods
+    ======================*/
+
+    private MetadataCache createCache() {
+        return new MetadataCache(folder.resolve("cache"));
+    }
+}
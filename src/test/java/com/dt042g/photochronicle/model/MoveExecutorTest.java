@@ -0,0 +1,94 @@
+package com.dt042g.photochronicle.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link MoveExecutor}, ensuring that the moves of a directory keep their order and thread
+ * while the directories are spread over the lanes.
+ * @author Joel Lansgren
+ */
+public class MoveExecutorTest {
+    private static final int LANES = 4;
+    private static final int DIRECTORIES = 24;
+    private static final int MOVES_PER_DIRECTORY = 500;
+
+    /*========================
+    * Design Integrity Tests
+    ========================*/
+
+    /**
+     * Test to ensure that the class is final, preventing it to be subclassed.
+     */
+    @Test
+    void shouldPassIfClassIsFinal() {
+        assertTrue(Modifier.isFinal(MoveExecutor.class.getModifiers()));
+    }
+
+    /*======================
+    * Unit Tests
+    ======================*/
+
+    /**
+     * Ensures that the moves of every directory run in the order they were handed in, on a single thread,
+     * and that the directories are spread over all lanes.
+     * @throws InterruptedException if the test is interrupted while waiting for a lane.
+     */
+    @Test
+    void shouldPassIfOrderAndThreadOfEveryDirectoryAreKept() throws InterruptedException {
+        final Map<Integer, List<Integer>> moves = new ConcurrentHashMap<>();
+        final Map<Integer, Set<Thread>> threads = new ConcurrentHashMap<>();
+        final Set<Thread> lanes = ConcurrentHashMap.newKeySet();
+
+        try (MoveExecutor executor = new MoveExecutor(LANES)) {
+            for (int move = 0; move < MOVES_PER_DIRECTORY; move++) {
+                for (int dateKey = 0; dateKey < DIRECTORIES; dateKey++) {
+                    final int directory = dateKey;
+                    final int order = move;
+
+                    executor.execute(directory, () -> {
+                        moves.computeIfAbsent(directory, key -> new ArrayList<>()).add(order);
+                        threads.computeIfAbsent(directory, key -> ConcurrentHashMap.newKeySet())
+                            .add(Thread.currentThread());
+                        lanes.add(Thread.currentThread());
+                    });
+                }
+            }
+        }
+
+        final List<Integer> expectedOrder = IntStream.range(0, MOVES_PER_DIRECTORY).boxed().toList();
+
+        for (int dateKey = 0; dateKey < DIRECTORIES; dateKey++) {
+            assertEquals(expectedOrder, moves.get(dateKey));
+            assertEquals(1, threads.get(dateKey).size());
+        }
+
+        assertEquals(LANES, lanes.size());
+    }
+
+    /**
+     * Ensures that a single lane runs the moves on the calling thread.
+     * @throws InterruptedException if the test is interrupted while waiting for a lane.
+     */
+    @Test
+    void shouldPassIfSingleLaneRunsOnCallingThread() throws InterruptedException {
+        final List<Thread> threads = new ArrayList<>();
+
+        try (MoveExecutor executor = new MoveExecutor(1)) {
+            executor.execute(0, () -> threads.add(Thread.currentThread()));
+            executor.execute(1, () -> threads.add(Thread.currentThread()));
+        }
+
+        assertEquals(List.of(Thread.currentThread(), Thread.currentThread()), threads);
+    }
+}
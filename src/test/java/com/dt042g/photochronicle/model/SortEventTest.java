@@ -0,0 +1,105 @@
+package com.dt042g.photochronicle.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * Unit tests for the JDK Flight Recorder events of {@link ChronicleModel}, verifying that a recording
+ * receives an event for the sort and for every extraction, directory creation and move.
+ * @author Joel Lansgren
+ */
+public class SortEventTest {
+    private static final Path PATH_TO_SORT = Paths.get(
+        System.getProperty("user.dir"), "src", "test", "resources", "testSort"
+    );
+    private static final int TEST_FILES = 7;
+    private static final int DATED_FILES = 5;
+    private static final int MONTHS = 3;
+
+    /*======================
+    * Unit Tests
+    ======================*/
+
+    /**
+     * Ensures that a sort recorded by JFR emits the events of every phase, with the outcome of each.
+     * @param folder a temporary folder to sort.
+     * @param recordingFolder a temporary folder holding the recording.
+     * @throws IOException if the test files can't be copied or the recording read.
+     */
+    @Test
+    void shouldPassIfEveryPhaseOfASortIsRecorded(@TempDir final Path folder, @TempDir final Path recordingFolder)
+    throws IOException {
+        copyTestFiles(folder);
+        final ChronicleModel model = new ChronicleModel();
+        model.setPath(folder.toString());
+
+        final List<RecordedEvent> events = record(
+            recordingFolder, () -> model.sortFolder(message -> { }, message -> { })
+        );
+        final Map<String, List<RecordedEvent>> byName = events.stream()
+            .collect(Collectors.groupingBy(event -> event.getEventType().getName()));
+
+        final RecordedEvent sort = byName.get(SortEvent.NAME_PREFIX + "Sort").get(0);
+        assertEquals(folder.toString(), sort.getString("folder"));
+        assertEquals(DATED_FILES, sort.getInt("sortedFiles"));
+        assertEquals(TEST_FILES - DATED_FILES, sort.getInt("invalidFiles"));
+
+        final List<RecordedEvent> extractions = byName.get(SortEvent.NAME_PREFIX + "Extraction");
+        assertEquals(TEST_FILES, extractions.size());
+        assertEquals(Map.of("JPEG", (long) DATED_FILES, "BMP", 1L, "UNKNOWN", 1L), extractions.stream()
+            .collect(Collectors.groupingBy(event -> event.getString("format"), Collectors.counting())));
+        assertTrue(extractions.stream().allMatch(event -> event.getLong("bytesRead") > 0));
+        assertEquals(DATED_FILES, extractions.stream().filter(event -> event.getBoolean("dateFound")).count());
+
+        final List<RecordedEvent> directories = byName.get(SortEvent.NAME_PREFIX + "Directory");
+        assertEquals(MONTHS, directories.size());
+        assertTrue(directories.stream().allMatch(event -> event.getBoolean("created")));
+
+        final List<RecordedEvent> moves = byName.get(SortEvent.NAME_PREFIX + "Move");
+        assertEquals(DATED_FILES, moves.size());
+        assertTrue(moves.stream().allMatch(event -> event.getBoolean("moved")));
+    }
+
+    /*======================
+    * Helper Methods
+    ======================*/
+
+    private static List<RecordedEvent> record(final Path recordingFolder, final Runnable action) throws IOException {
+        final Path recordingFile = recordingFolder.resolve("sort.jfr");
+
+        try (Recording recording = new Recording()) {
+            Stream.of("Sort", "Extraction", "Directory", "Move")
+                .forEach(name -> recording.enable(SortEvent.NAME_PREFIX + name).withoutThreshold());
+            recording.start();
+            action.run();
+            recording.stop();
+            recording.dump(recordingFile);
+        }
+
+        return RecordingFile.readAllEvents(recordingFile);
+    }
+
+    private static void copyTestFiles(final Path folder) throws IOException {
+        try (Stream<Path> files = Files.list(PATH_TO_SORT)) {
+            for (final Path file : (Iterable<Path>) files::iterator) {
+                Files.copy(file, folder.resolve(file.getFileName()));
+            }
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.dt042g.photochronicle.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Modifier;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link SortProgress}, ensuring that the counters, estimates and cancellation behave.
+ * @author Joel Lansgren
+ */
+public class SortProgressTest {
+    private static final int TOTAL_FILES = 10;
+    private static final int COMPLETED_FILES = 4;
+    private final SortProgress progress = new SortProgress();
+
+    /*========================
+    * Design Integrity Tests
+    ========================*/
+
+    /**
+     * Test to ensure that the class is public, so the progress can be read from the controller.
+     */
+    @Test
+    void shouldPassIfClassIsPublic() {
+        assertTrue(Modifier.isPublic(SortProgress.class.getModifiers()));
+    }
+
+    /**
+     * Test to ensure that the class is final, preventing it to be subclassed.
+     */
+    @Test
+    void shouldPassIfClassIsFinal() {
+        assertTrue(Modifier.isFinal(SortProgress.class.getModifiers()));
+    }
+
+    /*======================
+    * Unit Tests
+    ======================*/
+
+    /**
+     * Ensures that the time left can't be estimated before any file has been completed.
+     */
+    @Test
+    void shouldPassIfNothingIsEstimatedBeforeAnyFileIsCompleted() {
+        progress.start();
+        progress.addTotal(TOTAL_FILES);
+
+        assertEquals(SortProgress.UNKNOWN, progress.getRemainingSeconds());
+    }
+
+    /**
+     * Ensures that the counters add up and the time left is estimated once files are completed.
+     * @throws InterruptedException if the test is interrupted while waiting for time to pass.
+     */
+    @Test
+    void shouldPassIfProgressCountsAndEstimates() throws InterruptedException {
+        progress.start();
+        progress.addTotal(TOTAL_FILES);
+        progress.complete(COMPLETED_FILES);
+        Thread.sleep(1);
+
+        assertEquals(TOTAL_FILES, progress.getTotalFiles());
+        assertEquals(COMPLETED_FILES, progress.getCompletedFiles());
+        assertTrue(progress.getFilesPerSecond() > 0);
+        assertTrue(progress.getRemainingSeconds() >= 0);
+    }
+
+    /**
+     * Ensures that a cancelled progress is reset by the next sort.
+     */
+    @Test
+    void shouldPassIfCancellationIsResetOnStart() {
+        progress.cancel();
+        assertTrue(progress.isCancelled());
+
+        progress.start();
+        assertFalse(progress.isCancelled());
+        assertEquals(0, progress.getCompletedFiles());
+    }
+}
@@ -0,0 +1,142 @@
+package com.dt042g.photochronicle.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Modifier;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.junit.jupiter.api.Test;
+
+import com.dt042g.photochronicle.support.ModelConfig;
+
+/**
+ * Unit tests for {@link SortStatistics}, verifying the counters under parallel updates, the throughput
+ * window and the registration with JMX.
+ * @author Joel Lansgren
+ */
+public class SortStatisticsTest {
+    private static final int THREADS = 8;
+    private static final int UPDATES_PER_THREAD = 10_000;
+    private final SortStatistics statistics = new SortStatistics();
+
+    /*========================
+    * Design Integrity Tests
+    ========================*/
+
+    /**
+     * Test to ensure that the class is final, preventing it to be subclassed.
+     */
+    @Test
+    void shouldPassIfClassIsFinal() {
+        assertTrue(Modifier.isFinal(SortStatistics.class.getModifiers()));
+    }
+
+    /*======================
+    * Unit Tests
+    ======================*/
+
+    /**
+     * Ensures that no update is lost when the counters are updated by many threads at once.
+     */
+    @Test
+    void shouldPassIfEveryUpdateFromParallelThreadsIsCounted() {
+        try (ExecutorService workers = Executors.newFixedThreadPool(THREADS)) {
+            IntStream.range(0, THREADS).forEach(thread -> workers.execute(() -> {
+                for (int i = 0; i < UPDATES_PER_THREAD; i++) {
+                    statistics.increment(SortStatistics.Counter.SORTED);
+                    statistics.increment(SortStatistics.Counter.INVALID);
+                    statistics.reject(FileType.VIDEO);
+                    statistics.resolve(DateTier.FILENAME);
+                    statistics.addBytesRead(2);
+                    statistics.verify(true);
+                }
+            }));
+        }
+
+        final long updates = (long) THREADS * UPDATES_PER_THREAD;
+        assertEquals(updates, statistics.getSortedFiles());
+        assertEquals(updates, statistics.getInvalidFiles());
+        assertEquals(0, statistics.getUnsortedFiles());
+        assertEquals(Map.of("VIDEO", updates), statistics.getRejectedTypes());
+        assertEquals(Map.of("FILENAME", updates), statistics.getResolvedTiers());
+        assertEquals(2 * updates, statistics.getBytesRead());
+        assertEquals(updates, statistics.getVerifiedFiles());
+        assertEquals(0, statistics.getChecksumMismatches());
+    }
+
+    /**
+     * Ensures that the completed files show up in the throughput, while directory failures don't, and that
+     * a reset clears everything.
+     */
+    @Test
+    void shouldPassIfThroughputOfCompletedFilesIsMeasured() {
+        statistics.increment(SortStatistics.Counter.DIRECTORY_FAILURES);
+        assertEquals(0, statistics.getFilesPerSecond());
+
+        statistics.increment(SortStatistics.Counter.UNSORTED);
+        assertTrue(statistics.getFilesPerSecond() > 0);
+
+        statistics.resolve(DateTier.CACHE);
+        statistics.verify(false);
+        assertEquals(1, statistics.getChecksumMismatches());
+        statistics.reset();
+        assertEquals(0, statistics.getFilesPerSecond());
+        assertEquals(Map.of(), statistics.getResolvedTiers());
+        assertEquals(0, statistics.getDirectoryFailures());
+        assertEquals(0, statistics.getUnsortedFiles());
+        assertEquals(0, statistics.getChecksumMismatches());
+    }
+
+    /**
+     * Ensures that the depth of the queue of a streaming sort is reported while it is set.
+     * @throws InterruptedException if the test is interrupted while filling the queue.
+     */
+    @Test
+    void shouldPassIfQueueDepthIsReported() throws InterruptedException {
+        final BlockingQueue<ClassifiedFile> queue = new ArrayBlockingQueue<>(2);
+        queue.put(ClassifiedFile.END);
+
+        statistics.setQueue(queue);
+        assertEquals(1, statistics.getQueueDepth());
+
+        statistics.setQueue(null);
+        assertEquals(0, statistics.getQueueDepth());
+    }
+
+    /**
+     * Ensures that the statistics of a model can be read through the platform MBean server after a sort.
+     * @throws JMException if the attributes can't be read.
+     */
+    @Test
+    void shouldPassIfStatisticsAreExposedThroughJmx() throws JMException {
+        final Path folder = Paths.get(System.getProperty("user.dir"), "src", "test", "resources", "testImageFolder");
+        final ChronicleModel model = new ChronicleModel();
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        final ObjectName name = new ObjectName(ModelConfig.STATISTICS_OBJECT_NAME);
+
+        model.registerStatistics();
+        model.getOptions().setDryRun(true);
+        model.setPath(folder.toString());
+        model.sortFolder(message -> { }, message -> { });
+
+        assertEquals(model.getStatistics().getInvalidFiles(), server.getAttribute(name, "InvalidFiles"));
+        assertTrue((long) server.getAttribute(name, "BytesRead") > 0);
+        assertEquals(0, server.getAttribute(name, "QueueDepth"));
+
+        new ChronicleModel().registerStatistics();
+        assertTrue(server.isRegistered(name));
+    }
+}
@@ -0,0 +1,283 @@
+package com.dt042g.photochronicle.model;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.io.IOException;
+import java.lang.reflect.Modifier;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.time.Instant;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Unit tests for {@link TransferEngine}, ensuring that a transferred file arrives whole with its attributes,
+ * and that a failed transfer leaves the source as it was.
+ * @author Joel Lansgren
+ */
+public class TransferEngineTest {
+    private static final int FILE_SIZE = 3 * 1024 * 1024 + 17;
+    private static final long SEED = 42;
+    private static final Instant MODIFIED = Instant.parse("2019-12-24T18:30:00Z");
+    private static final Set<PosixFilePermission> PERMISSIONS = PosixFilePermissions.fromString("rw-r-----");
+
+    /*========================
+    * Design Integrity Tests
+    ========================*/
+
+    /**
+     * Test to ensure that the class is final, preventing it to be subclassed.
+     */
+    @Test
+    void shouldPassIfClassIsFinal() {
+        assertTrue(Modifier.isFinal(TransferEngine.class.getModifiers()));
+    }
+
+    /*======================
+    * Unit Tests
+    ======================*/
+
+    /**
+     * Ensures that a transferred file has the bytes, timestamp and permissions of its source, which is
+     * deleted, and that no part file is left behind.
+     * @param folder a temporary folder for the files.
+     * @throws IOException if the files can't be written or read.
+     */
+    @Test
+    void shouldPassIfBytesAndAttributesAreTransferred(@TempDir final Path folder) throws IOException {
+        final Path source = createSource(folder);
+        final byte[] bytes = Files.readAllBytes(source);
+        final Path destination = Files.createDirectory(folder.resolve("2019")).resolve("image.jpg");
+
+        new TransferEngine(true).move(source, destination);
+
+        assertFalse(Files.exists(source));
+        assertArrayEquals(bytes, Files.readAllBytes(destination));
+        assertEquals(FileTime.from(MODIFIED), Files.getLastModifiedTime(destination));
+
+        if (isPosix(folder)) {
+            assertEquals(PERMISSIONS, Files.getPosixFilePermissions(destination));
+        }
+
+        assertEquals(1, countFiles(destination.getParent()));
+    }
+
+    /**
+     * Ensures that a verifying transfer reports the copy as verified, with the bytes and attributes of its
+     * source, while a rename has nothing to verify.
+     * @param folder a temporary folder for the files.
+     * @throws IOException if the files can't be written or read.
+     */
+    @Test
+    void shouldPassIfChecksumOfCopyIsVerified(@TempDir final Path folder) throws IOException {
+        final Path source = createSource(folder);
+        final byte[] bytes = Files.readAllBytes(source);
+        final Path destination = Files.createDirectory(folder.resolve("2019")).resolve("image.jpg");
+
+        assertTrue(new TransferEngine(TransferMode.MOVE, true, true).move(source, destination));
+        assertFalse(Files.exists(source));
+        assertArrayEquals(bytes, Files.readAllBytes(destination));
+        assertEquals(FileTime.from(MODIFIED), Files.getLastModifiedTime(destination));
+        assertEquals(1, countFiles(destination.getParent()));
+
+        assertFalse(new TransferEngine(TransferMode.MOVE, false, true).move(destination, source));
+        assertFalse(TransferEngine.copy(source, destination, false));
+    }
+
+    /**
+     * Ensures that a transfer onto an existing file fails without touching either file or leaving a part
+     * file behind.
+     * @param folder a temporary folder for the files.
+     * @throws IOException if the files can't be written or read.
+     */
+    @Test
+    void shouldPassIfExistingDestinationRollsBack(@TempDir final Path folder) throws IOException {
+        final Path source = createSource(folder);
+        final byte[] bytes = Files.readAllBytes(source);
+        final Path directory = Files.createDirectory(folder.resolve("2019"));
+        final Path destination = Files.writeString(directory.resolve("image.jpg"), "Already here");
+
+        assertThrows(FileAlreadyExistsException.class, () -> new TransferEngine(true).move(source, destination));
+
+        assertArrayEquals(bytes, Files.readAllBytes(source));
+        assertEquals("Already here", Files.readString(destination));
+        assertEquals(1, countFiles(directory));
+    }
+
+    /**
+     * Ensures that a source that can't be read leaves no part file behind.
+     * @param folder a temporary folder for the files.
+     * @throws IOException if the folder can't be listed.
+     */
+    @Test
+    void shouldPassIfMissingSourceRollsBack(@TempDir final Path folder) throws IOException {
+        final Path destination = folder.resolve("image.jpg");
+
+        assertThrows(NoSuchFileException.class, () -> TransferEngine.copy(
+            folder.resolve("missing.jpg"), destination, true
+        ));
+        assertEquals(0, countFiles(folder));
+    }
+
+    /**
+     * Ensures that a source that ends before the size it had when its transfer started fails the transfer,
+     * instead of leaving an incomplete copy to replace it.
+     * @param folder a temporary folder for the files.
+     * @throws IOException if the files can't be written or read.
+     */
+    @Test
+    void shouldPassIfTruncatedSourceFailsTransfer(@TempDir final Path folder) throws IOException {
+        final Path source = createSource(folder);
+
+        try (FileChannel input = FileChannel.open(source, StandardOpenOption.READ);
+             FileChannel output = FileChannel.open(
+                 folder.resolve("copy.jpg"), StandardOpenOption.WRITE, StandardOpenOption.CREATE_NEW
+             )) {
+            assertThrows(IOException.class, () -> TransferEngine.transfer(input, output, FILE_SIZE + 1));
+        }
+    }
+
+    /**
+     * Ensures that a verified copy of a source that ends before the size it had when the copy started fails.
+     * @param folder a temporary folder for the files.
+     * @throws IOException if the files can't be written or read.
+     */
+    @Test
+    void shouldPassIfTruncatedSourceFailsVerifiedTransfer(@TempDir final Path folder) throws IOException {
+        final Path source = createSource(folder);
+
+        try (FileChannel input = FileChannel.open(source, StandardOpenOption.READ);
+             FileChannel output = FileChannel.open(
+                 folder.resolve("copy.jpg"), StandardOpenOption.WRITE, StandardOpenOption.CREATE_NEW
+             )) {
+            assertThrows(IOException.class, () -> TransferEngine.transferChecked(input, output, FILE_SIZE + 1));
+        }
+    }
+
+    /**
+     * Ensures that a copy whose bytes differ from those read from its source fails the verification, while
+     * an intact copy passes it.
+     * @param folder a temporary folder for the files.
+     * @throws IOException if the files can't be written or read.
+     */
+    @Test
+    void shouldPassIfCorruptCopyFailsVerification(@TempDir final Path folder) throws IOException {
+        final Path source = createSource(folder);
+        final Path intact = folder.resolve("intact.jpg");
+        final long expected;
+
+        try (FileChannel input = FileChannel.open(source, StandardOpenOption.READ);
+             FileChannel output = FileChannel.open(intact, StandardOpenOption.WRITE, StandardOpenOption.CREATE_NEW)) {
+            expected = TransferEngine.transferChecked(input, output, FILE_SIZE);
+        }
+
+        final byte[] bytes = Files.readAllBytes(intact);
+        bytes[FILE_SIZE / 2] ^= 1;
+        final Path corrupt = Files.write(folder.resolve("corrupt.jpg"), bytes);
+
+        assertDoesNotThrow(() -> TransferEngine.verifyCopy(source, intact, expected));
+        assertThrows(ChecksumMismatchException.class, () -> TransferEngine.verifyCopy(source, corrupt, expected));
+    }
+
+    /**
+     * Ensures that files on the same file system are renamed.
+     * @param folder a temporary folder for the files.
+     * @throws IOException if the files can't be written or read.
+     */
+    @Test
+    void shouldPassIfFileIsRenamedOnSameFileSystem(@TempDir final Path folder) throws IOException {
+        final Path source = createSource(folder);
+        final Path destination = folder.resolve("moved.jpg");
+        final TransferEngine engine = TransferEngine.between(TransferMode.MOVE, false, folder, folder);
+
+        engine.move(source, destination);
+
+        assertFalse(engine.isCrossDevice());
+        assertFalse(Files.exists(source));
+        assertEquals(FILE_SIZE, Files.size(destination));
+    }
+
+    /**
+     * Ensures that copied and linked files leave their sources in place, where a link shares the file of
+     * its source.
+     * @param folder a temporary folder for the files.
+     * @throws IOException if the files can't be written or read.
+     */
+    @Test
+    void shouldPassIfCopyingOrLinkingLeavesSource(@TempDir final Path folder) throws IOException {
+        final Path source = createSource(folder);
+        final Path copy = folder.resolve("copy.jpg");
+        final Path link = folder.resolve("link.jpg");
+
+        final TransferEngine copies = TransferEngine.between(TransferMode.COPY, false, folder, folder);
+        copies.transfer(source, copy);
+        final TransferEngine links = TransferEngine.between(TransferMode.LINK, false, folder, folder);
+        links.transfer(source, link);
+
+        assertTrue(copies.copiesBytes());
+        assertFalse(links.copiesBytes());
+        assertArrayEquals(Files.readAllBytes(source), Files.readAllBytes(copy));
+        assertFalse(Files.isSameFile(source, copy));
+        assertTrue(Files.isSameFile(source, link));
+    }
+
+    /**
+     * Ensures that folders on different file systems are told apart, when the machine has a memory file
+     * system.
+     * @param folder a temporary folder on the file system of the temporary files.
+     * @throws IOException if the file systems can't be found.
+     */
+    @Test
+    void shouldPassIfOtherFileSystemIsDetected(@TempDir final Path folder) throws IOException {
+        final Path memory = Paths.get("/dev/shm");
+        assumeTrue(Files.isDirectory(memory) && !Files.getFileStore(memory).equals(Files.getFileStore(folder)));
+
+        assertTrue(TransferEngine.between(TransferMode.MOVE, false, folder, memory).isCrossDevice());
+    }
+
+    /*======================
+    * Helper Methods
+    ======================*/
+
+    private static Path createSource(final Path folder) throws IOException {
+        final byte[] bytes = new byte[FILE_SIZE];
+        new Random(SEED).nextBytes(bytes);
+        final Path source = Files.write(folder.resolve("image.jpg"), bytes);
+        Files.setLastModifiedTime(source, FileTime.from(MODIFIED));
+
+        if (isPosix(folder)) {
+            Files.setPosixFilePermissions(source, PERMISSIONS);
+        }
+
+        return source;
+    }
+
+    private static boolean isPosix(final Path folder) throws IOException {
+        return Files.getFileStore(folder).supportsFileAttributeView(PosixFileAttributeView.class);
+    }
+
+    private static long countFiles(final Path directory) throws IOException {
+        try (Stream<Path> contents = Files.list(directory)) {
+            return contents.count();
+        }
+    }
+}
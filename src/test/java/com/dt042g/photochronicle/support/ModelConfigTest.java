@@ -0,0 +1,132 @@
+package com.dt042g.photochronicle.support;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+/**
+ * Unit tests which use reflection for the ModelConfig class to verify its integrity to expected design principles.
+ *
+ * <p>These tests focus on checking the visibility and modifiers of the ModelConfig class its constructor and variables,
+ * ensuring that the class is properly structured according to best practices for utility classes.</p>
+ *
+ * @author Joel Lansgren
+ */
+public class ModelConfigTest {
+
+    /*============================
+    * Integrity Tests
+    ============================*/
+
+    /**
+     * Verifies that the ModelConfig class is public using reflection.
+     * This ensures that the class has the correct visibility.
+     * @throws ClassNotFoundException if the class cannot be found via reflection.
+     */
+    @Test
+    void shouldReturnTrueIfClassModifierIsPublic() throws ClassNotFoundException {
+        assertTrue(Modifier.isPublic(ModelConfig.class.getModifiers()));
+    }
+
+    /**
+     * Verifies that the ModelConfig class is final using reflection.
+     * This ensures that the class cannot be subclassed.
+     * @throws ClassNotFoundException if the class cannot be found via reflection.
+     */
+    @Test
+    void shouldReturnTrueIfClassModifierIsFinal() throws ClassNotFoundException {
+        assertTrue(Modifier.isFinal(ModelConfig.class.getModifiers()));
+    }
+
+    /**
+     * Verifies that ModelConfig's constructor is private.
+     * This ensures that the utility class can't be instantiated.
+     * @throws SecurityException if the security manager blocks access to the method.
+     * @throws NoSuchMethodException if the constructor is not found in the ModelConfig class.
+     */
+    @Test
+    void shouldReturnTrueIfConstructorModifierIsPrivate() throws NoSuchMethodException, SecurityException {
+        assertTrue(Modifier.isPrivate(ModelConfig.class.getDeclaredConstructor().getModifiers()));
+    }
+
+    /**
+     * Verifies that ModelConfig's constructor throws an IllegalStateException when attempting to instantiate it.
+     * This also ensures that the utility class can't be instantiated.
+     * @throws SecurityException if the security manager blocks access to the method.
+     * @throws NoSuchMethodException if the constructor is not found in the ModelConfig class.
+     */
+    @Test
+    void shouldTrowIllegalStateExceptionWhenAttemptingToInstantiate() throws NoSuchMethodException, SecurityException {
+        Constructor<ModelConfig> constructor = ModelConfig.class.getDeclaredConstructor();
+        constructor.setAccessible(true);
+
+        try {
+            constructor.newInstance();
+        } catch (Exception e) {
+            // InvocationTargetException is thrown when the constructor throws an exception.
+            // So we need to access the 'cause' of the InvocationTargetException to get the
+            // original exception (IllegalStateException).
+            assertEquals(IllegalStateException.class, e.getCause().getClass());
+        }
+    }
+
+    /**
+     * Verifies that all fields in the {@link ModelConfig} class are final.
+     * @param fieldName the name of the field being checked
+     * @throws SecurityException if there is a security manager that prevents accessing the field
+     * @throws NoSuchFieldException if the field with the given name does not exist in the {@link ModelConfig} class.
+     */
+    @ParameterizedTest
+    @MethodSource("provideClassFields")
+    void shouldReturnTrueForPrivateFields(final String fieldName) throws NoSuchFieldException, SecurityException  {
+        assertTrue(
+            Modifier.isFinal(ModelConfig.class.getDeclaredField(fieldName).getModifiers()),
+            "Attribute 'ModelConfig::" + fieldName + "' needs to be final."
+        );
+    }
+
+    /**
+     * Verifies that all fields in the {@link ModelConfig} class are static.
+     * @param fieldName the name of the field being checked
+     * @throws SecurityException if there is a security manager that prevents accessing the field
+     * @throws NoSuchFieldException if the field with the given name does not exist in the {@link ModelConfig} class.
+     */
+    @ParameterizedTest
+    @MethodSource("provideClassFields")
+    void shouldReturnTrueForStaticFields(final String fieldName) throws NoSuchFieldException, SecurityException  {
+        assertTrue(
+            Modifier.isStatic(ModelConfig.class.getDeclaredField(fieldName).getModifiers()),
+            "Attribute 'ModelConfig::" + fieldName + "' needs to be static."
+        );
+    }
+
+    /**
+     * Verifies that no field in the {@link ModelConfig} class is of a graphical type, since loading one
+     * of them would load the AWT toolkit when the model is used from the command line.
+     * @param fieldName the name of the field being checked
+     * @throws SecurityException if there is a security manager that prevents accessing the field
+     * @throws NoSuchFieldException if the field with the given name does not exist in the {@link ModelConfig} class.
+     */
+    @ParameterizedTest
+    @MethodSource("provideClassFields")
+    void shouldPassIfFieldIsNotGraphical(final String fieldName) throws NoSuchFieldException, SecurityException  {
+        final String typeName = ModelConfig.class.getDeclaredField(fieldName).getType().getName();
+
+        assertFalse(typeName.startsWith("java.awt.") || typeName.startsWith("javax.swing."));
+    }
+
+    private static Stream<String> provideClassFields() {
+        return Arrays.stream(ModelConfig.class.getDeclaredFields())
+        .map(Field::getName);
+    }
+}
@@ -1,6 +1,7 @@
 package com.dt042g.photochronicle.view;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -22,6 +23,7 @@ import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import javax.swing.JButton;
+import javax.swing.JCheckBox;
 import javax.swing.JComponent;
 import javax.swing.JFileChooser;
 import javax.swing.JLabel;
@@ -35,6 +37,7 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 
 import com.dt042g.photochronicle.support.AppConfig;
+import com.dt042g.photochronicle.support.ModelConfig;
 
 /**
  * Unit tests for the {@link MiddlePanel} class in the {@link com.dt042g.photochronicle.view} package.
@@ -44,6 +47,7 @@ import com.dt042g.photochronicle.support.AppConfig;
  */
 @TestInstance(TestInstance.Lifecycle.PER_CLASS)
 public class MiddlePanelTest {
+    private static final long CHECK_BOXES = 3;
     private MiddlePanel middlePanel;
     private Class<?> middlePanelClass;
 
@@ -169,6 +173,15 @@ public class MiddlePanelTest {
         assertEquals(1, componentCounts.get(JFileChooser.class));
     }
 
+    /**
+     * Validates that the class contains three check boxes.
+     */
+    @Test
+    void shouldPassIfMiddlePanelContainsThreeCheckBoxes() {
+        final Map<Class<?>, Long> componentCounts = provideMapOfAllUIComponents();
+        assertEquals(CHECK_BOXES, componentCounts.get(JCheckBox.class));
+    }
+
     /**
      * Tests if a JPanel is added to the MiddlePanel.
      */
@@ -329,6 +342,27 @@ public class MiddlePanelTest {
         assertMethodAddsListener("clearBtn", middlePanel::addListenerToClearButton);
     }
 
+    /**
+     * Validates that the watch status is shown in the check box and that resetting it restores the text.
+     * @throws InterruptedException if {@link SwingUtilities#invokeAndWait(Runnable)} is interrupted.
+     * @throws InvocationTargetException if method inside {@link SwingUtilities#invokeAndWait(Runnable)} throws
+     */
+    @Test
+    void shouldPassIfWatchStatusIsShownAndReset() throws InvocationTargetException, InterruptedException {
+        final JCheckBox watchFolderBox = (JCheckBox) getComponent("watchFolderBox");
+        final String status = String.format(ModelConfig.WATCH_STATUS, 1);
+
+        SwingUtilities.invokeAndWait(() -> {
+            watchFolderBox.setSelected(true);
+            middlePanel.setWatchStatus(status);
+        });
+        assertEquals(status, watchFolderBox.getText());
+
+        SwingUtilities.invokeAndWait(() -> middlePanel.resetWatchStatus(false));
+        assertEquals(AppConfig.WATCH_FOLDER, watchFolderBox.getText());
+        assertFalse(middlePanel.isWatchSelected());
+    }
+
     /**
      * Validates that the text color of the label changes via the setErrorColorPath method.
      * @throws InterruptedException if {@link SwingUtilities#invokeAndWait(Runnable)} is interrupted.
@@ -0,0 +1,197 @@
+package com.dt042g.photochronicle.view;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.swing.JButton;
+import javax.swing.JDialog;
+import javax.swing.JLabel;
+import javax.swing.JProgressBar;
+import javax.swing.SwingUtilities;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestFactory;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import com.dt042g.photochronicle.support.AppConfig;
+
+/**
+ * Unit tests for {@link ProgressDialog}, ensuring design integrity, component verification
+ * and that the progress is shown correctly.
+ * @author Joel Lansgren, Daniel Berg
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public final class ProgressDialogTest {
+    private ProgressDialog progressDialog;
+    private Class<?> progressDialogClass;
+    private final List<String> expectedFields = new ArrayList<>(List.of(
+        "gbc", "progressTitle", "progressBar", "progressStatus", "cancelBtn"
+    ));
+
+    /*=====================
+    * Setup
+    =====================*/
+
+    @BeforeAll
+    private void setup() throws InvocationTargetException, InterruptedException {
+        SwingUtilities.invokeAndWait(() -> {
+            progressDialog = new ProgressDialog(new MainFrame(new TopPanel(), new MiddlePanel(), new BottomPanel()));
+        });
+        progressDialogClass = progressDialog.getClass();
+    }
+
+    /*============================
+    * Design Integrity Tests
+    ============================*/
+
+    /**
+     * Test to ensure that the class is final, preventing it to be subclassed.
+     */
+    @Test
+    void shouldPassIfProgressDialogIsFinal() {
+        assertTrue(Modifier.isFinal(progressDialogClass.getModifiers()));
+    }
+
+    /**
+     * Test to ensure the class extends JDialog.
+     */
+    @Test
+    void shouldPassIfProgressDialogExtendsJDialog() {
+        assertEquals(JDialog.class, progressDialogClass.getSuperclass());
+    }
+
+    /**
+     * Checks that all actual fields exist among the expected ones.
+     * @param fieldName the name of the instance field.
+     */
+    @ParameterizedTest
+    @MethodSource("provideClassFields")
+    void shouldPassIfProgressDialogHasNoExtraFields(final String fieldName) {
+        assertTrue(expectedFields.contains(fieldName));
+    }
+
+    /**
+     * Checks that all expected fields are present among the actual ones.
+     * @return A stream of dynamic tests, each testing whether an expected field exists in the dialog's fields.
+     */
+    @TestFactory
+    Stream<DynamicTest> shouldPassIfProgressDialogHasNoMissingFields() {
+        final List<String> actualFields = provideClassFields().collect(Collectors.toList());
+
+        return expectedFields.stream()
+        .map(field -> DynamicTest.dynamicTest("Check field: " + field, () -> {
+            assertTrue(actualFields.contains(field));
+        }));
+    }
+
+    /**
+     * Test to ensure that no instance field is null.
+     * @param fieldName the name of the instance field.
+     */
+    @ParameterizedTest
+    @MethodSource("provideClassFields")
+    void shouldPassIfNoFieldIsNull(final String fieldName) {
+        assertNotNull(getComponent(fieldName));
+    }
+
+    /*===============================
+    * Component Verification Tests
+    ===============================*/
+
+    /**
+     * Test to ensure the dialog is modal, blocking the main frame while a folder is sorted.
+     */
+    @Test
+    void shouldPassIfDialogIsModal() {
+        assertTrue(progressDialog.isModal());
+    }
+
+    /**
+     * Checks that the dialog have the same dimension as the one in the AppConfig file.
+     */
+    @Test
+    void shouldHaveTheSizeFromAppConfig() {
+        assertEquals(AppConfig.PROGRESS_DIALOG_DIMENSION, progressDialog.getSize());
+    }
+
+    /*======================
+    * Unit Tests
+    ======================*/
+
+    /**
+     * Ensures that the progress bar and status label show the given progress.
+     * @throws InterruptedException if {@link SwingUtilities#invokeAndWait(Runnable)} is interrupted.
+     * @throws InvocationTargetException if the method inside {@link SwingUtilities#invokeAndWait(Runnable)} throws.
+     */
+    @Test
+    void shouldPassIfProgressIsShown() throws InvocationTargetException, InterruptedException {
+        final JProgressBar progressBar = (JProgressBar) getComponent("progressBar");
+        final int total = 4;
+
+        SwingUtilities.invokeAndWait(() -> progressDialog.setProgress(1, total, "status"));
+
+        assertEquals(AppConfig.PROGRESS_BAR_MAXIMUM / total, progressBar.getValue());
+        assertEquals("status", ((JLabel) getComponent("progressStatus")).getText());
+    }
+
+    /**
+     * Ensures that the progress bar is indeterminate while the total is unknown.
+     * @throws InterruptedException if {@link SwingUtilities#invokeAndWait(Runnable)} is interrupted.
+     * @throws InvocationTargetException if the method inside {@link SwingUtilities#invokeAndWait(Runnable)} throws.
+     */
+    @Test
+    void shouldPassIfProgressIsIndeterminateWithoutTotal() throws InvocationTargetException, InterruptedException {
+        SwingUtilities.invokeAndWait(() -> progressDialog.setProgress(0, 0, "status"));
+        assertTrue(((JProgressBar) getComponent("progressBar")).isIndeterminate());
+    }
+
+    /**
+     * Ensures that the cancel button is disabled while cancelling and enabled again for the next sort.
+     * @throws InterruptedException if {@link SwingUtilities#invokeAndWait(Runnable)} is interrupted.
+     * @throws InvocationTargetException if the method inside {@link SwingUtilities#invokeAndWait(Runnable)} throws.
+     */
+    @Test
+    void shouldPassIfCancelBtnIsDisabledWhileCancelling() throws InvocationTargetException, InterruptedException {
+        final JButton cancelBtn = (JButton) getComponent("cancelBtn");
+
+        SwingUtilities.invokeAndWait(() -> progressDialog.setCancelling());
+        assertFalse(cancelBtn.isEnabled());
+
+        SwingUtilities.invokeAndWait(() -> progressDialog.hideDialog());
+        assertTrue(cancelBtn.isEnabled());
+    }
+
+    /*======================
+    * Helper Methods
+    ======================*/
+
+    private Stream<String> provideClassFields() {
+        return Arrays.stream(progressDialogClass.getDeclaredFields())
+        .map(Field::getName);
+    }
+
+    private Object getComponent(final String fieldName) {
+        try {
+            final Field field = progressDialogClass.getDeclaredField(fieldName);
+            field.setAccessible(true);
+            return field.get(progressDialog);
+        } catch (final NoSuchFieldException | IllegalAccessException e) {
+            throw new IllegalStateException("Failed to access field: " + fieldName, e);
+        }
+    }
+}